@@ -1603,6 +1603,40 @@ public interface RichIterable<T>
         return Optional.of(this.max(comparator));
     }
 
+    /**
+     * Returns the {@code n} greatest elements of this container based on the comparator, from greatest to least.  If
+     * the container has fewer than {@code n} elements, all of them are returned.
+     * <p>
+     * The default implementation sorts a copy of all the elements, so it uses O(size) space.  Implementations which
+     * override it, such as those in Eclipse Collections, keep at most {@code n} elements while iterating, for
+     * O(size log n) time and O(min(n, size)) space.
+     *
+     * @throws IllegalArgumentException if {@code n} is negative
+     * @since 9.2
+     */
+    default MutableList<T> topN(int n, Comparator<? super T> comparator)
+    {
+        if (n < 0)
+        {
+            throw new IllegalArgumentException("Cannot use a value of n < 0");
+        }
+        MutableList<T> sorted = this.toSortedList((o1, o2) -> comparator.compare(o2, o1));
+        return sorted.subList(0, Math.min(n, sorted.size())).toList();
+    }
+
+    /**
+     * Returns the {@code n} elements of this container for which {@code function} returns the greatest values, from
+     * greatest to least.
+     *
+     * @throws IllegalArgumentException if {@code n} is negative
+     * @see #topN(int, Comparator)
+     * @since 9.2
+     */
+    default <V extends Comparable<? super V>> MutableList<T> topNBy(int n, Function<? super T, ? extends V> function)
+    {
+        return this.topN(n, (o1, o2) -> function.valueOf(o1).compareTo(function.valueOf(o2)));
+    }
+
     /**
      * Returns the minimum element out of this container based on the natural order.
      *
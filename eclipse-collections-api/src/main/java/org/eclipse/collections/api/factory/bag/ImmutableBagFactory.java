@@ -52,4 +52,20 @@ public interface ImmutableBagFactory
     <T> ImmutableBag<T> ofAll(Iterable<? extends T> items);
 
     <T> ImmutableBag<T> withAll(Iterable<? extends T> items);
+
+    /**
+     * Returns an empty persistent bag.  Bags derived from it with {@code newWith} and {@code newWithout} copy only the
+     * path to the changed item and share the rest of their structure with the original bag.
+     *
+     * @since 9.2
+     */
+    <T> ImmutableBag<T> emptyPersistent();
+
+    /**
+     * Returns a persistent bag with the same elements as the specified iterable.
+     *
+     * @see #emptyPersistent()
+     * @since 9.2
+     */
+    <T> ImmutableBag<T> withAllPersistent(Iterable<? extends T> items);
 }
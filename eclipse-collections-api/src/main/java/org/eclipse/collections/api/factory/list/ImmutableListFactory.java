@@ -112,4 +112,21 @@ public interface ImmutableListFactory
     <T> ImmutableList<T> ofAll(Iterable<? extends T> items);
 
     <T> ImmutableList<T> withAll(Iterable<? extends T> items);
+
+    /**
+     * Returns an empty persistent list.  Lists derived from it with {@code newWith}, {@code newWithAll},
+     * {@code subList}, {@code take} and {@code drop} copy only the paths to the changed positions and share the rest of
+     * their structure with the original list.
+     *
+     * @since 9.2
+     */
+    <T> ImmutableList<T> emptyPersistent();
+
+    /**
+     * Returns a persistent list with the same elements as the specified iterable.
+     *
+     * @see #emptyPersistent()
+     * @since 9.2
+     */
+    <T> ImmutableList<T> withAllPersistent(Iterable<? extends T> items);
 }
@@ -67,4 +67,29 @@ public interface ImmutableMapFactory
     <K, V> ImmutableMap<K, V> ofAll(Map<K, V> map);
 
     <K, V> ImmutableMap<K, V> withAll(Map<K, V> map);
+
+    /**
+     * Returns an empty persistent map.  Maps derived from it with {@code newWithKeyValue} and {@code newWithoutKey}
+     * copy only the path to the changed key and share the rest of their structure with the original map.
+     *
+     * @since 9.2
+     */
+    <K, V> ImmutableMap<K, V> emptyPersistent();
+
+    /**
+     * Returns a persistent map with the same entries as the specified map.
+     *
+     * @see #emptyPersistent()
+     * @since 9.2
+     */
+    <K, V> ImmutableMap<K, V> withAllPersistent(Map<K, V> map);
+
+    /**
+     * Returns a map with the same entries as the specified map, whose keys are placed by a minimal perfect hash
+     * computed when the map is built.  Every lookup computes its slot directly and compares a single key, which suits
+     * lookup tables that are built once and read very often.
+     *
+     * @since 9.2
+     */
+    <K, V> ImmutableMap<K, V> withAllPerfectHash(Map<? extends K, ? extends V> map);
 }
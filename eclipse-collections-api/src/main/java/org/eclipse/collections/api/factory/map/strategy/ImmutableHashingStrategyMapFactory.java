@@ -78,4 +78,12 @@ public interface ImmutableHashingStrategyMapFactory
     <K, V> ImmutableMap<K, V> ofAll(Map<K, V> map);
 
     <K, V> ImmutableMap<K, V> withAll(Map<K, V> map);
+
+    /**
+     * Returns a map with the same entries as the specified map, whose keys are hashed and compared with the specified
+     * hashing strategy and placed by a minimal perfect hash computed when the map is built.
+     *
+     * @since 9.2
+     */
+    <K, V> ImmutableMap<K, V> withAllPerfectHash(HashingStrategy<? super K> hashingStrategy, Map<? extends K, ? extends V> map);
 }
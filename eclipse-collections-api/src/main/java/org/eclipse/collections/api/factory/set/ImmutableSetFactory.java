@@ -70,4 +70,29 @@ public interface ImmutableSetFactory
     <T> ImmutableSet<T> ofAll(Iterable<? extends T> items);
 
     <T> ImmutableSet<T> withAll(Iterable<? extends T> items);
+
+    /**
+     * Returns an empty persistent set.  Sets derived from it with {@code newWith} and {@code newWithout} copy only the
+     * path to the changed element and share the rest of their structure with the original set.
+     *
+     * @since 9.2
+     */
+    <T> ImmutableSet<T> emptyPersistent();
+
+    /**
+     * Returns a persistent set with the same elements as the specified iterable.
+     *
+     * @see #emptyPersistent()
+     * @since 9.2
+     */
+    <T> ImmutableSet<T> withAllPersistent(Iterable<? extends T> items);
+
+    /**
+     * Returns a set with the same elements as the specified iterable, whose elements are placed by a minimal perfect
+     * hash computed when the set is built.  Every call to {@code contains} computes its slot directly and compares a
+     * single element.
+     *
+     * @since 9.2
+     */
+    <T> ImmutableSet<T> withAllPerfectHash(Iterable<? extends T> items);
 }
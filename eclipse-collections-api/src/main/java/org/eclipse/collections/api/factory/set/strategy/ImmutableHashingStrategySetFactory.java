@@ -35,4 +35,12 @@ public interface ImmutableHashingStrategySetFactory
     <T> ImmutableSet<T> ofAll(HashingStrategy<? super T> hashingStrategy, Iterable<? extends T> items);
 
     <T> ImmutableSet<T> withAll(HashingStrategy<? super T> hashingStrategy, Iterable<? extends T> items);
+
+    /**
+     * Returns a set with the same elements as the specified iterable, whose elements are hashed and compared with the
+     * specified hashing strategy and placed by a minimal perfect hash computed when the set is built.
+     *
+     * @since 9.2
+     */
+    <T> ImmutableSet<T> withAllPerfectHash(HashingStrategy<? super T> hashingStrategy, Iterable<? extends T> items);
 }
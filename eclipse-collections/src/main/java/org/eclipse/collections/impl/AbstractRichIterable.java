@@ -85,6 +85,7 @@ import org.eclipse.collections.impl.block.procedure.SumOfDoubleProcedure;
 import org.eclipse.collections.impl.block.procedure.SumOfFloatProcedure;
 import org.eclipse.collections.impl.block.procedure.SumOfIntProcedure;
 import org.eclipse.collections.impl.block.procedure.SumOfLongProcedure;
+import org.eclipse.collections.impl.block.procedure.TopNProcedure;
 import org.eclipse.collections.impl.block.procedure.ZipWithIndexProcedure;
 import org.eclipse.collections.impl.block.procedure.primitive.CollectBooleanProcedure;
 import org.eclipse.collections.impl.block.procedure.primitive.CollectByteProcedure;
@@ -347,6 +348,14 @@ public abstract class AbstractRichIterable<T> implements RichIterable<T>
         return procedure.getResult();
     }
 
+    @Override
+    public MutableList<T> topN(int n, Comparator<? super T> comparator)
+    {
+        TopNProcedure<T> procedure = new TopNProcedure<>(n, comparator);
+        this.forEach(procedure);
+        return procedure.getResult();
+    }
+
     @Override
     public T min()
     {
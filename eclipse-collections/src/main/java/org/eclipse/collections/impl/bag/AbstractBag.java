@@ -39,6 +39,7 @@ import org.eclipse.collections.api.block.function.primitive.FloatFunction;
 import org.eclipse.collections.api.block.function.primitive.FloatObjectToFloatFunction;
 import org.eclipse.collections.api.block.function.primitive.IntFunction;
 import org.eclipse.collections.api.block.function.primitive.IntObjectToIntFunction;
+import org.eclipse.collections.api.block.function.primitive.IntToIntFunction;
 import org.eclipse.collections.api.block.function.primitive.LongFunction;
 import org.eclipse.collections.api.block.function.primitive.LongObjectToLongFunction;
 import org.eclipse.collections.api.block.function.primitive.ShortFunction;
@@ -66,6 +67,7 @@ import org.eclipse.collections.impl.list.mutable.FastList;
 import org.eclipse.collections.impl.set.mutable.UnifiedSet;
 import org.eclipse.collections.impl.tuple.primitive.PrimitiveTuples;
 import org.eclipse.collections.impl.utility.Iterate;
+import org.eclipse.collections.impl.utility.internal.BoundedIntHeap;
 
 /**
  * @since 7.0
@@ -734,7 +736,12 @@ public abstract class AbstractBag<T>
         return result;
     }
 
-    protected MutableList<ObjectIntPair<T>> occurrencesSortingBy(int n, IntFunction<ObjectIntPair<T>> function, MutableList<ObjectIntPair<T>> returnWhenEmpty)
+    /**
+     * Returns the items whose sort keys are among the {@code n} smallest, plus any further items tied with the last of
+     * them, sorted by key.  A bounded heap of keys finds the cut-off key in one pass without materializing every item,
+     * and a second pass collects only the items at or below it.
+     */
+    protected MutableList<ObjectIntPair<T>> occurrencesSortingBy(int n, IntToIntFunction sortKey, MutableList<ObjectIntPair<T>> returnWhenEmpty)
     {
         if (n < 0)
         {
@@ -745,13 +752,20 @@ public abstract class AbstractBag<T>
             return returnWhenEmpty;
         }
         int keySize = Math.min(n, this.sizeDistinct());
-        MutableList<ObjectIntPair<T>> sorted = this.toListWithOccurrences().sortThisByInt(function);
-        MutableList<ObjectIntPair<T>> results = sorted.subList(0, keySize).toList();
-        while (keySize < sorted.size() && results.getLast().getTwo() == sorted.get(keySize).getTwo())
+        if (keySize == 0)
         {
-            results.add(sorted.get(keySize));
-            keySize++;
+            return FastList.newList();
         }
-        return results;
+        BoundedIntHeap heap = new BoundedIntHeap(keySize);
+        this.forEachWithOccurrences((each, count) -> heap.offer(sortKey.valueOf(count)));
+        int cutOff = heap.max();
+        MutableList<ObjectIntPair<T>> results = FastList.newList(keySize);
+        this.forEachWithOccurrences((each, count) -> {
+            if (sortKey.valueOf(count) <= cutOff)
+            {
+                results.add(PrimitiveTuples.pair(each, count));
+            }
+        });
+        return results.sortThisByInt(pair -> sortKey.valueOf(pair.getTwo()));
     }
 }
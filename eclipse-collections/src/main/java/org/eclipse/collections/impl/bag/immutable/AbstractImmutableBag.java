@@ -198,7 +198,7 @@ public abstract class AbstractImmutableBag<T>
     public ImmutableList<ObjectIntPair<T>> topOccurrences(int n)
     {
         return this.occurrencesSortingBy(n,
-                item -> -item.getTwo(),
+                count -> -count,
                 Lists.fixedSize.empty()
         ).toImmutable();
     }
@@ -208,7 +208,7 @@ public abstract class AbstractImmutableBag<T>
     {
         return this.occurrencesSortingBy(
                 n,
-                ObjectIntPair::getTwo,
+                count -> count,
                 Lists.fixedSize.empty()
         ).toImmutable();
     }
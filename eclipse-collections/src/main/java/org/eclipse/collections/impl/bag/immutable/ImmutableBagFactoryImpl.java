@@ -105,4 +105,16 @@ public enum ImmutableBagFactoryImpl implements ImmutableBagFactory
         }
         return this.of((T[]) Iterate.toArray(items));
     }
+
+    @Override
+    public <T> ImmutableBag<T> emptyPersistent()
+    {
+        return ImmutableChampBag.empty();
+    }
+
+    @Override
+    public <T> ImmutableBag<T> withAllPersistent(Iterable<? extends T> items)
+    {
+        return ImmutableChampBag.newBag(items);
+    }
 }
@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bag.immutable;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.bag.ImmutableBag;
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.predicate.primitive.IntPredicate;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.multimap.bag.ImmutableBagMultimap;
+import org.eclipse.collections.api.ordered.OrderedIterable;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.bag.mutable.HashBag;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.map.immutable.ImmutableChampMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.multimap.bag.HashBagMultimap;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.tuple.Tuples;
+
+/**
+ * An ImmutableChampBag is a persistent bag which keeps the occurrences of each item in an {@link ImmutableChampMap}.
+ * {@link #newWith(Object)} and {@link #newWithout(Object)} run in O(log32 n) time and share all untouched nodes with
+ * the original bag.
+ *
+ * @since 9.2
+ */
+public final class ImmutableChampBag<T>
+        extends AbstractImmutableBag<T>
+        implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+    private static final ImmutableChampBag<?> EMPTY = new ImmutableChampBag<>(ImmutableChampMap.empty(), 0);
+
+    private final ImmutableChampMap<T, Integer> items;
+    private final int size;
+
+    private ImmutableChampBag(ImmutableChampMap<T, Integer> items, int size)
+    {
+        this.items = items;
+        this.size = size;
+    }
+
+    public static <T> ImmutableChampBag<T> empty()
+    {
+        return (ImmutableChampBag<T>) EMPTY;
+    }
+
+    public static <T> ImmutableChampBag<T> newBag(Iterable<? extends T> source)
+    {
+        if (source instanceof ImmutableChampBag<?>)
+        {
+            return (ImmutableChampBag<T>) source;
+        }
+        return ImmutableChampBag.<T>empty().newWithAll(source);
+    }
+
+    public static <T> ImmutableChampBag<T> newBagWith(T... elements)
+    {
+        return ImmutableChampBag.newBag(Arrays.asList(elements));
+    }
+
+    @Override
+    public void forEachWithOccurrences(ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        this.items.forEachKeyValue((each, occurrences) -> objectIntProcedure.value(each, occurrences));
+    }
+
+    @Override
+    public int sizeDistinct()
+    {
+        return this.items.size();
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public int occurrencesOf(Object item)
+    {
+        Integer occurrences = this.items.get(item);
+        return occurrences == null ? 0 : occurrences;
+    }
+
+    @Override
+    public ImmutableChampBag<T> newWith(T element)
+    {
+        return new ImmutableChampBag<>(this.items.newWithKeyValue(element, this.occurrencesOf(element) + 1), this.size + 1);
+    }
+
+    @Override
+    public ImmutableChampBag<T> newWithout(T element)
+    {
+        int occurrences = this.occurrencesOf(element);
+        if (occurrences == 0)
+        {
+            return this;
+        }
+        if (this.size == 1)
+        {
+            return ImmutableChampBag.empty();
+        }
+        ImmutableChampMap<T, Integer> newItems = occurrences == 1
+                ? this.items.newWithoutKey(element)
+                : this.items.newWithKeyValue(element, occurrences - 1);
+        return new ImmutableChampBag<>(newItems, this.size - 1);
+    }
+
+    @Override
+    public ImmutableChampBag<T> newWithAll(Iterable<? extends T> elements)
+    {
+        MutableBag<T> additions = HashBag.newBag(elements);
+        if (additions.isEmpty())
+        {
+            return this;
+        }
+        MutableList<Pair<T, Integer>> pairs = FastList.newList(additions.sizeDistinct());
+        additions.forEachWithOccurrences((each, occurrences) -> pairs.add(Tuples.pair(each, this.occurrencesOf(each) + occurrences)));
+        return new ImmutableChampBag<>(this.items.newWithAllKeyValues(pairs), this.size + additions.size());
+    }
+
+    @Override
+    public ImmutableChampBag<T> newWithoutAll(Iterable<? extends T> elements)
+    {
+        MutableSet<T> removals = UnifiedSet.newSet(elements);
+        int removed = (int) removals.sumOfInt(this::occurrencesOf);
+        if (removed == 0)
+        {
+            return this;
+        }
+        if (removed == this.size)
+        {
+            return ImmutableChampBag.empty();
+        }
+        return new ImmutableChampBag<>(this.items.newWithoutAllKeys(removals), this.size - removed);
+    }
+
+    @Override
+    public MutableMap<T, Integer> toMapOfItemToCount()
+    {
+        return UnifiedMap.newMap(this.items);
+    }
+
+    @Override
+    public ImmutableBag<T> selectByOccurrences(IntPredicate predicate)
+    {
+        MutableBag<T> result = HashBag.newBag();
+        this.forEachWithOccurrences((each, occurrences) -> {
+            if (predicate.accept(occurrences))
+            {
+                result.addOccurrences(each, occurrences);
+            }
+        });
+        return result.toImmutable();
+    }
+
+    @Override
+    public <S> ImmutableBag<S> selectInstancesOf(Class<S> clazz)
+    {
+        MutableBag<S> result = HashBag.newBag();
+        this.forEachWithOccurrences((each, occurrences) -> {
+            if (clazz.isInstance(each))
+            {
+                result.addOccurrences((S) each, occurrences);
+            }
+        });
+        return result.toImmutable();
+    }
+
+    @Override
+    public <V> ImmutableBagMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return this.groupBy(function, HashBagMultimap.<V, T>newMultimap()).toImmutable();
+    }
+
+    @Override
+    public <V> ImmutableBagMultimap<V, T> groupByEach(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return this.groupByEach(function, HashBagMultimap.newMultimap()).toImmutable();
+    }
+
+    @Override
+    public T getFirst()
+    {
+        return this.items.keysView().getFirst();
+    }
+
+    @Override
+    public T getLast()
+    {
+        return this.items.keysView().getLast();
+    }
+
+    @Override
+    public T getOnly()
+    {
+        if (this.size != 1)
+        {
+            throw new IllegalStateException("Size must be 1 but was " + this.size);
+        }
+        return this.getFirst();
+    }
+
+    @Override
+    public ImmutableBag<T> select(Predicate<? super T> predicate)
+    {
+        return this.select(predicate, HashBag.newBag()).toImmutable();
+    }
+
+    @Override
+    public ImmutableBag<T> reject(Predicate<? super T> predicate)
+    {
+        return this.reject(predicate, HashBag.newBag()).toImmutable();
+    }
+
+    @Override
+    public <V> ImmutableBag<V> collect(Function<? super T, ? extends V> function)
+    {
+        return this.collect(function, HashBag.<V>newBag()).toImmutable();
+    }
+
+    @Override
+    public <V> ImmutableBag<V> collectIf(
+            Predicate<? super T> predicate,
+            Function<? super T, ? extends V> function)
+    {
+        return this.collectIf(predicate, function, HashBag.<V>newBag()).toImmutable();
+    }
+
+    @Override
+    public <V> ImmutableBag<V> flatCollect(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return this.flatCollect(function, HashBag.newBag()).toImmutable();
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+        {
+            return true;
+        }
+        if (!(other instanceof Bag))
+        {
+            return false;
+        }
+        Bag<?> bag = (Bag<?>) other;
+        if (this.size != bag.size() || this.sizeDistinct() != bag.sizeDistinct())
+        {
+            return false;
+        }
+        return this.items.keyValuesView().allSatisfy(pair -> pair.getTwo() == bag.occurrencesOf(pair.getOne()));
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int[] hashCode = new int[1];
+        this.forEachWithOccurrences((each, occurrences) -> hashCode[0] += (each == null ? 0 : each.hashCode()) ^ occurrences);
+        return hashCode[0];
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        this.forEachWithOccurrences((each, occurrences) -> {
+            for (int i = 0; i < occurrences; i++)
+            {
+                procedure.value(each);
+            }
+        });
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new ChampBagIterator();
+    }
+
+    /**
+     * @deprecated in 6.0. Use {@link OrderedIterable#zip(Iterable)} instead.
+     */
+    @Override
+    @Deprecated
+    public <S> ImmutableBag<Pair<T, S>> zip(Iterable<S> that)
+    {
+        return this.zip(that, HashBag.newBag()).toImmutable();
+    }
+
+    /**
+     * @deprecated in 6.0. Use {@link OrderedIterable#zipWithIndex()} instead.
+     */
+    @Override
+    @Deprecated
+    public ImmutableSet<Pair<T, Integer>> zipWithIndex()
+    {
+        return this.zipWithIndex(UnifiedSet.newSet(this.size())).toImmutable();
+    }
+
+    private final class ChampBagIterator
+            implements Iterator<T>
+    {
+        private final Iterator<Pair<T, Integer>> pairs = ImmutableChampBag.this.items.keyValuesView().iterator();
+        private T current;
+        private int remainingOccurrences;
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.remainingOccurrences > 0 || this.pairs.hasNext();
+        }
+
+        @Override
+        public T next()
+        {
+            if (this.remainingOccurrences == 0)
+            {
+                if (!this.pairs.hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                Pair<T, Integer> pair = this.pairs.next();
+                this.current = pair.getOne();
+                this.remainingOccurrences = pair.getTwo();
+            }
+            this.remainingOccurrences--;
+            return this.current;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from an ImmutableChampBag");
+        }
+    }
+}
@@ -329,12 +329,12 @@ public abstract class AbstractMutableBagIterable<T>
     @Override
     public MutableList<ObjectIntPair<T>> topOccurrences(int n)
     {
-        return this.occurrencesSortingBy(n, item -> -item.getTwo(), Lists.mutable.empty());
+        return this.occurrencesSortingBy(n, count -> -count, Lists.mutable.empty());
     }
 
     @Override
     public MutableList<ObjectIntPair<T>> bottomOccurrences(int n)
     {
-        return this.occurrencesSortingBy(n, ObjectIntPair::getTwo, Lists.mutable.empty());
+        return this.occurrencesSortingBy(n, count -> count, Lists.mutable.empty());
     }
 }
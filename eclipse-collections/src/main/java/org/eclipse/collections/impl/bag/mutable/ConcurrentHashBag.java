@@ -0,0 +1,597 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bag.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.predicate.Predicate2;
+import org.eclipse.collections.api.block.predicate.primitive.IntPredicate;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.tuple.primitive.ObjectIntPair;
+import org.eclipse.collections.impl.Counter;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.multimap.bag.HashBagMultimap;
+import org.eclipse.collections.impl.utility.ArrayIterate;
+import org.eclipse.collections.impl.utility.Iterate;
+
+/**
+ * A ConcurrentHashBag is a MutableBag which can be updated by many threads at once without locking.  Each distinct item
+ * is a key in a {@link ConcurrentHashMap} whose value is an AtomicInteger holding its number of occurrences, and the
+ * total size is kept in a LongAdder, so threads counting different items never contend and threads counting the same
+ * item contend on a single compare-and-set.
+ * <p>
+ * A counter which drops to zero is dead: it is unlinked from the map and never revived, and a thread which finds a
+ * dead counter unlinks it and retries with a fresh one.  Iteration, {@link #forEachWithOccurrences(ObjectIntProcedure)},
+ * {@link #topOccurrences(int)} and the other bulk operations are weakly consistent: they see each item's count as of
+ * some moment during the traversal, and may or may not reflect updates made while it runs.
+ *
+ * @since 9.2
+ */
+public class ConcurrentHashBag<T>
+        extends AbstractMutableBag<T>
+        implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final Object NULL_KEY = new Object();
+
+    private ConcurrentHashMap<Object, AtomicInteger> items;
+    private LongAdder size;
+
+    public ConcurrentHashBag()
+    {
+        this.items = ConcurrentHashMap.newMap();
+        this.size = new LongAdder();
+    }
+
+    public ConcurrentHashBag(int size)
+    {
+        this.items = ConcurrentHashMap.newMap(size);
+        this.size = new LongAdder();
+    }
+
+    public static <E> ConcurrentHashBag<E> newBag()
+    {
+        return new ConcurrentHashBag<>();
+    }
+
+    public static <E> ConcurrentHashBag<E> newBag(int size)
+    {
+        return new ConcurrentHashBag<>(size);
+    }
+
+    public static <E> ConcurrentHashBag<E> newBag(Iterable<? extends E> source)
+    {
+        if (source instanceof Bag)
+        {
+            Bag<E> bag = (Bag<E>) source;
+            ConcurrentHashBag<E> result = ConcurrentHashBag.newBag(bag.sizeDistinct());
+            bag.forEachWithOccurrences(result::addOccurrences);
+            return result;
+        }
+        return Iterate.addAllTo(source, ConcurrentHashBag.newBag());
+    }
+
+    public static <E> ConcurrentHashBag<E> newBagWith(E... elements)
+    {
+        ConcurrentHashBag<E> result = ConcurrentHashBag.newBag();
+        ArrayIterate.addAllTo(elements, result);
+        return result;
+    }
+
+    private static Object toSentinelIfNull(Object item)
+    {
+        return item == null ? NULL_KEY : item;
+    }
+
+    private static <T> T nonSentinel(Object key)
+    {
+        return key == NULL_KEY ? null : (T) key;
+    }
+
+    @Override
+    public int addOccurrences(T item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot add a negative number of occurrences");
+        }
+        if (occurrences == 0)
+        {
+            return this.occurrencesOf(item);
+        }
+        Object key = ConcurrentHashBag.toSentinelIfNull(item);
+        while (true)
+        {
+            AtomicInteger counter = this.items.get(key);
+            if (counter == null)
+            {
+                counter = this.items.putIfAbsent(key, new AtomicInteger(occurrences));
+                if (counter == null)
+                {
+                    this.size.add(occurrences);
+                    return occurrences;
+                }
+            }
+            int count = counter.get();
+            while (count > 0)
+            {
+                if (counter.compareAndSet(count, count + occurrences))
+                {
+                    this.size.add(occurrences);
+                    return count + occurrences;
+                }
+                count = counter.get();
+            }
+            // The counter was emptied by a concurrent removal, so unlink it if that has not happened yet and retry
+            this.items.remove(key, counter);
+        }
+    }
+
+    @Override
+    public boolean removeOccurrences(Object item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot remove a negative number of occurrences");
+        }
+        if (occurrences == 0)
+        {
+            return false;
+        }
+        return this.subtract(ConcurrentHashBag.toSentinelIfNull(item), occurrences) > 0;
+    }
+
+    /**
+     * Removes up to {@code occurrences} occurrences of the key and returns the number removed.
+     */
+    private int subtract(Object key, int occurrences)
+    {
+        AtomicInteger counter = this.items.get(key);
+        if (counter == null)
+        {
+            return 0;
+        }
+        int count = counter.get();
+        while (count > 0)
+        {
+            int newCount = Math.max(0, count - occurrences);
+            if (counter.compareAndSet(count, newCount))
+            {
+                this.size.add(newCount - count);
+                if (newCount == 0)
+                {
+                    this.items.remove(key, counter);
+                }
+                return count - newCount;
+            }
+            count = counter.get();
+        }
+        this.items.remove(key, counter);
+        return 0;
+    }
+
+    @Override
+    public boolean setOccurrences(T item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot set a negative number of occurrences");
+        }
+        Object key = ConcurrentHashBag.toSentinelIfNull(item);
+        while (true)
+        {
+            AtomicInteger counter = this.items.get(key);
+            if (counter == null)
+            {
+                if (occurrences == 0)
+                {
+                    return false;
+                }
+                if (this.items.putIfAbsent(key, new AtomicInteger(occurrences)) == null)
+                {
+                    this.size.add(occurrences);
+                    return true;
+                }
+            }
+            else
+            {
+                int count = counter.get();
+                if (count == 0)
+                {
+                    this.items.remove(key, counter);
+                }
+                else if (count == occurrences)
+                {
+                    return false;
+                }
+                else if (counter.compareAndSet(count, occurrences))
+                {
+                    this.size.add(occurrences - count);
+                    if (occurrences == 0)
+                    {
+                        this.items.remove(key, counter);
+                    }
+                    return true;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean add(T item)
+    {
+        this.addOccurrences(item, 1);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object item)
+    {
+        return this.subtract(ConcurrentHashBag.toSentinelIfNull(item), 1) > 0;
+    }
+
+    @Override
+    public int occurrencesOf(Object item)
+    {
+        AtomicInteger counter = this.items.get(ConcurrentHashBag.toSentinelIfNull(item));
+        return counter == null ? 0 : counter.get();
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        return this.occurrencesOf(o) > 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return (int) this.size.sum();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.size.sum() == 0L;
+    }
+
+    @Override
+    public int sizeDistinct()
+    {
+        return this.items.size();
+    }
+
+    /**
+     * Removes every item.  Items added concurrently may or may not remain.
+     */
+    @Override
+    public void clear()
+    {
+        this.items.forEachKey(key -> this.subtract(key, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public void forEachWithOccurrences(ObjectIntProcedure<? super T> procedure)
+    {
+        this.items.forEachKeyValue((key, counter) ->
+        {
+            int count = counter.get();
+            if (count > 0)
+            {
+                procedure.value(ConcurrentHashBag.nonSentinel(key), count);
+            }
+        });
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        this.forEachWithOccurrences((each, count) ->
+        {
+            for (int i = 0; i < count; i++)
+            {
+                procedure.value(each);
+            }
+        });
+    }
+
+    @Override
+    public void forEachWithIndex(ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        Counter index = new Counter();
+        this.forEachWithOccurrences((each, count) ->
+        {
+            for (int i = 0; i < count; i++)
+            {
+                objectIntProcedure.value(each, index.getCount());
+                index.increment();
+            }
+        });
+    }
+
+    @Override
+    public <P> void forEachWith(Procedure2<? super T, ? super P> procedure, P parameter)
+    {
+        this.forEachWithOccurrences((each, count) ->
+        {
+            for (int i = 0; i < count; i++)
+            {
+                procedure.value(each, parameter);
+            }
+        });
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new InternalIterator();
+    }
+
+    @Override
+    protected RichIterable<T> getKeysView()
+    {
+        return this.items.keysView().collect(ConcurrentHashBag::nonSentinel);
+    }
+
+    @Override
+    public MutableBag<T> selectByOccurrences(IntPredicate predicate)
+    {
+        ConcurrentHashBag<T> result = ConcurrentHashBag.newBag();
+        this.forEachWithOccurrences((each, count) ->
+        {
+            if (predicate.accept(count))
+            {
+                result.addOccurrences(each, count);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public MutableMap<T, Integer> toMapOfItemToCount()
+    {
+        MutableMap<T, Integer> map = UnifiedMap.newMap(this.items.size());
+        this.forEachWithOccurrences(map::put);
+        return map;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> predicate)
+    {
+        boolean changed = false;
+        for (Object key : this.items.keySet())
+        {
+            if (predicate.accept(ConcurrentHashBag.nonSentinel(key)) && this.subtract(key, Integer.MAX_VALUE) > 0)
+            {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public <P> boolean removeIfWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        boolean changed = false;
+        for (Object key : this.items.keySet())
+        {
+            if (predicate.accept(ConcurrentHashBag.nonSentinel(key), parameter) && this.subtract(key, Integer.MAX_VALUE) > 0)
+            {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean removeAllIterable(Iterable<?> iterable)
+    {
+        boolean changed = false;
+        Iterable<?> distinct = iterable instanceof Bag ? ((Bag<?>) iterable).toSet() : iterable;
+        for (Object each : distinct)
+        {
+            if (this.subtract(ConcurrentHashBag.toSentinelIfNull(each), Integer.MAX_VALUE) > 0)
+            {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+        {
+            return true;
+        }
+        if (!(other instanceof Bag))
+        {
+            return false;
+        }
+        Bag<?> bag = (Bag<?>) other;
+        if (this.sizeDistinct() != bag.sizeDistinct())
+        {
+            return false;
+        }
+        return this.items.keyValuesView().allSatisfy(each -> bag.occurrencesOf(ConcurrentHashBag.nonSentinel(each.getOne())) == each.getTwo().get());
+    }
+
+    @Override
+    public int hashCode()
+    {
+        Counter counter = new Counter();
+        this.forEachWithOccurrences((item, count) -> counter.add((item == null ? 0 : item.hashCode()) ^ count));
+        return counter.getCount();
+    }
+
+    @Override
+    public <V> HashBagMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return this.groupBy(function, HashBagMultimap.newMultimap());
+    }
+
+    @Override
+    public <V> HashBagMultimap<V, T> groupByEach(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return this.groupByEach(function, HashBagMultimap.newMultimap());
+    }
+
+    @Override
+    public MutableBag<T> newEmpty()
+    {
+        return ConcurrentHashBag.newBag();
+    }
+
+    @Override
+    public ConcurrentHashBag<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    @Override
+    public ConcurrentHashBag<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    @Override
+    public ConcurrentHashBag<T> withAll(Iterable<? extends T> iterable)
+    {
+        this.addAllIterable(iterable);
+        return this;
+    }
+
+    @Override
+    public ConcurrentHashBag<T> withoutAll(Iterable<? extends T> iterable)
+    {
+        this.removeAllIterable(iterable);
+        return this;
+    }
+
+    public ConcurrentHashBag<T> with(T... elements)
+    {
+        this.addAll(Arrays.asList(elements));
+        return this;
+    }
+
+    public ConcurrentHashBag<T> with(T element1, T element2)
+    {
+        this.add(element1);
+        this.add(element2);
+        return this;
+    }
+
+    public ConcurrentHashBag<T> with(T element1, T element2, T element3)
+    {
+        this.add(element1);
+        this.add(element2);
+        this.add(element3);
+        return this;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        // Counts may change while writing, so write a snapshot whose length matches its contents
+        MutableList<ObjectIntPair<T>> snapshot = this.toListWithOccurrences();
+        out.writeInt(snapshot.size());
+        for (ObjectIntPair<T> each : snapshot)
+        {
+            out.writeObject(each.getOne());
+            out.writeInt(each.getTwo());
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int sizeDistinct = in.readInt();
+        this.items = ConcurrentHashMap.newMap(sizeDistinct);
+        this.size = new LongAdder();
+        for (int i = 0; i < sizeDistinct; i++)
+        {
+            this.addOccurrences((T) in.readObject(), in.readInt());
+        }
+    }
+
+    /**
+     * Reads the count of each entry once, in hasNext, and returns the item that many times.  Entries whose count has
+     * dropped to zero are skipped while prefetching, so hasNext never promises an item that next cannot return.
+     */
+    private class InternalIterator implements Iterator<T>
+    {
+        private final Iterator<Map.Entry<Object, AtomicInteger>> iterator = ConcurrentHashBag.this.items.entrySet().iterator();
+
+        private T nextItem;
+        private int occurrences;
+        private T lastReturned;
+        private boolean canRemove;
+
+        @Override
+        public boolean hasNext()
+        {
+            while (this.occurrences == 0 && this.iterator.hasNext())
+            {
+                Map.Entry<Object, AtomicInteger> entry = this.iterator.next();
+                this.nextItem = ConcurrentHashBag.nonSentinel(entry.getKey());
+                this.occurrences = entry.getValue().get();
+            }
+            return this.occurrences > 0;
+        }
+
+        @Override
+        public T next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            this.occurrences--;
+            this.lastReturned = this.nextItem;
+            this.canRemove = true;
+            return this.lastReturned;
+        }
+
+        @Override
+        public void remove()
+        {
+            if (!this.canRemove)
+            {
+                throw new IllegalStateException();
+            }
+            ConcurrentHashBag.this.remove(this.lastReturned);
+            this.canRemove = false;
+        }
+    }
+}
@@ -62,6 +62,7 @@ import org.eclipse.collections.api.set.MutableSet;
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.api.tuple.primitive.ObjectIntPair;
 import org.eclipse.collections.impl.collection.mutable.AbstractMultiReaderMutableCollection;
+import org.eclipse.collections.impl.collection.mutable.StampedReadWriteLock;
 import org.eclipse.collections.impl.factory.Bags;
 import org.eclipse.collections.impl.factory.Iterables;
 import org.eclipse.collections.impl.utility.LazyIterate;
@@ -126,6 +127,34 @@ public final class MultiReaderHashBag<T>
         return new MultiReaderHashBag<>(HashBag.newBagWith(elements));
     }
 
+    /**
+     * Creates an empty MultiReaderHashBag guarded by a {@link StampedReadWriteLock}, which serves short reads such as size and contains
+     * optimistically without acquiring the lock.  The lock is reentrant, and a deserialized copy is guarded by a
+     * StampedReadWriteLock as well.
+     *
+     * @since 9.2
+     */
+    public static <T> MultiReaderHashBag<T> newStampedBag()
+    {
+        return new MultiReaderHashBag<>(HashBag.newBag(), new StampedReadWriteLock());
+    }
+
+    /**
+     * @since 9.2
+     */
+    public static <T> MultiReaderHashBag<T> newStampedBag(Iterable<T> iterable)
+    {
+        return new MultiReaderHashBag<>(HashBag.newBag(iterable), new StampedReadWriteLock());
+    }
+
+    /**
+     * @since 9.2
+     */
+    public static <T> MultiReaderHashBag<T> newStampedBagWith(T... elements)
+    {
+        return new MultiReaderHashBag<>(HashBag.newBagWith(elements), new StampedReadWriteLock());
+    }
+
     @Override
     protected MutableBag<T> getDelegate()
     {
@@ -265,29 +294,13 @@ public final class MultiReaderHashBag<T>
     @Override
     public int occurrencesOf(Object item)
     {
-        this.acquireReadLock();
-        try
-        {
-            return this.delegate.occurrencesOf(item);
-        }
-        finally
-        {
-            this.unlockReadLock();
-        }
+        return this.optimisticReadAndDelegateInt((MutableBag<T> delegate) -> delegate.occurrencesOf(item));
     }
 
     @Override
     public int sizeDistinct()
     {
-        this.acquireReadLock();
-        try
-        {
-            return this.delegate.sizeDistinct();
-        }
-        finally
-        {
-            this.unlockReadLock();
-        }
+        return this.optimisticReadAndDelegateInt((MutableBag<T> delegate) -> delegate.sizeDistinct());
     }
 
     @Override
@@ -494,7 +507,7 @@ public final class MultiReaderHashBag<T>
     @Override
     public MutableBag<T> newEmpty()
     {
-        return MultiReaderHashBag.newBag();
+        return new MultiReaderHashBag<>(HashBag.newBag(), this.newLock());
     }
 
     @Override
@@ -821,14 +834,28 @@ public final class MultiReaderHashBag<T>
     @Override
     public void writeExternal(ObjectOutput out) throws IOException
     {
+        if (this.lock instanceof StampedReadWriteLock)
+        {
+            // Marks the lock kind; the form written for a ReentrantReadWriteLock is unchanged
+            out.writeObject(StampedReadWriteLock.class);
+        }
         out.writeObject(this.delegate);
     }
 
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
     {
-        this.delegate = (MutableBag<T>) in.readObject();
-        this.lock = new ReentrantReadWriteLock();
+        Object object = in.readObject();
+        if (object == StampedReadWriteLock.class)
+        {
+            this.lock = new StampedReadWriteLock();
+            this.delegate = (MutableBag<T>) in.readObject();
+        }
+        else
+        {
+            this.lock = new ReentrantReadWriteLock();
+            this.delegate = (MutableBag<T>) object;
+        }
     }
 
     //Exposed for testing
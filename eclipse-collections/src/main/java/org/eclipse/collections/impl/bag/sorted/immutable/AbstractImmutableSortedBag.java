@@ -371,34 +371,13 @@ abstract class AbstractImmutableSortedBag<T>
     @Override
     public ImmutableList<ObjectIntPair<T>> topOccurrences(int n)
     {
-        return this.occurrencesSortingBy(n, item -> -item.getTwo()).toImmutable();
+        return this.occurrencesSortingBy(n, count -> -count, Lists.fixedSize.empty()).toImmutable();
     }
 
     @Override
     public ImmutableList<ObjectIntPair<T>> bottomOccurrences(int n)
     {
-        return this.occurrencesSortingBy(n, ObjectIntPair::getTwo).toImmutable();
-    }
-
-    private MutableList<ObjectIntPair<T>> occurrencesSortingBy(int n, IntFunction<ObjectIntPair<T>> function)
-    {
-        if (n < 0)
-        {
-            throw new IllegalArgumentException("Cannot use a value of n < 0");
-        }
-        if (n == 0)
-        {
-            return Lists.fixedSize.empty();
-        }
-        int keySize = Math.min(n, this.sizeDistinct());
-        MutableList<ObjectIntPair<T>> sorted = this.toListWithOccurrences().sortThisByInt(function);
-        MutableList<ObjectIntPair<T>> results = sorted.subList(0, keySize).toList();
-        while (keySize < sorted.size() && results.getLast().getTwo() == sorted.get(keySize).getTwo())
-        {
-            results.add(sorted.get(keySize));
-            keySize++;
-        }
-        return results;
+        return this.occurrencesSortingBy(n, count -> count, Lists.fixedSize.empty()).toImmutable();
     }
 
     @Override
@@ -0,0 +1,1169 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bag.sorted.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.bag.sorted.MutableSortedBag;
+import org.eclipse.collections.api.bag.sorted.SortedBag;
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.predicate.Predicate2;
+import org.eclipse.collections.api.block.predicate.primitive.IntPredicate;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.ordered.OrderedIterable;
+import org.eclipse.collections.api.set.sorted.MutableSortedSet;
+import org.eclipse.collections.api.stack.MutableStack;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.lazy.AbstractLazyIterable;
+import org.eclipse.collections.impl.multimap.bag.sorted.mutable.TreeBagMultimap;
+import org.eclipse.collections.impl.set.sorted.mutable.TreeSortedSet;
+import org.eclipse.collections.impl.stack.mutable.ArrayStack;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.eclipse.collections.impl.utility.ListIterate;
+import org.eclipse.collections.impl.utility.OrderedIterate;
+import org.eclipse.collections.impl.utility.internal.IterableIterate;
+import org.eclipse.collections.impl.utility.internal.SortedBagIterables;
+
+/**
+ * A BTreeBag is a MutableSortedBag backed by an in-memory B+ tree whose leaves hold up to 64 distinct items in an
+ * array, next to an int array with the number of occurrences of each.  Unlike {@link TreeBag}, which keeps a
+ * {@link org.eclipse.collections.impl.Counter} per distinct item in a map, the counts are primitive values stored
+ * beside their items, so {@link #addOccurrences(Object, int)} updates an int in place and
+ * {@link #forEachWithOccurrences(ObjectIntProcedure)} walks the linked leaves without boxing or following an entry
+ * object per item.
+ *
+ * @since 9.2
+ */
+public class BTreeBag<T>
+        extends AbstractMutableSortedBag<T>
+        implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int LEAF_CAPACITY = 64;
+    private static final int BRANCH_CAPACITY = 64;
+    private static final int MIN_LEAF_SIZE = LEAF_CAPACITY / 2;
+    private static final int MIN_BRANCH_SIZE = BRANCH_CAPACITY / 2;
+
+    private Comparator<? super T> comparator;
+    private Node root;
+    private int size;
+    private int sizeDistinct;
+    private Node splitNode;
+    private Object splitKey;
+
+    public BTreeBag()
+    {
+    }
+
+    public BTreeBag(Comparator<? super T> comparator)
+    {
+        this.comparator = comparator;
+    }
+
+    public BTreeBag(SortedBag<T> sortedBag)
+    {
+        this(sortedBag.comparator(), sortedBag);
+    }
+
+    public BTreeBag(Comparator<? super T> comparator, Iterable<? extends T> iterable)
+    {
+        this(comparator);
+        this.addAllIterable(iterable);
+    }
+
+    public static <E> BTreeBag<E> newBag()
+    {
+        return new BTreeBag<>();
+    }
+
+    public static <E> BTreeBag<E> newBag(Comparator<? super E> comparator)
+    {
+        return new BTreeBag<>(comparator);
+    }
+
+    public static <E> BTreeBag<E> newBag(Iterable<? extends E> source)
+    {
+        if (source instanceof SortedBag<?>)
+        {
+            return new BTreeBag<>((SortedBag<E>) source);
+        }
+        return Iterate.addAllTo(source, BTreeBag.newBag());
+    }
+
+    public static <E> BTreeBag<E> newBag(Comparator<? super E> comparator, Iterable<? extends E> iterable)
+    {
+        return new BTreeBag<>(comparator, iterable);
+    }
+
+    public static <E> BTreeBag<E> newBagWith(E... elements)
+    {
+        //noinspection SSBasedInspection
+        return BTreeBag.newBag(Arrays.asList(elements));
+    }
+
+    public static <E> BTreeBag<E> newBagWith(Comparator<? super E> comparator, E... elements)
+    {
+        //noinspection SSBasedInspection
+        return BTreeBag.newBag(comparator, Arrays.asList(elements));
+    }
+
+    private void checkItem(Object item)
+    {
+        if (item == null && this.comparator == null)
+        {
+            throw new NullPointerException("BTreeBag does not support null items without a comparator");
+        }
+    }
+
+    private int search(Object[] keys, int size, Object item)
+    {
+        return Arrays.binarySearch(keys, 0, size, item, (Comparator<Object>) this.comparator);
+    }
+
+    /**
+     * Returns the index of the child of the branch which may contain the item.  The separator at index i is the
+     * smallest item of child i + 1.
+     */
+    private int childIndex(Branch branch, Object item)
+    {
+        int index = this.search(branch.keys, branch.size - 1, item);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private Leaf findLeaf(Object item)
+    {
+        Node node = this.root;
+        while (node instanceof Branch)
+        {
+            Branch branch = (Branch) node;
+            node = branch.children[this.childIndex(branch, item)];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf firstLeaf()
+    {
+        Node node = this.root;
+        while (node instanceof Branch)
+        {
+            node = ((Branch) node).children[0];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf lastLeaf()
+    {
+        Node node = this.root;
+        while (node instanceof Branch)
+        {
+            node = ((Branch) node).children[node.size - 1];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * Returns the new number of occurrences of the item.
+     */
+    private int insert(Node node, Object item, int occurrences)
+    {
+        if (node instanceof Leaf)
+        {
+            return this.insertIntoLeaf((Leaf) node, item, occurrences);
+        }
+        Branch branch = (Branch) node;
+        int childIndex = this.childIndex(branch, item);
+        int result = this.insert(branch.children[childIndex], item, occurrences);
+        if (this.splitNode != null)
+        {
+            Node newChild = this.splitNode;
+            Object separator = this.splitKey;
+            this.splitNode = null;
+            this.splitKey = null;
+            this.insertIntoBranch(branch, childIndex, separator, newChild);
+        }
+        return result;
+    }
+
+    private int insertIntoLeaf(Leaf leaf, Object item, int occurrences)
+    {
+        int index = this.search(leaf.items, leaf.size, item);
+        if (index >= 0)
+        {
+            leaf.counts[index] += occurrences;
+            return leaf.counts[index];
+        }
+        this.sizeDistinct++;
+        int insertionPoint = -index - 1;
+        if (leaf.size < LEAF_CAPACITY)
+        {
+            BTreeBag.insertAt(leaf, insertionPoint, item, occurrences);
+            return occurrences;
+        }
+        Leaf right = new Leaf();
+        int half = LEAF_CAPACITY / 2;
+        System.arraycopy(leaf.items, half, right.items, 0, LEAF_CAPACITY - half);
+        System.arraycopy(leaf.counts, half, right.counts, 0, LEAF_CAPACITY - half);
+        Arrays.fill(leaf.items, half, LEAF_CAPACITY, null);
+        right.size = LEAF_CAPACITY - half;
+        leaf.size = half;
+        right.next = leaf.next;
+        leaf.next = right;
+        if (insertionPoint <= half)
+        {
+            BTreeBag.insertAt(leaf, insertionPoint, item, occurrences);
+        }
+        else
+        {
+            BTreeBag.insertAt(right, insertionPoint - half, item, occurrences);
+        }
+        this.splitNode = right;
+        this.splitKey = right.items[0];
+        return occurrences;
+    }
+
+    private static void insertAt(Leaf leaf, int index, Object item, int count)
+    {
+        System.arraycopy(leaf.items, index, leaf.items, index + 1, leaf.size - index);
+        System.arraycopy(leaf.counts, index, leaf.counts, index + 1, leaf.size - index);
+        leaf.items[index] = item;
+        leaf.counts[index] = count;
+        leaf.size++;
+    }
+
+    /**
+     * Inserts a new child to the right of the child at {@code childIndex}, splitting the branch if it is full.
+     */
+    private void insertIntoBranch(Branch branch, int childIndex, Object separator, Node newChild)
+    {
+        if (branch.size < BRANCH_CAPACITY)
+        {
+            System.arraycopy(branch.keys, childIndex, branch.keys, childIndex + 1, branch.size - 1 - childIndex);
+            System.arraycopy(branch.children, childIndex + 1, branch.children, childIndex + 2, branch.size - 1 - childIndex);
+            branch.keys[childIndex] = separator;
+            branch.children[childIndex + 1] = newChild;
+            branch.size++;
+            return;
+        }
+        Object[] keys = new Object[BRANCH_CAPACITY];
+        Node[] children = new Node[BRANCH_CAPACITY + 1];
+        System.arraycopy(branch.keys, 0, keys, 0, childIndex);
+        keys[childIndex] = separator;
+        System.arraycopy(branch.keys, childIndex, keys, childIndex + 1, BRANCH_CAPACITY - 1 - childIndex);
+        System.arraycopy(branch.children, 0, children, 0, childIndex + 1);
+        children[childIndex + 1] = newChild;
+        System.arraycopy(branch.children, childIndex + 1, children, childIndex + 2, BRANCH_CAPACITY - 1 - childIndex);
+
+        int leftSize = (BRANCH_CAPACITY + 1) / 2;
+        int rightSize = BRANCH_CAPACITY + 1 - leftSize;
+        Branch right = new Branch();
+        Arrays.fill(branch.keys, null);
+        Arrays.fill(branch.children, null);
+        System.arraycopy(keys, 0, branch.keys, 0, leftSize - 1);
+        System.arraycopy(children, 0, branch.children, 0, leftSize);
+        branch.size = leftSize;
+        System.arraycopy(keys, leftSize, right.keys, 0, rightSize - 1);
+        System.arraycopy(children, leftSize, right.children, 0, rightSize);
+        right.size = rightSize;
+        this.splitNode = right;
+        this.splitKey = keys[leftSize - 1];
+    }
+
+    /**
+     * Removes up to {@code occurrences} occurrences of the item, and the item itself once none are left.  Returns the
+     * previous number of occurrences.
+     */
+    private int delete(Node node, Object item, int occurrences)
+    {
+        if (node instanceof Leaf)
+        {
+            Leaf leaf = (Leaf) node;
+            int index = this.search(leaf.items, leaf.size, item);
+            if (index < 0)
+            {
+                return 0;
+            }
+            int count = leaf.counts[index];
+            if (count > occurrences)
+            {
+                leaf.counts[index] -= occurrences;
+                this.size -= occurrences;
+            }
+            else
+            {
+                BTreeBag.removeAt(leaf, index);
+                this.size -= count;
+                this.sizeDistinct--;
+            }
+            return count;
+        }
+        Branch branch = (Branch) node;
+        int childIndex = this.childIndex(branch, item);
+        Node child = branch.children[childIndex];
+        int result = this.delete(child, item, occurrences);
+        if (child.size < (child instanceof Leaf ? MIN_LEAF_SIZE : MIN_BRANCH_SIZE))
+        {
+            BTreeBag.rebalance(branch, childIndex);
+        }
+        return result;
+    }
+
+    private static void removeAt(Leaf leaf, int index)
+    {
+        System.arraycopy(leaf.items, index + 1, leaf.items, index, leaf.size - index - 1);
+        System.arraycopy(leaf.counts, index + 1, leaf.counts, index, leaf.size - index - 1);
+        leaf.size--;
+        leaf.items[leaf.size] = null;
+    }
+
+    /**
+     * Restores the minimum size of the child at {@code childIndex} by borrowing from a sibling which has items to
+     * spare, or otherwise by merging it with a sibling.
+     */
+    private static void rebalance(Branch parent, int childIndex)
+    {
+        Node child = parent.children[childIndex];
+        Node left = childIndex > 0 ? parent.children[childIndex - 1] : null;
+        Node right = childIndex < parent.size - 1 ? parent.children[childIndex + 1] : null;
+        int minSize = child instanceof Leaf ? MIN_LEAF_SIZE : MIN_BRANCH_SIZE;
+        if (left != null && left.size > minSize)
+        {
+            BTreeBag.borrowFromLeft(parent, childIndex, left, child);
+        }
+        else if (right != null && right.size > minSize)
+        {
+            BTreeBag.borrowFromRight(parent, childIndex, child, right);
+        }
+        else if (left != null)
+        {
+            BTreeBag.merge(parent, childIndex - 1, left, child);
+        }
+        else if (right != null)
+        {
+            BTreeBag.merge(parent, childIndex, child, right);
+        }
+    }
+
+    private static void borrowFromLeft(Branch parent, int childIndex, Node left, Node child)
+    {
+        if (child instanceof Leaf)
+        {
+            Leaf leftLeaf = (Leaf) left;
+            int last = leftLeaf.size - 1;
+            BTreeBag.insertAt((Leaf) child, 0, leftLeaf.items[last], leftLeaf.counts[last]);
+            BTreeBag.removeAt(leftLeaf, last);
+            parent.keys[childIndex - 1] = ((Leaf) child).items[0];
+            return;
+        }
+        Branch leftBranch = (Branch) left;
+        Branch branch = (Branch) child;
+        System.arraycopy(branch.keys, 0, branch.keys, 1, branch.size - 1);
+        System.arraycopy(branch.children, 0, branch.children, 1, branch.size);
+        branch.keys[0] = parent.keys[childIndex - 1];
+        branch.children[0] = leftBranch.children[leftBranch.size - 1];
+        branch.size++;
+        parent.keys[childIndex - 1] = leftBranch.keys[leftBranch.size - 2];
+        leftBranch.keys[leftBranch.size - 2] = null;
+        leftBranch.children[leftBranch.size - 1] = null;
+        leftBranch.size--;
+    }
+
+    private static void borrowFromRight(Branch parent, int childIndex, Node child, Node right)
+    {
+        if (child instanceof Leaf)
+        {
+            Leaf leaf = (Leaf) child;
+            Leaf rightLeaf = (Leaf) right;
+            BTreeBag.insertAt(leaf, leaf.size, rightLeaf.items[0], rightLeaf.counts[0]);
+            BTreeBag.removeAt(rightLeaf, 0);
+            parent.keys[childIndex] = rightLeaf.items[0];
+            return;
+        }
+        Branch branch = (Branch) child;
+        Branch rightBranch = (Branch) right;
+        branch.keys[branch.size - 1] = parent.keys[childIndex];
+        branch.children[branch.size] = rightBranch.children[0];
+        branch.size++;
+        parent.keys[childIndex] = rightBranch.keys[0];
+        System.arraycopy(rightBranch.keys, 1, rightBranch.keys, 0, rightBranch.size - 2);
+        System.arraycopy(rightBranch.children, 1, rightBranch.children, 0, rightBranch.size - 1);
+        rightBranch.keys[rightBranch.size - 2] = null;
+        rightBranch.children[rightBranch.size - 1] = null;
+        rightBranch.size--;
+    }
+
+    /**
+     * Moves everything in {@code right} into {@code left}, then removes {@code right} and the separator at
+     * {@code leftIndex} from the parent.
+     */
+    private static void merge(Branch parent, int leftIndex, Node left, Node right)
+    {
+        if (left instanceof Leaf)
+        {
+            Leaf leftLeaf = (Leaf) left;
+            Leaf rightLeaf = (Leaf) right;
+            System.arraycopy(rightLeaf.items, 0, leftLeaf.items, leftLeaf.size, rightLeaf.size);
+            System.arraycopy(rightLeaf.counts, 0, leftLeaf.counts, leftLeaf.size, rightLeaf.size);
+            leftLeaf.size += rightLeaf.size;
+            leftLeaf.next = rightLeaf.next;
+        }
+        else
+        {
+            Branch leftBranch = (Branch) left;
+            Branch rightBranch = (Branch) right;
+            leftBranch.keys[leftBranch.size - 1] = parent.keys[leftIndex];
+            System.arraycopy(rightBranch.keys, 0, leftBranch.keys, leftBranch.size, rightBranch.size - 1);
+            System.arraycopy(rightBranch.children, 0, leftBranch.children, leftBranch.size, rightBranch.size);
+            leftBranch.size += rightBranch.size;
+        }
+        System.arraycopy(parent.keys, leftIndex + 1, parent.keys, leftIndex, parent.size - 2 - leftIndex);
+        System.arraycopy(parent.children, leftIndex + 2, parent.children, leftIndex + 1, parent.size - 2 - leftIndex);
+        parent.size--;
+        parent.keys[parent.size - 1] = null;
+        parent.children[parent.size] = null;
+    }
+
+    private int removeFromTree(Object item, int occurrences)
+    {
+        this.checkItem(item);
+        if (this.root == null)
+        {
+            return 0;
+        }
+        int result = this.delete(this.root, item, occurrences);
+        if (this.root instanceof Branch && this.root.size == 1)
+        {
+            this.root = ((Branch) this.root).children[0];
+        }
+        else if (this.root.size == 0)
+        {
+            this.root = null;
+        }
+        return result;
+    }
+
+    @Override
+    public BTreeBag<T> clone()
+    {
+        BTreeBag<T> result = BTreeBag.newBag(this.comparator);
+        this.forEachWithOccurrences(result::addOccurrences);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+        {
+            return true;
+        }
+        if (!(other instanceof Bag))
+        {
+            return false;
+        }
+        Bag<?> bag = (Bag<?>) other;
+        if (this.sizeDistinct != bag.sizeDistinct())
+        {
+            return false;
+        }
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                if (bag.occurrencesOf(leaf.items[i]) != leaf.counts[i])
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                Object item = leaf.items[i];
+                hashCode += (item == null ? 0 : item.hashCode()) ^ leaf.counts[i];
+            }
+        }
+        return hashCode;
+    }
+
+    @Override
+    protected RichIterable<T> getKeysView()
+    {
+        return new KeysView();
+    }
+
+    @Override
+    public int sizeDistinct()
+    {
+        return this.sizeDistinct;
+    }
+
+    @Override
+    public void forEachWithOccurrences(ObjectIntProcedure<? super T> procedure)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                procedure.value((T) leaf.items[i], leaf.counts[i]);
+            }
+        }
+    }
+
+    @Override
+    public MutableSortedBag<T> selectByOccurrences(IntPredicate predicate)
+    {
+        BTreeBag<T> result = BTreeBag.newBag(this.comparator);
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                if (predicate.accept(leaf.counts[i]))
+                {
+                    result.addOccurrences((T) leaf.items[i], leaf.counts[i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int occurrencesOf(Object item)
+    {
+        this.checkItem(item);
+        if (this.root == null)
+        {
+            return 0;
+        }
+        Leaf leaf = this.findLeaf(item);
+        int index = this.search(leaf.items, leaf.size, item);
+        return index >= 0 ? leaf.counts[index] : 0;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    @Override
+    public boolean remove(Object item)
+    {
+        return this.removeFromTree(item, 1) > 0;
+    }
+
+    @Override
+    public void clear()
+    {
+        this.root = null;
+        this.size = 0;
+        this.sizeDistinct = 0;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        return this.occurrencesOf(o) > 0;
+    }
+
+    @Override
+    public T getFirst()
+    {
+        return this.root == null ? null : (T) this.firstLeaf().items[0];
+    }
+
+    @Override
+    public T getLast()
+    {
+        if (this.root == null)
+        {
+            return null;
+        }
+        Leaf leaf = this.lastLeaf();
+        return (T) leaf.items[leaf.size - 1];
+    }
+
+    @Override
+    public int compareTo(SortedBag<T> otherBag)
+    {
+        return SortedBagIterables.compare(this, otherBag);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeObject(this.comparator);
+        out.writeInt(this.sizeDistinct);
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                out.writeObject(leaf.items[i]);
+                out.writeInt(leaf.counts[i]);
+            }
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        this.comparator = (Comparator<? super T>) in.readObject();
+        int sizeDistinct = in.readInt();
+        for (int i = 0; i < sizeDistinct; i++)
+        {
+            this.addOccurrences((T) in.readObject(), in.readInt());
+        }
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                T item = (T) leaf.items[i];
+                for (int j = leaf.counts[i]; j > 0; j--)
+                {
+                    procedure.value(item);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void forEachWithIndex(ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        int index = 0;
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                T item = (T) leaf.items[i];
+                for (int j = leaf.counts[i]; j > 0; j--)
+                {
+                    objectIntProcedure.value(item, index++);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void forEach(int fromIndex, int toIndex, Procedure<? super T> procedure)
+    {
+        this.forEachWithIndex(fromIndex, toIndex, (each, index) -> procedure.value(each));
+    }
+
+    /**
+     * Skips whole items by their counts until reaching the item at {@code fromIndex}.
+     */
+    @Override
+    public void forEachWithIndex(int fromIndex, int toIndex, ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        ListIterate.rangeCheck(fromIndex, toIndex, this.size);
+        if (fromIndex > toIndex)
+        {
+            throw new IllegalArgumentException("fromIndex must not be greater than toIndex");
+        }
+
+        int index = 0;
+        for (Leaf leaf = this.firstLeaf(); leaf != null && index <= toIndex; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size && index <= toIndex; i++)
+            {
+                int count = leaf.counts[i];
+                if (index + count <= fromIndex)
+                {
+                    index += count;
+                }
+                else
+                {
+                    T item = (T) leaf.items[i];
+                    int end = Math.min(index + count - 1, toIndex);
+                    for (int j = Math.max(index, fromIndex); j <= end; j++)
+                    {
+                        objectIntProcedure.value(item, j);
+                    }
+                    index += count;
+                }
+            }
+        }
+    }
+
+    @Override
+    public <P> void forEachWith(Procedure2<? super T, ? super P> procedure, P parameter)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                T item = (T) leaf.items[i];
+                for (int j = leaf.counts[i]; j > 0; j--)
+                {
+                    procedure.value(item, parameter);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new InternalIterator();
+    }
+
+    @Override
+    public int addOccurrences(T item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot add a negative number of occurrences");
+        }
+        if (occurrences == 0)
+        {
+            return this.occurrencesOf(item);
+        }
+        this.checkItem(item);
+        if (this.root == null)
+        {
+            this.root = new Leaf();
+        }
+        int result = this.insert(this.root, item, occurrences);
+        if (this.splitNode != null)
+        {
+            Branch newRoot = new Branch();
+            newRoot.children[0] = this.root;
+            newRoot.children[1] = this.splitNode;
+            newRoot.keys[0] = this.splitKey;
+            newRoot.size = 2;
+            this.root = newRoot;
+            this.splitNode = null;
+            this.splitKey = null;
+        }
+        this.size += occurrences;
+        return result;
+    }
+
+    @Override
+    public boolean removeOccurrences(Object item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot remove a negative number of occurrences");
+        }
+
+        if (occurrences == 0)
+        {
+            return false;
+        }
+
+        return this.removeFromTree(item, occurrences) > 0;
+    }
+
+    @Override
+    public boolean setOccurrences(T item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot set a negative number of occurrences");
+        }
+
+        int originalOccurrences = this.occurrencesOf(item);
+
+        if (originalOccurrences == occurrences)
+        {
+            return false;
+        }
+
+        if (occurrences > originalOccurrences)
+        {
+            this.addOccurrences(item, occurrences - originalOccurrences);
+        }
+        else
+        {
+            this.removeOccurrences(item, originalOccurrences - occurrences);
+        }
+        return true;
+    }
+
+    @Override
+    public BTreeBag<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    @Override
+    public BTreeBag<T> withAll(Iterable<? extends T> iterable)
+    {
+        this.addAllIterable(iterable);
+        return this;
+    }
+
+    @Override
+    public BTreeBag<T> withoutAll(Iterable<? extends T> iterable)
+    {
+        this.removeAllIterable(iterable);
+        return this;
+    }
+
+    @Override
+    public BTreeBag<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    @Override
+    public MutableSortedBag<T> newEmpty()
+    {
+        return BTreeBag.newBag(this.comparator);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> predicate)
+    {
+        return this.removeAllIterable(this.getKeysView().select(predicate).toList());
+    }
+
+    @Override
+    public <P> boolean removeIfWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        return this.removeAllIterable(this.getKeysView().selectWith(predicate, parameter).toList());
+    }
+
+    @Override
+    public boolean removeAllIterable(Iterable<?> iterable)
+    {
+        int oldSize = this.size;
+        for (Object each : iterable)
+        {
+            this.removeFromTree(each, Integer.MAX_VALUE);
+        }
+        return this.size != oldSize;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public int indexOf(Object object)
+    {
+        int index = 0;
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                Object item = leaf.items[i];
+                if (item == null ? object == null : item.equals(object))
+                {
+                    return index;
+                }
+                index += leaf.counts[i];
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public MutableSortedSet<Pair<T, Integer>> zipWithIndex()
+    {
+        Comparator<? super T> comparator = this.comparator;
+        return this.zipWithIndex(TreeSortedSet.newSet((o1, o2) ->
+        {
+            int compare = comparator == null ? Comparators.nullSafeCompare(o1, o2) : comparator.compare(o1.getOne(), o2.getOne());
+            if (compare != 0)
+            {
+                return compare;
+            }
+            return o1.getTwo().compareTo(o2.getTwo());
+        }));
+    }
+
+    @Override
+    public MutableSortedSet<T> distinct()
+    {
+        return TreeSortedSet.newSet(this.comparator, this.getKeysView());
+    }
+
+    @Override
+    public <V> TreeBagMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return this.groupBy(function, TreeBagMultimap.newMultimap(this.comparator()));
+    }
+
+    @Override
+    public <V> TreeBagMultimap<V, T> groupByEach(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return this.groupByEach(function, TreeBagMultimap.newMultimap(this.comparator()));
+    }
+
+    @Override
+    public int detectIndex(Predicate<? super T> predicate)
+    {
+        return Iterate.detectIndex(this, predicate);
+    }
+
+    @Override
+    public <S> boolean corresponds(OrderedIterable<S> other, Predicate2<? super T, ? super S> predicate)
+    {
+        return OrderedIterate.corresponds(this, other, predicate);
+    }
+
+    @Override
+    public MutableStack<T> toStack()
+    {
+        return ArrayStack.newStack(this);
+    }
+
+    @Override
+    public MutableSortedBag<T> take(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+
+        return IterableIterate.take(this, Math.min(this.size(), count), this.newEmpty());
+    }
+
+    @Override
+    public MutableSortedBag<T> drop(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+
+        return IterableIterate.drop(this, count, this.newEmpty());
+    }
+
+    @Override
+    public Comparator<? super T> comparator()
+    {
+        return this.comparator;
+    }
+
+    public BTreeBag<T> with(T... elements)
+    {
+        this.addAll(Arrays.asList(elements));
+        return this;
+    }
+
+    public BTreeBag<T> with(T element1, T element2)
+    {
+        this.add(element1);
+        this.add(element2);
+        return this;
+    }
+
+    @Override
+    public boolean add(T item)
+    {
+        this.addOccurrences(item, 1);
+        return true;
+    }
+
+    public BTreeBag<T> with(T element1, T element2, T element3)
+    {
+        this.add(element1);
+        this.add(element2);
+        this.add(element3);
+        return this;
+    }
+
+    private abstract static class Node
+    {
+        protected int size;
+    }
+
+    private static final class Leaf extends Node
+    {
+        private final Object[] items = new Object[LEAF_CAPACITY];
+        private final int[] counts = new int[LEAF_CAPACITY];
+        private Leaf next;
+    }
+
+    private static final class Branch extends Node
+    {
+        private final Object[] keys = new Object[BRANCH_CAPACITY - 1];
+        private final Node[] children = new Node[BRANCH_CAPACITY];
+    }
+
+    private final class KeysView extends AbstractLazyIterable<T>
+    {
+        @Override
+        public void each(Procedure<? super T> procedure)
+        {
+            for (Leaf leaf = BTreeBag.this.firstLeaf(); leaf != null; leaf = leaf.next)
+            {
+                for (int i = 0; i < leaf.size; i++)
+                {
+                    procedure.value((T) leaf.items[i]);
+                }
+            }
+        }
+
+        @Override
+        public Iterator<T> iterator()
+        {
+            return new KeyIterator();
+        }
+
+        @Override
+        public T getFirst()
+        {
+            return BTreeBag.this.getFirst();
+        }
+
+        @Override
+        public T getLast()
+        {
+            return BTreeBag.this.getLast();
+        }
+
+        @Override
+        public int size()
+        {
+            return BTreeBag.this.sizeDistinct;
+        }
+    }
+
+    private final class KeyIterator implements Iterator<T>
+    {
+        private Leaf leaf = BTreeBag.this.firstLeaf();
+        private int index;
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.leaf != null && this.index < this.leaf.size;
+        }
+
+        @Override
+        public T next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            T result = (T) this.leaf.items[this.index++];
+            if (this.index == this.leaf.size)
+            {
+                this.leaf = this.leaf.next;
+                this.index = 0;
+            }
+            return result;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from the distinct items of a BTreeBag");
+        }
+    }
+
+    private final class InternalIterator implements Iterator<T>
+    {
+        private Leaf leaf = BTreeBag.this.firstLeaf();
+        private int index;
+
+        private T currentItem;
+        private int occurrences;
+        private boolean canRemove;
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.occurrences > 0 || this.leaf != null && this.index < this.leaf.size;
+        }
+
+        @Override
+        public T next()
+        {
+            if (this.occurrences == 0)
+            {
+                if (!this.hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                this.currentItem = (T) this.leaf.items[this.index];
+                this.occurrences = this.leaf.counts[this.index];
+                this.index++;
+                if (this.index == this.leaf.size)
+                {
+                    this.leaf = this.leaf.next;
+                    this.index = 0;
+                }
+            }
+            this.occurrences--;
+            this.canRemove = true;
+            return this.currentItem;
+        }
+
+        @Override
+        public void remove()
+        {
+            if (!this.canRemove)
+            {
+                throw new IllegalStateException();
+            }
+            this.canRemove = false;
+            if (BTreeBag.this.removeFromTree(this.currentItem, 1) == 1)
+            {
+                // The item left the tree, which may have moved the items after it to other leaves
+                this.seekCeiling(this.currentItem);
+            }
+        }
+
+        private void seekCeiling(Object item)
+        {
+            if (BTreeBag.this.root == null)
+            {
+                this.leaf = null;
+                return;
+            }
+            Leaf ceilingLeaf = BTreeBag.this.findLeaf(item);
+            int ceilingIndex = BTreeBag.this.search(ceilingLeaf.items, ceilingLeaf.size, item);
+            this.leaf = ceilingLeaf;
+            this.index = ceilingIndex >= 0 ? ceilingIndex : -ceilingIndex - 1;
+            if (this.index >= this.leaf.size)
+            {
+                this.leaf = this.leaf.next;
+                this.index = 0;
+            }
+        }
+    }
+}
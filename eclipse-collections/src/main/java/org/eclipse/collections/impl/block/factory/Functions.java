@@ -10,6 +10,8 @@
 
 package org.eclipse.collections.impl.block.factory;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.eclipse.collections.api.block.SerializableComparator;
@@ -21,7 +23,9 @@ import org.eclipse.collections.api.block.function.primitive.CharFunction;
 import org.eclipse.collections.api.block.function.primitive.DoubleFunction;
 import org.eclipse.collections.api.block.function.primitive.FloatFunction;
 import org.eclipse.collections.api.block.function.primitive.IntFunction;
+import org.eclipse.collections.api.block.function.primitive.IntToObjectFunction;
 import org.eclipse.collections.api.block.function.primitive.LongFunction;
+import org.eclipse.collections.api.block.function.primitive.LongToObjectFunction;
 import org.eclipse.collections.api.block.function.primitive.ShortFunction;
 import org.eclipse.collections.api.block.predicate.Predicate;
 import org.eclipse.collections.api.block.procedure.Procedure;
@@ -41,6 +45,9 @@ import org.eclipse.collections.impl.block.function.IfFunction;
 import org.eclipse.collections.impl.block.function.checked.CheckedFunction;
 import org.eclipse.collections.impl.block.function.checked.ThrowingFunction;
 import org.eclipse.collections.impl.block.function.primitive.IntegerFunctionImpl;
+import org.eclipse.collections.impl.map.mutable.ConcurrentCacheMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongIntHashMap;
 import org.eclipse.collections.impl.tuple.Tuples;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.eclipse.collections.impl.utility.StringIterate;
@@ -519,6 +526,54 @@ public final class Functions
         return CLASS_FOR_NAME;
     }
 
+    /**
+     * Returns a function which caches the results of the given function in an access ordered {@link LinkedHashMap}, so
+     * that it is evaluated only once for each distinct argument.  Once maximumSize arguments have been cached, the least
+     * recently used result is evicted to make room for the next one.  The returned function is not thread-safe.
+     *
+     * @since 9.2
+     */
+    public static <T, V> Function<T, V> memoize(Function<? super T, ? extends V> function, int maximumSize)
+    {
+        return new MemoizedFunction<>(function, maximumSize);
+    }
+
+    /**
+     * Returns a thread-safe function which caches the results of the given function in a {@link ConcurrentCacheMap}
+     * holding at most maximumSize results.  Concurrent callers with the same argument wait for a single evaluation of
+     * the function.  Null arguments are not supported and null results are not cached.
+     *
+     * @since 9.2
+     */
+    public static <T, V> Function<T, V> concurrentMemoize(Function<? super T, ? extends V> function, int maximumSize)
+    {
+        return new ConcurrentMemoizedFunction<>(function, maximumSize);
+    }
+
+    /**
+     * Returns a function which caches the results of the given function without boxing the arguments.  Once maximumSize
+     * arguments have been cached, each new result replaces one chosen by the clock algorithm, which passes over results
+     * that have been read since it last saw them.  The returned function is not thread-safe.
+     *
+     * @since 9.2
+     */
+    public static <V> IntToObjectFunction<V> memoizeInt(IntToObjectFunction<? extends V> function, int maximumSize)
+    {
+        return new MemoizedIntToObjectFunction<>(function, maximumSize);
+    }
+
+    /**
+     * Returns a function which caches the results of the given function without boxing the arguments.  Once maximumSize
+     * arguments have been cached, each new result replaces one chosen by the clock algorithm, which passes over results
+     * that have been read since it last saw them.  The returned function is not thread-safe.
+     *
+     * @since 9.2
+     */
+    public static <V> LongToObjectFunction<V> memoizeLong(LongToObjectFunction<? extends V> function, int maximumSize)
+    {
+        return new MemoizedLongToObjectFunction<>(function, maximumSize);
+    }
+
     private static final class FirstNotNullFunction<T, V> implements Function<T, V>
     {
         private static final long serialVersionUID = 1L;
@@ -618,6 +673,231 @@ public final class Functions
         }
     }
 
+    private static final class MemoizedFunction<T, V> implements Function<T, V>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Function<? super T, ? extends V> function;
+        private final int maximumSize;
+        private final transient Map<T, V> cache;
+
+        private MemoizedFunction(Function<? super T, ? extends V> function, int maximumSize)
+        {
+            if (maximumSize < 1)
+            {
+                throw new IllegalArgumentException("Cannot use a maximum size < 1: " + maximumSize);
+            }
+            this.function = function;
+            this.maximumSize = maximumSize;
+            this.cache = new LinkedHashMap<T, V>(16, 0.75f, true)
+            {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<T, V> eldest)
+                {
+                    return this.size() > maximumSize;
+                }
+            };
+        }
+
+        @Override
+        public V valueOf(T each)
+        {
+            V result = this.cache.get(each);
+            if (result == null && !this.cache.containsKey(each))
+            {
+                result = this.function.valueOf(each);
+                this.cache.put(each, result);
+            }
+            return result;
+        }
+
+        /**
+         * The cache is not serialized, so a deserialized function starts with an empty cache of the same size.
+         */
+        private Object readResolve()
+        {
+            return new MemoizedFunction<>(this.function, this.maximumSize);
+        }
+    }
+
+    private static final class ConcurrentMemoizedFunction<T, V> implements Function<T, V>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Function<? super T, ? extends V> function;
+        private final int maximumSize;
+        private final transient ConcurrentCacheMap<T, V> cache;
+
+        private ConcurrentMemoizedFunction(Function<? super T, ? extends V> function, int maximumSize)
+        {
+            this.function = function;
+            this.maximumSize = maximumSize;
+            this.cache = ConcurrentCacheMap.newCache(maximumSize);
+        }
+
+        @Override
+        public V valueOf(T each)
+        {
+            return this.cache.getIfAbsentPutWithKey(each, this.function);
+        }
+
+        /**
+         * The cache is not serialized, so a deserialized function starts with an empty cache of the same size.
+         */
+        private Object readResolve()
+        {
+            return new ConcurrentMemoizedFunction<>(this.function, this.maximumSize);
+        }
+    }
+
+    private static final class MemoizedIntToObjectFunction<V> implements IntToObjectFunction<V>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final IntToObjectFunction<? extends V> function;
+        private final int maximumSize;
+        private final transient IntIntHashMap slots = new IntIntHashMap();
+        private transient int[] keys = new int[0];
+        private transient Object[] values = new Object[0];
+        private transient boolean[] referenced = new boolean[0];
+        private transient int hand;
+
+        private MemoizedIntToObjectFunction(IntToObjectFunction<? extends V> function, int maximumSize)
+        {
+            if (maximumSize < 1)
+            {
+                throw new IllegalArgumentException("Cannot use a maximum size < 1: " + maximumSize);
+            }
+            this.function = function;
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        public V valueOf(int each)
+        {
+            int slot = this.slots.getIfAbsent(each, -1);
+            if (slot != -1)
+            {
+                this.referenced[slot] = true;
+                return (V) this.values[slot];
+            }
+            V result = this.function.valueOf(each);
+            slot = this.freeSlot();
+            this.keys[slot] = each;
+            this.values[slot] = result;
+            this.slots.put(each, slot);
+            return result;
+        }
+
+        private int freeSlot()
+        {
+            int size = this.slots.size();
+            if (size < this.keys.length)
+            {
+                return size;
+            }
+            if (size < this.maximumSize)
+            {
+                int capacity = Math.min(this.maximumSize, Math.max(16, size << 1));
+                this.keys = Arrays.copyOf(this.keys, capacity);
+                this.values = Arrays.copyOf(this.values, capacity);
+                this.referenced = Arrays.copyOf(this.referenced, capacity);
+                return size;
+            }
+            while (this.referenced[this.hand])
+            {
+                this.referenced[this.hand] = false;
+                this.hand = (this.hand + 1) % size;
+            }
+            int slot = this.hand;
+            this.hand = (this.hand + 1) % size;
+            this.slots.remove(this.keys[slot]);
+            return slot;
+        }
+
+        /**
+         * The cache is not serialized, so a deserialized function starts with an empty cache of the same size.
+         */
+        private Object readResolve()
+        {
+            return new MemoizedIntToObjectFunction<>(this.function, this.maximumSize);
+        }
+    }
+
+    private static final class MemoizedLongToObjectFunction<V> implements LongToObjectFunction<V>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final LongToObjectFunction<? extends V> function;
+        private final int maximumSize;
+        private final transient LongIntHashMap slots = new LongIntHashMap();
+        private transient long[] keys = new long[0];
+        private transient Object[] values = new Object[0];
+        private transient boolean[] referenced = new boolean[0];
+        private transient int hand;
+
+        private MemoizedLongToObjectFunction(LongToObjectFunction<? extends V> function, int maximumSize)
+        {
+            if (maximumSize < 1)
+            {
+                throw new IllegalArgumentException("Cannot use a maximum size < 1: " + maximumSize);
+            }
+            this.function = function;
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        public V valueOf(long each)
+        {
+            int slot = this.slots.getIfAbsent(each, -1);
+            if (slot != -1)
+            {
+                this.referenced[slot] = true;
+                return (V) this.values[slot];
+            }
+            V result = this.function.valueOf(each);
+            slot = this.freeSlot();
+            this.keys[slot] = each;
+            this.values[slot] = result;
+            this.slots.put(each, slot);
+            return result;
+        }
+
+        private int freeSlot()
+        {
+            int size = this.slots.size();
+            if (size < this.keys.length)
+            {
+                return size;
+            }
+            if (size < this.maximumSize)
+            {
+                int capacity = Math.min(this.maximumSize, Math.max(16, size << 1));
+                this.keys = Arrays.copyOf(this.keys, capacity);
+                this.values = Arrays.copyOf(this.values, capacity);
+                this.referenced = Arrays.copyOf(this.referenced, capacity);
+                return size;
+            }
+            while (this.referenced[this.hand])
+            {
+                this.referenced[this.hand] = false;
+                this.hand = (this.hand + 1) % size;
+            }
+            int slot = this.hand;
+            this.hand = (this.hand + 1) % size;
+            this.slots.remove(this.keys[slot]);
+            return slot;
+        }
+
+        /**
+         * The cache is not serialized, so a deserialized function starts with an empty cache of the same size.
+         */
+        private Object readResolve()
+        {
+            return new MemoizedLongToObjectFunction<>(this.function, this.maximumSize);
+        }
+    }
+
     public static <T1, T2, T3> FunctionChain<T1, T2, T3> chain(Function<T1, T2> function1, Function<? super T2, T3> function2)
     {
         return new FunctionChain<>(function1, function2);
@@ -15,8 +15,10 @@ import java.util.Comparator;
 import org.eclipse.collections.api.block.function.Function;
 import org.eclipse.collections.api.block.function.Function2;
 import org.eclipse.collections.api.block.function.Function3;
+import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.block.function.checked.CheckedFunction2;
 import org.eclipse.collections.impl.block.function.checked.ThrowingFunction2;
+import org.eclipse.collections.impl.tuple.Tuples;
 
 /**
  * Contains factory methods for creating {@link Function2} instances.
@@ -95,6 +97,28 @@ public final class Functions2
         return new MaxByFunction2<>(function);
     }
 
+    /**
+     * Returns a function which caches the results of the given function for each distinct pair of arguments, as
+     * {@link Functions#memoize(Function, int)} does.  The returned function is not thread-safe.
+     *
+     * @since 9.2
+     */
+    public static <T, P, V> Function2<T, P, V> memoize(Function2<? super T, ? super P, ? extends V> function, int maximumSize)
+    {
+        return new MemoizedFunction2<>(Functions.memoize(each -> function.value(each.getOne(), each.getTwo()), maximumSize));
+    }
+
+    /**
+     * Returns a thread-safe function which caches the results of the given function for each distinct pair of
+     * arguments, as {@link Functions#concurrentMemoize(Function, int)} does.
+     *
+     * @since 9.2
+     */
+    public static <T, P, V> Function2<T, P, V> concurrentMemoize(Function2<? super T, ? super P, ? extends V> function, int maximumSize)
+    {
+        return new MemoizedFunction2<>(Functions.concurrentMemoize(each -> function.value(each.getOne(), each.getTwo()), maximumSize));
+    }
+
     private static final class FunctionAdapter<T, P, V> implements Function2<T, P, V>
     {
         private static final long serialVersionUID = 1L;
@@ -112,6 +136,23 @@ public final class Functions2
         }
     }
 
+    private static final class MemoizedFunction2<T, P, V> implements Function2<T, P, V>
+    {
+        private static final long serialVersionUID = 1L;
+        private final Function<Pair<T, P>, V> function;
+
+        private MemoizedFunction2(Function<Pair<T, P>, V> function)
+        {
+            this.function = function;
+        }
+
+        @Override
+        public V value(T each, P parameter)
+        {
+            return this.function.valueOf(Tuples.pair(each, parameter));
+        }
+    }
+
     private static class IntegerAddition implements Function2<Integer, Integer, Integer>
     {
         private static final long serialVersionUID = 1L;
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.block.procedure;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.list.mutable.FastList;
+
+/**
+ * Implementation of {@link Procedure} that holds on to the n greatest elements seen so far, determined by the
+ * {@link Comparator}.  The elements are kept in a min-heap of size n, so each element costs at most O(log n)
+ * comparisons and no more than n elements are retained.  The heap starts small and grows as elements are retained,
+ * so a large n on a small iterable costs no more space than the iterable itself.
+ *
+ * @since 9.2
+ */
+public class TopNProcedure<T> implements Procedure<T>
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Comparator<? super T> comparator;
+    private final int n;
+    private T[] heap;
+    private int size;
+
+    public TopNProcedure(int n, Comparator<? super T> comparator)
+    {
+        if (n < 0)
+        {
+            throw new IllegalArgumentException("Cannot use a value of n < 0");
+        }
+        this.comparator = comparator;
+        this.n = n;
+        this.heap = (T[]) new Object[Math.min(n, INITIAL_CAPACITY)];
+    }
+
+    @Override
+    public void value(T each)
+    {
+        if (this.size < this.n)
+        {
+            if (this.size == this.heap.length)
+            {
+                this.heap = Arrays.copyOf(this.heap, (int) Math.min((long) this.n, this.heap.length * 2L));
+            }
+            int index = this.size++;
+            while (index > 0)
+            {
+                int parent = (index - 1) >>> 1;
+                if (this.comparator.compare(this.heap[parent], each) <= 0)
+                {
+                    break;
+                }
+                this.heap[index] = this.heap[parent];
+                index = parent;
+            }
+            this.heap[index] = each;
+        }
+        else if (this.size > 0 && this.comparator.compare(each, this.heap[0]) > 0)
+        {
+            this.siftDown(each);
+        }
+    }
+
+    private void siftDown(T each)
+    {
+        int index = 0;
+        int half = this.size >>> 1;
+        while (index < half)
+        {
+            int child = 2 * index + 1;
+            if (child + 1 < this.size && this.comparator.compare(this.heap[child + 1], this.heap[child]) < 0)
+            {
+                child++;
+            }
+            if (this.comparator.compare(each, this.heap[child]) <= 0)
+            {
+                break;
+            }
+            this.heap[index] = this.heap[child];
+            index = child;
+        }
+        this.heap[index] = each;
+    }
+
+    /**
+     * Returns the retained elements from greatest to least.
+     */
+    public MutableList<T> getResult()
+    {
+        return FastList.newListWith(Arrays.copyOf(this.heap, this.size)).sortThis((o1, o2) -> this.comparator.compare(o2, o1));
+    }
+}
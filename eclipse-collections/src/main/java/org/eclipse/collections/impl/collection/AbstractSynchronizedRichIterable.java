@@ -852,6 +852,15 @@ public abstract class AbstractSynchronizedRichIterable<T> implements RichIterabl
         }
     }
 
+    @Override
+    public MutableList<T> topN(int n, Comparator<? super T> comparator)
+    {
+        synchronized (this.lock)
+        {
+            return this.delegate.topN(n, comparator);
+        }
+    }
+
     @Override
     public Optional<T> minOptional(Comparator<? super T> comparator)
     {
@@ -16,6 +16,7 @@ import java.util.Iterator;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Stream;
 
 import org.eclipse.collections.api.LazyIterable;
@@ -99,6 +100,30 @@ public abstract class AbstractMultiReaderMutableCollection<T> implements Mutable
         this.getLock().readLock().unlock();
     }
 
+    /**
+     * Returns a stamp against which an optimistic read of the delegate can be validated, or zero if the lock is not a
+     * {@link StampedReadWriteLock} or is currently write locked.  Optimistic reads are only used for short lookups such
+     * as size, contains and get; any read which fails validation is repeated under the read lock.
+     */
+    protected long tryOptimisticRead()
+    {
+        ReadWriteLock lock = this.getLock();
+        return lock instanceof StampedReadWriteLock ? ((StampedReadWriteLock) lock).tryOptimisticRead() : 0L;
+    }
+
+    protected boolean validate(long stamp)
+    {
+        return ((StampedReadWriteLock) this.getLock()).validate(stamp);
+    }
+
+    /**
+     * Returns a new lock of the same kind as the one guarding this collection, for copies of this collection.
+     */
+    protected ReadWriteLock newLock()
+    {
+        return this.getLock() instanceof StampedReadWriteLock ? new StampedReadWriteLock() : new ReentrantReadWriteLock();
+    }
+
     protected void withReadLockRun(Runnable block)
     {
         this.acquireReadLock();
@@ -112,13 +137,76 @@ public abstract class AbstractMultiReaderMutableCollection<T> implements Mutable
         }
     }
 
-    @Override
-    public boolean contains(Object item)
+    /**
+     * Applies the function to the delegate under an optimistic read if one is available, and again under the read
+     * lock if a concurrent write invalidates it.  A torn read can only surface as an IndexOutOfBoundsException,
+     * ClassCastException or NullPointerException from the delegate's internal arrays, so only those are retried, and
+     * only when the stamp no longer validates.  Any other exception, such as one thrown by a user's equals method, is
+     * propagated at once rather than the function being run a second time.
+     */
+    protected <U extends MutableCollection<T>, V> V optimisticReadAndDelegate(Function<U, V> function)
+    {
+        U delegate = (U) this.getDelegate();
+        long stamp = this.tryOptimisticRead();
+        if (stamp != 0L)
+        {
+            try
+            {
+                V result = function.valueOf(delegate);
+                if (this.validate(stamp))
+                {
+                    return result;
+                }
+            }
+            catch (IndexOutOfBoundsException | ClassCastException | NullPointerException e)
+            {
+                if (this.validate(stamp))
+                {
+                    throw e;
+                }
+            }
+        }
+        this.acquireReadLock();
+        try
+        {
+            return function.valueOf(delegate);
+        }
+        finally
+        {
+            this.unlockReadLock();
+        }
+    }
+
+    /**
+     * The same as {@link #optimisticReadAndDelegate(Function)} for lookups returning an int, such as size and indexOf,
+     * without boxing the result.
+     */
+    protected <U extends MutableCollection<T>> int optimisticReadAndDelegateInt(IntFunction<U> function)
     {
+        U delegate = (U) this.getDelegate();
+        long stamp = this.tryOptimisticRead();
+        if (stamp != 0L)
+        {
+            try
+            {
+                int result = function.intValueOf(delegate);
+                if (this.validate(stamp))
+                {
+                    return result;
+                }
+            }
+            catch (IndexOutOfBoundsException | ClassCastException | NullPointerException e)
+            {
+                if (this.validate(stamp))
+                {
+                    throw e;
+                }
+            }
+        }
         this.acquireReadLock();
         try
         {
-            return this.getDelegate().contains(item);
+            return function.intValueOf(delegate);
         }
         finally
         {
@@ -126,6 +214,12 @@ public abstract class AbstractMultiReaderMutableCollection<T> implements Mutable
         }
     }
 
+    @Override
+    public boolean contains(Object item)
+    {
+        return this.optimisticReadAndDelegate(delegate -> delegate.contains(item));
+    }
+
     @Override
     public boolean containsAll(Collection<?> collection)
     {
@@ -799,29 +893,13 @@ public abstract class AbstractMultiReaderMutableCollection<T> implements Mutable
     @Override
     public T getFirst()
     {
-        this.acquireReadLock();
-        try
-        {
-            return this.getDelegate().getFirst();
-        }
-        finally
-        {
-            this.unlockReadLock();
-        }
+        return this.optimisticReadAndDelegate(delegate -> delegate.getFirst());
     }
 
     @Override
     public T getLast()
     {
-        this.acquireReadLock();
-        try
-        {
-            return this.getDelegate().getLast();
-        }
-        finally
-        {
-            this.unlockReadLock();
-        }
+        return this.optimisticReadAndDelegate(delegate -> delegate.getLast());
     }
 
     @Override
@@ -841,15 +919,7 @@ public abstract class AbstractMultiReaderMutableCollection<T> implements Mutable
     @Override
     public boolean notEmpty()
     {
-        this.acquireReadLock();
-        try
-        {
-            return this.getDelegate().notEmpty();
-        }
-        finally
-        {
-            this.unlockReadLock();
-        }
+        return this.optimisticReadAndDelegate(delegate -> delegate.notEmpty());
     }
 
     @Override
@@ -1372,15 +1442,7 @@ public abstract class AbstractMultiReaderMutableCollection<T> implements Mutable
     @Override
     public boolean isEmpty()
     {
-        this.acquireReadLock();
-        try
-        {
-            return this.getDelegate().isEmpty();
-        }
-        finally
-        {
-            this.unlockReadLock();
-        }
+        return this.optimisticReadAndDelegate(delegate -> delegate.isEmpty());
     }
 
     /**
@@ -1525,15 +1587,7 @@ public abstract class AbstractMultiReaderMutableCollection<T> implements Mutable
     @Override
     public int size()
     {
-        this.acquireReadLock();
-        try
-        {
-            return this.getDelegate().size();
-        }
-        finally
-        {
-            this.unlockReadLock();
-        }
+        return this.optimisticReadAndDelegateInt(delegate -> delegate.size());
     }
 
     @Override
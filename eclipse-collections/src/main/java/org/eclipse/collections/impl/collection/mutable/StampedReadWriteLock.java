@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.collection.mutable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A {@link ReadWriteLock} backed by a {@link StampedLock}, which additionally exposes the optimistic read mode of the
+ * StampedLock.  {@link AbstractMultiReaderMutableCollection} uses optimistic reads for short read operations when its
+ * lock is a StampedReadWriteLock, so that uncontended readers do not write to the lock state at all.
+ * <p>
+ * A StampedLock is not reentrant, so this lock adds the reentrancy of
+ * {@link java.util.concurrent.locks.ReentrantReadWriteLock} on top of it.  The thread holding the write lock may
+ * acquire the write lock again and may acquire the read lock, which it then keeps if it releases the write lock first.
+ * A thread holding the read lock may acquire it again even while a writer is waiting.  As with ReentrantReadWriteLock,
+ * a thread holding only the read lock must not acquire the write lock.  Conditions are not supported.
+ *
+ * @since 9.2
+ */
+public final class StampedReadWriteLock implements ReadWriteLock
+{
+    private final StampedLock stampedLock = new StampedLock();
+    private final ThreadLocal<ReadHolds> readHolds = ThreadLocal.withInitial(ReadHolds::new);
+    private final Lock readLock = new ReadLock();
+    private final Lock writeLock = new WriteLock();
+
+    // Only written by the thread holding the stamped write lock, as in ReentrantLock
+    private Thread owner;
+    private int writeHolds;
+    private long writeStamp;
+
+    @Override
+    public Lock readLock()
+    {
+        return this.readLock;
+    }
+
+    @Override
+    public Lock writeLock()
+    {
+        return this.writeLock;
+    }
+
+    /**
+     * @see StampedLock#tryOptimisticRead()
+     */
+    public long tryOptimisticRead()
+    {
+        return this.stampedLock.tryOptimisticRead();
+    }
+
+    /**
+     * @see StampedLock#validate(long)
+     */
+    public boolean validate(long stamp)
+    {
+        return this.stampedLock.validate(stamp);
+    }
+
+    private boolean isWriteOwner()
+    {
+        return this.owner == Thread.currentThread();
+    }
+
+    private void setWriteOwner(long stamp)
+    {
+        this.writeStamp = stamp;
+        this.owner = Thread.currentThread();
+        this.writeHolds = 1;
+    }
+
+    private static final class ReadHolds
+    {
+        private int count;
+        private long stamp;
+    }
+
+    private final class ReadLock implements Lock
+    {
+        @Override
+        public void lock()
+        {
+            ReadHolds holds = StampedReadWriteLock.this.readHolds.get();
+            if (holds.count == 0 && !StampedReadWriteLock.this.isWriteOwner())
+            {
+                holds.stamp = StampedReadWriteLock.this.stampedLock.readLock();
+            }
+            holds.count++;
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException
+        {
+            ReadHolds holds = StampedReadWriteLock.this.readHolds.get();
+            if (holds.count == 0 && !StampedReadWriteLock.this.isWriteOwner())
+            {
+                holds.stamp = StampedReadWriteLock.this.stampedLock.readLockInterruptibly();
+            }
+            holds.count++;
+        }
+
+        @Override
+        public boolean tryLock()
+        {
+            ReadHolds holds = StampedReadWriteLock.this.readHolds.get();
+            if (holds.count == 0 && !StampedReadWriteLock.this.isWriteOwner())
+            {
+                long stamp = StampedReadWriteLock.this.stampedLock.tryReadLock();
+                if (stamp == 0L)
+                {
+                    return false;
+                }
+                holds.stamp = stamp;
+            }
+            holds.count++;
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException
+        {
+            ReadHolds holds = StampedReadWriteLock.this.readHolds.get();
+            if (holds.count == 0 && !StampedReadWriteLock.this.isWriteOwner())
+            {
+                long stamp = StampedReadWriteLock.this.stampedLock.tryReadLock(time, unit);
+                if (stamp == 0L)
+                {
+                    return false;
+                }
+                holds.stamp = stamp;
+            }
+            holds.count++;
+            return true;
+        }
+
+        @Override
+        public void unlock()
+        {
+            ReadHolds holds = StampedReadWriteLock.this.readHolds.get();
+            if (holds.count == 0)
+            {
+                throw new IllegalMonitorStateException("Read lock is not held by the current thread");
+            }
+            holds.count--;
+            if (holds.count == 0 && holds.stamp != 0L)
+            {
+                long stamp = holds.stamp;
+                holds.stamp = 0L;
+                StampedReadWriteLock.this.stampedLock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public Condition newCondition()
+        {
+            throw new UnsupportedOperationException("Cannot call newCondition() on " + this.getClass().getSimpleName());
+        }
+    }
+
+    private final class WriteLock implements Lock
+    {
+        @Override
+        public void lock()
+        {
+            if (StampedReadWriteLock.this.isWriteOwner())
+            {
+                StampedReadWriteLock.this.writeHolds++;
+            }
+            else
+            {
+                StampedReadWriteLock.this.setWriteOwner(StampedReadWriteLock.this.stampedLock.writeLock());
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException
+        {
+            if (StampedReadWriteLock.this.isWriteOwner())
+            {
+                StampedReadWriteLock.this.writeHolds++;
+            }
+            else
+            {
+                StampedReadWriteLock.this.setWriteOwner(StampedReadWriteLock.this.stampedLock.writeLockInterruptibly());
+            }
+        }
+
+        @Override
+        public boolean tryLock()
+        {
+            if (StampedReadWriteLock.this.isWriteOwner())
+            {
+                StampedReadWriteLock.this.writeHolds++;
+                return true;
+            }
+            long stamp = StampedReadWriteLock.this.stampedLock.tryWriteLock();
+            if (stamp == 0L)
+            {
+                return false;
+            }
+            StampedReadWriteLock.this.setWriteOwner(stamp);
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException
+        {
+            if (StampedReadWriteLock.this.isWriteOwner())
+            {
+                StampedReadWriteLock.this.writeHolds++;
+                return true;
+            }
+            long stamp = StampedReadWriteLock.this.stampedLock.tryWriteLock(time, unit);
+            if (stamp == 0L)
+            {
+                return false;
+            }
+            StampedReadWriteLock.this.setWriteOwner(stamp);
+            return true;
+        }
+
+        /**
+         * Releases one hold of the write lock.  When the last hold is released by a thread which also acquired the
+         * read lock while writing, the write lock is downgraded to a read lock atomically.
+         */
+        @Override
+        public void unlock()
+        {
+            if (!StampedReadWriteLock.this.isWriteOwner())
+            {
+                throw new IllegalMonitorStateException("Write lock is not held by the current thread");
+            }
+            StampedReadWriteLock.this.writeHolds--;
+            if (StampedReadWriteLock.this.writeHolds == 0)
+            {
+                long stamp = StampedReadWriteLock.this.writeStamp;
+                StampedReadWriteLock.this.owner = null;
+                StampedReadWriteLock.this.writeStamp = 0L;
+                ReadHolds holds = StampedReadWriteLock.this.readHolds.get();
+                if (holds.count > 0)
+                {
+                    holds.stamp = StampedReadWriteLock.this.stampedLock.tryConvertToReadLock(stamp);
+                }
+                else
+                {
+                    StampedReadWriteLock.this.stampedLock.unlockWrite(stamp);
+                }
+            }
+        }
+
+        @Override
+        public Condition newCondition()
+        {
+            throw new UnsupportedOperationException("Cannot call newCondition() on " + this.getClass().getSimpleName());
+        }
+    }
+}
@@ -81,6 +81,17 @@ final class ImmutableArrayList<T>
         return new ImmutableArrayList<>(elements.clone());
     }
 
+    /**
+     * Creates a new list using the passed {@code elements} argument as the backing store.
+     * <p>
+     * !!! WARNING: This method uses the passed in array, so can be very unsafe if the original
+     * array is held onto anywhere else. !!!
+     */
+    static <E> ImmutableArrayList<E> newListWithoutCopy(E[] elements)
+    {
+        return new ImmutableArrayList<>(elements);
+    }
+
     @Override
     public ImmutableList<T> newWith(T newItem)
     {
@@ -201,6 +201,24 @@ public enum ImmutableListFactoryImpl implements ImmutableListFactory
         }
     }
 
+    /**
+     * Returns an ImmutableList of the {@code items}, using the array itself as the backing store when it is too large for
+     * one of the fixed size lists.
+     * <p>
+     * !!! WARNING: This method uses the passed in array, so can be very unsafe if the original
+     * array is held onto anywhere else. !!!
+     *
+     * @since 9.2
+     */
+    public <T> ImmutableList<T> withAllWithoutCopy(T[] items)
+    {
+        if (items.length <= 10)
+        {
+            return this.with(items);
+        }
+        return ImmutableArrayList.newListWithoutCopy(items);
+    }
+
     private <T> ImmutableList<T> withList(List<T> items)
     {
         switch (items.size())
@@ -256,4 +274,16 @@ public enum ImmutableListFactoryImpl implements ImmutableListFactory
         }
         return this.of((T[]) Iterate.toArray(items));
     }
+
+    @Override
+    public <T> ImmutableList<T> emptyPersistent()
+    {
+        return ImmutableRrbList.empty();
+    }
+
+    @Override
+    public <T> ImmutableList<T> withAllPersistent(Iterable<? extends T> items)
+    {
+        return ImmutableRrbList.newList(items);
+    }
 }
@@ -0,0 +1,711 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.list.immutable;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.utility.Iterate;
+
+/**
+ * An ImmutableRrbList is a persistent list stored in a relaxed radix balanced tree.  Leaves hold up to 32 elements and
+ * branches up to 32 children, each branch keeping the cumulative sizes of its children so that slices and
+ * concatenations do not have to be perfectly packed.
+ * <p>
+ * {@link #get(int)}, {@link #newWith(Object)} and {@link #newWithFirst(Object)} run in O(log32 n) time, while
+ * {@link #subList(int, int)}, {@link #take(int)}, {@link #drop(int)} and {@link #newWithAll(Iterable)} with another
+ * ImmutableRrbList run in O(log n) time.  Every derived list shares all untouched nodes with the original list.
+ *
+ * @since 9.2
+ */
+public final class ImmutableRrbList<T>
+        extends AbstractImmutableList<T>
+        implements Serializable, RandomAccess
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    // Number of nodes above the optimal count tolerated on each level before a concatenation redistributes them
+    private static final int EXTRAS = 2;
+    private static final Object[] EMPTY_LEAF = {};
+    private static final ImmutableRrbList<?> EMPTY = new ImmutableRrbList<>(EMPTY_LEAF, 0, 0);
+
+    // An Object[] leaf when shift is 0, otherwise a Branch
+    private final Object root;
+    private final int shift;
+    private final int size;
+
+    private ImmutableRrbList(Object root, int shift, int size)
+    {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    public static <T> ImmutableRrbList<T> empty()
+    {
+        return (ImmutableRrbList<T>) EMPTY;
+    }
+
+    public static <T> ImmutableRrbList<T> newList(Iterable<? extends T> iterable)
+    {
+        if (iterable instanceof ImmutableRrbList<?>)
+        {
+            return (ImmutableRrbList<T>) iterable;
+        }
+        return ImmutableRrbList.fromArray(Iterate.toArray(iterable));
+    }
+
+    public static <T> ImmutableRrbList<T> newListWith(T... elements)
+    {
+        return ImmutableRrbList.fromArray(elements);
+    }
+
+    private static <T> ImmutableRrbList<T> fromArray(Object[] items)
+    {
+        int size = items.length;
+        if (size == 0)
+        {
+            return ImmutableRrbList.empty();
+        }
+        Object[] level = new Object[(size + WIDTH - 1) >>> BITS];
+        for (int i = 0; i < level.length; i++)
+        {
+            level[i] = Arrays.copyOfRange(items, i << BITS, Math.min(size, (i + 1) << BITS), Object[].class);
+        }
+        int shift = 0;
+        while (level.length > 1)
+        {
+            Object[] parents = new Object[(level.length + WIDTH - 1) >>> BITS];
+            for (int i = 0; i < parents.length; i++)
+            {
+                parents[i] = Branch.of(Arrays.copyOfRange(level, i << BITS, Math.min(level.length, (i + 1) << BITS)), shift);
+            }
+            level = parents;
+            shift += BITS;
+        }
+        return new ImmutableRrbList<>(level[0], shift, size);
+    }
+
+    private static int nodeSize(Object node, int shift)
+    {
+        return shift == 0 ? ((Object[]) node).length : ((Branch) node).size();
+    }
+
+    private static Object[] slots(Object node, int shift)
+    {
+        return shift == 0 ? (Object[]) node : ((Branch) node).children;
+    }
+
+    private static Object path(int shift, Object element)
+    {
+        if (shift == 0)
+        {
+            return new Object[]{element};
+        }
+        return new Branch(new Object[]{ImmutableRrbList.path(shift - BITS, element)}, new int[]{1});
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public T get(int index)
+    {
+        if (index < 0 || index >= this.size)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + " Size: " + this.size);
+        }
+        Object node = this.root;
+        int position = index;
+        for (int level = this.shift; level > 0; level -= BITS)
+        {
+            Branch branch = (Branch) node;
+            int childIndex = branch.childIndex(position, level);
+            position -= branch.offset(childIndex);
+            node = branch.children[childIndex];
+        }
+        return (T) ((Object[]) node)[position];
+    }
+
+    @Override
+    public T getLast()
+    {
+        return this.isEmpty() ? null : this.get(this.size - 1);
+    }
+
+    @Override
+    public ImmutableRrbList<T> newWith(T element)
+    {
+        Object newRoot = ImmutableRrbList.append(this.root, this.shift, element);
+        if (newRoot != null)
+        {
+            return new ImmutableRrbList<>(newRoot, this.shift, this.size + 1);
+        }
+        Object[] children = {this.root, ImmutableRrbList.path(this.shift, element)};
+        return new ImmutableRrbList<>(new Branch(children, new int[]{this.size, this.size + 1}), this.shift + BITS, this.size + 1);
+    }
+
+    /**
+     * Returns a new list with the specified element inserted in front of the elements of this list.
+     */
+    public ImmutableRrbList<T> newWithFirst(T element)
+    {
+        Object newRoot = ImmutableRrbList.prepend(this.root, this.shift, element);
+        if (newRoot != null)
+        {
+            return new ImmutableRrbList<>(newRoot, this.shift, this.size + 1);
+        }
+        Object[] children = {ImmutableRrbList.path(this.shift, element), this.root};
+        return new ImmutableRrbList<>(new Branch(children, new int[]{1, this.size + 1}), this.shift + BITS, this.size + 1);
+    }
+
+    private static Object append(Object node, int shift, Object element)
+    {
+        if (shift == 0)
+        {
+            Object[] leaf = (Object[]) node;
+            if (leaf.length == WIDTH)
+            {
+                return null;
+            }
+            Object[] result = Arrays.copyOf(leaf, leaf.length + 1);
+            result[leaf.length] = element;
+            return result;
+        }
+        Branch branch = (Branch) node;
+        int last = branch.children.length - 1;
+        Object child = ImmutableRrbList.append(branch.children[last], shift - BITS, element);
+        if (child != null)
+        {
+            return branch.withLast(child, 1);
+        }
+        if (branch.children.length < WIDTH)
+        {
+            return branch.withAddedLast(ImmutableRrbList.path(shift - BITS, element), 1);
+        }
+        return null;
+    }
+
+    private static Object prepend(Object node, int shift, Object element)
+    {
+        if (shift == 0)
+        {
+            Object[] leaf = (Object[]) node;
+            if (leaf.length == WIDTH)
+            {
+                return null;
+            }
+            Object[] result = new Object[leaf.length + 1];
+            result[0] = element;
+            System.arraycopy(leaf, 0, result, 1, leaf.length);
+            return result;
+        }
+        Branch branch = (Branch) node;
+        Object child = ImmutableRrbList.prepend(branch.children[0], shift - BITS, element);
+        if (child != null)
+        {
+            return branch.withFirst(child, 1);
+        }
+        if (branch.children.length < WIDTH)
+        {
+            return branch.withAddedFirst(ImmutableRrbList.path(shift - BITS, element), 1);
+        }
+        return null;
+    }
+
+    @Override
+    public ImmutableRrbList<T> newWithAll(Iterable<? extends T> elements)
+    {
+        return ImmutableRrbList.concat(this, ImmutableRrbList.newList(elements));
+    }
+
+    @Override
+    public ImmutableRrbList<T> newWithout(T element)
+    {
+        int index = this.indexOf(element);
+        if (index < 0)
+        {
+            return this;
+        }
+        return ImmutableRrbList.concat(this.slice(0, index), this.slice(index + 1, this.size));
+    }
+
+    @Override
+    public ImmutableRrbList<T> newWithoutAll(Iterable<? extends T> elements)
+    {
+        FastList<T> result = FastList.newList(this);
+        this.removeAllFrom(elements, result);
+        return result.size() == this.size ? this : ImmutableRrbList.newList(result);
+    }
+
+    @Override
+    public ImmutableRrbList<T> subList(int fromIndex, int toIndex)
+    {
+        if (fromIndex < 0)
+        {
+            throw new IndexOutOfBoundsException("fromIndex = " + fromIndex);
+        }
+        if (toIndex > this.size)
+        {
+            throw new IndexOutOfBoundsException("toIndex = " + toIndex);
+        }
+        if (fromIndex > toIndex)
+        {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ')');
+        }
+        return this.slice(fromIndex, toIndex);
+    }
+
+    @Override
+    public ImmutableRrbList<T> take(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+        return this.slice(0, Math.min(count, this.size));
+    }
+
+    @Override
+    public ImmutableRrbList<T> drop(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+        return this.slice(Math.min(count, this.size), this.size);
+    }
+
+    @Override
+    public ImmutableRrbList<T> toReversed()
+    {
+        return ImmutableRrbList.newList(this.asReversed());
+    }
+
+    private ImmutableRrbList<T> slice(int fromIndex, int toIndex)
+    {
+        int newSize = toIndex - fromIndex;
+        if (newSize == this.size)
+        {
+            return this;
+        }
+        if (newSize == 0)
+        {
+            return ImmutableRrbList.empty();
+        }
+        Object node = ImmutableRrbList.takeNode(this.root, this.shift, toIndex);
+        node = ImmutableRrbList.dropNode(node, this.shift, fromIndex);
+        int newShift = this.shift;
+        while (newShift > 0 && ((Branch) node).children.length == 1)
+        {
+            node = ((Branch) node).children[0];
+            newShift -= BITS;
+        }
+        return new ImmutableRrbList<>(node, newShift, newSize);
+    }
+
+    private static Object takeNode(Object node, int shift, int count)
+    {
+        if (count == ImmutableRrbList.nodeSize(node, shift))
+        {
+            return node;
+        }
+        if (shift == 0)
+        {
+            return Arrays.copyOf((Object[]) node, count);
+        }
+        Branch branch = (Branch) node;
+        int index = branch.childIndex(count - 1, shift);
+        Object[] children = Arrays.copyOf(branch.children, index + 1);
+        children[index] = ImmutableRrbList.takeNode(branch.children[index], shift - BITS, count - branch.offset(index));
+        int[] sizes = Arrays.copyOf(branch.sizes, index + 1);
+        sizes[index] = count;
+        return new Branch(children, sizes);
+    }
+
+    private static Object dropNode(Object node, int shift, int count)
+    {
+        if (count == 0)
+        {
+            return node;
+        }
+        if (shift == 0)
+        {
+            Object[] leaf = (Object[]) node;
+            return Arrays.copyOfRange(leaf, count, leaf.length);
+        }
+        Branch branch = (Branch) node;
+        int index = branch.childIndex(count, shift);
+        Object[] children = Arrays.copyOfRange(branch.children, index, branch.children.length);
+        children[0] = ImmutableRrbList.dropNode(branch.children[index], shift - BITS, count - branch.offset(index));
+        int[] sizes = new int[children.length];
+        for (int i = 0; i < sizes.length; i++)
+        {
+            sizes[i] = branch.sizes[index + i] - count;
+        }
+        return new Branch(children, sizes);
+    }
+
+    private static <T> ImmutableRrbList<T> concat(ImmutableRrbList<T> left, ImmutableRrbList<T> right)
+    {
+        if (left.size == 0)
+        {
+            return right;
+        }
+        if (right.size == 0)
+        {
+            return left;
+        }
+        int newSize = left.size + right.size;
+        if (left.shift == 0 && right.shift == 0)
+        {
+            Object[] leftLeaf = (Object[]) left.root;
+            Object[] rightLeaf = (Object[]) right.root;
+            if (newSize <= WIDTH)
+            {
+                Object[] leaf = Arrays.copyOf(leftLeaf, newSize);
+                System.arraycopy(rightLeaf, 0, leaf, leftLeaf.length, rightLeaf.length);
+                return new ImmutableRrbList<>(leaf, 0, newSize);
+            }
+            return new ImmutableRrbList<>(new Branch(new Object[]{leftLeaf, rightLeaf}, new int[]{leftLeaf.length, newSize}), BITS, newSize);
+        }
+        int newShift = Math.max(left.shift, right.shift);
+        Branch joined = ImmutableRrbList.concatSubTree(left.root, left.shift, right.root, right.shift);
+        if (joined.children.length == 1)
+        {
+            return new ImmutableRrbList<>(joined.children[0], newShift, newSize);
+        }
+        return new ImmutableRrbList<>(joined, newShift + BITS, newSize);
+    }
+
+    /**
+     * Joins the right edge of {@code left} with the left edge of {@code right}, returning a branch one level above the
+     * taller of the two that holds one or two nodes.
+     */
+    private static Branch concatSubTree(Object left, int leftShift, Object right, int rightShift)
+    {
+        if (leftShift > rightShift)
+        {
+            Branch leftBranch = (Branch) left;
+            Branch center = ImmutableRrbList.concatSubTree(leftBranch.last(), leftShift - BITS, right, rightShift);
+            return ImmutableRrbList.rebalance(leftBranch, center, null, leftShift);
+        }
+        if (leftShift < rightShift)
+        {
+            Branch rightBranch = (Branch) right;
+            Branch center = ImmutableRrbList.concatSubTree(left, leftShift, rightBranch.children[0], rightShift - BITS);
+            return ImmutableRrbList.rebalance(null, center, rightBranch, rightShift);
+        }
+        if (leftShift == 0)
+        {
+            return Branch.of(new Object[]{left, right}, 0);
+        }
+        Branch leftBranch = (Branch) left;
+        Branch rightBranch = (Branch) right;
+        Branch center = ImmutableRrbList.concatSubTree(leftBranch.last(), leftShift - BITS, rightBranch.children[0], rightShift - BITS);
+        return ImmutableRrbList.rebalance(leftBranch, center, rightBranch, leftShift);
+    }
+
+    private static Branch rebalance(Branch left, Branch center, Branch right, int shift)
+    {
+        int leftCount = left == null ? 0 : left.children.length - 1;
+        int rightCount = right == null ? 0 : right.children.length - 1;
+        Object[] all = new Object[leftCount + center.children.length + rightCount];
+        if (left != null)
+        {
+            System.arraycopy(left.children, 0, all, 0, leftCount);
+        }
+        System.arraycopy(center.children, 0, all, leftCount, center.children.length);
+        if (right != null)
+        {
+            System.arraycopy(right.children, 1, all, leftCount + center.children.length, rightCount);
+        }
+
+        int childShift = shift - BITS;
+        Object[] nodes = ImmutableRrbList.redistribute(all, ImmutableRrbList.concatenationPlan(all, childShift), childShift);
+        if (nodes.length <= WIDTH)
+        {
+            return Branch.of(new Object[]{Branch.of(nodes, childShift)}, shift);
+        }
+        Branch first = Branch.of(Arrays.copyOf(nodes, WIDTH), childShift);
+        Branch second = Branch.of(Arrays.copyOfRange(nodes, WIDTH, nodes.length), childShift);
+        return Branch.of(new Object[]{first, second}, shift);
+    }
+
+    /**
+     * Computes how many slots each node should hold so that there are at most {@link #EXTRAS} more nodes than
+     * strictly necessary, merging the first short nodes into their right neighbours.
+     */
+    private static int[] concatenationPlan(Object[] nodes, int shift)
+    {
+        int count = nodes.length;
+        int[] slotCounts = new int[count];
+        int totalSlots = 0;
+        for (int i = 0; i < count; i++)
+        {
+            slotCounts[i] = ImmutableRrbList.slots(nodes[i], shift).length;
+            totalSlots += slotCounts[i];
+        }
+        int optimal = (totalSlots + WIDTH - 1) >>> BITS;
+        int i = 0;
+        while (count > optimal + EXTRAS)
+        {
+            while (slotCounts[i] > WIDTH - EXTRAS / 2)
+            {
+                i++;
+            }
+            int remaining = slotCounts[i];
+            while (remaining > 0)
+            {
+                int filled = Math.min(remaining + slotCounts[i + 1], WIDTH);
+                remaining += slotCounts[i + 1] - filled;
+                slotCounts[i] = filled;
+                i++;
+            }
+            System.arraycopy(slotCounts, i + 1, slotCounts, i, count - i - 1);
+            count--;
+            i--;
+        }
+        return count == nodes.length ? slotCounts : Arrays.copyOf(slotCounts, count);
+    }
+
+    private static Object[] redistribute(Object[] nodes, int[] slotCounts, int shift)
+    {
+        Object[] result = new Object[slotCounts.length];
+        int source = 0;
+        int sourceOffset = 0;
+        for (int i = 0; i < slotCounts.length; i++)
+        {
+            int count = slotCounts[i];
+            if (sourceOffset == 0 && ImmutableRrbList.slots(nodes[source], shift).length == count)
+            {
+                result[i] = nodes[source++];
+                continue;
+            }
+            Object[] slots = new Object[count];
+            int filled = 0;
+            while (filled < count)
+            {
+                Object[] from = ImmutableRrbList.slots(nodes[source], shift);
+                int copied = Math.min(count - filled, from.length - sourceOffset);
+                System.arraycopy(from, sourceOffset, slots, filled, copied);
+                filled += copied;
+                sourceOffset += copied;
+                if (sourceOffset == from.length)
+                {
+                    source++;
+                    sourceOffset = 0;
+                }
+            }
+            result[i] = shift == 0 ? slots : Branch.of(slots, shift - BITS);
+        }
+        return result;
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        ImmutableRrbList.forEach(this.root, this.shift, procedure);
+    }
+
+    private static <T> void forEach(Object node, int shift, Procedure<? super T> procedure)
+    {
+        if (shift == 0)
+        {
+            Object[] leaf = (Object[]) node;
+            for (int i = 0; i < leaf.length; i++)
+            {
+                procedure.value((T) leaf[i]);
+            }
+        }
+        else
+        {
+            Object[] children = ((Branch) node).children;
+            for (int i = 0; i < children.length; i++)
+            {
+                ImmutableRrbList.forEach(children[i], shift - BITS, procedure);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new LeafIterator();
+    }
+
+    private Object writeReplace()
+    {
+        return new ImmutableRrbListSerializationProxy<>(this);
+    }
+
+    private static final class Branch
+    {
+        private final Object[] children;
+        // Cumulative number of elements held by children[0..i]
+        private final int[] sizes;
+
+        private Branch(Object[] children, int[] sizes)
+        {
+            this.children = children;
+            this.sizes = sizes;
+        }
+
+        private static Branch of(Object[] children, int childShift)
+        {
+            int[] sizes = new int[children.length];
+            int total = 0;
+            for (int i = 0; i < children.length; i++)
+            {
+                total += ImmutableRrbList.nodeSize(children[i], childShift);
+                sizes[i] = total;
+            }
+            return new Branch(children, sizes);
+        }
+
+        private int size()
+        {
+            return this.sizes[this.sizes.length - 1];
+        }
+
+        private Object last()
+        {
+            return this.children[this.children.length - 1];
+        }
+
+        /**
+         * A child can hold at most {@code 1 << shift} elements, so {@code index >>> shift} never overshoots the child
+         * holding {@code index} and the scan from there is short unless the branch is sparsely filled.
+         */
+        private int childIndex(int index, int shift)
+        {
+            int childIndex = index >>> shift;
+            while (this.sizes[childIndex] <= index)
+            {
+                childIndex++;
+            }
+            return childIndex;
+        }
+
+        private int offset(int childIndex)
+        {
+            return childIndex == 0 ? 0 : this.sizes[childIndex - 1];
+        }
+
+        private Branch withLast(Object child, int delta)
+        {
+            int last = this.children.length - 1;
+            Object[] newChildren = this.children.clone();
+            newChildren[last] = child;
+            int[] newSizes = this.sizes.clone();
+            newSizes[last] += delta;
+            return new Branch(newChildren, newSizes);
+        }
+
+        private Branch withAddedLast(Object child, int childSize)
+        {
+            int length = this.children.length;
+            Object[] newChildren = Arrays.copyOf(this.children, length + 1);
+            newChildren[length] = child;
+            int[] newSizes = Arrays.copyOf(this.sizes, length + 1);
+            newSizes[length] = this.sizes[length - 1] + childSize;
+            return new Branch(newChildren, newSizes);
+        }
+
+        private Branch withFirst(Object child, int delta)
+        {
+            Object[] newChildren = this.children.clone();
+            newChildren[0] = child;
+            int[] newSizes = new int[this.sizes.length];
+            for (int i = 0; i < newSizes.length; i++)
+            {
+                newSizes[i] = this.sizes[i] + delta;
+            }
+            return new Branch(newChildren, newSizes);
+        }
+
+        private Branch withAddedFirst(Object child, int childSize)
+        {
+            int length = this.children.length;
+            Object[] newChildren = new Object[length + 1];
+            newChildren[0] = child;
+            System.arraycopy(this.children, 0, newChildren, 1, length);
+            int[] newSizes = new int[length + 1];
+            newSizes[0] = childSize;
+            for (int i = 0; i < length; i++)
+            {
+                newSizes[i + 1] = this.sizes[i] + childSize;
+            }
+            return new Branch(newChildren, newSizes);
+        }
+    }
+
+    private final class LeafIterator
+            implements Iterator<T>
+    {
+        private Object[] leaf = EMPTY_LEAF;
+        private int leafIndex;
+        private int index;
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.index < ImmutableRrbList.this.size;
+        }
+
+        @Override
+        public T next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            if (this.leafIndex == this.leaf.length)
+            {
+                this.leaf = this.leafStartingAt(this.index);
+                this.leafIndex = 0;
+            }
+            this.index++;
+            return (T) this.leaf[this.leafIndex++];
+        }
+
+        // Leaves are visited in order, so the next element is always the first one of its leaf
+        private Object[] leafStartingAt(int start)
+        {
+            Object node = ImmutableRrbList.this.root;
+            int position = start;
+            for (int level = ImmutableRrbList.this.shift; level > 0; level -= BITS)
+            {
+                Branch branch = (Branch) node;
+                int childIndex = branch.childIndex(position, level);
+                position -= branch.offset(childIndex);
+                node = branch.children[childIndex];
+            }
+            return (Object[]) node;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from an ImmutableRrbList");
+        }
+    }
+}
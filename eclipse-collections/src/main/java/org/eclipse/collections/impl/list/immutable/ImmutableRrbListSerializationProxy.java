@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.list.immutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.impl.block.procedure.checked.CheckedProcedure;
+
+class ImmutableRrbListSerializationProxy<T> implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private ImmutableList<T> list;
+
+    @SuppressWarnings("UnusedDeclaration")
+    public ImmutableRrbListSerializationProxy()
+    {
+        // Empty constructor for Externalizable class
+    }
+
+    ImmutableRrbListSerializationProxy(ImmutableList<T> list)
+    {
+        this.list = list;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeInt(this.list.size());
+        try
+        {
+            this.list.forEach(new CheckedProcedure<T>()
+            {
+                public void safeValue(T each) throws IOException
+                {
+                    out.writeObject(each);
+                }
+            });
+        }
+        catch (RuntimeException e)
+        {
+            if (e.getCause() instanceof IOException)
+            {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int size = in.readInt();
+        T[] items = (T[]) new Object[size];
+        for (int i = 0; i < size; i++)
+        {
+            items[i] = (T) in.readObject();
+        }
+        this.list = ImmutableRrbList.newListWith(items);
+    }
+
+    protected Object readResolve()
+    {
+        return this.list;
+    }
+}
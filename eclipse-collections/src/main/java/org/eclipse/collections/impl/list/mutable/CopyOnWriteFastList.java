@@ -0,0 +1,590 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.list.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.RandomAccess;
+import java.util.concurrent.ExecutorService;
+import java.util.function.UnaryOperator;
+
+import org.eclipse.collections.api.block.HashingStrategy;
+import org.eclipse.collections.api.block.function.Function2;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.predicate.Predicate2;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.ParallelListIterable;
+import org.eclipse.collections.api.ordered.OrderedIterable;
+import org.eclipse.collections.api.partition.list.PartitionMutableList;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.list.immutable.ImmutableListFactoryImpl;
+import org.eclipse.collections.impl.utility.ListIterate;
+import org.eclipse.collections.impl.utility.internal.RandomAccessListIterate;
+
+/**
+ * A thread-safe MutableList for lists which are read far more often than they are written, such as registries of
+ * listeners.  The elements are held in an ImmutableList snapshot referenced by a volatile field.  Readers use the
+ * current snapshot without any locking, so iteration never blocks and never throws
+ * {@link java.util.ConcurrentModificationException}.  Writers copy the snapshot into an array, apply their change to
+ * it and adopt the array as the new snapshot, so each write costs one copy proportional to the size of the list.  A
+ * write which does not change the list, such as removing an absent element, does not publish a new snapshot.
+ * <p>
+ * Each read operation sees a single snapshot.  Iterators, listIterator and subList are views of the snapshot taken when
+ * they were created, and do not support modification.  {@link #toImmutable()} returns the current snapshot without
+ * copying it.
+ *
+ * @since 9.2
+ */
+public final class CopyOnWriteFastList<T>
+        extends AbstractListAdapter<T>
+        implements RandomAccess, Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private final Object lock = new Object();
+    private volatile ImmutableList<T> snapshot;
+
+    public CopyOnWriteFastList()
+    {
+        this(Lists.immutable.empty());
+    }
+
+    private CopyOnWriteFastList(ImmutableList<T> snapshot)
+    {
+        this.snapshot = snapshot;
+    }
+
+    public static <T> CopyOnWriteFastList<T> newList()
+    {
+        return new CopyOnWriteFastList<>();
+    }
+
+    public static <T> CopyOnWriteFastList<T> newList(Iterable<? extends T> iterable)
+    {
+        return new CopyOnWriteFastList<>(Lists.immutable.withAll(iterable));
+    }
+
+    public static <T> CopyOnWriteFastList<T> newListWith(T... elements)
+    {
+        return new CopyOnWriteFastList<>(Lists.immutable.with(elements));
+    }
+
+    @Override
+    protected List<T> getDelegate()
+    {
+        return this.snapshot.castToList();
+    }
+
+    /**
+     * Copies the current snapshot once into an array with room for {@code extraCapacity} more elements, applies the
+     * mutation to a FastList over that array and adopts the array as the new snapshot.  Writers are serialized, so no
+     * write is lost, and nothing is published if the mutation reports that it did not change the list or throws.  A
+     * mutation which removes elements leaves spare room at the end of the array, so its shorter result is copied again.
+     */
+    private boolean write(int extraCapacity, Predicate<? super FastList<T>> mutation)
+    {
+        synchronized (this.lock)
+        {
+            ImmutableList<T> current = this.snapshot;
+            int size = current.size();
+            FastList<T> copy = new FastList<>(size, current.toArray((T[]) new Object[size + extraCapacity]));
+            if (!mutation.accept(copy))
+            {
+                return false;
+            }
+            T[] items = copy.items.length == copy.size ? copy.items : Arrays.copyOf(copy.items, copy.size);
+            this.snapshot = ImmutableListFactoryImpl.INSTANCE.withAllWithoutCopy(items);
+            return true;
+        }
+    }
+
+    private static void rangeCheck(int index, int size)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + " Size: " + size);
+        }
+    }
+
+    @Override
+    public ImmutableList<T> toImmutable()
+    {
+        return this.snapshot;
+    }
+
+    @Override
+    public MutableList<T> asUnmodifiable()
+    {
+        return UnmodifiableMutableList.of(this);
+    }
+
+    @Override
+    public MutableList<T> asSynchronized()
+    {
+        return SynchronizedMutableList.of(this);
+    }
+
+    @Override
+    public CopyOnWriteFastList<T> clone()
+    {
+        return new CopyOnWriteFastList<>(this.snapshot);
+    }
+
+    @Override
+    public CopyOnWriteFastList<T> newEmpty()
+    {
+        return new CopyOnWriteFastList<>();
+    }
+
+    // Writes
+
+    @Override
+    public boolean add(T element)
+    {
+        return this.write(1, list -> list.add(element));
+    }
+
+    @Override
+    public void add(int index, T element)
+    {
+        this.write(1, list -> {
+            list.add(index, element);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> collection)
+    {
+        return this.write(collection.size(), list -> list.addAll(collection));
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends T> collection)
+    {
+        return this.write(collection.size(), list -> list.addAll(index, collection));
+    }
+
+    @Override
+    public boolean addAllIterable(Iterable<? extends T> iterable)
+    {
+        int extraCapacity = iterable instanceof Collection ? ((Collection<?>) iterable).size() : 0;
+        return this.write(extraCapacity, list -> list.addAllIterable(iterable));
+    }
+
+    @Override
+    public T set(int index, T element)
+    {
+        synchronized (this.lock)
+        {
+            ImmutableList<T> current = this.snapshot;
+            CopyOnWriteFastList.rangeCheck(index, current.size());
+            T previous = current.get(index);
+            T[] items = current.toArray((T[]) new Object[current.size()]);
+            items[index] = element;
+            this.snapshot = ImmutableListFactoryImpl.INSTANCE.withAllWithoutCopy(items);
+            return previous;
+        }
+    }
+
+    @Override
+    public boolean remove(Object element)
+    {
+        synchronized (this.lock)
+        {
+            int index = this.snapshot.indexOf(element);
+            if (index == -1)
+            {
+                return false;
+            }
+            this.remove(index);
+            return true;
+        }
+    }
+
+    @Override
+    public T remove(int index)
+    {
+        synchronized (this.lock)
+        {
+            ImmutableList<T> current = this.snapshot;
+            CopyOnWriteFastList.rangeCheck(index, current.size());
+            T removed = current.get(index);
+            T[] items = (T[]) new Object[current.size() - 1];
+            current.forEachWithIndex((each, i) -> {
+                if (i != index)
+                {
+                    items[i < index ? i : i - 1] = each;
+                }
+            });
+            this.snapshot = ImmutableListFactoryImpl.INSTANCE.withAllWithoutCopy(items);
+            return removed;
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> collection)
+    {
+        return this.write(0, list -> list.removeAll(collection));
+    }
+
+    @Override
+    public boolean removeAllIterable(Iterable<?> iterable)
+    {
+        return this.write(0, list -> list.removeAllIterable(iterable));
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> collection)
+    {
+        return this.write(0, list -> list.retainAll(collection));
+    }
+
+    @Override
+    public boolean retainAllIterable(Iterable<?> iterable)
+    {
+        return this.write(0, list -> list.retainAllIterable(iterable));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> predicate)
+    {
+        return this.write(0, list -> list.removeIf(predicate));
+    }
+
+    @Override
+    public boolean removeIf(java.util.function.Predicate<? super T> predicate)
+    {
+        return this.write(0, list -> list.removeIf(predicate));
+    }
+
+    @Override
+    public <P> boolean removeIfWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        return this.write(0, list -> list.removeIfWith(predicate, parameter));
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<T> operator)
+    {
+        this.write(0, list -> {
+            list.replaceAll(operator);
+            return true;
+        });
+    }
+
+    @Override
+    public void clear()
+    {
+        synchronized (this.lock)
+        {
+            this.snapshot = Lists.immutable.empty();
+        }
+    }
+
+    @Override
+    public CopyOnWriteFastList<T> sortThis(Comparator<? super T> comparator)
+    {
+        this.write(0, list -> {
+            list.sortThis(comparator);
+            return true;
+        });
+        return this;
+    }
+
+    @Override
+    public CopyOnWriteFastList<T> sortThis()
+    {
+        return this.sortThis(Comparators.naturalOrder());
+    }
+
+    @Override
+    public void sort(Comparator<? super T> comparator)
+    {
+        this.sortThis(comparator);
+    }
+
+    @Override
+    public CopyOnWriteFastList<T> reverseThis()
+    {
+        this.write(0, list -> {
+            list.reverseThis();
+            return true;
+        });
+        return this;
+    }
+
+    @Override
+    public CopyOnWriteFastList<T> shuffleThis()
+    {
+        this.write(0, list -> {
+            list.shuffleThis();
+            return true;
+        });
+        return this;
+    }
+
+    @Override
+    public CopyOnWriteFastList<T> shuffleThis(Random rnd)
+    {
+        this.write(0, list -> {
+            list.shuffleThis(rnd);
+            return true;
+        });
+        return this;
+    }
+
+    @Override
+    public CopyOnWriteFastList<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    public CopyOnWriteFastList<T> with(T... elements)
+    {
+        this.addAll(Lists.fixedSize.with(elements));
+        return this;
+    }
+
+    @Override
+    public CopyOnWriteFastList<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    @Override
+    public CopyOnWriteFastList<T> withAll(Iterable<? extends T> elements)
+    {
+        this.addAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public CopyOnWriteFastList<T> withoutAll(Iterable<? extends T> elements)
+    {
+        this.removeAllIterable(elements);
+        return this;
+    }
+
+    // Reads, each of which uses a single snapshot
+
+    @Override
+    public MutableList<T> subList(int fromIndex, int toIndex)
+    {
+        return UnmodifiableMutableList.of(ListAdapter.adapt(this.getDelegate().subList(fromIndex, toIndex)));
+    }
+
+    @Override
+    public MutableList<T> toReversed()
+    {
+        return FastList.newList(this.getDelegate()).reverseThis();
+    }
+
+    @Override
+    public T min(Comparator<? super T> comparator)
+    {
+        return this.snapshot.min(comparator);
+    }
+
+    @Override
+    public T max(Comparator<? super T> comparator)
+    {
+        return this.snapshot.max(comparator);
+    }
+
+    @Override
+    public T min()
+    {
+        return this.snapshot.min();
+    }
+
+    @Override
+    public T max()
+    {
+        return this.snapshot.max();
+    }
+
+    @Override
+    public int binarySearch(T key, Comparator<? super T> comparator)
+    {
+        return Collections.binarySearch(this.getDelegate(), key, comparator);
+    }
+
+    @Override
+    public int binarySearch(T key)
+    {
+        return Collections.binarySearch((List<? extends Comparable<? super T>>) this.getDelegate(), key);
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        this.snapshot.each(procedure);
+    }
+
+    @Override
+    public void reverseForEach(Procedure<? super T> procedure)
+    {
+        this.snapshot.reverseForEach(procedure);
+    }
+
+    @Override
+    public void reverseForEachWithIndex(ObjectIntProcedure<? super T> procedure)
+    {
+        this.snapshot.reverseForEachWithIndex(procedure);
+    }
+
+    @Override
+    public void forEachWithIndex(ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        this.snapshot.forEachWithIndex(objectIntProcedure);
+    }
+
+    @Override
+    public void forEachWithIndex(int fromIndex, int toIndex, ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        this.snapshot.forEachWithIndex(fromIndex, toIndex, objectIntProcedure);
+    }
+
+    @Override
+    public void forEach(int fromIndex, int toIndex, Procedure<? super T> procedure)
+    {
+        this.snapshot.forEach(fromIndex, toIndex, procedure);
+    }
+
+    @Override
+    public int detectIndex(Predicate<? super T> predicate)
+    {
+        return this.snapshot.detectIndex(predicate);
+    }
+
+    @Override
+    public int detectLastIndex(Predicate<? super T> predicate)
+    {
+        return this.snapshot.detectLastIndex(predicate);
+    }
+
+    @Override
+    public int count(Predicate<? super T> predicate)
+    {
+        return this.snapshot.count(predicate);
+    }
+
+    @Override
+    public <S> boolean corresponds(OrderedIterable<S> other, Predicate2<? super T, ? super S> predicate)
+    {
+        return this.snapshot.corresponds(other, predicate);
+    }
+
+    @Override
+    public boolean anySatisfy(Predicate<? super T> predicate)
+    {
+        return this.snapshot.anySatisfy(predicate);
+    }
+
+    @Override
+    public boolean allSatisfy(Predicate<? super T> predicate)
+    {
+        return this.snapshot.allSatisfy(predicate);
+    }
+
+    @Override
+    public boolean noneSatisfy(Predicate<? super T> predicate)
+    {
+        return this.snapshot.noneSatisfy(predicate);
+    }
+
+    @Override
+    public <IV> IV injectInto(IV injectedValue, Function2<? super IV, ? super T, ? extends IV> function)
+    {
+        return this.snapshot.injectInto(injectedValue, function);
+    }
+
+    @Override
+    public <S> MutableList<S> selectInstancesOf(Class<S> clazz)
+    {
+        return RandomAccessListIterate.selectInstancesOf(this.getDelegate(), clazz);
+    }
+
+    @Override
+    public MutableList<T> distinct()
+    {
+        return RandomAccessListIterate.distinct(this.getDelegate());
+    }
+
+    @Override
+    public MutableList<T> distinct(HashingStrategy<? super T> hashingStrategy)
+    {
+        return RandomAccessListIterate.distinct(this.getDelegate(), hashingStrategy);
+    }
+
+    @Override
+    public MutableList<T> take(int count)
+    {
+        return RandomAccessListIterate.take(this.getDelegate(), count);
+    }
+
+    @Override
+    public MutableList<T> takeWhile(Predicate<? super T> predicate)
+    {
+        return RandomAccessListIterate.takeWhile(this.getDelegate(), predicate);
+    }
+
+    @Override
+    public MutableList<T> drop(int count)
+    {
+        return RandomAccessListIterate.drop(this.getDelegate(), count);
+    }
+
+    @Override
+    public MutableList<T> dropWhile(Predicate<? super T> predicate)
+    {
+        return RandomAccessListIterate.dropWhile(this.getDelegate(), predicate);
+    }
+
+    @Override
+    public PartitionMutableList<T> partitionWhile(Predicate<? super T> predicate)
+    {
+        return ListIterate.partitionWhile(this.getDelegate(), predicate);
+    }
+
+    @Override
+    public ParallelListIterable<T> asParallel(ExecutorService executorService, int batchSize)
+    {
+        return this.snapshot.asParallel(executorService, batchSize);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeObject(this.snapshot);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        this.snapshot = (ImmutableList<T>) in.readObject();
+    }
+}
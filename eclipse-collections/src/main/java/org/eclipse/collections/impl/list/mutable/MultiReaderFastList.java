@@ -70,6 +70,7 @@ import org.eclipse.collections.api.partition.list.PartitionMutableList;
 import org.eclipse.collections.api.stack.MutableStack;
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.collection.mutable.AbstractMultiReaderMutableCollection;
+import org.eclipse.collections.impl.collection.mutable.StampedReadWriteLock;
 import org.eclipse.collections.impl.factory.Lists;
 import org.eclipse.collections.impl.lazy.ReverseIterable;
 import org.eclipse.collections.impl.lazy.parallel.list.ListIterableParallelIterable;
@@ -139,6 +140,34 @@ public final class MultiReaderFastList<T>
         return new MultiReaderFastList<>(FastList.newListWith(elements));
     }
 
+    /**
+     * Creates an empty MultiReaderFastList guarded by a {@link StampedReadWriteLock}, which serves short reads such as size and contains
+     * optimistically without acquiring the lock.  The lock is reentrant, and a deserialized copy is guarded by a
+     * StampedReadWriteLock as well.
+     *
+     * @since 9.2
+     */
+    public static <T> MultiReaderFastList<T> newStampedList()
+    {
+        return new MultiReaderFastList<>(FastList.newList(), new StampedReadWriteLock());
+    }
+
+    /**
+     * @since 9.2
+     */
+    public static <T> MultiReaderFastList<T> newStampedList(Iterable<T> iterable)
+    {
+        return new MultiReaderFastList<>(FastList.newList(iterable), new StampedReadWriteLock());
+    }
+
+    /**
+     * @since 9.2
+     */
+    public static <T> MultiReaderFastList<T> newStampedListWith(T... elements)
+    {
+        return new MultiReaderFastList<>(FastList.newListWith(elements), new StampedReadWriteLock());
+    }
+
     @Override
     protected MutableList<T> getDelegate()
     {
@@ -239,7 +268,7 @@ public final class MultiReaderFastList<T>
         this.acquireReadLock();
         try
         {
-            return new MultiReaderFastList<>(this.delegate.clone());
+            return new MultiReaderFastList<>(this.delegate.clone(), this.newLock());
         }
         finally
         {
@@ -423,7 +452,7 @@ public final class MultiReaderFastList<T>
     @Override
     public MutableList<T> newEmpty()
     {
-        return MultiReaderFastList.newList();
+        return new MultiReaderFastList<>(FastList.newList(), this.newLock());
     }
 
     @Override
@@ -799,15 +828,7 @@ public final class MultiReaderFastList<T>
     @Override
     public T get(int index)
     {
-        this.acquireReadLock();
-        try
-        {
-            return this.delegate.get(index);
-        }
-        finally
-        {
-            this.unlockReadLock();
-        }
+        return this.optimisticReadAndDelegate((MutableList<T> delegate) -> delegate.get(index));
     }
 
     @Override
@@ -841,29 +862,13 @@ public final class MultiReaderFastList<T>
     @Override
     public int indexOf(Object o)
     {
-        this.acquireReadLock();
-        try
-        {
-            return this.delegate.indexOf(o);
-        }
-        finally
-        {
-            this.unlockReadLock();
-        }
+        return this.optimisticReadAndDelegateInt((MutableList<T> delegate) -> delegate.indexOf(o));
     }
 
     @Override
     public int lastIndexOf(Object o)
     {
-        this.acquireReadLock();
-        try
-        {
-            return this.delegate.lastIndexOf(o);
-        }
-        finally
-        {
-            this.unlockReadLock();
-        }
+        return this.optimisticReadAndDelegateInt((MutableList<T> delegate) -> delegate.lastIndexOf(o));
     }
 
     @Override
@@ -1073,14 +1078,28 @@ public final class MultiReaderFastList<T>
     @Override
     public void writeExternal(ObjectOutput out) throws IOException
     {
+        if (this.lock instanceof StampedReadWriteLock)
+        {
+            // Marks the lock kind; the form written for a ReentrantReadWriteLock is unchanged
+            out.writeObject(StampedReadWriteLock.class);
+        }
         out.writeObject(this.delegate);
     }
 
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
     {
-        this.delegate = (MutableList<T>) in.readObject();
-        this.lock = new ReentrantReadWriteLock();
+        Object object = in.readObject();
+        if (object == StampedReadWriteLock.class)
+        {
+            this.lock = new StampedReadWriteLock();
+            this.delegate = (MutableList<T>) in.readObject();
+        }
+        else
+        {
+            this.lock = new ReentrantReadWriteLock();
+            this.delegate = (MutableList<T>) object;
+        }
     }
 
     // Exposed for testing
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.map.immutable.ImmutableShapedMap;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.map.mutable.ShapedMutableMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+
+/**
+ * A MapShape is an interned, ordered set of keys shared by many small maps.  A map created from a shape stores only an
+ * array of values, one per key of the shape, instead of its own copy of the keys and a hash table.  When millions of
+ * records have the same few keys this removes the per-map key references and table overhead, which typically more
+ * than halves the heap used by the maps.
+ * <p>
+ * Shapes are interned: calling {@link #of(Object[])} twice with the same keys in the same order returns the same
+ * instance.  Interned shapes are never released, so shapes should be created for fixed record layouts, not for keys
+ * derived from data.
+ *
+ * @see ShapedMutableMap
+ * @see ImmutableShapedMap
+ * @since 9.2
+ */
+public final class MapShape<K>
+{
+    // Shapes with more keys than this look keys up in a hash index instead of scanning the key array
+    private static final int LINEAR_SCAN_LIMIT = 8;
+
+    private static final ConcurrentHashMap<ImmutableList<Object>, MapShape<?>> SHAPES = ConcurrentHashMap.newMap();
+
+    private final ImmutableList<K> keyList;
+    private final Object[] keys;
+    private final ObjectIntHashMap<Object> index;
+
+    private MapShape(ImmutableList<K> keyList)
+    {
+        this.keyList = keyList;
+        this.keys = keyList.toArray();
+        if (this.keys.length > LINEAR_SCAN_LIMIT)
+        {
+            this.index = new ObjectIntHashMap<>(this.keys.length);
+            for (int i = 0; i < this.keys.length; i++)
+            {
+                this.index.put(this.keys[i], i);
+            }
+        }
+        else
+        {
+            this.index = null;
+        }
+    }
+
+    public static <K> MapShape<K> of(K... keys)
+    {
+        return MapShape.of(Lists.immutable.with(keys));
+    }
+
+    public static <K> MapShape<K> of(Iterable<? extends K> keys)
+    {
+        ImmutableList<Object> keyList = Lists.immutable.withAll(keys);
+        MapShape<?> shape = SHAPES.get(keyList);
+        if (shape == null)
+        {
+            if (keyList.toSet().size() != keyList.size())
+            {
+                throw new IllegalArgumentException("Duplicate keys in shape " + keyList);
+            }
+            MapShape<?> newShape = new MapShape<>(keyList);
+            shape = SHAPES.putIfAbsent(keyList, newShape);
+            if (shape == null)
+            {
+                shape = newShape;
+            }
+        }
+        return (MapShape<K>) shape;
+    }
+
+    public int size()
+    {
+        return this.keys.length;
+    }
+
+    public K getKey(int index)
+    {
+        return (K) this.keys[index];
+    }
+
+    public ImmutableList<K> getKeys()
+    {
+        return this.keyList;
+    }
+
+    /**
+     * Returns the position of {@code key} in this shape, or -1 if the shape does not have the key.
+     */
+    public int indexOf(Object key)
+    {
+        if (this.index != null)
+        {
+            return this.index.getIfAbsent(key, -1);
+        }
+        Object[] localKeys = this.keys;
+        for (int i = 0; i < localKeys.length; i++)
+        {
+            if (localKeys[i] == key)
+            {
+                return i;
+            }
+        }
+        for (int i = 0; i < localKeys.length; i++)
+        {
+            if (Comparators.nullSafeEquals(localKeys[i], key))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns an empty mutable map of this shape.  Putting any key of the shape keeps the map in the shared layout.
+     */
+    public <V> ShapedMutableMap<K, V> newMutableMap()
+    {
+        return new ShapedMutableMap<>(this);
+    }
+
+    /**
+     * Returns a mutable map of this shape holding the given values, in the order of the keys of the shape.
+     */
+    public <V> ShapedMutableMap<K, V> newMutableMapWith(V... values)
+    {
+        return new ShapedMutableMap<>(this, values);
+    }
+
+    /**
+     * Returns an immutable map of this shape holding the given values, in the order of the keys of the shape.
+     */
+    public <V> ImmutableShapedMap<K, V> newImmutableMapWith(V... values)
+    {
+        return ImmutableShapedMap.newMap(this, values);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MapShape" + this.keyList;
+    }
+}
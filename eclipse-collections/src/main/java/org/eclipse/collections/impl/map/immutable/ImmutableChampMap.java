@@ -0,0 +1,952 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.immutable;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.tuple.ImmutableEntry;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.eclipse.collections.impl.utility.LazyIterate;
+
+/**
+ * An ImmutableChampMap is a persistent hash map stored in a Compressed Hash-Array Mapped Prefix-tree (CHAMP).  Each
+ * node branches 32 ways on five bits of the key's hash code and keeps its entries and its child nodes in one compact
+ * array indexed by two bitmaps.
+ * <p>
+ * {@link #newWithKeyValue(Object, Object)} and {@link #newWithoutKey(Object)} copy only the nodes on the path to the
+ * key, O(log32 n) of them, and share every other node with the original map, so successive versions of a large map
+ * are cheap to create and to keep.  Null keys and values are supported.
+ *
+ * @since 9.2
+ */
+public final class ImmutableChampMap<K, V>
+        extends AbstractImmutableMap<K, V>
+        implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_DEPTH = 8;
+    private static final Object NOT_FOUND = new Object();
+    private static final ImmutableChampMap<?, ?> EMPTY = new ImmutableChampMap<>(new BitmapIndexedNode(null, 0, 0, new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+
+    private ImmutableChampMap(Node root, int size)
+    {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static <K, V> ImmutableChampMap<K, V> empty()
+    {
+        return (ImmutableChampMap<K, V>) EMPTY;
+    }
+
+    public static <K, V> ImmutableChampMap<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+        if (map instanceof ImmutableChampMap<?, ?>)
+        {
+            return (ImmutableChampMap<K, V>) map;
+        }
+        Builder builder = new Builder(ImmutableChampMap.empty());
+        for (Entry<? extends K, ? extends V> entry : map.entrySet())
+        {
+            builder.put(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    public static <K, V> ImmutableChampMap<K, V> newMapWith(Pair<K, V>... pairs)
+    {
+        return ImmutableChampMap.<K, V>empty().newWithAllKeyValueArguments(pairs);
+    }
+
+    private static int hash(Object key)
+    {
+        return key == null ? 0 : key.hashCode();
+    }
+
+    private static boolean nullSafeEquals(Object key1, Object key2)
+    {
+        return key1 == key2 || key1 != null && key1.equals(key2);
+    }
+
+    private static int bitpos(int hash, int shift)
+    {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static int index(int bitmap, int bitpos)
+    {
+        return Integer.bitCount(bitmap & (bitpos - 1));
+    }
+
+    private static Node mergeTwo(Object owner, Object key0, Object value0, int hash0, Object key1, Object value1, int hash1, int shift)
+    {
+        if (shift >= Integer.SIZE)
+        {
+            return new CollisionNode(hash0, new Object[]{key0, value0, key1, value1});
+        }
+        int mask0 = (hash0 >>> shift) & MASK;
+        int mask1 = (hash1 >>> shift) & MASK;
+        if (mask0 != mask1)
+        {
+            int dataMap = (1 << mask0) | (1 << mask1);
+            Object[] content = mask0 < mask1
+                    ? new Object[]{key0, value0, key1, value1}
+                    : new Object[]{key1, value1, key0, value0};
+            return new BitmapIndexedNode(owner, dataMap, 0, content);
+        }
+        Node node = ImmutableChampMap.mergeTwo(owner, key0, value0, hash0, key1, value1, hash1, shift + BITS);
+        return new BitmapIndexedNode(owner, 0, 1 << mask0, new Object[]{node});
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return this.root.find(key, ImmutableChampMap.hash(key), 0) != NOT_FOUND;
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        for (Iterator<V> iterator = this.iterator(); iterator.hasNext(); )
+        {
+            if (ImmutableChampMap.nullSafeEquals(iterator.next(), value))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        Object result = this.root.find(key, ImmutableChampMap.hash(key), 0);
+        return result == NOT_FOUND ? null : (V) result;
+    }
+
+    @Override
+    public ImmutableChampMap<K, V> newWithKeyValue(K key, V value)
+    {
+        Result result = new Result();
+        Node newRoot = this.root.updated(null, key, value, ImmutableChampMap.hash(key), 0, result);
+        if (newRoot == this.root)
+        {
+            return this;
+        }
+        return new ImmutableChampMap<>(newRoot, result.sizeChanged ? this.size + 1 : this.size);
+    }
+
+    @Override
+    public ImmutableChampMap<K, V> newWithAllKeyValues(Iterable<? extends Pair<? extends K, ? extends V>> keyValues)
+    {
+        Builder builder = new Builder(this);
+        for (Pair<? extends K, ? extends V> keyValuePair : keyValues)
+        {
+            builder.put(keyValuePair.getOne(), keyValuePair.getTwo());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public ImmutableChampMap<K, V> newWithAllKeyValueArguments(Pair<? extends K, ? extends V>... keyValuePairs)
+    {
+        Builder builder = new Builder(this);
+        for (Pair<? extends K, ? extends V> keyValuePair : keyValuePairs)
+        {
+            builder.put(keyValuePair.getOne(), keyValuePair.getTwo());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public ImmutableChampMap<K, V> newWithoutKey(K key)
+    {
+        Result result = new Result();
+        Node newRoot = this.root.removed(null, key, ImmutableChampMap.hash(key), 0, result);
+        if (newRoot == this.root)
+        {
+            return this;
+        }
+        if (this.size == 1)
+        {
+            return ImmutableChampMap.empty();
+        }
+        return new ImmutableChampMap<>(newRoot, this.size - 1);
+    }
+
+    @Override
+    public ImmutableChampMap<K, V> newWithoutAllKeys(Iterable<? extends K> keys)
+    {
+        Builder builder = new Builder(this);
+        for (K key : keys)
+        {
+            builder.remove(key);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        this.root.forEach((Procedure2<Object, Object>) procedure);
+    }
+
+    @Override
+    public void forEachKey(Procedure<? super K> procedure)
+    {
+        this.root.forEach((key, value) -> procedure.value((K) key));
+    }
+
+    @Override
+    public void forEachValue(Procedure<? super V> procedure)
+    {
+        this.root.forEach((key, value) -> procedure.value((V) value));
+    }
+
+    @Override
+    public Iterator<V> iterator()
+    {
+        return new TrieIterator<V>(this.root)
+        {
+            @Override
+            protected V extract(Node node, int index)
+            {
+                return (V) node.valueAt(index);
+            }
+        };
+    }
+
+    @Override
+    public Set<K> keySet()
+    {
+        return Collections.unmodifiableSet(new KeySet());
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return Collections.unmodifiableCollection(new Values());
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+        return Collections.unmodifiableSet(new EntrySet());
+    }
+
+    @Override
+    public RichIterable<K> keysView()
+    {
+        return LazyIterate.adapt(this.keySet());
+    }
+
+    @Override
+    public RichIterable<V> valuesView()
+    {
+        return LazyIterate.adapt(this.values());
+    }
+
+    @Override
+    public RichIterable<Pair<K, V>> keyValuesView()
+    {
+        return LazyIterate.adapt(this.entrySet()).collect(Tuples::pairFrom);
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof Map))
+        {
+            return false;
+        }
+        Map<K, V> other = (Map<K, V>) object;
+        if (this.size != other.size())
+        {
+            return false;
+        }
+        for (TrieIterator<Object> iterator = new KeyIterator(this.root); iterator.hasNext(); )
+        {
+            iterator.next();
+            if (!this.keyAndValueEquals((K) iterator.node.keyAt(iterator.index), (V) iterator.node.valueAt(iterator.index), other))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int[] hashCode = new int[1];
+        this.forEachKeyValue((key, value) -> hashCode[0] += this.keyAndValueHashCode(key, value));
+        return hashCode[0];
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("{");
+        this.forEachKeyValue((key, value) -> {
+            if (builder.length() > 1)
+            {
+                builder.append(", ");
+            }
+            builder.append(key == this ? "(this Map)" : String.valueOf(key));
+            builder.append('=');
+            builder.append(value == this ? "(this Map)" : String.valueOf(value));
+        });
+        return builder.append('}').toString();
+    }
+
+    private Object writeReplace()
+    {
+        return new ImmutableChampMapSerializationProxy<>(this);
+    }
+
+    /**
+     * Applies a sequence of updates in place to the nodes it has already copied, so a bulk update copies each node at
+     * most once instead of once per key.  Nodes are tagged with the owner token of the builder which created them;
+     * nodes reachable from the source map have a different owner or none and are never modified.
+     */
+    private static final class Builder
+    {
+        private final Object owner = new Object();
+        private final ImmutableChampMap<?, ?> source;
+        private Node root;
+        private int size;
+
+        private Builder(ImmutableChampMap<?, ?> source)
+        {
+            this.source = source;
+            this.root = source.root;
+            this.size = source.size;
+        }
+
+        private void put(Object key, Object value)
+        {
+            Result result = new Result();
+            this.root = this.root.updated(this.owner, key, value, ImmutableChampMap.hash(key), 0, result);
+            if (result.sizeChanged)
+            {
+                this.size++;
+            }
+        }
+
+        private void remove(Object key)
+        {
+            Result result = new Result();
+            this.root = this.root.removed(this.owner, key, ImmutableChampMap.hash(key), 0, result);
+            if (result.sizeChanged)
+            {
+                this.size--;
+            }
+        }
+
+        private <K, V> ImmutableChampMap<K, V> build()
+        {
+            if (this.root == this.source.root)
+            {
+                return (ImmutableChampMap<K, V>) this.source;
+            }
+            if (this.size == 0)
+            {
+                return ImmutableChampMap.empty();
+            }
+            return new ImmutableChampMap<>(this.root, this.size);
+        }
+    }
+
+    private static final class Result
+    {
+        private boolean sizeChanged;
+    }
+
+    private abstract static class Node
+    {
+        protected abstract Object find(Object key, int hash, int shift);
+
+        protected abstract Node updated(Object owner, Object key, Object value, int hash, int shift, Result result);
+
+        protected abstract Node removed(Object owner, Object key, int hash, int shift, Result result);
+
+        protected abstract int payloadArity();
+
+        protected abstract int nodeArity();
+
+        protected abstract Object keyAt(int index);
+
+        protected abstract Object valueAt(int index);
+
+        protected abstract Node nodeAt(int index);
+
+        protected abstract void forEach(Procedure2<Object, Object> procedure);
+
+        protected boolean isSingleton()
+        {
+            return this.payloadArity() == 1 && this.nodeArity() == 0;
+        }
+    }
+
+    /**
+     * A node which stores its entries as adjacent key and value slots at the start of {@code content}, followed by its
+     * child nodes.  A bit set in {@code dataMap} or {@code nodeMap} records which of the 32 hash fragments are stored
+     * as an entry or as a child node.
+     */
+    private static final class BitmapIndexedNode extends Node
+    {
+        private final Object owner;
+        private int dataMap;
+        private int nodeMap;
+        private Object[] content;
+
+        private BitmapIndexedNode(Object owner, int dataMap, int nodeMap, Object[] content)
+        {
+            this.owner = owner;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        @Override
+        protected Object find(Object key, int hash, int shift)
+        {
+            int bitpos = ImmutableChampMap.bitpos(hash, shift);
+            if ((this.dataMap & bitpos) != 0)
+            {
+                int index = ImmutableChampMap.index(this.dataMap, bitpos);
+                return ImmutableChampMap.nullSafeEquals(key, this.content[2 * index]) ? this.content[2 * index + 1] : NOT_FOUND;
+            }
+            if ((this.nodeMap & bitpos) != 0)
+            {
+                return this.nodeAt(ImmutableChampMap.index(this.nodeMap, bitpos)).find(key, hash, shift + BITS);
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        protected Node updated(Object owner, Object key, Object value, int hash, int shift, Result result)
+        {
+            int bitpos = ImmutableChampMap.bitpos(hash, shift);
+            if ((this.dataMap & bitpos) != 0)
+            {
+                int index = ImmutableChampMap.index(this.dataMap, bitpos);
+                Object currentKey = this.content[2 * index];
+                if (ImmutableChampMap.nullSafeEquals(key, currentKey))
+                {
+                    if (this.content[2 * index + 1] == value)
+                    {
+                        return this;
+                    }
+                    return this.copyAndSet(owner, 2 * index + 1, value);
+                }
+                Object currentValue = this.content[2 * index + 1];
+                Node subNode = ImmutableChampMap.mergeTwo(
+                        owner,
+                        currentKey,
+                        currentValue,
+                        ImmutableChampMap.hash(currentKey),
+                        key,
+                        value,
+                        hash,
+                        shift + BITS);
+                result.sizeChanged = true;
+                return this.copyAndMigrateFromInlineToNode(owner, bitpos, subNode);
+            }
+            if ((this.nodeMap & bitpos) != 0)
+            {
+                int nodeIndex = ImmutableChampMap.index(this.nodeMap, bitpos);
+                Node subNode = this.nodeAt(nodeIndex);
+                Node newSubNode = subNode.updated(owner, key, value, hash, shift + BITS, result);
+                if (newSubNode == subNode)
+                {
+                    return this;
+                }
+                return this.copyAndSet(owner, 2 * this.payloadArity() + nodeIndex, newSubNode);
+            }
+            result.sizeChanged = true;
+            return this.copyAndInsertValue(owner, bitpos, key, value);
+        }
+
+        @Override
+        protected Node removed(Object owner, Object key, int hash, int shift, Result result)
+        {
+            int bitpos = ImmutableChampMap.bitpos(hash, shift);
+            if ((this.dataMap & bitpos) != 0)
+            {
+                int index = ImmutableChampMap.index(this.dataMap, bitpos);
+                if (!ImmutableChampMap.nullSafeEquals(key, this.content[2 * index]))
+                {
+                    return this;
+                }
+                result.sizeChanged = true;
+                return this.copyAndRemoveValue(owner, bitpos);
+            }
+            if ((this.nodeMap & bitpos) != 0)
+            {
+                int nodeIndex = ImmutableChampMap.index(this.nodeMap, bitpos);
+                Node subNode = this.nodeAt(nodeIndex);
+                Node newSubNode = subNode.removed(owner, key, hash, shift + BITS, result);
+                if (!result.sizeChanged)
+                {
+                    return this;
+                }
+                if (newSubNode.isSingleton())
+                {
+                    if (shift > 0 && this.payloadArity() == 0 && this.nodeArity() == 1)
+                    {
+                        // Let the parent inline the remaining entry
+                        return newSubNode;
+                    }
+                    return this.copyAndMigrateFromNodeToInline(owner, bitpos, newSubNode);
+                }
+                if (newSubNode == subNode)
+                {
+                    return this;
+                }
+                return this.copyAndSet(owner, 2 * this.payloadArity() + nodeIndex, newSubNode);
+            }
+            return this;
+        }
+
+        @Override
+        protected int payloadArity()
+        {
+            return Integer.bitCount(this.dataMap);
+        }
+
+        @Override
+        protected int nodeArity()
+        {
+            return Integer.bitCount(this.nodeMap);
+        }
+
+        @Override
+        protected Object keyAt(int index)
+        {
+            return this.content[2 * index];
+        }
+
+        @Override
+        protected Object valueAt(int index)
+        {
+            return this.content[2 * index + 1];
+        }
+
+        @Override
+        protected Node nodeAt(int index)
+        {
+            return (Node) this.content[2 * this.payloadArity() + index];
+        }
+
+        @Override
+        protected void forEach(Procedure2<Object, Object> procedure)
+        {
+            int payloadEnd = 2 * this.payloadArity();
+            for (int i = 0; i < payloadEnd; i += 2)
+            {
+                procedure.value(this.content[i], this.content[i + 1]);
+            }
+            for (int i = payloadEnd; i < this.content.length; i++)
+            {
+                ((Node) this.content[i]).forEach(procedure);
+            }
+        }
+
+        private boolean isEditable(Object owner)
+        {
+            return owner != null && this.owner == owner;
+        }
+
+        private Node copyAndSet(Object owner, int contentIndex, Object object)
+        {
+            if (this.isEditable(owner))
+            {
+                this.content[contentIndex] = object;
+                return this;
+            }
+            Object[] newContent = this.content.clone();
+            newContent[contentIndex] = object;
+            return new BitmapIndexedNode(owner, this.dataMap, this.nodeMap, newContent);
+        }
+
+        private Node copyAndInsertValue(Object owner, int bitpos, Object key, Object value)
+        {
+            int contentIndex = 2 * ImmutableChampMap.index(this.dataMap, bitpos);
+            Object[] newContent = new Object[this.content.length + 2];
+            System.arraycopy(this.content, 0, newContent, 0, contentIndex);
+            newContent[contentIndex] = key;
+            newContent[contentIndex + 1] = value;
+            System.arraycopy(this.content, contentIndex, newContent, contentIndex + 2, this.content.length - contentIndex);
+            return this.withContent(owner, this.dataMap | bitpos, this.nodeMap, newContent);
+        }
+
+        private Node copyAndRemoveValue(Object owner, int bitpos)
+        {
+            int contentIndex = 2 * ImmutableChampMap.index(this.dataMap, bitpos);
+            Object[] newContent = new Object[this.content.length - 2];
+            System.arraycopy(this.content, 0, newContent, 0, contentIndex);
+            System.arraycopy(this.content, contentIndex + 2, newContent, contentIndex, this.content.length - contentIndex - 2);
+            return this.withContent(owner, this.dataMap ^ bitpos, this.nodeMap, newContent);
+        }
+
+        private Node copyAndMigrateFromInlineToNode(Object owner, int bitpos, Node node)
+        {
+            int oldIndex = 2 * ImmutableChampMap.index(this.dataMap, bitpos);
+            int newIndex = this.content.length - 2 - this.nodeArity() + ImmutableChampMap.index(this.nodeMap, bitpos);
+            Object[] newContent = new Object[this.content.length - 1];
+            System.arraycopy(this.content, 0, newContent, 0, oldIndex);
+            System.arraycopy(this.content, oldIndex + 2, newContent, oldIndex, newIndex - oldIndex);
+            newContent[newIndex] = node;
+            System.arraycopy(this.content, newIndex + 2, newContent, newIndex + 1, this.content.length - newIndex - 2);
+            return this.withContent(owner, this.dataMap ^ bitpos, this.nodeMap | bitpos, newContent);
+        }
+
+        private Node copyAndMigrateFromNodeToInline(Object owner, int bitpos, Node node)
+        {
+            int oldIndex = 2 * this.payloadArity() + ImmutableChampMap.index(this.nodeMap, bitpos);
+            int newIndex = 2 * ImmutableChampMap.index(this.dataMap, bitpos);
+            Object[] newContent = new Object[this.content.length + 1];
+            System.arraycopy(this.content, 0, newContent, 0, newIndex);
+            newContent[newIndex] = node.keyAt(0);
+            newContent[newIndex + 1] = node.valueAt(0);
+            System.arraycopy(this.content, newIndex, newContent, newIndex + 2, oldIndex - newIndex);
+            System.arraycopy(this.content, oldIndex + 1, newContent, oldIndex + 2, this.content.length - oldIndex - 1);
+            return this.withContent(owner, this.dataMap | bitpos, this.nodeMap ^ bitpos, newContent);
+        }
+
+        private Node withContent(Object owner, int newDataMap, int newNodeMap, Object[] newContent)
+        {
+            if (this.isEditable(owner))
+            {
+                this.dataMap = newDataMap;
+                this.nodeMap = newNodeMap;
+                this.content = newContent;
+                return this;
+            }
+            return new BitmapIndexedNode(owner, newDataMap, newNodeMap, newContent);
+        }
+    }
+
+    /**
+     * A node at the bottom of the trie holding entries whose keys have the same 32-bit hash code.
+     */
+    private static final class CollisionNode extends Node
+    {
+        private final int hash;
+        private final Object[] content;
+
+        private CollisionNode(int hash, Object[] content)
+        {
+            this.hash = hash;
+            this.content = content;
+        }
+
+        private int indexOf(Object key)
+        {
+            for (int i = 0; i < this.content.length; i += 2)
+            {
+                if (ImmutableChampMap.nullSafeEquals(key, this.content[i]))
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        protected Object find(Object key, int hash, int shift)
+        {
+            int index = this.indexOf(key);
+            return index < 0 ? NOT_FOUND : this.content[index + 1];
+        }
+
+        @Override
+        protected Node updated(Object owner, Object key, Object value, int hash, int shift, Result result)
+        {
+            int index = this.indexOf(key);
+            if (index >= 0)
+            {
+                if (this.content[index + 1] == value)
+                {
+                    return this;
+                }
+                Object[] newContent = this.content.clone();
+                newContent[index + 1] = value;
+                return new CollisionNode(this.hash, newContent);
+            }
+            Object[] newContent = new Object[this.content.length + 2];
+            System.arraycopy(this.content, 0, newContent, 0, this.content.length);
+            newContent[this.content.length] = key;
+            newContent[this.content.length + 1] = value;
+            result.sizeChanged = true;
+            return new CollisionNode(this.hash, newContent);
+        }
+
+        @Override
+        protected Node removed(Object owner, Object key, int hash, int shift, Result result)
+        {
+            int index = this.indexOf(key);
+            if (index < 0)
+            {
+                return this;
+            }
+            result.sizeChanged = true;
+            if (this.content.length == 4)
+            {
+                int remaining = index == 0 ? 2 : 0;
+                return new BitmapIndexedNode(
+                        null,
+                        ImmutableChampMap.bitpos(this.hash, 0),
+                        0,
+                        new Object[]{this.content[remaining], this.content[remaining + 1]});
+            }
+            Object[] newContent = new Object[this.content.length - 2];
+            System.arraycopy(this.content, 0, newContent, 0, index);
+            System.arraycopy(this.content, index + 2, newContent, index, this.content.length - index - 2);
+            return new CollisionNode(this.hash, newContent);
+        }
+
+        @Override
+        protected int payloadArity()
+        {
+            return this.content.length / 2;
+        }
+
+        @Override
+        protected int nodeArity()
+        {
+            return 0;
+        }
+
+        @Override
+        protected Object keyAt(int index)
+        {
+            return this.content[2 * index];
+        }
+
+        @Override
+        protected Object valueAt(int index)
+        {
+            return this.content[2 * index + 1];
+        }
+
+        @Override
+        protected Node nodeAt(int index)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + " Size: 0");
+        }
+
+        @Override
+        protected void forEach(Procedure2<Object, Object> procedure)
+        {
+            for (int i = 0; i < this.content.length; i += 2)
+            {
+                procedure.value(this.content[i], this.content[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Visits the entries of each node before descending into its child nodes, keeping the path from the root on a
+     * fixed-size stack.
+     */
+    private abstract static class TrieIterator<E> implements Iterator<E>
+    {
+        private final Node[] nodes = new Node[MAX_DEPTH];
+        private final int[] nodeIndices = new int[MAX_DEPTH];
+        private int depth = -1;
+        private Node node;
+        private int index = -1;
+        private int nextIndex;
+
+        protected TrieIterator(Node root)
+        {
+            this.node = root;
+            this.push(root);
+        }
+
+        protected abstract E extract(Node node, int index);
+
+        private void push(Node child)
+        {
+            if (child.nodeArity() > 0)
+            {
+                this.depth++;
+                this.nodes[this.depth] = child;
+                this.nodeIndices[this.depth] = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while (this.nextIndex >= this.node.payloadArity())
+            {
+                if (!this.advanceNode())
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean advanceNode()
+        {
+            while (this.depth >= 0)
+            {
+                Node parent = this.nodes[this.depth];
+                int childIndex = this.nodeIndices[this.depth];
+                if (childIndex < parent.nodeArity())
+                {
+                    this.nodeIndices[this.depth]++;
+                    Node child = parent.nodeAt(childIndex);
+                    this.push(child);
+                    this.node = child;
+                    this.nextIndex = 0;
+                    return true;
+                }
+                this.nodes[this.depth] = null;
+                this.depth--;
+            }
+            return false;
+        }
+
+        @Override
+        public E next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            this.index = this.nextIndex++;
+            return this.extract(this.node, this.index);
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot call remove() on " + ImmutableChampMap.class.getSimpleName());
+        }
+    }
+
+    private static final class KeyIterator extends TrieIterator<Object>
+    {
+        private KeyIterator(Node root)
+        {
+            super(root);
+        }
+
+        @Override
+        protected Object extract(Node node, int index)
+        {
+            return node.keyAt(index);
+        }
+    }
+
+    private final class KeySet extends AbstractSet<K>
+    {
+        @Override
+        public int size()
+        {
+            return ImmutableChampMap.this.size;
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return ImmutableChampMap.this.containsKey(key);
+        }
+
+        @Override
+        public Iterator<K> iterator()
+        {
+            return (Iterator<K>) new KeyIterator(ImmutableChampMap.this.root);
+        }
+    }
+
+    private final class Values extends AbstractCollection<V>
+    {
+        @Override
+        public int size()
+        {
+            return ImmutableChampMap.this.size;
+        }
+
+        @Override
+        public Iterator<V> iterator()
+        {
+            return ImmutableChampMap.this.iterator();
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>>
+    {
+        @Override
+        public int size()
+        {
+            return ImmutableChampMap.this.size;
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            if (!(object instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) object;
+            Object value = ImmutableChampMap.this.root.find(entry.getKey(), ImmutableChampMap.hash(entry.getKey()), 0);
+            return value != NOT_FOUND && ImmutableChampMap.nullSafeEquals(value, entry.getValue());
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            return new TrieIterator<Entry<K, V>>(ImmutableChampMap.this.root)
+            {
+                @Override
+                protected Entry<K, V> extract(Node node, int index)
+                {
+                    return ImmutableEntry.of((K) node.keyAt(index), (V) node.valueAt(index));
+                }
+            };
+        }
+    }
+}
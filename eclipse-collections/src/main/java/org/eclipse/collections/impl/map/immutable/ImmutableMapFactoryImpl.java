@@ -184,4 +184,22 @@ public enum ImmutableMapFactoryImpl implements ImmutableMapFactory
                 throw new AssertionError();
         }
     }
+
+    @Override
+    public <K, V> ImmutableMap<K, V> emptyPersistent()
+    {
+        return ImmutableChampMap.empty();
+    }
+
+    @Override
+    public <K, V> ImmutableMap<K, V> withAllPersistent(Map<K, V> map)
+    {
+        return ImmutableChampMap.newMap(map);
+    }
+
+    @Override
+    public <K, V> ImmutableMap<K, V> withAllPerfectHash(Map<? extends K, ? extends V> map)
+    {
+        return ImmutablePerfectHashMap.newMap(map);
+    }
 }
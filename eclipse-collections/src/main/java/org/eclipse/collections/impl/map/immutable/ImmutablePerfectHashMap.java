@@ -0,0 +1,558 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.immutable;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.block.HashingStrategy;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.factory.HashingStrategyMaps;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.tuple.ImmutableEntry;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.eclipse.collections.impl.utility.LazyIterate;
+import org.eclipse.collections.impl.utility.internal.MinimalPerfectHash;
+
+/**
+ * An ImmutablePerfectHashMap is a read-only hash map for lookup tables which are built once and read many times.  At
+ * construction it computes a {@link MinimalPerfectHash} of the hash codes of its keys, and stores each entry in the
+ * slot that function assigns to it.  The table has no empty slots, and a lookup computes its slot directly and makes
+ * a single key comparison.  Keys whose hash codes are equal share one slot, which then holds a small array of them.
+ * <p>
+ * The map can be built with a {@link HashingStrategy}, in which case keys are hashed and compared through it.
+ *
+ * @since 9.2
+ */
+public final class ImmutablePerfectHashMap<K, V>
+        extends AbstractImmutableMap<K, V>
+        implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private final HashingStrategy<? super K> hashingStrategy;
+    private final MinimalPerfectHash index;
+    private final Object[] keys;
+    private final Object[] values;
+    private final int size;
+
+    private ImmutablePerfectHashMap(HashingStrategy<? super K> hashingStrategy, Map<? extends K, ? extends V> map)
+    {
+        this.hashingStrategy = hashingStrategy;
+        Object[] entryKeys = new Object[map.size()];
+        Object[] entryValues = new Object[map.size()];
+        int[] hashCodes = new int[map.size()];
+        int count = 0;
+        for (Entry<? extends K, ? extends V> entry : map.entrySet())
+        {
+            entryKeys[count] = entry.getKey();
+            entryValues[count] = entry.getValue();
+            hashCodes[count] = this.hash(entry.getKey());
+            count++;
+        }
+        this.index = MinimalPerfectHash.build(hashCodes);
+        this.keys = new Object[this.index.size()];
+        this.values = new Object[this.index.size()];
+        boolean[] filled = new boolean[this.index.size()];
+        int entries = 0;
+        for (int i = 0; i < count; i++)
+        {
+            int slot = this.index.slotOf(hashCodes[i]);
+            if (!filled[slot])
+            {
+                filled[slot] = true;
+                this.keys[slot] = entryKeys[i];
+                this.values[slot] = entryValues[i];
+                entries++;
+            }
+            else if (this.addToSlot(slot, entryKeys[i], entryValues[i]))
+            {
+                entries++;
+            }
+        }
+        this.size = entries;
+    }
+
+    public static <K, V> ImmutableMap<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+        if (map.isEmpty())
+        {
+            return Maps.immutable.empty();
+        }
+        return new ImmutablePerfectHashMap<>(null, map);
+    }
+
+    public static <K, V> ImmutableMap<K, V> newMap(HashingStrategy<? super K> hashingStrategy, Map<? extends K, ? extends V> map)
+    {
+        if (map.isEmpty())
+        {
+            return HashingStrategyMaps.immutable.with(hashingStrategy);
+        }
+        return new ImmutablePerfectHashMap<>(hashingStrategy, map);
+    }
+
+    // Returns false if the key was already in the slot, in which case its value is replaced
+    private boolean addToSlot(int slot, Object key, Object value)
+    {
+        Object stored = this.keys[slot];
+        if (stored instanceof CollidingEntries)
+        {
+            CollidingEntries colliding = (CollidingEntries) stored;
+            for (int i = 0; i < colliding.keys.length; i++)
+            {
+                if (this.keyEquals(colliding.keys[i], key))
+                {
+                    colliding.values[i] = value;
+                    return false;
+                }
+            }
+            colliding.add(key, value);
+            return true;
+        }
+        if (this.keyEquals(stored, key))
+        {
+            this.values[slot] = value;
+            return false;
+        }
+        this.keys[slot] = new CollidingEntries(stored, this.values[slot], key, value);
+        this.values[slot] = null;
+        return true;
+    }
+
+    HashingStrategy<? super K> hashingStrategy()
+    {
+        return this.hashingStrategy;
+    }
+
+    private int hash(Object key)
+    {
+        if (key == null)
+        {
+            return 0;
+        }
+        return this.hashingStrategy == null ? key.hashCode() : this.hashingStrategy.computeHashCode((K) key);
+    }
+
+    private boolean keyEquals(Object stored, Object key)
+    {
+        if (stored == key)
+        {
+            return true;
+        }
+        if (stored == null || key == null)
+        {
+            return false;
+        }
+        return this.hashingStrategy == null ? stored.equals(key) : this.hashingStrategy.equals((K) stored, (K) key);
+    }
+
+    private static boolean valueEquals(Object value, Object other)
+    {
+        return value == other || value != null && value.equals(other);
+    }
+
+    private static int valueHashCode(Object value)
+    {
+        return value == null ? 0 : value.hashCode();
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        int slot = this.index.slotOf(this.hash(key));
+        Object stored = this.keys[slot];
+        if (stored instanceof CollidingEntries)
+        {
+            CollidingEntries colliding = (CollidingEntries) stored;
+            for (int i = 0; i < colliding.keys.length; i++)
+            {
+                if (this.keyEquals(colliding.keys[i], key))
+                {
+                    return (V) colliding.values[i];
+                }
+            }
+            return null;
+        }
+        return this.keyEquals(stored, key) ? (V) this.values[slot] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        int slot = this.index.slotOf(this.hash(key));
+        Object stored = this.keys[slot];
+        if (stored instanceof CollidingEntries)
+        {
+            for (Object each : ((CollidingEntries) stored).keys)
+            {
+                if (this.keyEquals(each, key))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return this.keyEquals(stored, key);
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        for (EntryIterator<Object> iterator = new EntryIterator<>(); iterator.hasNext(); )
+        {
+            iterator.next();
+            if (ImmutablePerfectHashMap.valueEquals(iterator.value(), value))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        for (int slot = 0; slot < this.keys.length; slot++)
+        {
+            Object stored = this.keys[slot];
+            if (stored instanceof CollidingEntries)
+            {
+                CollidingEntries colliding = (CollidingEntries) stored;
+                for (int i = 0; i < colliding.keys.length; i++)
+                {
+                    procedure.value((K) colliding.keys[i], (V) colliding.values[i]);
+                }
+            }
+            else
+            {
+                procedure.value((K) stored, (V) this.values[slot]);
+            }
+        }
+    }
+
+    @Override
+    public void forEachKey(Procedure<? super K> procedure)
+    {
+        this.forEachKeyValue((key, value) -> procedure.value(key));
+    }
+
+    @Override
+    public void forEachValue(Procedure<? super V> procedure)
+    {
+        this.forEachKeyValue((key, value) -> procedure.value(value));
+    }
+
+    @Override
+    public Iterator<V> iterator()
+    {
+        return new EntryIterator<V>()
+        {
+            @Override
+            protected V current()
+            {
+                return (V) this.value();
+            }
+        };
+    }
+
+    @Override
+    public Set<K> keySet()
+    {
+        return Collections.unmodifiableSet(new KeySet());
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return Collections.unmodifiableCollection(new Values());
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+        return Collections.unmodifiableSet(new EntrySet());
+    }
+
+    @Override
+    public RichIterable<K> keysView()
+    {
+        return LazyIterate.adapt(this.keySet());
+    }
+
+    @Override
+    public RichIterable<V> valuesView()
+    {
+        return LazyIterate.adapt(this.values());
+    }
+
+    @Override
+    public RichIterable<Pair<K, V>> keyValuesView()
+    {
+        return LazyIterate.adapt(this.entrySet()).collect(Tuples::pairFrom);
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof Map))
+        {
+            return false;
+        }
+        Map<?, ?> other = (Map<?, ?>) object;
+        if (this.size != other.size())
+        {
+            return false;
+        }
+        for (EntryIterator<Object> iterator = new EntryIterator<>(); iterator.hasNext(); )
+        {
+            iterator.next();
+            Object key = iterator.key();
+            Object value = iterator.value();
+            Object otherValue = other.get(key);
+            if (!ImmutablePerfectHashMap.valueEquals(value, otherValue) || value == null && !other.containsKey(key))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int[] hashCode = new int[1];
+        this.forEachKeyValue((key, value) -> hashCode[0] += this.hash(key) ^ ImmutablePerfectHashMap.valueHashCode(value));
+        return hashCode[0];
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("{");
+        this.forEachKeyValue((key, value) -> {
+            if (builder.length() > 1)
+            {
+                builder.append(", ");
+            }
+            builder.append(key == this ? "(this Map)" : String.valueOf(key));
+            builder.append('=');
+            builder.append(value == this ? "(this Map)" : String.valueOf(value));
+        });
+        return builder.append('}').toString();
+    }
+
+    private Object writeReplace()
+    {
+        return new ImmutablePerfectHashMapSerializationProxy<>(this);
+    }
+
+    /**
+     * Keys with equal hash codes, which the perfect hash cannot separate, with their values.
+     */
+    private static final class CollidingEntries
+    {
+        private Object[] keys;
+        private Object[] values;
+
+        private CollidingEntries(Object key1, Object value1, Object key2, Object value2)
+        {
+            this.keys = new Object[]{key1, key2};
+            this.values = new Object[]{value1, value2};
+        }
+
+        private void add(Object key, Object value)
+        {
+            int length = this.keys.length;
+            Object[] newKeys = new Object[length + 1];
+            Object[] newValues = new Object[length + 1];
+            System.arraycopy(this.keys, 0, newKeys, 0, length);
+            System.arraycopy(this.values, 0, newValues, 0, length);
+            newKeys[length] = key;
+            newValues[length] = value;
+            this.keys = newKeys;
+            this.values = newValues;
+        }
+    }
+
+    /**
+     * Iterates over the entries in slot order, stepping into the entries of colliding slots.  {@link #key()} and
+     * {@link #value()} return the entry last returned by {@link #next()}.
+     */
+    private class EntryIterator<E>
+            implements Iterator<E>
+    {
+        private int slot;
+        private int offset;
+        private Object key;
+        private Object value;
+
+        protected E current()
+        {
+            return null;
+        }
+
+        protected Object key()
+        {
+            return this.key;
+        }
+
+        protected Object value()
+        {
+            return this.value;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.slot < ImmutablePerfectHashMap.this.keys.length;
+        }
+
+        @Override
+        public E next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            Object stored = ImmutablePerfectHashMap.this.keys[this.slot];
+            if (stored instanceof CollidingEntries)
+            {
+                CollidingEntries colliding = (CollidingEntries) stored;
+                this.key = colliding.keys[this.offset];
+                this.value = colliding.values[this.offset];
+                this.offset++;
+                if (this.offset == colliding.keys.length)
+                {
+                    this.offset = 0;
+                    this.slot++;
+                }
+            }
+            else
+            {
+                this.key = stored;
+                this.value = ImmutablePerfectHashMap.this.values[this.slot];
+                this.slot++;
+            }
+            return this.current();
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from an ImmutablePerfectHashMap");
+        }
+    }
+
+    private class KeySet extends AbstractSet<K>
+    {
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new EntryIterator<K>()
+            {
+                @Override
+                protected K current()
+                {
+                    return (K) this.key();
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return ImmutablePerfectHashMap.this.size;
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return ImmutablePerfectHashMap.this.containsKey(key);
+        }
+    }
+
+    private class Values extends AbstractCollection<V>
+    {
+        @Override
+        public Iterator<V> iterator()
+        {
+            return ImmutablePerfectHashMap.this.iterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return ImmutablePerfectHashMap.this.size;
+        }
+
+        @Override
+        public boolean contains(Object value)
+        {
+            return ImmutablePerfectHashMap.this.containsValue(value);
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>>
+    {
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            return new EntryIterator<Entry<K, V>>()
+            {
+                @Override
+                protected Entry<K, V> current()
+                {
+                    return ImmutableEntry.of((K) this.key(), (V) this.value());
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return ImmutablePerfectHashMap.this.size;
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            if (!(object instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) object;
+            Object key = entry.getKey();
+            return ImmutablePerfectHashMap.this.containsKey(key)
+                    && ImmutablePerfectHashMap.valueEquals(ImmutablePerfectHashMap.this.get(key), entry.getValue());
+        }
+    }
+}
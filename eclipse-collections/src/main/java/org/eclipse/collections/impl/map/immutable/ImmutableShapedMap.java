@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.immutable;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.map.MapShape;
+import org.eclipse.collections.impl.tuple.ImmutableEntry;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.eclipse.collections.impl.utility.ArrayIterate;
+import org.eclipse.collections.impl.utility.LazyIterate;
+
+/**
+ * An ImmutableShapedMap holds one value for each key of a shared {@link MapShape}, and nothing else.
+ * {@link #newWithKeyValue(Object, Object)} for a key of the shape returns another map of the same shape; adding a key
+ * outside the shape, or removing one, returns an ordinary immutable map.
+ *
+ * @see org.eclipse.collections.impl.map.mutable.ShapedMutableMap
+ * @since 9.2
+ */
+public final class ImmutableShapedMap<K, V>
+        extends AbstractImmutableMap<K, V>
+        implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private final MapShape<K> shape;
+    private final Object[] values;
+
+    private ImmutableShapedMap(MapShape<K> shape, Object[] values)
+    {
+        this.shape = shape;
+        this.values = values;
+    }
+
+    public static <K, V> ImmutableShapedMap<K, V> newMap(MapShape<K> shape, V... values)
+    {
+        if (values.length != shape.size())
+        {
+            throw new IllegalArgumentException("Expected " + shape.size() + " values for " + shape + " but got " + values.length);
+        }
+        return new ImmutableShapedMap<>(shape, Arrays.copyOf(values, values.length, Object[].class));
+    }
+
+    public MapShape<K> getShape()
+    {
+        return this.shape;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.values.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return this.shape.indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        return ArrayIterate.contains(this.values, value);
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        int index = this.shape.indexOf(key);
+        return index < 0 ? null : (V) this.values[index];
+    }
+
+    @Override
+    public ImmutableMap<K, V> newWithKeyValue(K key, V value)
+    {
+        int index = this.shape.indexOf(key);
+        if (index < 0)
+        {
+            return super.newWithKeyValue(key, value);
+        }
+        Object[] newValues = this.values.clone();
+        newValues[index] = value;
+        return new ImmutableShapedMap<>(this.shape, newValues);
+    }
+
+    @Override
+    public ImmutableMap<K, V> newWithoutKey(K key)
+    {
+        return this.containsKey(key) ? super.newWithoutKey(key) : this;
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        for (int i = 0; i < this.values.length; i++)
+        {
+            procedure.value(this.shape.getKey(i), (V) this.values[i]);
+        }
+    }
+
+    @Override
+    public void forEachKey(Procedure<? super K> procedure)
+    {
+        this.shape.getKeys().forEach(procedure);
+    }
+
+    @Override
+    public void forEachValue(Procedure<? super V> procedure)
+    {
+        for (Object value : this.values)
+        {
+            procedure.value((V) value);
+        }
+    }
+
+    @Override
+    public Iterator<V> iterator()
+    {
+        return this.values().iterator();
+    }
+
+    @Override
+    public Set<K> keySet()
+    {
+        return Collections.unmodifiableSet(new KeySet());
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return Collections.unmodifiableList(Arrays.asList((V[]) this.values));
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+        return Collections.unmodifiableSet(new EntrySet());
+    }
+
+    @Override
+    public RichIterable<K> keysView()
+    {
+        return this.shape.getKeys().asLazy();
+    }
+
+    @Override
+    public RichIterable<V> valuesView()
+    {
+        return LazyIterate.adapt(this.values());
+    }
+
+    @Override
+    public RichIterable<Pair<K, V>> keyValuesView()
+    {
+        return LazyIterate.adapt(this.entrySet()).collect(Tuples::pairFrom);
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof Map))
+        {
+            return false;
+        }
+        Map<K, V> other = (Map<K, V>) object;
+        if (this.values.length != other.size())
+        {
+            return false;
+        }
+        for (int i = 0; i < this.values.length; i++)
+        {
+            if (!this.keyAndValueEquals(this.shape.getKey(i), (V) this.values[i], other))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (int i = 0; i < this.values.length; i++)
+        {
+            hashCode += this.keyAndValueHashCode(this.shape.getKey(i), (V) this.values[i]);
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("{");
+        this.forEachKeyValue((key, value) -> {
+            if (builder.length() > 1)
+            {
+                builder.append(", ");
+            }
+            builder.append(key == this ? "(this Map)" : String.valueOf(key));
+            builder.append('=');
+            builder.append(value == this ? "(this Map)" : String.valueOf(value));
+        });
+        return builder.append('}').toString();
+    }
+
+    private Object writeReplace()
+    {
+        return new ImmutableShapedMapSerializationProxy<>(this);
+    }
+
+    private abstract class SlotIterator<E>
+            implements Iterator<E>
+    {
+        private int next;
+
+        protected abstract E elementAt(int slot);
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.next < ImmutableShapedMap.this.values.length;
+        }
+
+        @Override
+        public E next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return this.elementAt(this.next++);
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from an ImmutableShapedMap");
+        }
+    }
+
+    private class KeySet extends AbstractSet<K>
+    {
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new SlotIterator<K>()
+            {
+                @Override
+                protected K elementAt(int slot)
+                {
+                    return ImmutableShapedMap.this.shape.getKey(slot);
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return ImmutableShapedMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return ImmutableShapedMap.this.containsKey(key);
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>>
+    {
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            return new SlotIterator<Entry<K, V>>()
+            {
+                @Override
+                protected Entry<K, V> elementAt(int slot)
+                {
+                    return ImmutableEntry.of(ImmutableShapedMap.this.shape.getKey(slot), (V) ImmutableShapedMap.this.values[slot]);
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return ImmutableShapedMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            if (!(object instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) object;
+            int index = ImmutableShapedMap.this.shape.indexOf(entry.getKey());
+            if (index < 0)
+            {
+                return false;
+            }
+            Object value = ImmutableShapedMap.this.values[index];
+            return value == null ? entry.getValue() == null : value.equals(entry.getValue());
+        }
+    }
+}
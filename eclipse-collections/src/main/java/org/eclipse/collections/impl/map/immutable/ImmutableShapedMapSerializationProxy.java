@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.immutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.eclipse.collections.impl.map.MapShape;
+
+/**
+ * Writes the keys of the shape followed by the values, so that the deserialized map shares the interned shape of the
+ * receiving JVM.
+ */
+class ImmutableShapedMapSerializationProxy<K, V> implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private ImmutableShapedMap<K, V> map;
+
+    @SuppressWarnings("UnusedDeclaration")
+    public ImmutableShapedMapSerializationProxy()
+    {
+        // Empty constructor for Externalizable class
+    }
+
+    ImmutableShapedMapSerializationProxy(ImmutableShapedMap<K, V> map)
+    {
+        this.map = map;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        MapShape<K> shape = this.map.getShape();
+        out.writeInt(shape.size());
+        for (int i = 0; i < shape.size(); i++)
+        {
+            out.writeObject(shape.getKey(i));
+        }
+        for (int i = 0; i < shape.size(); i++)
+        {
+            out.writeObject(this.map.get(shape.getKey(i)));
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int size = in.readInt();
+        Object[] keys = new Object[size];
+        for (int i = 0; i < size; i++)
+        {
+            keys[i] = in.readObject();
+        }
+        Object[] values = new Object[size];
+        for (int i = 0; i < size; i++)
+        {
+            values[i] = in.readObject();
+        }
+        this.map = ImmutableShapedMap.newMap((MapShape<K>) MapShape.of(keys), (V[]) values);
+    }
+
+    protected Object readResolve()
+    {
+        return this.map;
+    }
+}
@@ -0,0 +1,1257 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.mutable;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.Function0;
+import org.eclipse.collections.api.block.function.Function2;
+import org.eclipse.collections.api.block.function.primitive.IntFunction;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.map.ConcurrentMutableMap;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.tuple.ImmutableEntry;
+import org.eclipse.collections.impl.utility.Iterate;
+
+/**
+ * A bounded ConcurrentMutableMap for use as a cache.  Entries are stored in a {@link ConcurrentHashMap}, so reads and
+ * writes of the table itself never block.  Once the total weight of the entries exceeds the maximum, entries are evicted
+ * according to the {@link EvictionPolicy}, and entries may additionally expire a fixed time after they were written.
+ * <p>
+ * The getIfAbsentPut family of methods load each absent key at most once at a time: concurrent callers for a key which
+ * is being loaded wait for the first caller's result instead of running their own function.  A function which reads
+ * the key it is loading back from the map throws {@link IllegalStateException} rather than waiting for itself.  Hit,
+ * miss, load and eviction counts are kept for sizing the cache.
+ * <p>
+ * Eviction bookkeeping is guarded by a lock which writers acquire, but which readers only try to acquire, so a read
+ * never blocks and an access which finds the lock held is simply not recorded.  Null keys and values are not supported.
+ *
+ * @since 9.2
+ */
+public final class ConcurrentCacheMap<K, V>
+        extends AbstractMutableMap<K, V>
+        implements ConcurrentMutableMap<K, V>
+{
+    private static final IntFunction<Object> SINGLETON_WEIGHER = each -> 1;
+
+    private static final byte UNLINKED = 0;
+    private static final byte WINDOW = 1;
+    private static final byte PROBATION = 2;
+    private static final byte PROTECTED = 3;
+    private static final byte DEAD = 4;
+
+    private final ConcurrentHashMap<K, Node<K, V>> table = ConcurrentHashMap.newMap();
+    private final EvictionPolicy policy;
+    private final long maximumWeight;
+    private final IntFunction<? super V> weigher;
+    private final long expireAfterWriteNanos;
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AccessOrderQueue<K, V> window = new AccessOrderQueue<>();
+    private final AccessOrderQueue<K, V> probation = new AccessOrderQueue<>();
+    private final AccessOrderQueue<K, V> protectedQueue = new AccessOrderQueue<>();
+    private final FrequencySketch sketch;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private long weightedSize;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private ConcurrentCacheMap(
+            EvictionPolicy policy,
+            long maximumWeight,
+            IntFunction<? super V> weigher,
+            long expireAfterWriteNanos)
+    {
+        if (policy == null)
+        {
+            throw new NullPointerException("policy");
+        }
+        if (maximumWeight < 0L)
+        {
+            throw new IllegalArgumentException("Cannot use a maximum weight < 0: " + maximumWeight);
+        }
+        if (expireAfterWriteNanos < 0L)
+        {
+            throw new IllegalArgumentException("Cannot use an expiry < 0: " + expireAfterWriteNanos);
+        }
+        this.policy = policy;
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.windowMaximum = policy == EvictionPolicy.LRU ? maximumWeight : Math.max(1L, maximumWeight / 100L);
+        this.protectedMaximum = (maximumWeight - this.windowMaximum) * 4L / 5L;
+        this.sketch = policy == EvictionPolicy.TINY_LFU ? new FrequencySketch(maximumWeight) : null;
+    }
+
+    public static <K, V> ConcurrentCacheMap<K, V> newCache(int maximumSize)
+    {
+        return ConcurrentCacheMap.newCache(maximumSize, EvictionPolicy.TINY_LFU);
+    }
+
+    public static <K, V> ConcurrentCacheMap<K, V> newCache(int maximumSize, EvictionPolicy policy)
+    {
+        return new ConcurrentCacheMap<>(policy, maximumSize, SINGLETON_WEIGHER, 0L);
+    }
+
+    public static <K, V> ConcurrentCacheMap<K, V> newCache(int maximumSize, EvictionPolicy policy, long expireAfterWrite, TimeUnit unit)
+    {
+        return new ConcurrentCacheMap<>(policy, maximumSize, SINGLETON_WEIGHER, unit.toNanos(expireAfterWrite));
+    }
+
+    /**
+     * Creates a cache bounded by the total weight of its values rather than by their number.
+     */
+    public static <K, V> ConcurrentCacheMap<K, V> newWeightedCache(long maximumWeight, IntFunction<? super V> weigher, EvictionPolicy policy)
+    {
+        return new ConcurrentCacheMap<>(policy, maximumWeight, weigher, 0L);
+    }
+
+    public static <K, V> ConcurrentCacheMap<K, V> newWeightedCache(
+            long maximumWeight,
+            IntFunction<? super V> weigher,
+            EvictionPolicy policy,
+            long expireAfterWrite,
+            TimeUnit unit)
+    {
+        return new ConcurrentCacheMap<>(policy, maximumWeight, weigher, unit.toNanos(expireAfterWrite));
+    }
+
+    public long getHitCount()
+    {
+        return this.hitCount.sum();
+    }
+
+    public long getMissCount()
+    {
+        return this.missCount.sum();
+    }
+
+    /**
+     * Returns the number of values computed by the getIfAbsentPut family of methods.
+     */
+    public long getLoadCount()
+    {
+        return this.loadCount.sum();
+    }
+
+    /**
+     * Returns the number of entries removed because the cache was over its maximum weight or the entries had expired.
+     */
+    public long getEvictionCount()
+    {
+        return this.evictionCount.sum();
+    }
+
+    public long getWeightedSize()
+    {
+        this.evictionLock.lock();
+        try
+        {
+            return this.weightedSize;
+        }
+        finally
+        {
+            this.evictionLock.unlock();
+        }
+    }
+
+    public long getMaximumWeight()
+    {
+        return this.maximumWeight;
+    }
+
+    private Node<K, V> newNode(K key, V value)
+    {
+        if (value == null)
+        {
+            throw new NullPointerException("ConcurrentCacheMap does not support null values");
+        }
+        int weight = this.weigher.intValueOf(value);
+        if (weight < 0)
+        {
+            throw new IllegalArgumentException("Cannot use a weight < 0: " + weight);
+        }
+        return new Node<>(key, value, weight, this.expireAfterWriteNanos == 0L ? 0L : System.nanoTime(), null, null);
+    }
+
+    private boolean isLive(Node<K, V> node)
+    {
+        return node.value != null && !this.isExpired(node);
+    }
+
+    private boolean isExpired(Node<K, V> node)
+    {
+        return this.expireAfterWriteNanos != 0L && System.nanoTime() - node.writeTime >= this.expireAfterWriteNanos;
+    }
+
+    /**
+     * Returns the value of the node for the key if it is neither loading nor expired, removing it if it has expired.
+     */
+    private V liveValue(Object key, Node<K, V> node)
+    {
+        if (node == null || node.value == null)
+        {
+            return null;
+        }
+        if (this.isExpired(node))
+        {
+            if (this.table.remove(key, node))
+            {
+                this.evictionCount.increment();
+                this.afterRemove(node);
+            }
+            return null;
+        }
+        return node.value;
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        Node<K, V> node = this.table.get(key);
+        V value = this.liveValue(key, node);
+        if (value == null)
+        {
+            this.missCount.increment();
+            return null;
+        }
+        this.hitCount.increment();
+        this.afterRead(node);
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return this.liveValue(key, this.table.get(key)) != null;
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        for (Node<K, V> node : this.table.values())
+        {
+            if (this.isLive(node) && node.value.equals(value))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V put(K key, V value)
+    {
+        Node<K, V> node = this.newNode(key, value);
+        while (true)
+        {
+            Node<K, V> prior = this.table.get(key);
+            if (prior == null)
+            {
+                if (this.table.putIfAbsent(key, node) == null)
+                {
+                    this.afterInsert(node);
+                    return null;
+                }
+            }
+            else if (this.table.replace(key, prior, node))
+            {
+                this.afterReplace(prior, node);
+                return this.isLive(prior) ? prior.value : null;
+            }
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet())
+        {
+            this.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public <E> MutableMap<K, V> collectKeysAndValues(
+            Iterable<E> iterable,
+            Function<? super E, ? extends K> keyFunction,
+            Function<? super E, ? extends V> valueFunction)
+    {
+        Iterate.addToMap(iterable, keyFunction, valueFunction, this);
+        return this;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value)
+    {
+        Node<K, V> node = this.newNode(key, value);
+        while (true)
+        {
+            Node<K, V> prior = this.table.get(key);
+            if (prior == null)
+            {
+                if (this.table.putIfAbsent(key, node) == null)
+                {
+                    this.afterInsert(node);
+                    return null;
+                }
+            }
+            else if (prior.loading != null)
+            {
+                V loaded = ConcurrentCacheMap.await(prior);
+                if (loaded != null)
+                {
+                    return loaded;
+                }
+            }
+            else if (this.isLive(prior))
+            {
+                return prior.value;
+            }
+            else if (this.table.replace(key, prior, node))
+            {
+                this.afterReplace(prior, node);
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        while (true)
+        {
+            Node<K, V> node = this.table.get(key);
+            if (node == null)
+            {
+                return null;
+            }
+            if (this.table.remove(key, node))
+            {
+                this.afterRemove(node);
+                return this.isLive(node) ? node.value : null;
+            }
+        }
+    }
+
+    @Override
+    public V removeKey(K key)
+    {
+        return this.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value)
+    {
+        Node<K, V> node = this.table.get(key);
+        if (node != null && this.isLive(node) && node.value.equals(value) && this.table.remove(key, node))
+        {
+            this.afterRemove(node);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue)
+    {
+        Node<K, V> node = this.table.get(key);
+        if (node != null && this.isLive(node) && node.value.equals(oldValue))
+        {
+            Node<K, V> newNode = this.newNode(key, newValue);
+            if (this.table.replace(key, node, newNode))
+            {
+                this.afterReplace(node, newNode);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V replace(K key, V value)
+    {
+        Node<K, V> newNode = this.newNode(key, value);
+        while (true)
+        {
+            Node<K, V> node = this.table.get(key);
+            if (node == null || !this.isLive(node))
+            {
+                return null;
+            }
+            if (this.table.replace(key, node, newNode))
+            {
+                this.afterReplace(node, newNode);
+                return node.value;
+            }
+        }
+    }
+
+    @Override
+    public void clear()
+    {
+        for (Node<K, V> node : this.table.values())
+        {
+            if (this.table.remove(node.key, node))
+            {
+                this.afterRemove(node);
+            }
+        }
+    }
+
+    @Override
+    public V getIfAbsentPut(K key, Function0<? extends V> function)
+    {
+        return this.load(key, function, null, null);
+    }
+
+    @Override
+    public V getIfAbsentPut(K key, V value)
+    {
+        V result = this.putIfAbsent(key, value);
+        return result == null ? value : result;
+    }
+
+    @Override
+    public <P> V getIfAbsentPutWith(K key, Function<? super P, ? extends V> function, P parameter)
+    {
+        return this.load(key, null, function, parameter);
+    }
+
+    /**
+     * Returns the value for the key, computing and caching it with the function if the key is absent.  While the value
+     * is being computed, other callers of this method for the same key wait for it instead of computing it again.
+     */
+    @Override
+    public V getIfAbsentPutWithKey(K key, Function<? super K, ? extends V> function)
+    {
+        return this.load(key, null, function, key);
+    }
+
+    private <P> V load(K key, Function0<? extends V> function0, Function<? super P, ? extends V> function, P parameter)
+    {
+        Node<K, V> loading = null;
+        while (true)
+        {
+            Node<K, V> node = this.table.get(key);
+            if (node != null)
+            {
+                if (node.loading != null)
+                {
+                    V loaded = ConcurrentCacheMap.await(node);
+                    if (loaded != null)
+                    {
+                        this.hitCount.increment();
+                        return loaded;
+                    }
+                    continue;
+                }
+                V value = this.liveValue(key, node);
+                if (value != null)
+                {
+                    this.hitCount.increment();
+                    this.afterRead(node);
+                    return value;
+                }
+                continue;
+            }
+            if (loading == null)
+            {
+                loading = new Node<>(key, null, 0, 0L, new CompletableFuture<>(), Thread.currentThread());
+            }
+            if (this.table.putIfAbsent(key, loading) == null)
+            {
+                break;
+            }
+        }
+
+        this.missCount.increment();
+        V value;
+        try
+        {
+            value = function0 == null ? function.valueOf(parameter) : function0.value();
+        }
+        catch (RuntimeException | Error e)
+        {
+            this.table.remove(key, loading);
+            loading.loading.completeExceptionally(e);
+            throw e;
+        }
+        this.loadCount.increment();
+        if (value == null)
+        {
+            this.table.remove(key, loading);
+            loading.loading.complete(null);
+            return null;
+        }
+        Node<K, V> loaded = this.newNode(key, value);
+        if (this.table.replace(key, loading, loaded))
+        {
+            this.afterInsert(loaded);
+        }
+        loading.loading.complete(value);
+        return value;
+    }
+
+    /**
+     * Waits for the value being loaded into the node.  A function which reads its own key back from the map would wait
+     * for itself forever, so a read from the loading thread fails instead.
+     */
+    private static <K, V> V await(Node<K, V> loading)
+    {
+        if (loading.loader == Thread.currentThread())
+        {
+            throw new IllegalStateException("Recursive load");
+        }
+        try
+        {
+            return loading.loading.join();
+        }
+        catch (CompletionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public V updateValue(K key, Function0<? extends V> factory, Function<? super V, ? extends V> function)
+    {
+        while (true)
+        {
+            V originalValue = this.liveValue(key, this.table.get(key));
+            if (originalValue == null)
+            {
+                V newValue = function.valueOf(factory.value());
+                if (this.putIfAbsent(key, newValue) == null)
+                {
+                    return newValue;
+                }
+            }
+            else
+            {
+                V newValue = function.valueOf(originalValue);
+                if (this.replace(key, originalValue, newValue))
+                {
+                    return newValue;
+                }
+            }
+        }
+    }
+
+    @Override
+    public <P> V updateValueWith(K key, Function0<? extends V> factory, Function2<? super V, ? super P, ? extends V> function, P parameter)
+    {
+        while (true)
+        {
+            V originalValue = this.liveValue(key, this.table.get(key));
+            if (originalValue == null)
+            {
+                V newValue = function.value(factory.value(), parameter);
+                if (this.putIfAbsent(key, newValue) == null)
+                {
+                    return newValue;
+                }
+            }
+            else
+            {
+                V newValue = function.value(originalValue, parameter);
+                if (this.replace(key, originalValue, newValue))
+                {
+                    return newValue;
+                }
+            }
+        }
+    }
+
+    // Eviction bookkeeping, all of which is guarded by evictionLock
+
+    private void afterRead(Node<K, V> node)
+    {
+        if (this.evictionLock.tryLock())
+        {
+            try
+            {
+                if (this.sketch != null)
+                {
+                    this.sketch.increment(node.key);
+                }
+                this.onAccess(node);
+            }
+            finally
+            {
+                this.evictionLock.unlock();
+            }
+        }
+    }
+
+    private void afterInsert(Node<K, V> node)
+    {
+        this.evictionLock.lock();
+        try
+        {
+            this.link(node);
+            this.evict();
+        }
+        finally
+        {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private void afterReplace(Node<K, V> oldNode, Node<K, V> newNode)
+    {
+        this.evictionLock.lock();
+        try
+        {
+            this.unlink(oldNode);
+            this.link(newNode);
+            this.evict();
+        }
+        finally
+        {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private void afterRemove(Node<K, V> node)
+    {
+        this.evictionLock.lock();
+        try
+        {
+            this.unlink(node);
+        }
+        finally
+        {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private void link(Node<K, V> node)
+    {
+        if (node.queue != UNLINKED)
+        {
+            // The node was removed from the table before it could be linked
+            return;
+        }
+        if (this.sketch != null)
+        {
+            this.sketch.increment(node.key);
+        }
+        node.queue = WINDOW;
+        this.window.addLast(node);
+        this.weightedSize += node.weight;
+    }
+
+    private void unlink(Node<K, V> node)
+    {
+        byte queue = node.queue;
+        node.queue = DEAD;
+        if (queue == UNLINKED || queue == DEAD)
+        {
+            return;
+        }
+        this.queueFor(queue).remove(node);
+        this.weightedSize -= node.weight;
+    }
+
+    private AccessOrderQueue<K, V> queueFor(byte queue)
+    {
+        if (queue == WINDOW)
+        {
+            return this.window;
+        }
+        return queue == PROBATION ? this.probation : this.protectedQueue;
+    }
+
+    private void onAccess(Node<K, V> node)
+    {
+        if (node.queue == WINDOW)
+        {
+            this.window.moveToLast(node);
+        }
+        else if (node.queue == PROBATION)
+        {
+            this.probation.remove(node);
+            node.queue = PROTECTED;
+            this.protectedQueue.addLast(node);
+            while (this.protectedQueue.weight > this.protectedMaximum)
+            {
+                Node<K, V> demoted = this.protectedQueue.first();
+                this.protectedQueue.remove(demoted);
+                demoted.queue = PROBATION;
+                this.probation.addLast(demoted);
+            }
+        }
+        else if (node.queue == PROTECTED)
+        {
+            this.protectedQueue.moveToLast(node);
+        }
+    }
+
+    /**
+     * With the LRU policy the cache is a single access-ordered queue.  With the TINY_LFU policy new entries enter a
+     * small window queue, and those leaving it become candidates for the main queues.  When the cache is over its
+     * maximum weight each candidate competes with the least recently used entry of the probation queue, and whichever
+     * has been accessed less often according to the frequency sketch is evicted.
+     */
+    private void evict()
+    {
+        Node<K, V> candidate = null;
+        while (this.window.weight > this.windowMaximum && this.sketch != null)
+        {
+            Node<K, V> node = this.window.first();
+            this.window.remove(node);
+            node.queue = PROBATION;
+            this.probation.addLast(node);
+            if (candidate == null)
+            {
+                candidate = node;
+            }
+        }
+
+        while (this.weightedSize > this.maximumWeight)
+        {
+            Node<K, V> victim = this.probation.first();
+            if (victim == null)
+            {
+                victim = this.protectedQueue.first();
+            }
+            if (victim == null)
+            {
+                victim = this.window.first();
+            }
+            if (victim == null)
+            {
+                return;
+            }
+            Node<K, V> evicted = victim;
+            if (candidate != null && candidate.queue == PROBATION && candidate != victim
+                    && this.sketch.frequency(candidate.key) <= this.sketch.frequency(victim.key))
+            {
+                evicted = candidate;
+            }
+            if (evicted == candidate)
+            {
+                candidate = this.probation.next(candidate);
+            }
+            if (this.table.remove(evicted.key, evicted))
+            {
+                this.evictionCount.increment();
+            }
+            this.unlink(evicted);
+        }
+    }
+
+    // Views
+
+    @Override
+    public int size()
+    {
+        return this.table.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.table.isEmpty();
+    }
+
+    @Override
+    public boolean notEmpty()
+    {
+        return !this.isEmpty();
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        this.table.forEachKeyValue((key, node) -> {
+            if (this.isLive(node))
+            {
+                procedure.value(key, node.value);
+            }
+        });
+    }
+
+    @Override
+    public void forEachKey(Procedure<? super K> procedure)
+    {
+        this.forEachKeyValue((key, value) -> procedure.value(key));
+    }
+
+    @Override
+    public void forEachValue(Procedure<? super V> procedure)
+    {
+        this.forEachKeyValue((key, value) -> procedure.value(value));
+    }
+
+    @Override
+    public ConcurrentCacheMap<K, V> tap(Procedure<? super V> procedure)
+    {
+        this.forEach(procedure);
+        return this;
+    }
+
+    @Override
+    public Iterator<V> iterator()
+    {
+        return this.values().iterator();
+    }
+
+    @Override
+    public Set<K> keySet()
+    {
+        return new KeySet();
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return new Values();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+        return new EntrySet();
+    }
+
+    @Override
+    public MutableMap<K, V> newEmpty()
+    {
+        return new ConcurrentCacheMap<>(this.policy, this.maximumWeight, this.weigher, this.expireAfterWriteNanos);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newEmpty(int capacity)
+    {
+        return ConcurrentHashMap.newMap(capacity);
+    }
+
+    @Override
+    public MutableMap<K, V> clone()
+    {
+        MutableMap<K, V> clone = this.newEmpty();
+        this.forEachKeyValue(clone::put);
+        return clone;
+    }
+
+    @Override
+    public ImmutableMap<K, V> toImmutable()
+    {
+        return Maps.immutable.ofMap(this);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof Map))
+        {
+            return false;
+        }
+        Map<?, ?> other = (Map<?, ?>) o;
+        if (this.size() != other.size())
+        {
+            return false;
+        }
+        for (Entry<K, V> entry : this.entrySet())
+        {
+            if (!entry.getValue().equals(other.get(entry.getKey())))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (Entry<K, V> entry : this.entrySet())
+        {
+            hashCode += entry.getKey().hashCode() ^ entry.getValue().hashCode();
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder().append('{');
+        this.forEachKeyValue((key, value) -> {
+            if (builder.length() > 1)
+            {
+                builder.append(", ");
+            }
+            builder.append(key).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+
+    /**
+     * The eviction policy of a {@link ConcurrentCacheMap}.
+     */
+    public enum EvictionPolicy
+    {
+        /**
+         * Evicts the least recently used entry.
+         */
+        LRU,
+
+        /**
+         * Window TinyLFU: admits an entry leaving a small LRU window into the main segmented LRU queues only if it has
+         * been accessed more often than the entry it would displace, which resists scans and one-hit wonders.
+         */
+        TINY_LFU
+    }
+
+    private static final class Node<K, V>
+    {
+        private final K key;
+        private final V value;
+        private final int weight;
+        private final long writeTime;
+        private final CompletableFuture<V> loading;
+        private final Thread loader;
+
+        private Node<K, V> previous;
+        private Node<K, V> next;
+        private byte queue;
+
+        private Node(K key, V value, int weight, long writeTime, CompletableFuture<V> loading, Thread loader)
+        {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = writeTime;
+            this.loading = loading;
+            this.loader = loader;
+        }
+    }
+
+    private static final class AccessOrderQueue<K, V>
+    {
+        private final Node<K, V> sentinel = new Node<>(null, null, 0, 0L, null, null);
+        private long weight;
+
+        private AccessOrderQueue()
+        {
+            this.sentinel.previous = this.sentinel;
+            this.sentinel.next = this.sentinel;
+        }
+
+        private Node<K, V> first()
+        {
+            return this.next(this.sentinel);
+        }
+
+        private Node<K, V> next(Node<K, V> node)
+        {
+            Node<K, V> next = node.next;
+            return next == this.sentinel ? null : next;
+        }
+
+        private void addLast(Node<K, V> node)
+        {
+            node.previous = this.sentinel.previous;
+            node.next = this.sentinel;
+            this.sentinel.previous.next = node;
+            this.sentinel.previous = node;
+            this.weight += node.weight;
+        }
+
+        private void remove(Node<K, V> node)
+        {
+            node.previous.next = node.next;
+            node.next.previous = node.previous;
+            node.previous = null;
+            node.next = null;
+            this.weight -= node.weight;
+        }
+
+        private void moveToLast(Node<K, V> node)
+        {
+            this.remove(node);
+            this.addLast(node);
+        }
+    }
+
+    /**
+     * A count-min sketch of 4-bit saturating counters which estimates how often each key has been accessed.  The
+     * counters are halved periodically so that the estimates favour recent accesses.
+     */
+    private static final class FrequencySketch
+    {
+        private static final int[] SEEDS = {0x97cb3127, 0xb6d2b1f9, 0x8f6c3a5b, 0xc2b2ae35};
+        private static final int MAXIMUM_COUNT = 15;
+
+        private final byte[] counters;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        private FrequencySketch(long maximumSize)
+        {
+            int size = Integer.highestOneBit((int) Math.max(16L, Math.min(maximumSize, 1L << 24)) - 1) << 1;
+            this.counters = new byte[size];
+            this.mask = size - 1;
+            this.sampleSize = 10 * size;
+        }
+
+        private int indexOf(int hash, int depth)
+        {
+            int index = (hash + SEEDS[depth]) * SEEDS[depth];
+            index += index >>> 16;
+            return index & this.mask;
+        }
+
+        private int frequency(Object key)
+        {
+            int hash = key.hashCode();
+            int frequency = MAXIMUM_COUNT;
+            for (int depth = 0; depth < SEEDS.length; depth++)
+            {
+                frequency = Math.min(frequency, this.counters[this.indexOf(hash, depth)]);
+            }
+            return frequency;
+        }
+
+        private void increment(Object key)
+        {
+            int hash = key.hashCode();
+            boolean added = false;
+            for (int depth = 0; depth < SEEDS.length; depth++)
+            {
+                int index = this.indexOf(hash, depth);
+                if (this.counters[index] < MAXIMUM_COUNT)
+                {
+                    this.counters[index]++;
+                    added = true;
+                }
+            }
+            if (added && ++this.additions == this.sampleSize)
+            {
+                for (int i = 0; i < this.counters.length; i++)
+                {
+                    this.counters[i] >>>= 1;
+                }
+                this.additions >>>= 1;
+            }
+        }
+    }
+
+    private abstract class LiveNodeIterator<E> implements Iterator<E>
+    {
+        private final Iterator<Node<K, V>> iterator = ConcurrentCacheMap.this.table.values().iterator();
+        private Node<K, V> next;
+        private Node<K, V> current;
+
+        protected abstract E valueOf(Node<K, V> node);
+
+        @Override
+        public boolean hasNext()
+        {
+            while (this.next == null && this.iterator.hasNext())
+            {
+                Node<K, V> node = this.iterator.next();
+                if (ConcurrentCacheMap.this.isLive(node))
+                {
+                    this.next = node;
+                }
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public E next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            this.current = this.next;
+            this.next = null;
+            return this.valueOf(this.current);
+        }
+
+        @Override
+        public void remove()
+        {
+            if (this.current == null)
+            {
+                throw new IllegalStateException();
+            }
+            if (ConcurrentCacheMap.this.table.remove(this.current.key, this.current))
+            {
+                ConcurrentCacheMap.this.afterRemove(this.current);
+            }
+            this.current = null;
+        }
+    }
+
+    private final class KeySet extends AbstractSet<K>
+    {
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new LiveNodeIterator<K>()
+            {
+                @Override
+                protected K valueOf(Node<K, V> node)
+                {
+                    return node.key;
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return ConcurrentCacheMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return ConcurrentCacheMap.this.containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o)
+        {
+            return ConcurrentCacheMap.this.remove(o) != null;
+        }
+
+        @Override
+        public void clear()
+        {
+            ConcurrentCacheMap.this.clear();
+        }
+    }
+
+    private final class Values extends AbstractCollection<V>
+    {
+        @Override
+        public Iterator<V> iterator()
+        {
+            return new LiveNodeIterator<V>()
+            {
+                @Override
+                protected V valueOf(Node<K, V> node)
+                {
+                    return node.value;
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return ConcurrentCacheMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return ConcurrentCacheMap.this.containsValue(o);
+        }
+
+        @Override
+        public void clear()
+        {
+            ConcurrentCacheMap.this.clear();
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>>
+    {
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            return new LiveNodeIterator<Entry<K, V>>()
+            {
+                @Override
+                protected Entry<K, V> valueOf(Node<K, V> node)
+                {
+                    return ImmutableEntry.of(node.key, node.value);
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return ConcurrentCacheMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            if (!(o instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            Node<K, V> node = ConcurrentCacheMap.this.table.get(entry.getKey());
+            return node != null && ConcurrentCacheMap.this.isLive(node) && node.value.equals(entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o)
+        {
+            if (!(o instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            return ConcurrentCacheMap.this.remove(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public void clear()
+        {
+            ConcurrentCacheMap.this.clear();
+        }
+    }
+}
@@ -0,0 +1,530 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.utility.Iterate;
+
+/**
+ * IncrementalUnifiedMap is a hash map which grows without stalling the thread that crosses its load threshold.  It
+ * keeps its entries in a {@link UnifiedMap}.  Instead of rehashing that table in a single call, it allocates a table
+ * twice as large and keeps the old one side by side with it.  Every subsequent {@link #put(Object, Object)} and
+ * {@link #remove(Object)} then moves a fixed number of buckets from the old table to the new one, so the cost of a
+ * resize is spread over the writes that follow it.
+ * <p>
+ * Lookups check the new table first and the old table second, and never move entries themselves, so that reading
+ * the map while iterating over it is as safe as it is for UnifiedMap.
+ *
+ * @since 9.2
+ */
+public class IncrementalUnifiedMap<K, V>
+        extends AbstractMutableMap<K, V>
+        implements Externalizable
+{
+    // Buckets of the old table moved by each write.  The new table has twice as many buckets as the old one, so at
+    // this rate the old table is drained long before the writes in the meantime can fill the new one.
+    private static final int BUCKETS_PER_WRITE = 8;
+
+    private static final long serialVersionUID = 1L;
+
+    private transient UnifiedMap<K, V> table;
+    // The table being drained into this.table, or null when no resize is in progress
+    private transient UnifiedMap<K, V> draining;
+    private transient int nextBucket;
+
+    public IncrementalUnifiedMap()
+    {
+        this.table = UnifiedMap.newMap();
+    }
+
+    public IncrementalUnifiedMap(int initialCapacity)
+    {
+        this.table = UnifiedMap.newMap(initialCapacity);
+    }
+
+    public IncrementalUnifiedMap(Map<? extends K, ? extends V> map)
+    {
+        this(map.size());
+        this.putAll(map);
+    }
+
+    public static <K, V> IncrementalUnifiedMap<K, V> newMap()
+    {
+        return new IncrementalUnifiedMap<>();
+    }
+
+    public static <K, V> IncrementalUnifiedMap<K, V> newMap(int size)
+    {
+        return new IncrementalUnifiedMap<>(size);
+    }
+
+    public static <K, V> IncrementalUnifiedMap<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+        return new IncrementalUnifiedMap<>(map);
+    }
+
+    /**
+     * Returns true while entries are still being moved from the previous table to the current one.
+     */
+    public boolean isRehashing()
+    {
+        return this.draining != null;
+    }
+
+    /**
+     * Moves all the remaining entries of the previous table, if any, to the current one.
+     */
+    public void completeRehash()
+    {
+        if (this.draining != null)
+        {
+            this.migrate(this.draining.bucketCount());
+        }
+    }
+
+    private void migrate(int buckets)
+    {
+        int end = Math.min(this.nextBucket + buckets, this.draining.bucketCount());
+        this.draining.transferBuckets(this.nextBucket, end, this.table);
+        this.nextBucket = end;
+        if (end == this.draining.bucketCount())
+        {
+            this.draining = null;
+            this.nextBucket = 0;
+        }
+    }
+
+    private void migrateSome()
+    {
+        if (this.draining != null)
+        {
+            this.migrate(BUCKETS_PER_WRITE);
+        }
+    }
+
+    private void ensureCapacityFor(K key)
+    {
+        if (this.table.isFull() && !this.table.containsKey(key))
+        {
+            this.completeRehash();
+            this.draining = this.table;
+            this.table = UnifiedMap.newMap(this.draining.size() << 1);
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        return this.draining == null ? this.table.size() : this.table.size() + this.draining.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        V result = this.table.get(key);
+        if (result == null && this.draining != null)
+        {
+            return this.draining.get(key);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return this.table.containsKey(key) || this.draining != null && this.draining.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        return this.table.containsValue(value) || this.draining != null && this.draining.containsValue(value);
+    }
+
+    @Override
+    public V put(K key, V value)
+    {
+        this.migrateSome();
+        this.ensureCapacityFor(key);
+        V previous = this.table.put(key, value);
+        if (this.draining != null && previous == null)
+        {
+            return this.draining.removeKey(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        map.forEach(this::put);
+    }
+
+    @Override
+    public <E> MutableMap<K, V> collectKeysAndValues(
+            Iterable<E> iterable,
+            Function<? super E, ? extends K> keyFunction,
+            Function<? super E, ? extends V> valueFunction)
+    {
+        Iterate.addToMap(iterable, keyFunction, valueFunction, this);
+        return this;
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        this.migrateSome();
+        V previous = this.table.remove(key);
+        if (this.draining != null && previous == null)
+        {
+            return this.draining.remove(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public V removeKey(K key)
+    {
+        return this.remove(key);
+    }
+
+    @Override
+    public void clear()
+    {
+        this.table.clear();
+        this.draining = null;
+        this.nextBucket = 0;
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        this.table.forEachKeyValue(procedure);
+        if (this.draining != null)
+        {
+            this.draining.forEachKeyValue(procedure);
+        }
+    }
+
+    @Override
+    public Iterator<V> iterator()
+    {
+        return this.values().iterator();
+    }
+
+    @Override
+    public Set<K> keySet()
+    {
+        return new KeySet();
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return new ValuesCollection();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+        return new EntrySet();
+    }
+
+    @Override
+    public IncrementalUnifiedMap<K, V> clone()
+    {
+        return new IncrementalUnifiedMap<>(this);
+    }
+
+    @Override
+    public MutableMap<K, V> newEmpty()
+    {
+        return IncrementalUnifiedMap.newMap();
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newEmpty(int capacity)
+    {
+        return IncrementalUnifiedMap.newMap(capacity);
+    }
+
+    @Override
+    public ImmutableMap<K, V> toImmutable()
+    {
+        return Maps.immutable.withAll(this);
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof Map))
+        {
+            return false;
+        }
+        Map<?, ?> other = (Map<?, ?>) object;
+        if (this.size() != other.size())
+        {
+            return false;
+        }
+        return this.keyValuesView().allSatisfy(pair -> {
+            V value = pair.getTwo();
+            Object otherValue = other.get(pair.getOne());
+            return value == null
+                    ? otherValue == null && other.containsKey(pair.getOne())
+                    : value.equals(otherValue);
+        });
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int[] hashCode = new int[1];
+        this.forEachKeyValue((key, value) -> hashCode[0] += (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode()));
+        return hashCode[0];
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("{");
+        this.forEachKeyValue((key, value) -> {
+            if (builder.length() > 1)
+            {
+                builder.append(", ");
+            }
+            builder.append(key == this ? "(this Map)" : String.valueOf(key));
+            builder.append('=');
+            builder.append(value == this ? "(this Map)" : String.valueOf(value));
+        });
+        return builder.append('}').toString();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeInt(this.size());
+        for (Entry<K, V> entry : this.entrySet())
+        {
+            out.writeObject(entry.getKey());
+            out.writeObject(entry.getValue());
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int size = in.readInt();
+        this.table = UnifiedMap.newMap(size);
+        for (int i = 0; i < size; i++)
+        {
+            this.table.put((K) in.readObject(), (V) in.readObject());
+        }
+    }
+
+    /**
+     * Iterates over the current table and then over the table being drained, as they were when the iterator was
+     * created.
+     */
+    private static final class TwoTableIterator<E>
+            implements Iterator<E>
+    {
+        private final Iterator<E> second;
+        private Iterator<E> active;
+        private Iterator<E> lastReturnedFrom;
+
+        private TwoTableIterator(Iterator<E> first, Iterator<E> second)
+        {
+            this.active = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if (!this.active.hasNext() && this.second != null && this.active != this.second)
+            {
+                this.active = this.second;
+            }
+            return this.active.hasNext();
+        }
+
+        @Override
+        public E next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            this.lastReturnedFrom = this.active;
+            return this.active.next();
+        }
+
+        @Override
+        public void remove()
+        {
+            if (this.lastReturnedFrom == null)
+            {
+                throw new IllegalStateException();
+            }
+            this.lastReturnedFrom.remove();
+            this.lastReturnedFrom = null;
+        }
+    }
+
+    private class KeySet extends AbstractSet<K>
+    {
+        @Override
+        public Iterator<K> iterator()
+        {
+            UnifiedMap<K, V> draining = IncrementalUnifiedMap.this.draining;
+            return new TwoTableIterator<>(
+                    IncrementalUnifiedMap.this.table.keySet().iterator(),
+                    draining == null ? null : draining.keySet().iterator());
+        }
+
+        @Override
+        public int size()
+        {
+            return IncrementalUnifiedMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return IncrementalUnifiedMap.this.containsKey(key);
+        }
+
+        @Override
+        public boolean remove(Object key)
+        {
+            if (IncrementalUnifiedMap.this.containsKey(key))
+            {
+                IncrementalUnifiedMap.this.remove(key);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear()
+        {
+            IncrementalUnifiedMap.this.clear();
+        }
+    }
+
+    private class ValuesCollection extends AbstractCollection<V>
+    {
+        @Override
+        public Iterator<V> iterator()
+        {
+            UnifiedMap<K, V> draining = IncrementalUnifiedMap.this.draining;
+            return new TwoTableIterator<>(
+                    IncrementalUnifiedMap.this.table.values().iterator(),
+                    draining == null ? null : draining.values().iterator());
+        }
+
+        @Override
+        public int size()
+        {
+            return IncrementalUnifiedMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object value)
+        {
+            return IncrementalUnifiedMap.this.containsValue(value);
+        }
+
+        @Override
+        public void clear()
+        {
+            IncrementalUnifiedMap.this.clear();
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>>
+    {
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            UnifiedMap<K, V> draining = IncrementalUnifiedMap.this.draining;
+            return new TwoTableIterator<>(
+                    IncrementalUnifiedMap.this.table.entrySet().iterator(),
+                    draining == null ? null : draining.entrySet().iterator());
+        }
+
+        @Override
+        public int size()
+        {
+            return IncrementalUnifiedMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            if (!(object instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) object;
+            Object key = entry.getKey();
+            if (!IncrementalUnifiedMap.this.containsKey(key))
+            {
+                return false;
+            }
+            V value = IncrementalUnifiedMap.this.get(key);
+            return value == null ? entry.getValue() == null : value.equals(entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object object)
+        {
+            if (this.contains(object))
+            {
+                IncrementalUnifiedMap.this.remove(((Entry<?, ?>) object).getKey());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear()
+        {
+            IncrementalUnifiedMap.this.clear();
+        }
+    }
+}
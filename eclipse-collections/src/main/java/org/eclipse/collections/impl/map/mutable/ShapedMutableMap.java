@@ -0,0 +1,713 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.map.MapShape;
+import org.eclipse.collections.impl.tuple.ImmutableEntry;
+import org.eclipse.collections.impl.utility.Iterate;
+
+/**
+ * ShapedMutableMap is a mutable map whose keys are taken from a shared {@link MapShape}.  Each instance holds only an
+ * array with one value slot per key of the shape; a slot holding an internal marker means the key is absent.
+ * <p>
+ * Putting a key which is not part of the shape moves the entries into a {@link UnifiedMap}, after which the map
+ * behaves like a UnifiedMap.  The switch is invisible to callers, apart from the memory it costs.
+ *
+ * @since 9.2
+ */
+public class ShapedMutableMap<K, V>
+        extends AbstractMutableMap<K, V>
+        implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final Object ABSENT = new Object();
+
+    // The shape and value slots, both null once the map has switched to a UnifiedMap
+    private transient MapShape<K> shape;
+    private transient Object[] values;
+    private transient int occupied;
+    private transient UnifiedMap<K, V> delegate;
+
+    public ShapedMutableMap()
+    {
+        // Used by Externalizable and by clones of maps which have left their shape
+        this.delegate = UnifiedMap.newMap();
+    }
+
+    public ShapedMutableMap(MapShape<K> shape)
+    {
+        this.shape = shape;
+        this.values = new Object[shape.size()];
+        Arrays.fill(this.values, ABSENT);
+    }
+
+    public ShapedMutableMap(MapShape<K> shape, V... values)
+    {
+        if (values.length != shape.size())
+        {
+            throw new IllegalArgumentException("Expected " + shape.size() + " values for " + shape + " but got " + values.length);
+        }
+        this.shape = shape;
+        this.values = Arrays.copyOf(values, values.length, Object[].class);
+        this.occupied = values.length;
+    }
+
+    /**
+     * Returns true while the entries are still stored in the layout of the shape the map was created with.
+     */
+    public boolean isShaped()
+    {
+        return this.delegate == null;
+    }
+
+    /**
+     * Returns the shape the map was created with, or null once the map has switched to a UnifiedMap.
+     */
+    public MapShape<K> getShape()
+    {
+        return this.shape;
+    }
+
+    private void switchToUnifiedMap()
+    {
+        UnifiedMap<K, V> map = UnifiedMap.newMap(this.occupied + 1);
+        this.forEachKeyValue(map::put);
+        this.delegate = map;
+        this.shape = null;
+        this.values = null;
+        this.occupied = 0;
+    }
+
+    private void removeSlot(int index)
+    {
+        this.values[index] = ABSENT;
+        this.occupied--;
+    }
+
+    private int nextSlot(int from)
+    {
+        for (int i = from; i < this.values.length; i++)
+        {
+            if (this.values[i] != ABSENT)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.delegate == null ? this.occupied : this.delegate.size();
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        if (this.delegate != null)
+        {
+            return this.delegate.get(key);
+        }
+        int index = this.shape.indexOf(key);
+        if (index < 0)
+        {
+            return null;
+        }
+        Object value = this.values[index];
+        return value == ABSENT ? null : (V) value;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        if (this.delegate != null)
+        {
+            return this.delegate.containsKey(key);
+        }
+        int index = this.shape.indexOf(key);
+        return index >= 0 && this.values[index] != ABSENT;
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        if (this.delegate != null)
+        {
+            return this.delegate.containsValue(value);
+        }
+        for (Object each : this.values)
+        {
+            if (each != ABSENT && (each == value || each != null && each.equals(value)))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V put(K key, V value)
+    {
+        if (this.delegate == null)
+        {
+            int index = this.shape.indexOf(key);
+            if (index >= 0)
+            {
+                Object previous = this.values[index];
+                this.values[index] = value;
+                if (previous == ABSENT)
+                {
+                    this.occupied++;
+                    return null;
+                }
+                return (V) previous;
+            }
+            this.switchToUnifiedMap();
+        }
+        return this.delegate.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        map.forEach(this::put);
+    }
+
+    @Override
+    public <E> MutableMap<K, V> collectKeysAndValues(
+            Iterable<E> iterable,
+            Function<? super E, ? extends K> keyFunction,
+            Function<? super E, ? extends V> valueFunction)
+    {
+        Iterate.addToMap(iterable, keyFunction, valueFunction, this);
+        return this;
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        if (this.delegate != null)
+        {
+            return this.delegate.remove(key);
+        }
+        int index = this.shape.indexOf(key);
+        if (index < 0 || this.values[index] == ABSENT)
+        {
+            return null;
+        }
+        V previous = (V) this.values[index];
+        this.removeSlot(index);
+        return previous;
+    }
+
+    @Override
+    public V removeKey(K key)
+    {
+        return this.remove(key);
+    }
+
+    @Override
+    public void clear()
+    {
+        if (this.delegate != null)
+        {
+            this.delegate.clear();
+            return;
+        }
+        Arrays.fill(this.values, ABSENT);
+        this.occupied = 0;
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        if (this.delegate != null)
+        {
+            this.delegate.forEachKeyValue(procedure);
+            return;
+        }
+        for (int i = 0; i < this.values.length; i++)
+        {
+            Object value = this.values[i];
+            if (value != ABSENT)
+            {
+                procedure.value(this.shape.getKey(i), (V) value);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<V> iterator()
+    {
+        return this.values().iterator();
+    }
+
+    @Override
+    public Set<K> keySet()
+    {
+        return new KeySet();
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return new ValuesCollection();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+        return new EntrySet();
+    }
+
+    @Override
+    public ShapedMutableMap<K, V> withKeyValue(K key, V value)
+    {
+        this.put(key, value);
+        return this;
+    }
+
+    @Override
+    public ShapedMutableMap<K, V> clone()
+    {
+        if (this.delegate != null)
+        {
+            ShapedMutableMap<K, V> clone = new ShapedMutableMap<>();
+            clone.delegate.putAll(this.delegate);
+            return clone;
+        }
+        ShapedMutableMap<K, V> clone = new ShapedMutableMap<>(this.shape);
+        System.arraycopy(this.values, 0, clone.values, 0, this.values.length);
+        clone.occupied = this.occupied;
+        return clone;
+    }
+
+    @Override
+    public MutableMap<K, V> newEmpty()
+    {
+        return this.delegate == null ? new ShapedMutableMap<>(this.shape) : UnifiedMap.newMap();
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newEmpty(int capacity)
+    {
+        return UnifiedMap.newMap(capacity);
+    }
+
+    @Override
+    public ImmutableMap<K, V> toImmutable()
+    {
+        if (this.delegate == null && this.occupied == this.values.length)
+        {
+            return this.shape.newImmutableMapWith((V[]) this.values);
+        }
+        return Maps.immutable.withAll(this);
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (this.delegate != null)
+        {
+            return this.delegate.equals(object);
+        }
+        if (!(object instanceof Map))
+        {
+            return false;
+        }
+        Map<?, ?> other = (Map<?, ?>) object;
+        if (this.occupied != other.size())
+        {
+            return false;
+        }
+        for (int i = 0; i < this.values.length; i++)
+        {
+            Object value = this.values[i];
+            if (value != ABSENT)
+            {
+                K key = this.shape.getKey(i);
+                Object otherValue = other.get(key);
+                if (value == null ? otherValue != null || !other.containsKey(key) : !value.equals(otherValue))
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        if (this.delegate != null)
+        {
+            return this.delegate.hashCode();
+        }
+        int hashCode = 0;
+        for (int i = 0; i < this.values.length; i++)
+        {
+            Object value = this.values[i];
+            if (value != ABSENT)
+            {
+                K key = this.shape.getKey(i);
+                hashCode += (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+            }
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("{");
+        this.forEachKeyValue((key, value) -> {
+            if (builder.length() > 1)
+            {
+                builder.append(", ");
+            }
+            builder.append(key == this ? "(this Map)" : String.valueOf(key));
+            builder.append('=');
+            builder.append(value == this ? "(this Map)" : String.valueOf(value));
+        });
+        return builder.append('}').toString();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        if (this.delegate != null)
+        {
+            out.writeInt(-1);
+            out.writeInt(this.delegate.size());
+            for (Entry<K, V> entry : this.delegate.entrySet())
+            {
+                out.writeObject(entry.getKey());
+                out.writeObject(entry.getValue());
+            }
+            return;
+        }
+        out.writeInt(this.values.length);
+        for (int i = 0; i < this.values.length; i++)
+        {
+            out.writeObject(this.shape.getKey(i));
+        }
+        for (Object value : this.values)
+        {
+            boolean present = value != ABSENT;
+            out.writeBoolean(present);
+            if (present)
+            {
+                out.writeObject(value);
+            }
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int shapeSize = in.readInt();
+        if (shapeSize < 0)
+        {
+            int size = in.readInt();
+            this.delegate = UnifiedMap.newMap(size);
+            for (int i = 0; i < size; i++)
+            {
+                this.delegate.put((K) in.readObject(), (V) in.readObject());
+            }
+            return;
+        }
+        Object[] keys = new Object[shapeSize];
+        for (int i = 0; i < shapeSize; i++)
+        {
+            keys[i] = in.readObject();
+        }
+        this.delegate = null;
+        this.shape = (MapShape<K>) MapShape.of(keys);
+        this.values = new Object[shapeSize];
+        for (int i = 0; i < shapeSize; i++)
+        {
+            if (in.readBoolean())
+            {
+                this.values[i] = in.readObject();
+                this.occupied++;
+            }
+            else
+            {
+                this.values[i] = ABSENT;
+            }
+        }
+    }
+
+    /**
+     * Iterates over the slots of a shaped map.  Once the map has switched to a UnifiedMap, views create iterators of
+     * the UnifiedMap instead.
+     */
+    private abstract class SlotIterator<E>
+            implements Iterator<E>
+    {
+        private int nextSlot = ShapedMutableMap.this.nextSlot(0);
+        private int lastSlot = -1;
+
+        protected abstract E elementAt(int slot);
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.nextSlot >= 0;
+        }
+
+        @Override
+        public E next()
+        {
+            if (this.nextSlot < 0)
+            {
+                throw new NoSuchElementException();
+            }
+            this.lastSlot = this.nextSlot;
+            this.nextSlot = ShapedMutableMap.this.nextSlot(this.nextSlot + 1);
+            return this.elementAt(this.lastSlot);
+        }
+
+        @Override
+        public void remove()
+        {
+            if (this.lastSlot < 0)
+            {
+                throw new IllegalStateException();
+            }
+            ShapedMutableMap.this.removeSlot(this.lastSlot);
+            this.lastSlot = -1;
+        }
+    }
+
+    private final class SlotEntry
+            implements Entry<K, V>
+    {
+        private final K key;
+        private V value;
+
+        private SlotEntry(K key, V value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey()
+        {
+            return this.key;
+        }
+
+        @Override
+        public V getValue()
+        {
+            return this.value;
+        }
+
+        @Override
+        public V setValue(V newValue)
+        {
+            V previous = this.value;
+            this.value = newValue;
+            ShapedMutableMap.this.put(this.key, newValue);
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            return ImmutableEntry.of(this.key, this.value).equals(object);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (this.key == null ? 0 : this.key.hashCode()) ^ (this.value == null ? 0 : this.value.hashCode());
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.key + "=" + this.value;
+        }
+    }
+
+    private class KeySet extends AbstractSet<K>
+    {
+        @Override
+        public Iterator<K> iterator()
+        {
+            if (ShapedMutableMap.this.delegate != null)
+            {
+                return ShapedMutableMap.this.delegate.keySet().iterator();
+            }
+            return new SlotIterator<K>()
+            {
+                @Override
+                protected K elementAt(int slot)
+                {
+                    return ShapedMutableMap.this.shape.getKey(slot);
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return ShapedMutableMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return ShapedMutableMap.this.containsKey(key);
+        }
+
+        @Override
+        public boolean remove(Object key)
+        {
+            if (ShapedMutableMap.this.containsKey(key))
+            {
+                ShapedMutableMap.this.remove(key);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear()
+        {
+            ShapedMutableMap.this.clear();
+        }
+    }
+
+    private class ValuesCollection extends AbstractCollection<V>
+    {
+        @Override
+        public Iterator<V> iterator()
+        {
+            if (ShapedMutableMap.this.delegate != null)
+            {
+                return ShapedMutableMap.this.delegate.values().iterator();
+            }
+            return new SlotIterator<V>()
+            {
+                @Override
+                protected V elementAt(int slot)
+                {
+                    return (V) ShapedMutableMap.this.values[slot];
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return ShapedMutableMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object value)
+        {
+            return ShapedMutableMap.this.containsValue(value);
+        }
+
+        @Override
+        public void clear()
+        {
+            ShapedMutableMap.this.clear();
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>>
+    {
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            if (ShapedMutableMap.this.delegate != null)
+            {
+                return ShapedMutableMap.this.delegate.entrySet().iterator();
+            }
+            return new SlotIterator<Entry<K, V>>()
+            {
+                @Override
+                protected Entry<K, V> elementAt(int slot)
+                {
+                    return new SlotEntry(ShapedMutableMap.this.shape.getKey(slot), (V) ShapedMutableMap.this.values[slot]);
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return ShapedMutableMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            if (!(object instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) object;
+            Object key = entry.getKey();
+            if (!ShapedMutableMap.this.containsKey(key))
+            {
+                return false;
+            }
+            Object value = ShapedMutableMap.this.get(key);
+            return value == null ? entry.getValue() == null : value.equals(entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object object)
+        {
+            if (this.contains(object))
+            {
+                ShapedMutableMap.this.remove(((Entry<?, ?>) object).getKey());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear()
+        {
+            ShapedMutableMap.this.clear();
+        }
+    }
+}
@@ -0,0 +1,819 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.utility.Iterate;
+
+/**
+ * SwissTableMap is an open-addressed hash map laid out after Abseil's SwissTable.  Slots are arranged in groups of
+ * eight, and each group has a 64-bit word holding one control byte per slot.  A control byte marks its slot as empty,
+ * deleted, or full, and for a full slot it holds seven bits of the key's hash.  A lookup compares those seven bits
+ * against all eight slots of a group at once.  It then checks the full hash code, which is cached per slot, before
+ * calling {@code equals}, so most mismatches are rejected without touching the key.
+ * <p>
+ * Keys and values are stored next to each other in one array, as in {@link UnifiedMap}, but collisions probe other
+ * groups instead of spilling into chained arrays.  Growing the table reuses the cached hash codes, so
+ * {@code hashCode()} is called only once for each key put into the map.
+ *
+ * @since 9.2
+ */
+public class SwissTableMap<K, V>
+        extends AbstractMutableMap<K, V>
+        implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final Object NULL_KEY = new Object();
+
+    private static final int GROUP_SHIFT = 3;
+    private static final int GROUP_SIZE = 1 << GROUP_SHIFT;
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private static final int EMPTY = 0x80;
+    private static final int DELETED = 0xFE;
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long EMPTY_GROUP = HIGH_BITS;
+
+    // One control byte per slot, eight slots per word
+    private transient long[] controls;
+    private transient int[] hashes;
+    // Key of slot i at 2 * i, value at 2 * i + 1
+    private transient Object[] table;
+    private transient int occupied;
+    // Number of empty slots which can still be filled before the table has to be rehashed
+    private transient int growthLeft;
+
+    public SwissTableMap()
+    {
+        this.allocate(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public SwissTableMap(int initialCapacity)
+    {
+        if (initialCapacity < 0)
+        {
+            throw new IllegalArgumentException("initial capacity cannot be less than 0");
+        }
+        this.allocate(SwissTableMap.capacityFor(initialCapacity));
+    }
+
+    public SwissTableMap(Map<? extends K, ? extends V> map)
+    {
+        this(map.size());
+        this.putAll(map);
+    }
+
+    public static <K, V> SwissTableMap<K, V> newMap()
+    {
+        return new SwissTableMap<>();
+    }
+
+    public static <K, V> SwissTableMap<K, V> newMap(int size)
+    {
+        return new SwissTableMap<>(size);
+    }
+
+    public static <K, V> SwissTableMap<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+        return new SwissTableMap<>(map);
+    }
+
+    public static <K, V> SwissTableMap<K, V> newWithKeysValues(K key, V value)
+    {
+        return new SwissTableMap<K, V>(1).withKeyValue(key, value);
+    }
+
+    public static <K, V> SwissTableMap<K, V> newWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return new SwissTableMap<K, V>(2).withKeyValue(key1, value1).withKeyValue(key2, value2);
+    }
+
+    private static int capacityFor(int size)
+    {
+        int capacity = GROUP_SIZE;
+        while (SwissTableMap.maxLoad(capacity) < size)
+        {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int maxLoad(int capacity)
+    {
+        return capacity - (capacity >>> 3);
+    }
+
+    private static int hash(Object key)
+    {
+        int h = key == null ? 0 : key.hashCode();
+        h *= 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+
+    // The top seven bits of the hash pick the control byte, the low bits pick the first group to probe
+    private static int fragment(int hash)
+    {
+        return hash >>> 25;
+    }
+
+    private static long matchFragment(long word, int fragment)
+    {
+        long x = word ^ LOW_BITS * fragment;
+        return x - LOW_BITS & ~x & HIGH_BITS;
+    }
+
+    private static long matchEmpty(long word)
+    {
+        return word & ~word << 6 & HIGH_BITS;
+    }
+
+    private static long matchEmptyOrDeleted(long word)
+    {
+        return word & ~(word << 7) & HIGH_BITS;
+    }
+
+    private static long matchFull(long word)
+    {
+        return ~word & HIGH_BITS;
+    }
+
+    private static Object toSentinelIfNull(Object key)
+    {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static boolean nonNullTableObjectEquals(Object cur, Object key)
+    {
+        return cur == key || (cur == NULL_KEY ? key == null : cur.equals(key));
+    }
+
+    private K nonSentinel(Object key)
+    {
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    private void allocate(int capacity)
+    {
+        this.controls = new long[capacity >>> GROUP_SHIFT];
+        Arrays.fill(this.controls, EMPTY_GROUP);
+        this.hashes = new int[capacity];
+        this.table = new Object[capacity << 1];
+        this.growthLeft = SwissTableMap.maxLoad(capacity) - this.occupied;
+    }
+
+    private int controlAt(int slot)
+    {
+        return (int) (this.controls[slot >>> GROUP_SHIFT] >>> ((slot & GROUP_SIZE - 1) << 3)) & 0xFF;
+    }
+
+    private void setControl(int slot, int control)
+    {
+        int shift = (slot & GROUP_SIZE - 1) << 3;
+        int group = slot >>> GROUP_SHIFT;
+        this.controls[group] = this.controls[group] & ~(0xFFL << shift) | (long) control << shift;
+    }
+
+    private int slotOf(Object key, int hash)
+    {
+        int fragment = SwissTableMap.fragment(hash);
+        int mask = this.controls.length - 1;
+        int group = hash & mask;
+        int step = 0;
+        while (true)
+        {
+            long word = this.controls[group];
+            for (long matches = SwissTableMap.matchFragment(word, fragment); matches != 0; matches &= matches - 1)
+            {
+                int slot = (group << GROUP_SHIFT) + (Long.numberOfTrailingZeros(matches) >>> 3);
+                if (this.hashes[slot] == hash && SwissTableMap.nonNullTableObjectEquals(this.table[slot << 1], key))
+                {
+                    return slot;
+                }
+            }
+            if (SwissTableMap.matchEmpty(word) != 0)
+            {
+                return -1;
+            }
+            step++;
+            group = group + step & mask;
+        }
+    }
+
+    private int firstFreeSlot(int hash)
+    {
+        int mask = this.controls.length - 1;
+        int group = hash & mask;
+        int step = 0;
+        while (true)
+        {
+            long free = SwissTableMap.matchEmptyOrDeleted(this.controls[group]);
+            if (free != 0)
+            {
+                return (group << GROUP_SHIFT) + (Long.numberOfTrailingZeros(free) >>> 3);
+            }
+            step++;
+            group = group + step & mask;
+        }
+    }
+
+    private void insert(int hash, Object key, Object value)
+    {
+        int slot = this.firstFreeSlot(hash);
+        if (this.growthLeft == 0 && this.controlAt(slot) == EMPTY)
+        {
+            this.rehash();
+            slot = this.firstFreeSlot(hash);
+        }
+        if (this.controlAt(slot) == EMPTY)
+        {
+            this.growthLeft--;
+        }
+        this.setControl(slot, SwissTableMap.fragment(hash));
+        this.hashes[slot] = hash;
+        this.table[slot << 1] = key;
+        this.table[(slot << 1) + 1] = value;
+        this.occupied++;
+    }
+
+    /**
+     * Grows the table, or rebuilds it at the same size when most of the slots it is missing are taken by deleted
+     * entries.  Entries are reinserted using their cached hash codes.
+     */
+    private void rehash()
+    {
+        int capacity = this.hashes.length;
+        int newCapacity = this.occupied <= SwissTableMap.maxLoad(capacity) >>> 1 ? capacity : capacity << 1;
+        long[] oldControls = this.controls;
+        int[] oldHashes = this.hashes;
+        Object[] oldTable = this.table;
+        int oldOccupied = this.occupied;
+        this.occupied = 0;
+        this.allocate(newCapacity);
+        for (int group = 0; group < oldControls.length; group++)
+        {
+            for (long full = SwissTableMap.matchFull(oldControls[group]); full != 0; full &= full - 1)
+            {
+                int slot = (group << GROUP_SHIFT) + (Long.numberOfTrailingZeros(full) >>> 3);
+                int newSlot = this.firstFreeSlot(oldHashes[slot]);
+                this.setControl(newSlot, SwissTableMap.fragment(oldHashes[slot]));
+                this.hashes[newSlot] = oldHashes[slot];
+                this.table[newSlot << 1] = oldTable[slot << 1];
+                this.table[(newSlot << 1) + 1] = oldTable[(slot << 1) + 1];
+            }
+        }
+        this.occupied = oldOccupied;
+        this.growthLeft -= oldOccupied;
+    }
+
+    private void removeSlot(int slot)
+    {
+        // A group that still has an empty slot has never been probed past, so the slot can go back to empty
+        if (SwissTableMap.matchEmpty(this.controls[slot >>> GROUP_SHIFT]) != 0)
+        {
+            this.setControl(slot, EMPTY);
+            this.growthLeft++;
+        }
+        else
+        {
+            this.setControl(slot, DELETED);
+        }
+        this.table[slot << 1] = null;
+        this.table[(slot << 1) + 1] = null;
+        this.occupied--;
+    }
+
+    private int nextFullSlot(int from)
+    {
+        int capacity = this.hashes.length;
+        int slot = from;
+        while (slot < capacity)
+        {
+            int group = slot >>> GROUP_SHIFT;
+            long full = SwissTableMap.matchFull(this.controls[group]) & -1L << ((slot & GROUP_SIZE - 1) << 3);
+            if (full != 0)
+            {
+                return (group << GROUP_SHIFT) + (Long.numberOfTrailingZeros(full) >>> 3);
+            }
+            slot = group + 1 << GROUP_SHIFT;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.occupied;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.occupied == 0;
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        int slot = this.slotOf(key, SwissTableMap.hash(key));
+        return slot < 0 ? null : (V) this.table[(slot << 1) + 1];
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return this.slotOf(key, SwissTableMap.hash(key)) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        for (int slot = this.nextFullSlot(0); slot >= 0; slot = this.nextFullSlot(slot + 1))
+        {
+            Object each = this.table[(slot << 1) + 1];
+            if (each == value || each != null && each.equals(value))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V put(K key, V value)
+    {
+        int hash = SwissTableMap.hash(key);
+        int slot = this.slotOf(key, hash);
+        if (slot >= 0)
+        {
+            int valueIndex = (slot << 1) + 1;
+            V previous = (V) this.table[valueIndex];
+            this.table[valueIndex] = value;
+            return previous;
+        }
+        this.insert(hash, SwissTableMap.toSentinelIfNull(key), value);
+        return null;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        map.forEach(this::put);
+    }
+
+    @Override
+    public <E> MutableMap<K, V> collectKeysAndValues(
+            Iterable<E> iterable,
+            Function<? super E, ? extends K> keyFunction,
+            Function<? super E, ? extends V> valueFunction)
+    {
+        Iterate.addToMap(iterable, keyFunction, valueFunction, this);
+        return this;
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        int slot = this.slotOf(key, SwissTableMap.hash(key));
+        if (slot < 0)
+        {
+            return null;
+        }
+        V previous = (V) this.table[(slot << 1) + 1];
+        this.removeSlot(slot);
+        return previous;
+    }
+
+    @Override
+    public V removeKey(K key)
+    {
+        return this.remove(key);
+    }
+
+    @Override
+    public void clear()
+    {
+        if (this.occupied == 0)
+        {
+            return;
+        }
+        Arrays.fill(this.controls, EMPTY_GROUP);
+        Arrays.fill(this.table, null);
+        this.occupied = 0;
+        this.growthLeft = SwissTableMap.maxLoad(this.hashes.length);
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        for (int group = 0; group < this.controls.length; group++)
+        {
+            for (long full = SwissTableMap.matchFull(this.controls[group]); full != 0; full &= full - 1)
+            {
+                int index = (group << GROUP_SHIFT) + (Long.numberOfTrailingZeros(full) >>> 3) << 1;
+                procedure.value(this.nonSentinel(this.table[index]), (V) this.table[index + 1]);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<V> iterator()
+    {
+        return new ValuesIterator();
+    }
+
+    @Override
+    public Set<K> keySet()
+    {
+        return new KeySet();
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return new ValuesCollection();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+        return new EntrySet();
+    }
+
+    @Override
+    public SwissTableMap<K, V> withKeyValue(K key, V value)
+    {
+        this.put(key, value);
+        return this;
+    }
+
+    @Override
+    public SwissTableMap<K, V> clone()
+    {
+        return new SwissTableMap<>(this);
+    }
+
+    @Override
+    public MutableMap<K, V> newEmpty()
+    {
+        return SwissTableMap.newMap();
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newEmpty(int capacity)
+    {
+        return SwissTableMap.newMap(capacity);
+    }
+
+    @Override
+    public ImmutableMap<K, V> toImmutable()
+    {
+        return Maps.immutable.withAll(this);
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof Map))
+        {
+            return false;
+        }
+        Map<?, ?> other = (Map<?, ?>) object;
+        if (this.size() != other.size())
+        {
+            return false;
+        }
+        for (int slot = this.nextFullSlot(0); slot >= 0; slot = this.nextFullSlot(slot + 1))
+        {
+            K key = this.nonSentinel(this.table[slot << 1]);
+            Object value = this.table[(slot << 1) + 1];
+            Object otherValue = other.get(key);
+            if (value == null ? otherValue != null || !other.containsKey(key) : !value.equals(otherValue))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (int slot = this.nextFullSlot(0); slot >= 0; slot = this.nextFullSlot(slot + 1))
+        {
+            Object key = this.nonSentinel(this.table[slot << 1]);
+            Object value = this.table[(slot << 1) + 1];
+            hashCode += (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("{");
+        this.forEachKeyValue((key, value) -> {
+            if (builder.length() > 1)
+            {
+                builder.append(", ");
+            }
+            builder.append(key == this ? "(this Map)" : String.valueOf(key));
+            builder.append('=');
+            builder.append(value == this ? "(this Map)" : String.valueOf(value));
+        });
+        return builder.append('}').toString();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeInt(this.size());
+        for (int slot = this.nextFullSlot(0); slot >= 0; slot = this.nextFullSlot(slot + 1))
+        {
+            out.writeObject(this.nonSentinel(this.table[slot << 1]));
+            out.writeObject(this.table[(slot << 1) + 1]);
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int size = in.readInt();
+        this.allocate(SwissTableMap.capacityFor(size));
+        for (int i = 0; i < size; i++)
+        {
+            this.put((K) in.readObject(), (V) in.readObject());
+        }
+    }
+
+    private abstract class SlotIterator<E>
+            implements Iterator<E>
+    {
+        private int nextSlot = SwissTableMap.this.nextFullSlot(0);
+        private int lastSlot = -1;
+
+        protected abstract E elementAt(int slot);
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.nextSlot >= 0;
+        }
+
+        @Override
+        public E next()
+        {
+            if (this.nextSlot < 0)
+            {
+                throw new NoSuchElementException();
+            }
+            this.lastSlot = this.nextSlot;
+            this.nextSlot = SwissTableMap.this.nextFullSlot(this.nextSlot + 1);
+            return this.elementAt(this.lastSlot);
+        }
+
+        @Override
+        public void remove()
+        {
+            if (this.lastSlot < 0)
+            {
+                throw new IllegalStateException();
+            }
+            SwissTableMap.this.removeSlot(this.lastSlot);
+            this.lastSlot = -1;
+        }
+    }
+
+    private class KeysIterator extends SlotIterator<K>
+    {
+        @Override
+        protected K elementAt(int slot)
+        {
+            return SwissTableMap.this.nonSentinel(SwissTableMap.this.table[slot << 1]);
+        }
+    }
+
+    private class ValuesIterator extends SlotIterator<V>
+    {
+        @Override
+        protected V elementAt(int slot)
+        {
+            return (V) SwissTableMap.this.table[(slot << 1) + 1];
+        }
+    }
+
+    private class EntriesIterator extends SlotIterator<Entry<K, V>>
+    {
+        @Override
+        protected Entry<K, V> elementAt(int slot)
+        {
+            return new SlotEntry(
+                    SwissTableMap.this.nonSentinel(SwissTableMap.this.table[slot << 1]),
+                    (V) SwissTableMap.this.table[(slot << 1) + 1]);
+        }
+    }
+
+    private final class SlotEntry
+            implements Entry<K, V>
+    {
+        private final K key;
+        private V value;
+
+        private SlotEntry(K key, V value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey()
+        {
+            return this.key;
+        }
+
+        @Override
+        public V getValue()
+        {
+            return this.value;
+        }
+
+        @Override
+        public V setValue(V newValue)
+        {
+            V previous = this.value;
+            this.value = newValue;
+            SwissTableMap.this.put(this.key, newValue);
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if (!(object instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> other = (Entry<?, ?>) object;
+            return (this.key == null ? other.getKey() == null : this.key.equals(other.getKey()))
+                    && (this.value == null ? other.getValue() == null : this.value.equals(other.getValue()));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (this.key == null ? 0 : this.key.hashCode()) ^ (this.value == null ? 0 : this.value.hashCode());
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.key + "=" + this.value;
+        }
+    }
+
+    private class KeySet extends AbstractSet<K>
+    {
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new KeysIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return SwissTableMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return SwissTableMap.this.containsKey(key);
+        }
+
+        @Override
+        public boolean remove(Object key)
+        {
+            int slot = SwissTableMap.this.slotOf(key, SwissTableMap.hash(key));
+            if (slot < 0)
+            {
+                return false;
+            }
+            SwissTableMap.this.removeSlot(slot);
+            return true;
+        }
+
+        @Override
+        public void clear()
+        {
+            SwissTableMap.this.clear();
+        }
+    }
+
+    private class ValuesCollection extends AbstractCollection<V>
+    {
+        @Override
+        public Iterator<V> iterator()
+        {
+            return new ValuesIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return SwissTableMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object value)
+        {
+            return SwissTableMap.this.containsValue(value);
+        }
+
+        @Override
+        public void clear()
+        {
+            SwissTableMap.this.clear();
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>>
+    {
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            return new EntriesIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return SwissTableMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            if (!(object instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) object;
+            int slot = SwissTableMap.this.slotOf(entry.getKey(), SwissTableMap.hash(entry.getKey()));
+            if (slot < 0)
+            {
+                return false;
+            }
+            Object value = SwissTableMap.this.table[(slot << 1) + 1];
+            return value == null ? entry.getValue() == null : value.equals(entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object object)
+        {
+            if (this.contains(object))
+            {
+                SwissTableMap.this.remove(((Entry<?, ?>) object).getKey());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear()
+        {
+            SwissTableMap.this.clear();
+        }
+    }
+}
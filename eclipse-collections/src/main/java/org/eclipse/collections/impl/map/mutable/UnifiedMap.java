@@ -24,6 +24,8 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 import org.eclipse.collections.api.block.function.Function;
 import org.eclipse.collections.api.block.function.Function0;
@@ -874,6 +876,56 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         }
     }
 
+    /**
+     * Moves the entries of the buckets from {@code fromBucket} (inclusive) to {@code toBucket} (exclusive) into
+     * {@code target}, leaving those buckets empty.  Used by {@link IncrementalUnifiedMap} to rehash a few buckets at a
+     * time.
+     *
+     * @return the number of entries moved
+     */
+    int transferBuckets(int fromBucket, int toBucket, UnifiedMap<K, V> target)
+    {
+        int moved = 0;
+        for (int i = fromBucket << 1; i < toBucket << 1; i += 2)
+        {
+            Object cur = this.table[i];
+            if (cur == CHAINED_KEY)
+            {
+                Object[] chain = (Object[]) this.table[i + 1];
+                for (int j = 0; j < chain.length; j += 2)
+                {
+                    if (chain[j] != null)
+                    {
+                        target.put(this.nonSentinel(chain[j]), (V) chain[j + 1]);
+                        moved++;
+                    }
+                }
+            }
+            else if (cur != null)
+            {
+                target.put(this.nonSentinel(cur), (V) this.table[i + 1]);
+                moved++;
+            }
+            this.table[i] = null;
+            this.table[i + 1] = null;
+        }
+        this.occupied -= moved;
+        return moved;
+    }
+
+    int bucketCount()
+    {
+        return this.table.length >> 1;
+    }
+
+    /**
+     * Returns true if adding one more distinct key would make this collection rehash.
+     */
+    boolean isFull()
+    {
+        return this.occupied >= this.maxSize;
+    }
+
     @Override
     public V get(Object key)
     {
@@ -1078,6 +1130,17 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         }
     }
 
+    /**
+     * Returns a Spliterator over the values of this map which splits on ranges of the backing table.
+     *
+     * @since 9.2
+     */
+    @Override
+    public Spliterator<V> spliterator()
+    {
+        return new ValuesSpliterator(this.table, 0, this.table.length, this.size(), true);
+    }
+
     @Override
     public void forEachKey(Procedure<? super K> procedure)
     {
@@ -2067,6 +2130,13 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
             return new KeySetIterator();
         }
 
+        @Override
+        public Spliterator<K> spliterator()
+        {
+            Object[] table = UnifiedMap.this.table;
+            return new KeySetSpliterator(table, 0, table.length, UnifiedMap.this.size(), true);
+        }
+
         @Override
         public boolean remove(Object key)
         {
@@ -2402,6 +2472,133 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         }
     }
 
+    /**
+     * A Spliterator over a range of table slots. Splitting halves the remaining slot range, and chained buckets are
+     * walked in place, so a split never separates the entries of a single bucket.
+     */
+    protected abstract class PositionalSpliterator<T> implements Spliterator<T>
+    {
+        protected final Object[] table;
+        protected int position;
+        protected int fence;
+        protected int chainPosition;
+        protected long estimatedSize;
+        protected boolean exactSize;
+
+        protected PositionalSpliterator(Object[] table, int position, int fence, long estimatedSize, boolean exactSize)
+        {
+            this.table = table;
+            this.position = position;
+            this.fence = fence;
+            this.estimatedSize = estimatedSize;
+            this.exactSize = exactSize;
+        }
+
+        protected abstract T elementAt(Object key, Object value);
+
+        protected abstract PositionalSpliterator<T> newSpliterator(int position, int fence, long estimatedSize);
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action)
+        {
+            while (this.position < this.fence)
+            {
+                Object cur = this.table[this.position];
+                if (cur == CHAINED_KEY)
+                {
+                    Object[] chain = (Object[]) this.table[this.position + 1];
+                    Object key = chain[this.chainPosition];
+                    Object value = chain[this.chainPosition + 1];
+                    this.chainPosition += 2;
+                    if (this.chainPosition >= chain.length || chain[this.chainPosition] == null)
+                    {
+                        this.chainPosition = 0;
+                        this.position += 2;
+                    }
+                    this.consumed();
+                    action.accept(this.elementAt(key, value));
+                    return true;
+                }
+                this.position += 2;
+                if (cur != null)
+                {
+                    this.consumed();
+                    action.accept(this.elementAt(cur, this.table[this.position - 1]));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void consumed()
+        {
+            if (this.estimatedSize > 0L)
+            {
+                this.estimatedSize--;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action)
+        {
+            if (this.chainPosition != 0)
+            {
+                while (this.chainPosition != 0)
+                {
+                    this.tryAdvance(action);
+                }
+            }
+            Object[] table = this.table;
+            int end = this.fence;
+            for (int i = this.position; i < end; i += 2)
+            {
+                Object cur = table[i];
+                if (cur == CHAINED_KEY)
+                {
+                    Object[] chain = (Object[]) table[i + 1];
+                    for (int j = 0; j < chain.length && chain[j] != null; j += 2)
+                    {
+                        action.accept(this.elementAt(chain[j], chain[j + 1]));
+                    }
+                }
+                else if (cur != null)
+                {
+                    action.accept(this.elementAt(cur, table[i + 1]));
+                }
+            }
+            this.position = end;
+            this.estimatedSize = 0L;
+        }
+
+        @Override
+        public Spliterator<T> trySplit()
+        {
+            int start = this.chainPosition == 0 ? this.position : this.position + 2;
+            int middle = ((start + this.fence) >>> 1) & ~1;
+            if (middle <= start)
+            {
+                return null;
+            }
+            this.estimatedSize >>>= 1;
+            this.exactSize = false;
+            PositionalSpliterator<T> suffix = this.newSpliterator(middle, this.fence, this.estimatedSize);
+            this.fence = middle;
+            return suffix;
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            return this.estimatedSize;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return this.exactSize ? Spliterator.SIZED : 0;
+        }
+    }
+
     protected class KeySetIterator extends PositionalIterator<K>
     {
         protected K nextFromChain()
@@ -2447,6 +2644,32 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         }
     }
 
+    protected class KeySetSpliterator extends PositionalSpliterator<K>
+    {
+        protected KeySetSpliterator(Object[] table, int position, int fence, long estimatedSize, boolean exactSize)
+        {
+            super(table, position, fence, estimatedSize, exactSize);
+        }
+
+        @Override
+        protected K elementAt(Object key, Object value)
+        {
+            return UnifiedMap.this.nonSentinel(key);
+        }
+
+        @Override
+        protected PositionalSpliterator<K> newSpliterator(int position, int fence, long estimatedSize)
+        {
+            return new KeySetSpliterator(this.table, position, fence, estimatedSize, false);
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return super.characteristics() | Spliterator.DISTINCT;
+        }
+    }
+
     private static boolean nullSafeEquals(Object value, Object other)
     {
         if (value == null)
@@ -2569,6 +2792,13 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
             return new EntrySetIterator(this.holder);
         }
 
+        @Override
+        public Spliterator<Entry<K, V>> spliterator()
+        {
+            Object[] table = UnifiedMap.this.table;
+            return new EntrySetSpliterator(this.holder, table, 0, table.length, UnifiedMap.this.size(), true);
+        }
+
         @Override
         public boolean remove(Object e)
         {
@@ -2869,6 +3099,41 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         }
     }
 
+    protected class EntrySetSpliterator extends PositionalSpliterator<Entry<K, V>>
+    {
+        private final WeakReference<UnifiedMap<K, V>> holder;
+
+        protected EntrySetSpliterator(
+                WeakReference<UnifiedMap<K, V>> holder,
+                Object[] table,
+                int position,
+                int fence,
+                long estimatedSize,
+                boolean exactSize)
+        {
+            super(table, position, fence, estimatedSize, exactSize);
+            this.holder = holder;
+        }
+
+        @Override
+        protected Entry<K, V> elementAt(Object key, Object value)
+        {
+            return new WeakBoundEntry<>(UnifiedMap.this.nonSentinel(key), (V) value, this.holder);
+        }
+
+        @Override
+        protected PositionalSpliterator<Entry<K, V>> newSpliterator(int position, int fence, long estimatedSize)
+        {
+            return new EntrySetSpliterator(this.holder, this.table, position, fence, estimatedSize, false);
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return super.characteristics() | Spliterator.DISTINCT;
+        }
+    }
+
     protected static class WeakBoundEntry<K, V> implements Map.Entry<K, V>
     {
         protected final K key;
@@ -2970,6 +3235,12 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
             return new ValuesIterator();
         }
 
+        @Override
+        public Spliterator<V> spliterator()
+        {
+            return UnifiedMap.this.spliterator();
+        }
+
         @Override
         public boolean remove(Object o)
         {
@@ -3194,6 +3465,26 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         }
     }
 
+    protected class ValuesSpliterator extends PositionalSpliterator<V>
+    {
+        protected ValuesSpliterator(Object[] table, int position, int fence, long estimatedSize, boolean exactSize)
+        {
+            super(table, position, fence, estimatedSize, exactSize);
+        }
+
+        @Override
+        protected V elementAt(Object key, Object value)
+        {
+            return (V) value;
+        }
+
+        @Override
+        protected PositionalSpliterator<V> newSpliterator(int position, int fence, long estimatedSize)
+        {
+            return new ValuesSpliterator(this.table, position, fence, estimatedSize, false);
+        }
+    }
+
     private K nonSentinel(Object key)
     {
         return key == NULL_KEY ? null : (K) key;
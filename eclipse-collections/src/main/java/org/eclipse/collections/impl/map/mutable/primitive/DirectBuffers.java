@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.mutable.primitive;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+import org.eclipse.collections.api.block.procedure.Procedure;
+
+/**
+ * Frees the native memory of direct and memory-mapped byte buffers without waiting for the garbage collector, using
+ * {@code Unsafe.invokeCleaner} on Java 9 and later and the buffer's {@code Cleaner} on Java 8. If neither is available
+ * the memory is returned once the buffer is collected, as usual.
+ *
+ * @since 9.2
+ */
+final class DirectBuffers
+{
+    private static final Procedure<ByteBuffer> CLEANER = DirectBuffers.findCleaner();
+
+    private DirectBuffers()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Frees the memory of {@code buffer}, which must not be used afterwards, nor may any view or duplicate of it.
+     * Does nothing if {@code buffer} is null or not direct. The buffer must be the one returned by
+     * {@link ByteBuffer#allocateDirect(int)} or {@link java.nio.channels.FileChannel#map}, not a view of it.
+     */
+    static void release(ByteBuffer buffer)
+    {
+        if (buffer != null && buffer.isDirect())
+        {
+            CLEANER.value(buffer);
+        }
+    }
+
+    private static Procedure<ByteBuffer> findCleaner()
+    {
+        try
+        {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+            return buffer -> DirectBuffers.invoke(invokeCleaner, unsafe, buffer);
+        }
+        catch (ReflectiveOperationException | RuntimeException ignored)
+        {
+            // Java 8
+        }
+        try
+        {
+            Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer ->
+            {
+                Object bufferCleaner = DirectBuffers.invoke(cleaner, buffer);
+                if (bufferCleaner != null)
+                {
+                    DirectBuffers.invoke(clean, bufferCleaner);
+                }
+            };
+        }
+        catch (ReflectiveOperationException | RuntimeException ignored)
+        {
+            return buffer -> { };
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... arguments)
+    {
+        try
+        {
+            return method.invoke(target, arguments);
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new IllegalStateException("Could not release a direct buffer", e);
+        }
+        catch (InvocationTargetException e)
+        {
+            throw new IllegalStateException("Could not release a direct buffer", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+/**
+ * This package contains implementations of the {@link org.eclipse.collections.api.map.ImmutableOrderedMap} interface.
+ * <p>
+ *     An {@link org.eclipse.collections.api.map.ImmutableOrderedMap} is the non-modifiable equivalent interface to {@link org.eclipse.collections.api.map.MutableOrderedMap}.
+ */
+package org.eclipse.collections.impl.map.ordered.immutable;
@@ -0,0 +1,1187 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.ordered.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.Function2;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.predicate.Predicate2;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.collection.MutableCollection;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.ImmutableOrderedMap;
+import org.eclipse.collections.api.map.MutableOrderedMap;
+import org.eclipse.collections.api.multimap.list.MutableListMultimap;
+import org.eclipse.collections.api.ordered.OrderedIterable;
+import org.eclipse.collections.api.partition.list.PartitionMutableList;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.stack.MutableStack;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.collection.mutable.CollectionAdapter;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.map.ordered.immutable.ImmutableOrderedMapAdapter;
+import org.eclipse.collections.impl.multimap.list.FastListMultimap;
+import org.eclipse.collections.impl.partition.list.PartitionFastList;
+import org.eclipse.collections.impl.set.mutable.SetAdapter;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.stack.mutable.ArrayStack;
+import org.eclipse.collections.impl.utility.LazyIterate;
+import org.eclipse.collections.impl.utility.ListIterate;
+import org.eclipse.collections.impl.utility.MapIterate;
+import org.eclipse.collections.impl.utility.OrderedIterate;
+
+/**
+ * OrderedUnifiedMap is a {@link MutableOrderedMap} which iterates in insertion order, laid out like the dictionaries of
+ * CPython.  Keys and values are appended next to each other to one dense array, as in
+ * {@link org.eclipse.collections.impl.map.mutable.UnifiedMap}, and a separate open-addressed table of ints maps each
+ * hash to the position of its entry.  Iteration walks the dense array from the front, and the map needs no entry
+ * objects or links.
+ * <p>
+ * Removing a key leaves a hole in the dense array, which is skipped by iteration and reclaimed the next time the array
+ * fills up.  Re-putting an existing key keeps its original position.
+ *
+ * @see org.eclipse.collections.impl.set.mutable.OrderedUnifiedSet
+ * @since 9.2
+ */
+public class OrderedUnifiedMap<K, V>
+        extends AbstractMutableOrderedMap<K, V>
+        implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final Object NULL_KEY = new Object();
+    private static final Object REMOVED = new Object();
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+    // Key of entry i at 2 * i, value at 2 * i + 1, in insertion order
+    private transient Object[] entries;
+    private transient int[] hashes;
+    // Position of an entry plus one, or zero for an empty slot; at most half full
+    private transient int[] index;
+    // Number of positions of entries taken, including removed ones
+    private transient int used;
+    private transient int size;
+
+    public OrderedUnifiedMap()
+    {
+        this.allocate(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public OrderedUnifiedMap(int initialCapacity)
+    {
+        if (initialCapacity < 0)
+        {
+            throw new IllegalArgumentException("initial capacity cannot be less than 0");
+        }
+        this.allocate(initialCapacity);
+    }
+
+    public OrderedUnifiedMap(Map<? extends K, ? extends V> map)
+    {
+        this(map.size());
+        this.putAll(map);
+    }
+
+    public static <K, V> OrderedUnifiedMap<K, V> newMap()
+    {
+        return new OrderedUnifiedMap<>();
+    }
+
+    public static <K, V> OrderedUnifiedMap<K, V> newMap(int size)
+    {
+        return new OrderedUnifiedMap<>(size);
+    }
+
+    public static <K, V> OrderedUnifiedMap<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+        return new OrderedUnifiedMap<>(map);
+    }
+
+    public static <K, V> OrderedUnifiedMap<K, V> newWithKeysValues(K key, V value)
+    {
+        return new OrderedUnifiedMap<K, V>(1).withKeyValue(key, value);
+    }
+
+    public static <K, V> OrderedUnifiedMap<K, V> newWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return new OrderedUnifiedMap<K, V>(2).withKeyValue(key1, value1).withKeyValue(key2, value2);
+    }
+
+    public static <K, V> OrderedUnifiedMap<K, V> newWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return new OrderedUnifiedMap<K, V>(3).withKeyValue(key1, value1).withKeyValue(key2, value2).withKeyValue(key3, value3);
+    }
+
+    private void allocate(int capacity)
+    {
+        int indexLength = 2;
+        while (indexLength >> 1 < capacity)
+        {
+            indexLength <<= 1;
+        }
+        int entryCapacity = indexLength >> 1;
+        this.entries = new Object[entryCapacity << 1];
+        this.hashes = new int[entryCapacity];
+        this.index = new int[indexLength];
+    }
+
+    private static int hash(Object key)
+    {
+        int h = key == null ? 0 : key.hashCode();
+        h *= 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+
+    private static Object toSentinelIfNull(Object key)
+    {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static boolean nonNullTableObjectEquals(Object cur, Object key)
+    {
+        return cur == key || (cur == NULL_KEY ? key == null : cur.equals(key));
+    }
+
+    private K nonSentinel(Object key)
+    {
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    // Returns the slot of the index pointing at key, or the complement of the empty slot where it would go
+    private int slotOf(Object key, int hash)
+    {
+        int mask = this.index.length - 1;
+        int slot = hash & mask;
+        while (true)
+        {
+            int position = this.index[slot] - 1;
+            if (position < 0)
+            {
+                return ~slot;
+            }
+            if (this.hashes[position] == hash && OrderedUnifiedMap.nonNullTableObjectEquals(this.entries[position << 1], key))
+            {
+                return slot;
+            }
+            slot = slot + 1 & mask;
+        }
+    }
+
+    private int positionOf(Object key)
+    {
+        int slot = this.slotOf(key, OrderedUnifiedMap.hash(key));
+        return slot < 0 ? -1 : this.index[slot] - 1;
+    }
+
+    private void append(int slot, int hash, Object key, Object value)
+    {
+        int position = this.used++;
+        this.entries[position << 1] = key;
+        this.entries[(position << 1) + 1] = value;
+        this.hashes[position] = hash;
+        this.index[slot] = position + 1;
+        this.size++;
+    }
+
+    // Called when the dense array is full: compacts it if at least half of it is removed entries, else doubles it
+    private void makeRoom()
+    {
+        int entryCapacity = this.hashes.length;
+        Object[] oldEntries = this.entries;
+        int[] oldHashes = this.hashes;
+        int oldUsed = this.used;
+        if (this.size > entryCapacity >> 1)
+        {
+            this.allocate(entryCapacity << 1);
+        }
+        else
+        {
+            this.entries = new Object[entryCapacity << 1];
+            this.hashes = new int[entryCapacity];
+            Arrays.fill(this.index, 0);
+        }
+        int mask = this.index.length - 1;
+        int position = 0;
+        for (int i = 0; i < oldUsed; i++)
+        {
+            Object key = oldEntries[i << 1];
+            if (key != REMOVED)
+            {
+                int hash = oldHashes[i];
+                this.entries[position << 1] = key;
+                this.entries[(position << 1) + 1] = oldEntries[(i << 1) + 1];
+                this.hashes[position] = hash;
+                int slot = hash & mask;
+                while (this.index[slot] != 0)
+                {
+                    slot = slot + 1 & mask;
+                }
+                this.index[slot] = ++position;
+            }
+        }
+        this.used = position;
+    }
+
+    private void removeSlot(int slot)
+    {
+        int position = this.index[slot] - 1;
+        this.entries[position << 1] = REMOVED;
+        this.entries[(position << 1) + 1] = null;
+        this.size--;
+        while (this.used > 0 && this.entries[this.used - 1 << 1] == REMOVED)
+        {
+            this.used--;
+            this.entries[this.used << 1] = null;
+        }
+
+        // Backward shift deletion keeps the probe sequences of linear probing intact without tombstones
+        int mask = this.index.length - 1;
+        int hole = slot;
+        int next = slot + 1 & mask;
+        while (this.index[next] != 0)
+        {
+            int home = this.hashes[this.index[next] - 1] & mask;
+            if ((next - home & mask) >= (next - hole & mask))
+            {
+                this.index[hole] = this.index[next];
+                hole = next;
+            }
+            next = next + 1 & mask;
+        }
+        this.index[hole] = 0;
+    }
+
+    private void removePosition(int position)
+    {
+        int mask = this.index.length - 1;
+        int slot = this.hashes[position] & mask;
+        while (this.index[slot] != position + 1)
+        {
+            slot = slot + 1 & mask;
+        }
+        this.removeSlot(slot);
+    }
+
+    private int nextPosition(int from)
+    {
+        for (int position = from; position < this.used; position++)
+        {
+            if (this.entries[position << 1] != REMOVED)
+            {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private int previousPosition(int from)
+    {
+        for (int position = from; position >= 0; position--)
+        {
+            if (this.entries[position << 1] != REMOVED)
+            {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    // Position of the entry at index, which walks the dense array only when it has holes
+    private int positionAt(int index)
+    {
+        if (this.used == this.size)
+        {
+            return index;
+        }
+        int position = this.nextPosition(0);
+        for (int i = 0; i < index; i++)
+        {
+            position = this.nextPosition(position + 1);
+        }
+        return position;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        int position = this.positionOf(key);
+        return position < 0 ? null : (V) this.entries[(position << 1) + 1];
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return this.positionOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        for (int position = 0; position < this.used; position++)
+        {
+            if (this.entries[position << 1] != REMOVED)
+            {
+                Object each = this.entries[(position << 1) + 1];
+                if (each == value || each != null && each.equals(value))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V put(K key, V value)
+    {
+        int hash = OrderedUnifiedMap.hash(key);
+        int slot = this.slotOf(key, hash);
+        if (slot >= 0)
+        {
+            int valueIndex = (this.index[slot] - 1 << 1) + 1;
+            V previous = (V) this.entries[valueIndex];
+            this.entries[valueIndex] = value;
+            return previous;
+        }
+        if (this.used == this.hashes.length)
+        {
+            this.makeRoom();
+            slot = this.slotOf(key, hash);
+        }
+        this.append(~slot, hash, OrderedUnifiedMap.toSentinelIfNull(key), value);
+        return null;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        if (map instanceof OrderedUnifiedMap<?, ?>)
+        {
+            ((OrderedUnifiedMap<K, V>) map).forEachKeyValue(this::put);
+        }
+        else
+        {
+            MapIterate.forEachKeyValue(map, this::put);
+        }
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        int slot = this.slotOf(key, OrderedUnifiedMap.hash(key));
+        if (slot < 0)
+        {
+            return null;
+        }
+        V previous = (V) this.entries[(this.index[slot] - 1 << 1) + 1];
+        this.removeSlot(slot);
+        return previous;
+    }
+
+    @Override
+    public V removeKey(K key)
+    {
+        return this.remove(key);
+    }
+
+    @Override
+    public void clear()
+    {
+        if (this.used == 0)
+        {
+            return;
+        }
+        Arrays.fill(this.entries, 0, this.used << 1, null);
+        Arrays.fill(this.index, 0);
+        this.used = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        for (int position = 0; position < this.used; position++)
+        {
+            Object key = this.entries[position << 1];
+            if (key != REMOVED)
+            {
+                procedure.value(this.nonSentinel(key), (V) this.entries[(position << 1) + 1]);
+            }
+        }
+    }
+
+    @Override
+    public void forEachKey(Procedure<? super K> procedure)
+    {
+        for (int position = 0; position < this.used; position++)
+        {
+            Object key = this.entries[position << 1];
+            if (key != REMOVED)
+            {
+                procedure.value(this.nonSentinel(key));
+            }
+        }
+    }
+
+    @Override
+    public void forEachValue(Procedure<? super V> procedure)
+    {
+        for (int position = 0; position < this.used; position++)
+        {
+            if (this.entries[position << 1] != REMOVED)
+            {
+                procedure.value((V) this.entries[(position << 1) + 1]);
+            }
+        }
+    }
+
+    @Override
+    public void forEachWithIndex(ObjectIntProcedure<? super V> objectIntProcedure)
+    {
+        int index = 0;
+        for (int position = 0; position < this.used; position++)
+        {
+            if (this.entries[position << 1] != REMOVED)
+            {
+                objectIntProcedure.value((V) this.entries[(position << 1) + 1], index++);
+            }
+        }
+    }
+
+    @Override
+    public void reverseForEach(Procedure<? super V> procedure)
+    {
+        for (int position = this.used - 1; position >= 0; position--)
+        {
+            if (this.entries[position << 1] != REMOVED)
+            {
+                procedure.value((V) this.entries[(position << 1) + 1]);
+            }
+        }
+    }
+
+    @Override
+    public void reverseForEachWithIndex(ObjectIntProcedure<? super V> procedure)
+    {
+        int index = this.size;
+        for (int position = this.used - 1; position >= 0; position--)
+        {
+            if (this.entries[position << 1] != REMOVED)
+            {
+                procedure.value((V) this.entries[(position << 1) + 1], --index);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<V> iterator()
+    {
+        return new ValuesIterator();
+    }
+
+    @Override
+    public MutableSet<K> keySet()
+    {
+        return SetAdapter.adapt(new KeySet());
+    }
+
+    @Override
+    public MutableCollection<V> values()
+    {
+        return CollectionAdapter.adapt(new ValuesCollection());
+    }
+
+    @Override
+    public MutableSet<Entry<K, V>> entrySet()
+    {
+        return SetAdapter.adapt(new EntrySet());
+    }
+
+    @Override
+    public OrderedUnifiedMap<K, V> withKeyValue(K key, V value)
+    {
+        this.put(key, value);
+        return this;
+    }
+
+    @Override
+    public OrderedUnifiedMap<K, V> clone()
+    {
+        return new OrderedUnifiedMap<>(this);
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> newEmpty()
+    {
+        return OrderedUnifiedMap.newMap();
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> toReversed()
+    {
+        OrderedUnifiedMap<K, V> result = OrderedUnifiedMap.newMap(this.size);
+        for (int position = this.used - 1; position >= 0; position--)
+        {
+            Object key = this.entries[position << 1];
+            if (key != REMOVED)
+            {
+                result.put(this.nonSentinel(key), (V) this.entries[(position << 1) + 1]);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> take(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+
+        OrderedUnifiedMap<K, V> output = OrderedUnifiedMap.newMap(Math.min(this.size, count));
+        for (int position = this.nextPosition(0); position >= 0 && output.size < count; position = this.nextPosition(position + 1))
+        {
+            output.put(this.nonSentinel(this.entries[position << 1]), (V) this.entries[(position << 1) + 1]);
+        }
+        return output;
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> drop(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+
+        OrderedUnifiedMap<K, V> output = OrderedUnifiedMap.newMap(this.size - Math.min(this.size, count));
+        int skipped = 0;
+        for (int position = this.nextPosition(0); position >= 0; position = this.nextPosition(position + 1))
+        {
+            if (skipped < count)
+            {
+                skipped++;
+            }
+            else
+            {
+                output.put(this.nonSentinel(this.entries[position << 1]), (V) this.entries[(position << 1) + 1]);
+            }
+        }
+        return output;
+    }
+
+    @Override
+    public <R> MutableOrderedMap<K, R> collectValues(Function2<? super K, ? super V, ? extends R> function)
+    {
+        return MapIterate.collectValues(this, function, OrderedUnifiedMap.newMap(this.size));
+    }
+
+    @Override
+    public <K2, V2> MutableOrderedMap<K2, V2> collect(Function2<? super K, ? super V, Pair<K2, V2>> function)
+    {
+        return MapIterate.collect(this, function, OrderedUnifiedMap.newMap(this.size));
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> takeWhile(Predicate<? super V> predicate)
+    {
+        OrderedUnifiedMap<K, V> output = OrderedUnifiedMap.newMap();
+        for (int position = this.nextPosition(0); position >= 0; position = this.nextPosition(position + 1))
+        {
+            V value = (V) this.entries[(position << 1) + 1];
+            if (!predicate.accept(value))
+            {
+                break;
+            }
+            output.put(this.nonSentinel(this.entries[position << 1]), value);
+        }
+        return output;
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> dropWhile(Predicate<? super V> predicate)
+    {
+        OrderedUnifiedMap<K, V> output = OrderedUnifiedMap.newMap();
+        int position = this.nextPosition(0);
+        while (position >= 0 && predicate.accept((V) this.entries[(position << 1) + 1]))
+        {
+            position = this.nextPosition(position + 1);
+        }
+        for (; position >= 0; position = this.nextPosition(position + 1))
+        {
+            output.put(this.nonSentinel(this.entries[position << 1]), (V) this.entries[(position << 1) + 1]);
+        }
+        return output;
+    }
+
+    @Override
+    public PartitionMutableList<V> partitionWhile(Predicate<? super V> predicate)
+    {
+        PartitionMutableList<V> result = new PartitionFastList<>();
+        MutableList<V> selected = result.getSelected();
+        MutableList<V> rejected = result.getRejected();
+        int position = this.nextPosition(0);
+        for (; position >= 0; position = this.nextPosition(position + 1))
+        {
+            V value = (V) this.entries[(position << 1) + 1];
+            if (!predicate.accept(value))
+            {
+                break;
+            }
+            selected.add(value);
+        }
+        for (; position >= 0; position = this.nextPosition(position + 1))
+        {
+            rejected.add((V) this.entries[(position << 1) + 1]);
+        }
+        return result;
+    }
+
+    @Override
+    public MutableList<V> distinct()
+    {
+        MutableSet<V> seenSoFar = UnifiedSet.newSet();
+        MutableList<V> result = FastList.newList();
+        this.forEachValue(value -> {
+            if (seenSoFar.add(value))
+            {
+                result.add(value);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public MutableListMultimap<V, K> flip()
+    {
+        MutableListMultimap<V, K> result = FastListMultimap.newMultimap();
+        this.forEachKeyValue((key, value) -> result.put(value, key));
+        return result;
+    }
+
+    @Override
+    public MutableOrderedMap<V, K> flipUniqueValues()
+    {
+        OrderedUnifiedMap<V, K> result = OrderedUnifiedMap.newMap(this.size);
+        this.forEachKeyValue((key, value) -> {
+            if (result.containsKey(value))
+            {
+                throw new IllegalStateException("Duplicate value: " + value + " found at key: " + result.get(value) + " and key: " + key);
+            }
+            result.put(value, key);
+        });
+        return result;
+    }
+
+    @Override
+    public <VV> MutableOrderedMap<VV, V> groupByUniqueKey(Function<? super V, ? extends VV> function)
+    {
+        OrderedUnifiedMap<VV, V> result = OrderedUnifiedMap.newMap(this.size);
+        this.forEachValue(value -> {
+            VV key = function.valueOf(value);
+            if (result.containsKey(key))
+            {
+                throw new IllegalStateException("Key " + key + " already exists in map!");
+            }
+            result.put(key, value);
+        });
+        return result;
+    }
+
+    @Override
+    public LazyIterable<V> asReversed()
+    {
+        return LazyIterate.adapt(() -> new ReverseValuesIterator());
+    }
+
+    @Override
+    public int indexOf(Object object)
+    {
+        int index = 0;
+        for (int position = this.nextPosition(0); position >= 0; position = this.nextPosition(position + 1))
+        {
+            Object each = this.entries[(position << 1) + 1];
+            if (each == object || each != null && each.equals(object))
+            {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    @Override
+    public int detectIndex(Predicate<? super V> predicate)
+    {
+        int index = 0;
+        for (int position = this.nextPosition(0); position >= 0; position = this.nextPosition(position + 1))
+        {
+            if (predicate.accept((V) this.entries[(position << 1) + 1]))
+            {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    @Override
+    public int detectLastIndex(Predicate<? super V> predicate)
+    {
+        int index = this.size;
+        for (int position = this.previousPosition(this.used - 1); position >= 0; position = this.previousPosition(position - 1))
+        {
+            index--;
+            if (predicate.accept((V) this.entries[(position << 1) + 1]))
+            {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public <S> boolean corresponds(OrderedIterable<S> other, Predicate2<? super V, ? super S> predicate)
+    {
+        return OrderedIterate.corresponds(this, other, predicate);
+    }
+
+    @Override
+    public void forEach(int startIndex, int endIndex, Procedure<? super V> procedure)
+    {
+        this.forEachWithIndex(startIndex, endIndex, (each, index) -> procedure.value(each));
+    }
+
+    @Override
+    public void forEachWithIndex(int fromIndex, int toIndex, ObjectIntProcedure<? super V> objectIntProcedure)
+    {
+        ListIterate.rangeCheck(fromIndex, toIndex, this.size);
+        int position = this.positionAt(fromIndex);
+        if (fromIndex <= toIndex)
+        {
+            for (int index = fromIndex; index <= toIndex; index++)
+            {
+                objectIntProcedure.value((V) this.entries[(position << 1) + 1], index);
+                position = this.nextPosition(position + 1);
+            }
+        }
+        else
+        {
+            for (int index = fromIndex; index >= toIndex; index--)
+            {
+                objectIntProcedure.value((V) this.entries[(position << 1) + 1], index);
+                position = this.previousPosition(position - 1);
+            }
+        }
+    }
+
+    @Override
+    public MutableStack<V> toStack()
+    {
+        return ArrayStack.newStack(this);
+    }
+
+    @Override
+    public ImmutableOrderedMap<K, V> toImmutable()
+    {
+        return new ImmutableOrderedMapAdapter<>(this);
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> asUnmodifiable()
+    {
+        return UnmodifiableMutableOrderedMap.of(this);
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> asSynchronized()
+    {
+        return SynchronizedMutableOrderedMap.of(this);
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof Map))
+        {
+            return false;
+        }
+        Map<?, ?> other = (Map<?, ?>) object;
+        if (this.size != other.size())
+        {
+            return false;
+        }
+        for (int position = this.nextPosition(0); position >= 0; position = this.nextPosition(position + 1))
+        {
+            K key = this.nonSentinel(this.entries[position << 1]);
+            Object value = this.entries[(position << 1) + 1];
+            Object otherValue = other.get(key);
+            if (value == null ? otherValue != null || !other.containsKey(key) : !value.equals(otherValue))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (int position = this.nextPosition(0); position >= 0; position = this.nextPosition(position + 1))
+        {
+            Object key = this.nonSentinel(this.entries[position << 1]);
+            Object value = this.entries[(position << 1) + 1];
+            hashCode += (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("{");
+        this.forEachKeyValue((key, value) -> {
+            if (builder.length() > 1)
+            {
+                builder.append(", ");
+            }
+            builder.append(key == this ? "(this Map)" : String.valueOf(key));
+            builder.append('=');
+            builder.append(value == this ? "(this Map)" : String.valueOf(value));
+        });
+        return builder.append('}').toString();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeInt(this.size);
+        for (int position = this.nextPosition(0); position >= 0; position = this.nextPosition(position + 1))
+        {
+            out.writeObject(this.nonSentinel(this.entries[position << 1]));
+            out.writeObject(this.entries[(position << 1) + 1]);
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int size = in.readInt();
+        this.allocate(size);
+        for (int i = 0; i < size; i++)
+        {
+            this.put((K) in.readObject(), (V) in.readObject());
+        }
+    }
+
+    private abstract class PositionIterator<E>
+            implements Iterator<E>
+    {
+        private int nextPosition = OrderedUnifiedMap.this.nextPosition(0);
+        private int lastPosition = -1;
+
+        protected abstract E elementAt(int position);
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.nextPosition >= 0;
+        }
+
+        @Override
+        public E next()
+        {
+            if (this.nextPosition < 0)
+            {
+                throw new NoSuchElementException();
+            }
+            this.lastPosition = this.nextPosition;
+            this.nextPosition = OrderedUnifiedMap.this.nextPosition(this.nextPosition + 1);
+            return this.elementAt(this.lastPosition);
+        }
+
+        @Override
+        public void remove()
+        {
+            if (this.lastPosition < 0)
+            {
+                throw new IllegalStateException();
+            }
+            OrderedUnifiedMap.this.removePosition(this.lastPosition);
+            this.lastPosition = -1;
+        }
+    }
+
+    private class ReverseValuesIterator
+            implements Iterator<V>
+    {
+        private int nextPosition = OrderedUnifiedMap.this.previousPosition(OrderedUnifiedMap.this.used - 1);
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.nextPosition >= 0;
+        }
+
+        @Override
+        public V next()
+        {
+            if (this.nextPosition < 0)
+            {
+                throw new NoSuchElementException();
+            }
+            V value = (V) OrderedUnifiedMap.this.entries[(this.nextPosition << 1) + 1];
+            this.nextPosition = OrderedUnifiedMap.this.previousPosition(this.nextPosition - 1);
+            return value;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot call remove() on " + this.getClass().getSimpleName());
+        }
+    }
+
+    private class KeysIterator extends PositionIterator<K>
+    {
+        @Override
+        protected K elementAt(int position)
+        {
+            return OrderedUnifiedMap.this.nonSentinel(OrderedUnifiedMap.this.entries[position << 1]);
+        }
+    }
+
+    private class ValuesIterator extends PositionIterator<V>
+    {
+        @Override
+        protected V elementAt(int position)
+        {
+            return (V) OrderedUnifiedMap.this.entries[(position << 1) + 1];
+        }
+    }
+
+    private class EntriesIterator extends PositionIterator<Entry<K, V>>
+    {
+        @Override
+        protected Entry<K, V> elementAt(int position)
+        {
+            return new PositionEntry(
+                    OrderedUnifiedMap.this.nonSentinel(OrderedUnifiedMap.this.entries[position << 1]),
+                    (V) OrderedUnifiedMap.this.entries[(position << 1) + 1]);
+        }
+    }
+
+    private final class PositionEntry
+            implements Entry<K, V>
+    {
+        private final K key;
+        private V value;
+
+        private PositionEntry(K key, V value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey()
+        {
+            return this.key;
+        }
+
+        @Override
+        public V getValue()
+        {
+            return this.value;
+        }
+
+        @Override
+        public V setValue(V newValue)
+        {
+            V previous = this.value;
+            this.value = newValue;
+            OrderedUnifiedMap.this.put(this.key, newValue);
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if (!(object instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> other = (Entry<?, ?>) object;
+            return (this.key == null ? other.getKey() == null : this.key.equals(other.getKey()))
+                    && (this.value == null ? other.getValue() == null : this.value.equals(other.getValue()));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (this.key == null ? 0 : this.key.hashCode()) ^ (this.value == null ? 0 : this.value.hashCode());
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.key + "=" + this.value;
+        }
+    }
+
+    private class KeySet extends AbstractSet<K>
+    {
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new KeysIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return OrderedUnifiedMap.this.size;
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return OrderedUnifiedMap.this.containsKey(key);
+        }
+
+        @Override
+        public boolean remove(Object key)
+        {
+            int slot = OrderedUnifiedMap.this.slotOf(key, OrderedUnifiedMap.hash(key));
+            if (slot < 0)
+            {
+                return false;
+            }
+            OrderedUnifiedMap.this.removeSlot(slot);
+            return true;
+        }
+
+        @Override
+        public void clear()
+        {
+            OrderedUnifiedMap.this.clear();
+        }
+    }
+
+    private class ValuesCollection extends AbstractCollection<V>
+    {
+        @Override
+        public Iterator<V> iterator()
+        {
+            return new ValuesIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return OrderedUnifiedMap.this.size;
+        }
+
+        @Override
+        public boolean contains(Object value)
+        {
+            return OrderedUnifiedMap.this.containsValue(value);
+        }
+
+        @Override
+        public void clear()
+        {
+            OrderedUnifiedMap.this.clear();
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>>
+    {
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            return new EntriesIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return OrderedUnifiedMap.this.size;
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            if (!(object instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) object;
+            int position = OrderedUnifiedMap.this.positionOf(entry.getKey());
+            if (position < 0)
+            {
+                return false;
+            }
+            Object value = OrderedUnifiedMap.this.entries[(position << 1) + 1];
+            return value == null ? entry.getValue() == null : value.equals(entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object object)
+        {
+            if (!this.contains(object))
+            {
+                return false;
+            }
+            OrderedUnifiedMap.this.remove(((Entry<?, ?>) object).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear()
+        {
+            OrderedUnifiedMap.this.clear();
+        }
+    }
+}
@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.ordered.mutable;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.Function2;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.predicate.Predicate2;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.collection.MutableCollection;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.ImmutableOrderedMap;
+import org.eclipse.collections.api.map.MutableOrderedMap;
+import org.eclipse.collections.api.multimap.list.MutableListMultimap;
+import org.eclipse.collections.api.ordered.OrderedIterable;
+import org.eclipse.collections.api.partition.list.PartitionMutableList;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.stack.MutableStack;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.UnmodifiableIteratorAdapter;
+import org.eclipse.collections.impl.collection.mutable.CollectionAdapter;
+import org.eclipse.collections.impl.set.mutable.SetAdapter;
+
+/**
+ * An unmodifiable view of a MutableOrderedMap.  Read operations are forwarded to the wrapped map, and the methods
+ * which would mutate it throw UnsupportedOperationException.
+ *
+ * @see MutableOrderedMap#asUnmodifiable()
+ * @since 9.2
+ */
+public class UnmodifiableMutableOrderedMap<K, V>
+        extends AbstractMutableOrderedMap<K, V>
+        implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private final MutableOrderedMap<K, V> delegate;
+
+    public UnmodifiableMutableOrderedMap(MutableOrderedMap<K, V> delegate)
+    {
+        if (delegate == null)
+        {
+            throw new IllegalArgumentException("Cannot create a UnmodifiableMutableOrderedMap on a null map");
+        }
+        this.delegate = delegate;
+    }
+
+    public static <K, V> UnmodifiableMutableOrderedMap<K, V> of(MutableOrderedMap<K, V> map)
+    {
+        if (map instanceof UnmodifiableMutableOrderedMap<?, ?>)
+        {
+            return (UnmodifiableMutableOrderedMap<K, V>) map;
+        }
+        return new UnmodifiableMutableOrderedMap<>(map);
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> newEmpty()
+    {
+        return (MutableOrderedMap<K, V>) this.delegate.newEmpty();
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> clone()
+    {
+        return this;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.delegate.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.delegate.isEmpty();
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        return this.delegate.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return this.delegate.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        return this.delegate.containsValue(value);
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        this.delegate.forEachKeyValue(procedure);
+    }
+
+    @Override
+    public void forEachKey(Procedure<? super K> procedure)
+    {
+        this.delegate.forEachKey(procedure);
+    }
+
+    @Override
+    public void forEachValue(Procedure<? super V> procedure)
+    {
+        this.delegate.forEachValue(procedure);
+    }
+
+    @Override
+    public void forEachWithIndex(ObjectIntProcedure<? super V> objectIntProcedure)
+    {
+        this.delegate.forEachWithIndex(objectIntProcedure);
+    }
+
+    @Override
+    public Iterator<V> iterator()
+    {
+        return new UnmodifiableIteratorAdapter<>(this.delegate.iterator());
+    }
+
+    @Override
+    public MutableSet<K> keySet()
+    {
+        return SetAdapter.adapt(Collections.unmodifiableSet(this.delegate.keySet()));
+    }
+
+    @Override
+    public MutableCollection<V> values()
+    {
+        return CollectionAdapter.adapt(Collections.unmodifiableCollection(this.delegate.values()));
+    }
+
+    @Override
+    public MutableSet<Entry<K, V>> entrySet()
+    {
+        return SetAdapter.adapt(Collections.unmodifiableMap(this.delegate).entrySet());
+    }
+
+    @Override
+    public V put(K key, V value)
+    {
+        throw new UnsupportedOperationException("Cannot call put() on " + this.getClass().getSimpleName());
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        throw new UnsupportedOperationException("Cannot call putAll() on " + this.getClass().getSimpleName());
+    }
+
+    @Override
+    public V putPair(Pair<K, V> keyValuePair)
+    {
+        throw new UnsupportedOperationException("Cannot call putPair() on " + this.getClass().getSimpleName());
+    }
+
+    @Override
+    public V add(Pair<K, V> keyValuePair)
+    {
+        throw new UnsupportedOperationException("Cannot call add() on " + this.getClass().getSimpleName());
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        throw new UnsupportedOperationException("Cannot call remove() on " + this.getClass().getSimpleName());
+    }
+
+    @Override
+    public V removeKey(K key)
+    {
+        throw new UnsupportedOperationException("Cannot call removeKey() on " + this.getClass().getSimpleName());
+    }
+
+    @Override
+    public void clear()
+    {
+        throw new UnsupportedOperationException("Cannot call clear() on " + this.getClass().getSimpleName());
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> withKeyValue(K key, V value)
+    {
+        throw new UnsupportedOperationException("Cannot call withKeyValue() on " + this.getClass().getSimpleName());
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> withAllKeyValues(Iterable<? extends Pair<? extends K, ? extends V>> keyValues)
+    {
+        throw new UnsupportedOperationException("Cannot call withAllKeyValues() on " + this.getClass().getSimpleName());
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> withAllKeyValueArguments(Pair<? extends K, ? extends V>... keyValues)
+    {
+        throw new UnsupportedOperationException("Cannot call withAllKeyValueArguments() on " + this.getClass().getSimpleName());
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> withoutKey(K key)
+    {
+        throw new UnsupportedOperationException("Cannot call withoutKey() on " + this.getClass().getSimpleName());
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> withoutAllKeys(Iterable<? extends K> keys)
+    {
+        throw new UnsupportedOperationException("Cannot call withoutAllKeys() on " + this.getClass().getSimpleName());
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> asUnmodifiable()
+    {
+        return this;
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> asSynchronized()
+    {
+        return SynchronizedMutableOrderedMap.of(this);
+    }
+
+    @Override
+    public ImmutableOrderedMap<K, V> toImmutable()
+    {
+        return this.delegate.toImmutable();
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> toReversed()
+    {
+        return this.delegate.toReversed();
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> take(int count)
+    {
+        return this.delegate.take(count);
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> takeWhile(Predicate<? super V> predicate)
+    {
+        return this.delegate.takeWhile(predicate);
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> drop(int count)
+    {
+        return this.delegate.drop(count);
+    }
+
+    @Override
+    public MutableOrderedMap<K, V> dropWhile(Predicate<? super V> predicate)
+    {
+        return this.delegate.dropWhile(predicate);
+    }
+
+    @Override
+    public PartitionMutableList<V> partitionWhile(Predicate<? super V> predicate)
+    {
+        return this.delegate.partitionWhile(predicate);
+    }
+
+    @Override
+    public MutableList<V> distinct()
+    {
+        return this.delegate.distinct();
+    }
+
+    @Override
+    public MutableListMultimap<V, K> flip()
+    {
+        return this.delegate.flip();
+    }
+
+    @Override
+    public MutableOrderedMap<V, K> flipUniqueValues()
+    {
+        return this.delegate.flipUniqueValues();
+    }
+
+    @Override
+    public <VV> MutableOrderedMap<VV, V> groupByUniqueKey(Function<? super V, ? extends VV> function)
+    {
+        return this.delegate.groupByUniqueKey(function);
+    }
+
+    @Override
+    public <R> MutableOrderedMap<K, R> collectValues(Function2<? super K, ? super V, ? extends R> function)
+    {
+        return this.delegate.collectValues(function);
+    }
+
+    @Override
+    public <K2, V2> MutableOrderedMap<K2, V2> collect(Function2<? super K, ? super V, Pair<K2, V2>> function)
+    {
+        return this.delegate.collect(function);
+    }
+
+    @Override
+    public void reverseForEach(Procedure<? super V> procedure)
+    {
+        this.delegate.reverseForEach(procedure);
+    }
+
+    @Override
+    public void reverseForEachWithIndex(ObjectIntProcedure<? super V> procedure)
+    {
+        this.delegate.reverseForEachWithIndex(procedure);
+    }
+
+    @Override
+    public LazyIterable<V> asReversed()
+    {
+        return this.delegate.asReversed();
+    }
+
+    @Override
+    public int indexOf(Object object)
+    {
+        return this.delegate.indexOf(object);
+    }
+
+    @Override
+    public int detectIndex(Predicate<? super V> predicate)
+    {
+        return this.delegate.detectIndex(predicate);
+    }
+
+    @Override
+    public int detectLastIndex(Predicate<? super V> predicate)
+    {
+        return this.delegate.detectLastIndex(predicate);
+    }
+
+    @Override
+    public <S> boolean corresponds(OrderedIterable<S> other, Predicate2<? super V, ? super S> predicate)
+    {
+        return this.delegate.corresponds(other, predicate);
+    }
+
+    @Override
+    public void forEach(int startIndex, int endIndex, Procedure<? super V> procedure)
+    {
+        this.delegate.forEach(startIndex, endIndex, procedure);
+    }
+
+    @Override
+    public void forEachWithIndex(int fromIndex, int toIndex, ObjectIntProcedure<? super V> objectIntProcedure)
+    {
+        this.delegate.forEachWithIndex(fromIndex, toIndex, objectIntProcedure);
+    }
+
+    @Override
+    public MutableStack<V> toStack()
+    {
+        return this.delegate.toStack();
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        return this.delegate.equals(o);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.delegate.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.delegate.toString();
+    }
+}
@@ -0,0 +1,1362 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.sorted.mutable;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+import org.eclipse.collections.api.block.procedure.Procedure2;
+
+/**
+ * A BTreeMap is a SortedMap backed by an in-memory B+ tree.  Keys and values are packed into parallel arrays of up to
+ * 64 entries per leaf, and the leaves are linked in key order, so lookups touch a handful of nodes and in-order
+ * traversal walks contiguous arrays instead of chasing one entry object per key.
+ * <p>
+ * A map created from another SortedMap is bulk loaded bottom-up in O(n) time without any comparisons.  The views
+ * returned by {@link #headMap(Object)}, {@link #tailMap(Object)}, {@link #subMap(Object, Object)}, {@link #keySet()},
+ * {@link #values()} and {@link #entrySet()} are backed by the map.
+ *
+ * @since 9.2
+ */
+public class BTreeMap<K, V>
+        extends AbstractMap<K, V>
+        implements SortedMap<K, V>, Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int LEAF_CAPACITY = 64;
+    private static final int BRANCH_CAPACITY = 64;
+    private static final int MIN_LEAF_SIZE = LEAF_CAPACITY / 2;
+    private static final int MIN_BRANCH_SIZE = BRANCH_CAPACITY / 2;
+    private static final Object NOT_FOUND = new Object();
+
+    private final Comparator<? super K> comparator;
+    private transient Node root;
+    private transient int size;
+    private transient int modCount;
+    private transient Node splitNode;
+    private transient Object splitKey;
+
+    public BTreeMap()
+    {
+        this.comparator = null;
+    }
+
+    public BTreeMap(Comparator<? super K> comparator)
+    {
+        this.comparator = comparator;
+    }
+
+    public BTreeMap(Map<? extends K, ? extends V> map)
+    {
+        if (map instanceof SortedMap<?, ?>)
+        {
+            this.comparator = ((SortedMap<K, V>) map).comparator();
+            this.bulkLoad(map);
+        }
+        else
+        {
+            this.comparator = null;
+            this.putAll(map);
+        }
+    }
+
+    @Override
+    public Comparator<? super K> comparator()
+    {
+        return this.comparator;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return this.find(key) != NOT_FOUND;
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        Object result = this.find(key);
+        return result == NOT_FOUND ? null : (V) result;
+    }
+
+    @Override
+    public V put(K key, V value)
+    {
+        this.checkKey(key);
+        if (this.root == null)
+        {
+            this.root = new Leaf();
+        }
+        Object result = this.insert(this.root, key, value);
+        if (this.splitNode != null)
+        {
+            Branch newRoot = new Branch();
+            newRoot.children[0] = this.root;
+            newRoot.children[1] = this.splitNode;
+            newRoot.keys[0] = this.splitKey;
+            newRoot.size = 2;
+            this.root = newRoot;
+            this.splitNode = null;
+            this.splitKey = null;
+        }
+        return result == NOT_FOUND ? null : (V) result;
+    }
+
+    /**
+     * Bulk loads the entries of a SortedMap with the same comparator into an empty map, and otherwise puts each entry.
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        if (this.size == 0 && map instanceof SortedMap<?, ?> && this.sameComparator((SortedMap<K, ?>) map))
+        {
+            this.bulkLoad(map);
+        }
+        else
+        {
+            super.putAll(map);
+        }
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        this.checkKey(key);
+        if (this.root == null)
+        {
+            return null;
+        }
+        Object result = this.delete(this.root, key);
+        if (this.root instanceof Branch && this.root.size == 1)
+        {
+            this.root = ((Branch) this.root).children[0];
+        }
+        else if (this.root.size == 0)
+        {
+            this.root = null;
+        }
+        return result == NOT_FOUND ? null : (V) result;
+    }
+
+    @Override
+    public void clear()
+    {
+        this.modCount++;
+        this.root = null;
+        this.size = 0;
+    }
+
+    @Override
+    public K firstKey()
+    {
+        return this.firstKey(Bounds.unbounded());
+    }
+
+    @Override
+    public K lastKey()
+    {
+        return this.lastKey(Bounds.unbounded());
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(K toKey)
+    {
+        return new SubMap<>(this, this.narrow(Bounds.unbounded(), false, null, true, toKey));
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(K fromKey)
+    {
+        return new SubMap<>(this, this.narrow(Bounds.unbounded(), true, fromKey, false, null));
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey)
+    {
+        return new SubMap<>(this, this.narrow(Bounds.unbounded(), true, fromKey, true, toKey));
+    }
+
+    @Override
+    public SortedSet<K> keySet()
+    {
+        return new KeySet<>(this, Bounds.unbounded());
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return new Values<>(this, Bounds.unbounded());
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+        return new EntrySet<>(this, Bounds.unbounded());
+    }
+
+    /**
+     * Iterates over the entries of this map in key order by walking the linked leaves, without creating entry objects.
+     */
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                procedure.value((K) leaf.keys[i], (V) leaf.values[i]);
+            }
+        }
+    }
+
+    private boolean sameComparator(SortedMap<K, ?> map)
+    {
+        return this.comparator == null ? map.comparator() == null : this.comparator.equals(map.comparator());
+    }
+
+    /**
+     * Builds the tree bottom-up from entries which are already in key order.  Entries are spread evenly over the
+     * minimum number of nodes on each level, so every node other than a lone root is at least half full.
+     */
+    private void bulkLoad(Map<? extends K, ? extends V> sortedMap)
+    {
+        this.modCount++;
+        int count = sortedMap.size();
+        this.size = count;
+        if (count == 0)
+        {
+            this.root = null;
+            return;
+        }
+        int leafCount = (count + LEAF_CAPACITY - 1) / LEAF_CAPACITY;
+        Node[] level = new Node[leafCount];
+        Object[] firstKeys = new Object[leafCount];
+        Iterator<? extends Entry<? extends K, ? extends V>> iterator = sortedMap.entrySet().iterator();
+        Leaf previous = null;
+        for (int i = 0; i < leafCount; i++)
+        {
+            Leaf leaf = new Leaf();
+            int leafSize = BTreeMap.share(count, leafCount, i);
+            for (int j = 0; j < leafSize; j++)
+            {
+                Entry<? extends K, ? extends V> entry = iterator.next();
+                leaf.keys[j] = entry.getKey();
+                leaf.values[j] = entry.getValue();
+            }
+            leaf.size = leafSize;
+            if (previous != null)
+            {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level[i] = leaf;
+            firstKeys[i] = leaf.keys[0];
+        }
+        while (level.length > 1)
+        {
+            int branchCount = (level.length + BRANCH_CAPACITY - 1) / BRANCH_CAPACITY;
+            Node[] parents = new Node[branchCount];
+            Object[] parentFirstKeys = new Object[branchCount];
+            int child = 0;
+            for (int i = 0; i < branchCount; i++)
+            {
+                Branch branch = new Branch();
+                int branchSize = BTreeMap.share(level.length, branchCount, i);
+                parentFirstKeys[i] = firstKeys[child];
+                for (int j = 0; j < branchSize; j++)
+                {
+                    branch.children[j] = level[child];
+                    if (j > 0)
+                    {
+                        branch.keys[j - 1] = firstKeys[child];
+                    }
+                    child++;
+                }
+                branch.size = branchSize;
+                parents[i] = branch;
+            }
+            level = parents;
+            firstKeys = parentFirstKeys;
+        }
+        this.root = level[0];
+    }
+
+    private static int share(int total, int parts, int index)
+    {
+        return total / parts + (index < total % parts ? 1 : 0);
+    }
+
+    private void checkKey(Object key)
+    {
+        if (key == null && this.comparator == null)
+        {
+            throw new NullPointerException("BTreeMap does not support null keys without a comparator");
+        }
+    }
+
+    private int compare(Object key1, Object key2)
+    {
+        if (this.comparator == null)
+        {
+            return ((Comparable<Object>) key1).compareTo(key2);
+        }
+        return this.comparator.compare((K) key1, (K) key2);
+    }
+
+    private int search(Object[] keys, int size, Object key)
+    {
+        return Arrays.binarySearch(keys, 0, size, key, (Comparator<Object>) this.comparator);
+    }
+
+    /**
+     * Returns the index of the child of the branch which may contain the key.  The separator at index i is the smallest
+     * key of child i + 1.
+     */
+    private int childIndex(Branch branch, Object key)
+    {
+        int index = this.search(branch.keys, branch.size - 1, key);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private Object find(Object key)
+    {
+        this.checkKey(key);
+        Node node = this.root;
+        if (node == null)
+        {
+            return NOT_FOUND;
+        }
+        while (node instanceof Branch)
+        {
+            Branch branch = (Branch) node;
+            node = branch.children[this.childIndex(branch, key)];
+        }
+        Leaf leaf = (Leaf) node;
+        int index = this.search(leaf.keys, leaf.size, key);
+        return index >= 0 ? leaf.values[index] : NOT_FOUND;
+    }
+
+    private Object insert(Node node, Object key, Object value)
+    {
+        if (node instanceof Leaf)
+        {
+            return this.insertIntoLeaf((Leaf) node, key, value);
+        }
+        Branch branch = (Branch) node;
+        int childIndex = this.childIndex(branch, key);
+        Object result = this.insert(branch.children[childIndex], key, value);
+        if (this.splitNode != null)
+        {
+            Node newChild = this.splitNode;
+            Object separator = this.splitKey;
+            this.splitNode = null;
+            this.splitKey = null;
+            this.insertIntoBranch(branch, childIndex, separator, newChild);
+        }
+        return result;
+    }
+
+    private Object insertIntoLeaf(Leaf leaf, Object key, Object value)
+    {
+        int index = this.search(leaf.keys, leaf.size, key);
+        if (index >= 0)
+        {
+            Object oldValue = leaf.values[index];
+            leaf.values[index] = value;
+            return oldValue;
+        }
+        this.modCount++;
+        this.size++;
+        int insertionPoint = -index - 1;
+        if (leaf.size < LEAF_CAPACITY)
+        {
+            BTreeMap.insertAt(leaf, insertionPoint, key, value);
+            return NOT_FOUND;
+        }
+        Leaf right = new Leaf();
+        int half = LEAF_CAPACITY / 2;
+        System.arraycopy(leaf.keys, half, right.keys, 0, LEAF_CAPACITY - half);
+        System.arraycopy(leaf.values, half, right.values, 0, LEAF_CAPACITY - half);
+        Arrays.fill(leaf.keys, half, LEAF_CAPACITY, null);
+        Arrays.fill(leaf.values, half, LEAF_CAPACITY, null);
+        right.size = LEAF_CAPACITY - half;
+        leaf.size = half;
+        right.next = leaf.next;
+        leaf.next = right;
+        if (insertionPoint <= half)
+        {
+            BTreeMap.insertAt(leaf, insertionPoint, key, value);
+        }
+        else
+        {
+            BTreeMap.insertAt(right, insertionPoint - half, key, value);
+        }
+        this.splitNode = right;
+        this.splitKey = right.keys[0];
+        return NOT_FOUND;
+    }
+
+    private static void insertAt(Leaf leaf, int index, Object key, Object value)
+    {
+        System.arraycopy(leaf.keys, index, leaf.keys, index + 1, leaf.size - index);
+        System.arraycopy(leaf.values, index, leaf.values, index + 1, leaf.size - index);
+        leaf.keys[index] = key;
+        leaf.values[index] = value;
+        leaf.size++;
+    }
+
+    /**
+     * Inserts a new child to the right of the child at {@code childIndex}, splitting the branch if it is full.
+     */
+    private void insertIntoBranch(Branch branch, int childIndex, Object separator, Node newChild)
+    {
+        if (branch.size < BRANCH_CAPACITY)
+        {
+            System.arraycopy(branch.keys, childIndex, branch.keys, childIndex + 1, branch.size - 1 - childIndex);
+            System.arraycopy(branch.children, childIndex + 1, branch.children, childIndex + 2, branch.size - 1 - childIndex);
+            branch.keys[childIndex] = separator;
+            branch.children[childIndex + 1] = newChild;
+            branch.size++;
+            return;
+        }
+        Object[] keys = new Object[BRANCH_CAPACITY];
+        Node[] children = new Node[BRANCH_CAPACITY + 1];
+        System.arraycopy(branch.keys, 0, keys, 0, childIndex);
+        keys[childIndex] = separator;
+        System.arraycopy(branch.keys, childIndex, keys, childIndex + 1, BRANCH_CAPACITY - 1 - childIndex);
+        System.arraycopy(branch.children, 0, children, 0, childIndex + 1);
+        children[childIndex + 1] = newChild;
+        System.arraycopy(branch.children, childIndex + 1, children, childIndex + 2, BRANCH_CAPACITY - 1 - childIndex);
+
+        int leftSize = (BRANCH_CAPACITY + 1) / 2;
+        int rightSize = BRANCH_CAPACITY + 1 - leftSize;
+        Branch right = new Branch();
+        Arrays.fill(branch.keys, null);
+        Arrays.fill(branch.children, null);
+        System.arraycopy(keys, 0, branch.keys, 0, leftSize - 1);
+        System.arraycopy(children, 0, branch.children, 0, leftSize);
+        branch.size = leftSize;
+        System.arraycopy(keys, leftSize, right.keys, 0, rightSize - 1);
+        System.arraycopy(children, leftSize, right.children, 0, rightSize);
+        right.size = rightSize;
+        this.splitNode = right;
+        this.splitKey = keys[leftSize - 1];
+    }
+
+    private Object delete(Node node, Object key)
+    {
+        if (node instanceof Leaf)
+        {
+            Leaf leaf = (Leaf) node;
+            int index = this.search(leaf.keys, leaf.size, key);
+            if (index < 0)
+            {
+                return NOT_FOUND;
+            }
+            this.modCount++;
+            this.size--;
+            Object oldValue = leaf.values[index];
+            BTreeMap.removeAt(leaf, index);
+            return oldValue;
+        }
+        Branch branch = (Branch) node;
+        int childIndex = this.childIndex(branch, key);
+        Node child = branch.children[childIndex];
+        Object result = this.delete(child, key);
+        if (child.size < (child instanceof Leaf ? MIN_LEAF_SIZE : MIN_BRANCH_SIZE))
+        {
+            BTreeMap.rebalance(branch, childIndex);
+        }
+        return result;
+    }
+
+    private static void removeAt(Leaf leaf, int index)
+    {
+        System.arraycopy(leaf.keys, index + 1, leaf.keys, index, leaf.size - index - 1);
+        System.arraycopy(leaf.values, index + 1, leaf.values, index, leaf.size - index - 1);
+        leaf.size--;
+        leaf.keys[leaf.size] = null;
+        leaf.values[leaf.size] = null;
+    }
+
+    /**
+     * Restores the minimum size of the child at {@code childIndex} by borrowing from a sibling which has entries to
+     * spare, or otherwise by merging it with a sibling.
+     */
+    private static void rebalance(Branch parent, int childIndex)
+    {
+        Node child = parent.children[childIndex];
+        Node left = childIndex > 0 ? parent.children[childIndex - 1] : null;
+        Node right = childIndex < parent.size - 1 ? parent.children[childIndex + 1] : null;
+        int minSize = child instanceof Leaf ? MIN_LEAF_SIZE : MIN_BRANCH_SIZE;
+        if (left != null && left.size > minSize)
+        {
+            BTreeMap.borrowFromLeft(parent, childIndex, left, child);
+        }
+        else if (right != null && right.size > minSize)
+        {
+            BTreeMap.borrowFromRight(parent, childIndex, child, right);
+        }
+        else if (left != null)
+        {
+            BTreeMap.merge(parent, childIndex - 1, left, child);
+        }
+        else if (right != null)
+        {
+            BTreeMap.merge(parent, childIndex, child, right);
+        }
+    }
+
+    private static void borrowFromLeft(Branch parent, int childIndex, Node left, Node child)
+    {
+        if (child instanceof Leaf)
+        {
+            Leaf leftLeaf = (Leaf) left;
+            int last = leftLeaf.size - 1;
+            BTreeMap.insertAt((Leaf) child, 0, leftLeaf.keys[last], leftLeaf.values[last]);
+            BTreeMap.removeAt(leftLeaf, last);
+            parent.keys[childIndex - 1] = ((Leaf) child).keys[0];
+            return;
+        }
+        Branch leftBranch = (Branch) left;
+        Branch branch = (Branch) child;
+        System.arraycopy(branch.keys, 0, branch.keys, 1, branch.size - 1);
+        System.arraycopy(branch.children, 0, branch.children, 1, branch.size);
+        branch.keys[0] = parent.keys[childIndex - 1];
+        branch.children[0] = leftBranch.children[leftBranch.size - 1];
+        branch.size++;
+        parent.keys[childIndex - 1] = leftBranch.keys[leftBranch.size - 2];
+        leftBranch.keys[leftBranch.size - 2] = null;
+        leftBranch.children[leftBranch.size - 1] = null;
+        leftBranch.size--;
+    }
+
+    private static void borrowFromRight(Branch parent, int childIndex, Node child, Node right)
+    {
+        if (child instanceof Leaf)
+        {
+            Leaf leaf = (Leaf) child;
+            Leaf rightLeaf = (Leaf) right;
+            BTreeMap.insertAt(leaf, leaf.size, rightLeaf.keys[0], rightLeaf.values[0]);
+            BTreeMap.removeAt(rightLeaf, 0);
+            parent.keys[childIndex] = rightLeaf.keys[0];
+            return;
+        }
+        Branch branch = (Branch) child;
+        Branch rightBranch = (Branch) right;
+        branch.keys[branch.size - 1] = parent.keys[childIndex];
+        branch.children[branch.size] = rightBranch.children[0];
+        branch.size++;
+        parent.keys[childIndex] = rightBranch.keys[0];
+        System.arraycopy(rightBranch.keys, 1, rightBranch.keys, 0, rightBranch.size - 2);
+        System.arraycopy(rightBranch.children, 1, rightBranch.children, 0, rightBranch.size - 1);
+        rightBranch.keys[rightBranch.size - 2] = null;
+        rightBranch.children[rightBranch.size - 1] = null;
+        rightBranch.size--;
+    }
+
+    /**
+     * Moves everything in {@code right} into {@code left}, then removes {@code right} and the separator at
+     * {@code leftIndex} from the parent.
+     */
+    private static void merge(Branch parent, int leftIndex, Node left, Node right)
+    {
+        if (left instanceof Leaf)
+        {
+            Leaf leftLeaf = (Leaf) left;
+            Leaf rightLeaf = (Leaf) right;
+            System.arraycopy(rightLeaf.keys, 0, leftLeaf.keys, leftLeaf.size, rightLeaf.size);
+            System.arraycopy(rightLeaf.values, 0, leftLeaf.values, leftLeaf.size, rightLeaf.size);
+            leftLeaf.size += rightLeaf.size;
+            leftLeaf.next = rightLeaf.next;
+        }
+        else
+        {
+            Branch leftBranch = (Branch) left;
+            Branch rightBranch = (Branch) right;
+            leftBranch.keys[leftBranch.size - 1] = parent.keys[leftIndex];
+            System.arraycopy(rightBranch.keys, 0, leftBranch.keys, leftBranch.size, rightBranch.size - 1);
+            System.arraycopy(rightBranch.children, 0, leftBranch.children, leftBranch.size, rightBranch.size);
+            leftBranch.size += rightBranch.size;
+        }
+        System.arraycopy(parent.keys, leftIndex + 1, parent.keys, leftIndex, parent.size - 2 - leftIndex);
+        System.arraycopy(parent.children, leftIndex + 2, parent.children, leftIndex + 1, parent.size - 2 - leftIndex);
+        parent.size--;
+        parent.keys[parent.size - 1] = null;
+        parent.children[parent.size] = null;
+    }
+
+    private Leaf firstLeaf()
+    {
+        Node node = this.root;
+        if (node == null)
+        {
+            return null;
+        }
+        while (node instanceof Branch)
+        {
+            node = ((Branch) node).children[0];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * Positions the cursor at the smallest key greater than or equal to {@code key}, or past the end if there is none.
+     */
+    private void seekCeiling(Cursor cursor, Object key)
+    {
+        Node node = this.root;
+        if (node == null)
+        {
+            cursor.leaf = null;
+            return;
+        }
+        while (node instanceof Branch)
+        {
+            Branch branch = (Branch) node;
+            node = branch.children[this.childIndex(branch, key)];
+        }
+        Leaf leaf = (Leaf) node;
+        int index = this.search(leaf.keys, leaf.size, key);
+        cursor.leaf = leaf;
+        cursor.index = index >= 0 ? index : -index - 1;
+        cursor.skipExhaustedLeaf();
+    }
+
+    private void seekFirst(Cursor cursor, Bounds<K> bounds)
+    {
+        if (bounds.hasLow)
+        {
+            this.seekCeiling(cursor, bounds.low);
+        }
+        else
+        {
+            cursor.leaf = this.firstLeaf();
+            cursor.index = 0;
+            cursor.skipExhaustedLeaf();
+        }
+    }
+
+    private Object lowerKey(Node node, Object key)
+    {
+        if (node instanceof Leaf)
+        {
+            Leaf leaf = (Leaf) node;
+            int index = this.search(leaf.keys, leaf.size, key);
+            int insertionPoint = index >= 0 ? index : -index - 1;
+            return insertionPoint > 0 ? leaf.keys[insertionPoint - 1] : NOT_FOUND;
+        }
+        Branch branch = (Branch) node;
+        int childIndex = this.childIndex(branch, key);
+        Object result = this.lowerKey(branch.children[childIndex], key);
+        if (result == NOT_FOUND && childIndex > 0)
+        {
+            return BTreeMap.lastKey(branch.children[childIndex - 1]);
+        }
+        return result;
+    }
+
+    private static Object lastKey(Node node)
+    {
+        Node current = node;
+        while (current instanceof Branch)
+        {
+            current = ((Branch) current).children[current.size - 1];
+        }
+        return ((Leaf) current).keys[current.size - 1];
+    }
+
+    private K firstKey(Bounds<K> bounds)
+    {
+        Cursor cursor = new Cursor();
+        this.seekFirst(cursor, bounds);
+        if (cursor.leaf == null || !this.belowHigh(cursor.key(), bounds))
+        {
+            throw new NoSuchElementException();
+        }
+        return (K) cursor.key();
+    }
+
+    private K lastKey(Bounds<K> bounds)
+    {
+        Object result;
+        if (this.root == null)
+        {
+            result = NOT_FOUND;
+        }
+        else if (bounds.hasHigh)
+        {
+            result = this.lowerKey(this.root, bounds.high);
+        }
+        else
+        {
+            result = BTreeMap.lastKey(this.root);
+        }
+        if (result == NOT_FOUND || bounds.hasLow && this.compare(result, bounds.low) < 0)
+        {
+            throw new NoSuchElementException();
+        }
+        return (K) result;
+    }
+
+    private boolean belowHigh(Object key, Bounds<K> bounds)
+    {
+        return !bounds.hasHigh || this.compare(key, bounds.high) < 0;
+    }
+
+    private boolean inRange(Object key, Bounds<K> bounds)
+    {
+        this.checkKey(key);
+        return (!bounds.hasLow || this.compare(key, bounds.low) >= 0) && this.belowHigh(key, bounds);
+    }
+
+    private boolean inRangeInclusive(Object key, Bounds<K> bounds)
+    {
+        return (!bounds.hasLow || this.compare(key, bounds.low) >= 0)
+                && (!bounds.hasHigh || this.compare(key, bounds.high) <= 0);
+    }
+
+    private Bounds<K> narrow(Bounds<K> bounds, boolean hasLow, K low, boolean hasHigh, K high)
+    {
+        if (hasLow)
+        {
+            this.checkKey(low);
+        }
+        if (hasHigh)
+        {
+            this.checkKey(high);
+        }
+        if (hasLow && hasHigh && this.compare(low, high) > 0)
+        {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        if (hasLow && !this.inRangeInclusive(low, bounds))
+        {
+            throw new IllegalArgumentException("fromKey out of range");
+        }
+        if (hasHigh && !this.inRangeInclusive(high, bounds))
+        {
+            throw new IllegalArgumentException("toKey out of range");
+        }
+        return new Bounds<>(
+                hasLow || bounds.hasLow,
+                hasLow ? low : bounds.low,
+                hasHigh || bounds.hasHigh,
+                hasHigh ? high : bounds.high);
+    }
+
+    private int size(Bounds<K> bounds)
+    {
+        if (!bounds.hasLow && !bounds.hasHigh)
+        {
+            return this.size;
+        }
+        int count = 0;
+        for (EntryIterator iterator = new EntryIterator(bounds); iterator.hasNext(); iterator.advance())
+        {
+            count++;
+        }
+        return count;
+    }
+
+    private boolean isEmpty(Bounds<K> bounds)
+    {
+        return !new EntryIterator(bounds).hasNext();
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException
+    {
+        out.defaultWriteObject();
+        out.writeInt(this.size);
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.size; i++)
+            {
+                out.writeObject(leaf.keys[i]);
+                out.writeObject(leaf.values[i]);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++)
+        {
+            this.put((K) in.readObject(), (V) in.readObject());
+        }
+    }
+
+    private abstract static class Node
+    {
+        protected int size;
+    }
+
+    private static final class Leaf extends Node
+    {
+        private final Object[] keys = new Object[LEAF_CAPACITY];
+        private final Object[] values = new Object[LEAF_CAPACITY];
+        private Leaf next;
+    }
+
+    private static final class Branch extends Node
+    {
+        private final Object[] keys = new Object[BRANCH_CAPACITY - 1];
+        private final Node[] children = new Node[BRANCH_CAPACITY];
+    }
+
+    private static final class Cursor
+    {
+        private Leaf leaf;
+        private int index;
+
+        private void skipExhaustedLeaf()
+        {
+            if (this.leaf != null && this.index >= this.leaf.size)
+            {
+                this.leaf = this.leaf.next;
+                this.index = 0;
+            }
+        }
+
+        private Object key()
+        {
+            return this.leaf.keys[this.index];
+        }
+
+        private Object value()
+        {
+            return this.leaf.values[this.index];
+        }
+    }
+
+    private static final class Bounds<K> implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+        private static final Bounds<?> UNBOUNDED = new Bounds<>(false, null, false, null);
+
+        private final boolean hasLow;
+        private final K low;
+        private final boolean hasHigh;
+        private final K high;
+
+        private Bounds(boolean hasLow, K low, boolean hasHigh, K high)
+        {
+            this.hasLow = hasLow;
+            this.low = low;
+            this.hasHigh = hasHigh;
+            this.high = high;
+        }
+
+        private static <K> Bounds<K> unbounded()
+        {
+            return (Bounds<K>) UNBOUNDED;
+        }
+    }
+
+    private static final class SimpleEntry<K, V> implements Map.Entry<K, V>
+    {
+        private final BTreeMap<K, V> map;
+        private final K key;
+        private V value;
+
+        private SimpleEntry(BTreeMap<K, V> map, K key, V value)
+        {
+            this.map = map;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey()
+        {
+            return this.key;
+        }
+
+        @Override
+        public V getValue()
+        {
+            return this.value;
+        }
+
+        @Override
+        public V setValue(V value)
+        {
+            V oldValue = this.value;
+            this.map.put(this.key, value);
+            this.value = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if (!(object instanceof Map.Entry))
+            {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) object;
+            return (this.key == null ? other.getKey() == null : this.key.equals(other.getKey()))
+                    && (this.value == null ? other.getValue() == null : this.value.equals(other.getValue()));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (this.key == null ? 0 : this.key.hashCode()) ^ (this.value == null ? 0 : this.value.hashCode());
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.key + "=" + this.value;
+        }
+    }
+
+    /**
+     * Walks the linked leaves within the bounds.  After a removal the cursor is re-positioned from the root by seeking
+     * the next key, because rebalancing may have moved entries between leaves.
+     */
+    private final class EntryIterator
+    {
+        private final Bounds<K> bounds;
+        private final Cursor cursor = new Cursor();
+        private Object lastReturned = NOT_FOUND;
+        private int expectedModCount = BTreeMap.this.modCount;
+
+        private EntryIterator(Bounds<K> bounds)
+        {
+            this.bounds = bounds;
+            BTreeMap.this.seekFirst(this.cursor, bounds);
+        }
+
+        private boolean hasNext()
+        {
+            return this.cursor.leaf != null && BTreeMap.this.belowHigh(this.cursor.key(), this.bounds);
+        }
+
+        private void checkForComodification()
+        {
+            if (this.expectedModCount != BTreeMap.this.modCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        private void next()
+        {
+            this.checkForComodification();
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException("next() called, but the iterator is exhausted");
+            }
+            this.lastReturned = this.cursor.key();
+        }
+
+        private void advance()
+        {
+            this.cursor.index++;
+            this.cursor.skipExhaustedLeaf();
+        }
+
+        private void remove()
+        {
+            if (this.lastReturned == NOT_FOUND)
+            {
+                throw new IllegalStateException();
+            }
+            this.checkForComodification();
+            Object nextKey = this.cursor.leaf == null ? NOT_FOUND : this.cursor.key();
+            BTreeMap.this.remove(this.lastReturned);
+            this.lastReturned = NOT_FOUND;
+            this.expectedModCount = BTreeMap.this.modCount;
+            if (nextKey != NOT_FOUND)
+            {
+                BTreeMap.this.seekCeiling(this.cursor, nextKey);
+            }
+        }
+    }
+
+    private abstract static class AbstractViewIterator<K, V, E> implements Iterator<E>
+    {
+        protected final BTreeMap<K, V>.EntryIterator iterator;
+
+        protected AbstractViewIterator(BTreeMap<K, V> map, Bounds<K> bounds)
+        {
+            this.iterator = map.new EntryIterator(bounds);
+        }
+
+        protected abstract E extract(Cursor cursor);
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.iterator.hasNext();
+        }
+
+        @Override
+        public E next()
+        {
+            this.iterator.next();
+            E result = this.extract(this.iterator.cursor);
+            this.iterator.advance();
+            return result;
+        }
+
+        @Override
+        public void remove()
+        {
+            this.iterator.remove();
+        }
+    }
+
+    private static final class SubMap<K, V>
+            extends AbstractMap<K, V>
+            implements SortedMap<K, V>, Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final BTreeMap<K, V> map;
+        private final Bounds<K> bounds;
+
+        private SubMap(BTreeMap<K, V> map, Bounds<K> bounds)
+        {
+            this.map = map;
+            this.bounds = bounds;
+        }
+
+        @Override
+        public Comparator<? super K> comparator()
+        {
+            return this.map.comparator;
+        }
+
+        @Override
+        public int size()
+        {
+            return this.map.size(this.bounds);
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return this.map.isEmpty(this.bounds);
+        }
+
+        @Override
+        public boolean containsKey(Object key)
+        {
+            return this.map.inRange(key, this.bounds) && this.map.containsKey(key);
+        }
+
+        @Override
+        public V get(Object key)
+        {
+            return this.map.inRange(key, this.bounds) ? this.map.get(key) : null;
+        }
+
+        @Override
+        public V put(K key, V value)
+        {
+            if (!this.map.inRange(key, this.bounds))
+            {
+                throw new IllegalArgumentException("key out of range");
+            }
+            return this.map.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key)
+        {
+            return this.map.inRange(key, this.bounds) ? this.map.remove(key) : null;
+        }
+
+        @Override
+        public K firstKey()
+        {
+            return this.map.firstKey(this.bounds);
+        }
+
+        @Override
+        public K lastKey()
+        {
+            return this.map.lastKey(this.bounds);
+        }
+
+        @Override
+        public SortedMap<K, V> headMap(K toKey)
+        {
+            return new SubMap<>(this.map, this.map.narrow(this.bounds, false, null, true, toKey));
+        }
+
+        @Override
+        public SortedMap<K, V> tailMap(K fromKey)
+        {
+            return new SubMap<>(this.map, this.map.narrow(this.bounds, true, fromKey, false, null));
+        }
+
+        @Override
+        public SortedMap<K, V> subMap(K fromKey, K toKey)
+        {
+            return new SubMap<>(this.map, this.map.narrow(this.bounds, true, fromKey, true, toKey));
+        }
+
+        @Override
+        public SortedSet<K> keySet()
+        {
+            return new KeySet<>(this.map, this.bounds);
+        }
+
+        @Override
+        public Collection<V> values()
+        {
+            return new Values<>(this.map, this.bounds);
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet()
+        {
+            return new EntrySet<>(this.map, this.bounds);
+        }
+    }
+
+    private static final class KeySet<K>
+            extends AbstractSet<K>
+            implements SortedSet<K>, Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final BTreeMap<K, Object> map;
+        private final Bounds<K> bounds;
+
+        private KeySet(BTreeMap<K, ?> map, Bounds<K> bounds)
+        {
+            this.map = (BTreeMap<K, Object>) map;
+            this.bounds = bounds;
+        }
+
+        @Override
+        public Comparator<? super K> comparator()
+        {
+            return this.map.comparator;
+        }
+
+        @Override
+        public int size()
+        {
+            return this.map.size(this.bounds);
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return this.map.isEmpty(this.bounds);
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return this.map.inRange(key, this.bounds) && this.map.containsKey(key);
+        }
+
+        @Override
+        public boolean remove(Object key)
+        {
+            if (this.contains(key))
+            {
+                this.map.remove(key);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new AbstractViewIterator<K, Object, K>(this.map, this.bounds)
+            {
+                @Override
+                protected K extract(Cursor cursor)
+                {
+                    return (K) cursor.key();
+                }
+            };
+        }
+
+        @Override
+        public K first()
+        {
+            return this.map.firstKey(this.bounds);
+        }
+
+        @Override
+        public K last()
+        {
+            return this.map.lastKey(this.bounds);
+        }
+
+        @Override
+        public SortedSet<K> headSet(K toElement)
+        {
+            return new KeySet<>(this.map, this.map.narrow(this.bounds, false, null, true, toElement));
+        }
+
+        @Override
+        public SortedSet<K> tailSet(K fromElement)
+        {
+            return new KeySet<>(this.map, this.map.narrow(this.bounds, true, fromElement, false, null));
+        }
+
+        @Override
+        public SortedSet<K> subSet(K fromElement, K toElement)
+        {
+            return new KeySet<>(this.map, this.map.narrow(this.bounds, true, fromElement, true, toElement));
+        }
+    }
+
+    private static final class Values<K, V>
+            extends AbstractCollection<V>
+            implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final BTreeMap<K, V> map;
+        private final Bounds<K> bounds;
+
+        private Values(BTreeMap<K, V> map, Bounds<K> bounds)
+        {
+            this.map = map;
+            this.bounds = bounds;
+        }
+
+        @Override
+        public int size()
+        {
+            return this.map.size(this.bounds);
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return this.map.isEmpty(this.bounds);
+        }
+
+        @Override
+        public Iterator<V> iterator()
+        {
+            return new AbstractViewIterator<K, V, V>(this.map, this.bounds)
+            {
+                @Override
+                protected V extract(Cursor cursor)
+                {
+                    return (V) cursor.value();
+                }
+            };
+        }
+    }
+
+    private static final class EntrySet<K, V>
+            extends AbstractSet<Entry<K, V>>
+            implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final BTreeMap<K, V> map;
+        private final Bounds<K> bounds;
+
+        private EntrySet(BTreeMap<K, V> map, Bounds<K> bounds)
+        {
+            this.map = map;
+            this.bounds = bounds;
+        }
+
+        @Override
+        public int size()
+        {
+            return this.map.size(this.bounds);
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return this.map.isEmpty(this.bounds);
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            if (!(object instanceof Map.Entry))
+            {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) object;
+            if (!this.map.inRange(entry.getKey(), this.bounds))
+            {
+                return false;
+            }
+            Object value = this.map.find(entry.getKey());
+            return value != NOT_FOUND && (value == null ? entry.getValue() == null : value.equals(entry.getValue()));
+        }
+
+        @Override
+        public boolean remove(Object object)
+        {
+            if (this.contains(object))
+            {
+                this.map.remove(((Map.Entry<?, ?>) object).getKey());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            BTreeMap<K, V> map = this.map;
+            return new AbstractViewIterator<K, V, Entry<K, V>>(map, this.bounds)
+            {
+                @Override
+                protected Entry<K, V> extract(Cursor cursor)
+                {
+                    return new SimpleEntry<>(map, (K) cursor.key(), (V) cursor.value());
+                }
+            };
+        }
+    }
+}
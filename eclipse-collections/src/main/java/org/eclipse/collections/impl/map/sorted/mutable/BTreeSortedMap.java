@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.sorted.mutable;
+
+import java.util.Comparator;
+import java.util.Map;
+
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.tuple.Pair;
+
+/**
+ * A BTreeSortedMap is a MutableSortedMap backed by a {@link BTreeMap}.  Entries are stored in array-packed nodes
+ * rather than in one entry object per key, so it uses less memory than {@link TreeSortedMap} and iterates in key order
+ * over contiguous arrays.  Creating one from another SortedMap bulk loads the tree in linear time.
+ *
+ * @since 9.2
+ */
+public class BTreeSortedMap<K, V>
+        extends SortedMapAdapter<K, V>
+{
+    private static final long serialVersionUID = 1L;
+    private final BTreeMap<K, V> bTreeMap;
+
+    public BTreeSortedMap()
+    {
+        this(new BTreeMap<>());
+    }
+
+    public BTreeSortedMap(Comparator<? super K> comparator)
+    {
+        this(new BTreeMap<>(comparator));
+    }
+
+    public BTreeSortedMap(Map<? extends K, ? extends V> map)
+    {
+        this(new BTreeMap<>(map));
+    }
+
+    private BTreeSortedMap(BTreeMap<K, V> bTreeMap)
+    {
+        super(bTreeMap);
+        this.bTreeMap = bTreeMap;
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMap()
+    {
+        return new BTreeSortedMap<>();
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMap(Comparator<? super K> comparator)
+    {
+        return new BTreeSortedMap<>(comparator);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+        return new BTreeSortedMap<>(map);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(Pair<K, V>... pairs)
+    {
+        return new BTreeSortedMap<K, V>().with(pairs);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(Comparator<? super K> comparator, Pair<K, V>... pairs)
+    {
+        return new BTreeSortedMap<K, V>(comparator).with(pairs);
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        this.bTreeMap.forEachKeyValue(procedure);
+    }
+
+    @Override
+    public BTreeSortedMap<K, V> with(Pair<K, V>... pairs)
+    {
+        super.with(pairs);
+        return this;
+    }
+
+    @Override
+    public BTreeSortedMap<K, V> newEmpty()
+    {
+        return new BTreeSortedMap<>(this.comparator());
+    }
+
+    @Override
+    public BTreeSortedMap<K, V> clone()
+    {
+        return new BTreeSortedMap<>(new BTreeMap<>(this.bTreeMap));
+    }
+}
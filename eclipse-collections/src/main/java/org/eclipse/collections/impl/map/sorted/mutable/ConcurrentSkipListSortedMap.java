@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.sorted.mutable;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiFunction;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.Function0;
+import org.eclipse.collections.api.block.function.Function2;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.tuple.Pair;
+
+/**
+ * A ConcurrentSkipListSortedMap is a MutableSortedMap backed by a {@link ConcurrentSkipListMap}, so that keys may be
+ * inserted, removed and looked up concurrently without locking.  It supports the atomic operations of
+ * {@link ConcurrentMap}, and the getIfAbsentPut and updateValue methods are atomic as well.  Iteration, including
+ * forEachKeyValue and the RichIterable methods, is weakly consistent: it never throws
+ * {@link java.util.ConcurrentModificationException} and reflects some, all or none of the writes made while it runs.
+ * <p>
+ * The maps returned by headMap, tailMap and subMap are live ConcurrentSkipListSortedMap views of the range.  Null keys
+ * and values are not supported.
+ *
+ * @since 9.2
+ */
+public class ConcurrentSkipListSortedMap<K, V>
+        extends SortedMapAdapter<K, V>
+        implements ConcurrentMap<K, V>
+{
+    private static final long serialVersionUID = 1L;
+    private final ConcurrentNavigableMap<K, V> skipListMap;
+
+    public ConcurrentSkipListSortedMap()
+    {
+        this(new ConcurrentSkipListMap<>());
+    }
+
+    public ConcurrentSkipListSortedMap(Comparator<? super K> comparator)
+    {
+        this(new ConcurrentSkipListMap<>(comparator));
+    }
+
+    public ConcurrentSkipListSortedMap(Map<? extends K, ? extends V> map)
+    {
+        this(new ConcurrentSkipListMap<>(map));
+    }
+
+    private ConcurrentSkipListSortedMap(ConcurrentNavigableMap<K, V> skipListMap)
+    {
+        super(skipListMap);
+        this.skipListMap = skipListMap;
+    }
+
+    public static <K, V> ConcurrentSkipListSortedMap<K, V> newMap()
+    {
+        return new ConcurrentSkipListSortedMap<>();
+    }
+
+    public static <K, V> ConcurrentSkipListSortedMap<K, V> newMap(Comparator<? super K> comparator)
+    {
+        return new ConcurrentSkipListSortedMap<>(comparator);
+    }
+
+    public static <K, V> ConcurrentSkipListSortedMap<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+        return new ConcurrentSkipListSortedMap<>(map);
+    }
+
+    public static <K, V> ConcurrentSkipListSortedMap<K, V> newMapWith(Pair<K, V>... pairs)
+    {
+        return new ConcurrentSkipListSortedMap<K, V>().with(pairs);
+    }
+
+    public static <K, V> ConcurrentSkipListSortedMap<K, V> newMapWith(Comparator<? super K> comparator, Pair<K, V>... pairs)
+    {
+        return new ConcurrentSkipListSortedMap<K, V>(comparator).with(pairs);
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        this.skipListMap.forEach(procedure::value);
+    }
+
+    @Override
+    public ConcurrentSkipListSortedMap<K, V> with(Pair<K, V>... pairs)
+    {
+        super.with(pairs);
+        return this;
+    }
+
+    @Override
+    public ConcurrentSkipListSortedMap<K, V> newEmpty()
+    {
+        return new ConcurrentSkipListSortedMap<>(this.comparator());
+    }
+
+    @Override
+    public ConcurrentSkipListSortedMap<K, V> clone()
+    {
+        ConcurrentSkipListMap<K, V> copy = new ConcurrentSkipListMap<>(this.comparator());
+        copy.putAll(this.skipListMap);
+        return new ConcurrentSkipListSortedMap<>(copy);
+    }
+
+    @Override
+    public ConcurrentSkipListSortedMap<K, V> headMap(K toKey)
+    {
+        return new ConcurrentSkipListSortedMap<>(this.skipListMap.headMap(toKey));
+    }
+
+    @Override
+    public ConcurrentSkipListSortedMap<K, V> tailMap(K fromKey)
+    {
+        return new ConcurrentSkipListSortedMap<>(this.skipListMap.tailMap(fromKey));
+    }
+
+    @Override
+    public ConcurrentSkipListSortedMap<K, V> subMap(K fromKey, K toKey)
+    {
+        return new ConcurrentSkipListSortedMap<>(this.skipListMap.subMap(fromKey, toKey));
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value)
+    {
+        return this.skipListMap.putIfAbsent(key, value);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value)
+    {
+        return this.skipListMap.remove(key, value);
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue)
+    {
+        return this.skipListMap.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public V replace(K key, V value)
+    {
+        return this.skipListMap.replace(key, value);
+    }
+
+    @Override
+    public V computeIfAbsent(K key, java.util.function.Function<? super K, ? extends V> mappingFunction)
+    {
+        return this.skipListMap.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction)
+    {
+        return this.skipListMap.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction)
+    {
+        return this.skipListMap.compute(key, remappingFunction);
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction)
+    {
+        return this.skipListMap.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public V getIfAbsentPut(K key, Function0<? extends V> function)
+    {
+        V result = this.skipListMap.get(key);
+        if (result == null)
+        {
+            V newValue = function.value();
+            result = this.skipListMap.putIfAbsent(key, newValue);
+            return result == null ? newValue : result;
+        }
+        return result;
+    }
+
+    @Override
+    public V getIfAbsentPut(K key, V value)
+    {
+        V result = this.skipListMap.putIfAbsent(key, value);
+        return result == null ? value : result;
+    }
+
+    @Override
+    public V getIfAbsentPutWithKey(K key, Function<? super K, ? extends V> function)
+    {
+        return this.getIfAbsentPutWith(key, function, key);
+    }
+
+    @Override
+    public <P> V getIfAbsentPutWith(K key, Function<? super P, ? extends V> function, P parameter)
+    {
+        V result = this.skipListMap.get(key);
+        if (result == null)
+        {
+            V newValue = function.valueOf(parameter);
+            result = this.skipListMap.putIfAbsent(key, newValue);
+            return result == null ? newValue : result;
+        }
+        return result;
+    }
+
+    @Override
+    public V updateValue(K key, Function0<? extends V> factory, Function<? super V, ? extends V> function)
+    {
+        return this.skipListMap.compute(key, (each, oldValue) -> function.valueOf(oldValue == null ? factory.value() : oldValue));
+    }
+
+    @Override
+    public <P> V updateValueWith(K key, Function0<? extends V> factory, Function2<? super V, ? super P, ? extends V> function, P parameter)
+    {
+        return this.skipListMap.compute(key, (each, oldValue) -> function.value(oldValue == null ? factory.value() : oldValue, parameter));
+    }
+}
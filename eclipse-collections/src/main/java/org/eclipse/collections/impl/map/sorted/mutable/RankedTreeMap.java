@@ -0,0 +1,1257 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.sorted.mutable;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.impl.block.factory.Comparators;
+
+/**
+ * A RankedTreeMap is a SortedMap backed by a size-augmented AVL tree.  Each node records the number of nodes and the
+ * total weight of its subtree, so in addition to the usual O(log n) lookups the map answers order-statistic queries
+ * such as {@link #rank(Object)}, {@link #keyAt(int)} and {@link #countBetween(Object, Object)} in O(log n) time.
+ * <p>
+ * Every key carries an int weight, which is 1 for keys added through {@link #put(Object, Object)}.  Weights can be
+ * changed with {@link #addWeight(Object, int)}, and the weighted counterparts of the rank operations treat a key of
+ * weight w as if it occurred w times.  This is what {@link org.eclipse.collections.impl.bag.sorted.mutable.RankedTreeBag}
+ * uses to store occurrences.
+ * <p>
+ * The views returned by {@link #headMap(Object)}, {@link #tailMap(Object)}, {@link #subMap(Object, Object)},
+ * {@link #keySet()}, {@link #values()} and {@link #entrySet()} are backed by the map, and their {@code size()} is also
+ * computed in O(log n) time.
+ *
+ * @since 9.2
+ */
+public class RankedTreeMap<K, V>
+        extends AbstractMap<K, V>
+        implements SortedMap<K, V>, Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private final Comparator<? super K> comparator;
+    private transient Node<K, V> root;
+    private transient int modCount;
+
+    public RankedTreeMap()
+    {
+        this.comparator = null;
+    }
+
+    public RankedTreeMap(Comparator<? super K> comparator)
+    {
+        this.comparator = comparator;
+    }
+
+    public RankedTreeMap(Map<? extends K, ? extends V> map)
+    {
+        this.comparator = map instanceof SortedMap<?, ?> ? ((SortedMap<K, V>) map).comparator() : null;
+        if (map instanceof RankedTreeMap<?, ?>)
+        {
+            this.root = RankedTreeMap.copy(((RankedTreeMap<K, V>) map).root);
+        }
+        else
+        {
+            this.putAll(map);
+        }
+    }
+
+    private static <K, V> Node<K, V> copy(Node<K, V> node)
+    {
+        if (node == null)
+        {
+            return null;
+        }
+        Node<K, V> result = new Node<>(node.key, node.value, node.count);
+        result.left = RankedTreeMap.copy(node.left);
+        result.right = RankedTreeMap.copy(node.right);
+        result.height = node.height;
+        result.size = node.size;
+        result.weight = node.weight;
+        return result;
+    }
+
+    @Override
+    public Comparator<? super K> comparator()
+    {
+        return this.comparator;
+    }
+
+    @Override
+    public int size()
+    {
+        return RankedTreeMap.size(this.root);
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.root == null;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return this.getNode(key) != null;
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        Node<K, V> node = this.getNode(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public V put(K key, V value)
+    {
+        Node<K, V> node = this.getNode(key);
+        if (node != null)
+        {
+            V oldValue = node.value;
+            node.value = value;
+            return oldValue;
+        }
+        this.insert(key, value, 1);
+        return null;
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        Node<K, V> node = this.getNode(key);
+        if (node == null)
+        {
+            return null;
+        }
+        this.delete(key);
+        return node.value;
+    }
+
+    @Override
+    public void clear()
+    {
+        this.modCount++;
+        this.root = null;
+    }
+
+    @Override
+    public K firstKey()
+    {
+        return RankedTreeMap.key(this.firstNode(Bounds.unbounded()));
+    }
+
+    @Override
+    public K lastKey()
+    {
+        return RankedTreeMap.key(this.lastNode(Bounds.unbounded()));
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(K toKey)
+    {
+        return new SubMap<>(this, this.narrow(Bounds.unbounded(), false, null, true, toKey));
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(K fromKey)
+    {
+        return new SubMap<>(this, this.narrow(Bounds.unbounded(), true, fromKey, false, null));
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey)
+    {
+        return new SubMap<>(this, this.narrow(Bounds.unbounded(), true, fromKey, true, toKey));
+    }
+
+    @Override
+    public SortedSet<K> keySet()
+    {
+        return new KeySet<>(this, Bounds.unbounded());
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return new Values<>(this, Bounds.unbounded());
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+        return new EntrySet<>(this, Bounds.unbounded());
+    }
+
+    /**
+     * Returns the number of keys in this map which are strictly less than the specified key.  The key does not need to be
+     * present in the map.
+     */
+    public int rank(Object key)
+    {
+        int rank = 0;
+        Node<K, V> node = this.root;
+        while (node != null)
+        {
+            int compare = this.compare(key, node.key);
+            if (compare < 0)
+            {
+                node = node.left;
+            }
+            else if (compare == 0)
+            {
+                return rank + RankedTreeMap.size(node.left);
+            }
+            else
+            {
+                rank += RankedTreeMap.size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the key at the specified position in the sort order of this map.
+     *
+     * @throws IndexOutOfBoundsException if the index is negative or not less than {@code size()}
+     */
+    public K keyAt(int index)
+    {
+        if (index < 0 || index >= this.size())
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + " Size: " + this.size());
+        }
+        int remaining = index;
+        Node<K, V> node = this.root;
+        while (true)
+        {
+            int leftSize = RankedTreeMap.size(node.left);
+            if (remaining < leftSize)
+            {
+                node = node.left;
+            }
+            else if (remaining == leftSize)
+            {
+                return node.key;
+            }
+            else
+            {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of keys which are greater than or equal to {@code fromKey} and strictly less than {@code toKey}.
+     *
+     * @throws IllegalArgumentException if {@code fromKey} is greater than {@code toKey}
+     */
+    public int countBetween(K fromKey, K toKey)
+    {
+        return this.size(this.narrow(Bounds.unbounded(), true, fromKey, true, toKey));
+    }
+
+    /**
+     * Returns the weight of the specified key, or 0 if the key is not present.
+     */
+    public int weightOf(Object key)
+    {
+        Node<K, V> node = this.getNode(key);
+        return node == null ? 0 : node.count;
+    }
+
+    /**
+     * Returns the sum of the weights of all keys in this map.
+     */
+    public int totalWeight()
+    {
+        return RankedTreeMap.weight(this.root);
+    }
+
+    /**
+     * Adds {@code delta} to the weight of the specified key.  An absent key is inserted with a {@code null} value when
+     * {@code delta} is positive, and a key is removed once its weight drops to zero or below.
+     *
+     * @return the new weight of the key, or 0 if the key is not present afterwards
+     */
+    public int addWeight(K key, int delta)
+    {
+        Node<K, V> node = this.getNode(key);
+        if (node == null)
+        {
+            if (delta > 0)
+            {
+                this.insert(key, null, delta);
+                return delta;
+            }
+            return 0;
+        }
+        if (node.count + delta <= 0)
+        {
+            this.delete(key);
+            return 0;
+        }
+        Node<K, V> current = this.root;
+        while (current != node)
+        {
+            current.weight += delta;
+            current = this.compare(key, current.key) < 0 ? current.left : current.right;
+        }
+        node.weight += delta;
+        node.count += delta;
+        return node.count;
+    }
+
+    /**
+     * Returns the sum of the weights of the keys which are strictly less than the specified key.
+     */
+    public int weightedRank(Object key)
+    {
+        int rank = 0;
+        Node<K, V> node = this.root;
+        while (node != null)
+        {
+            int compare = this.compare(key, node.key);
+            if (compare < 0)
+            {
+                node = node.left;
+            }
+            else if (compare == 0)
+            {
+                return rank + RankedTreeMap.weight(node.left);
+            }
+            else
+            {
+                rank += RankedTreeMap.weight(node.left) + node.count;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the key at the specified position when each key is repeated as many times as its weight.
+     *
+     * @throws IndexOutOfBoundsException if the index is negative or not less than {@link #totalWeight()}
+     */
+    public K keyAtWeightedIndex(int index)
+    {
+        if (index < 0 || index >= this.totalWeight())
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + " Size: " + this.totalWeight());
+        }
+        int remaining = index;
+        Node<K, V> node = this.root;
+        while (true)
+        {
+            int leftWeight = RankedTreeMap.weight(node.left);
+            if (remaining < leftWeight)
+            {
+                node = node.left;
+            }
+            else if (remaining < leftWeight + node.count)
+            {
+                return node.key;
+            }
+            else
+            {
+                remaining -= leftWeight + node.count;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the sum of the weights of the keys which are greater than or equal to {@code fromKey} and strictly less
+     * than {@code toKey}.
+     *
+     * @throws IllegalArgumentException if {@code fromKey} is greater than {@code toKey}
+     */
+    public int weightBetween(K fromKey, K toKey)
+    {
+        if (this.compare(fromKey, toKey) > 0)
+        {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        return this.weightedRank(toKey) - this.weightedRank(fromKey);
+    }
+
+    /**
+     * Iterates over the keys of this map in sort order, passing each key together with its weight.
+     */
+    public void forEachKeyWeight(ObjectIntProcedure<? super K> procedure)
+    {
+        RankedTreeMap.forEachKeyWeight(this.root, procedure);
+    }
+
+    private static <K> void forEachKeyWeight(Node<K, ?> node, ObjectIntProcedure<? super K> procedure)
+    {
+        if (node != null)
+        {
+            RankedTreeMap.forEachKeyWeight(node.left, procedure);
+            procedure.value(node.key, node.count);
+            RankedTreeMap.forEachKeyWeight(node.right, procedure);
+        }
+    }
+
+    private int compare(Object key1, Object key2)
+    {
+        if (this.comparator == null)
+        {
+            if (key1 == null || key2 == null)
+            {
+                throw new NullPointerException("RankedTreeMap does not support null keys without a comparator");
+            }
+            return Comparators.naturalOrder().compare(key1, key2);
+        }
+        return this.comparator.compare((K) key1, (K) key2);
+    }
+
+    private Node<K, V> getNode(Object key)
+    {
+        Node<K, V> node = this.root;
+        while (node != null)
+        {
+            int compare = this.compare(key, node.key);
+            if (compare == 0)
+            {
+                return node;
+            }
+            node = compare < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private Node<K, V> ceilingNode(Object key)
+    {
+        Node<K, V> result = null;
+        Node<K, V> node = this.root;
+        while (node != null)
+        {
+            if (this.compare(key, node.key) <= 0)
+            {
+                result = node;
+                node = node.left;
+            }
+            else
+            {
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    private Node<K, V> lowerNode(Object key)
+    {
+        Node<K, V> result = null;
+        Node<K, V> node = this.root;
+        while (node != null)
+        {
+            if (this.compare(key, node.key) > 0)
+            {
+                result = node;
+                node = node.right;
+            }
+            else
+            {
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    private void insert(K key, V value, int count)
+    {
+        this.modCount++;
+        this.root = this.insert(this.root, key, value, count);
+    }
+
+    private Node<K, V> insert(Node<K, V> node, K key, V value, int count)
+    {
+        if (node == null)
+        {
+            return new Node<>(key, value, count);
+        }
+        if (this.compare(key, node.key) < 0)
+        {
+            node.left = this.insert(node.left, key, value, count);
+        }
+        else
+        {
+            node.right = this.insert(node.right, key, value, count);
+        }
+        return RankedTreeMap.balance(node);
+    }
+
+    private void delete(Object key)
+    {
+        this.modCount++;
+        this.root = this.delete(this.root, key);
+    }
+
+    private Node<K, V> delete(Node<K, V> node, Object key)
+    {
+        int compare = this.compare(key, node.key);
+        if (compare < 0)
+        {
+            node.left = this.delete(node.left, key);
+            return RankedTreeMap.balance(node);
+        }
+        if (compare > 0)
+        {
+            node.right = this.delete(node.right, key);
+            return RankedTreeMap.balance(node);
+        }
+        if (node.left == null)
+        {
+            return node.right;
+        }
+        if (node.right == null)
+        {
+            return node.left;
+        }
+        Node<K, V> successor = node.right;
+        while (successor.left != null)
+        {
+            successor = successor.left;
+        }
+        successor.right = RankedTreeMap.deleteFirst(node.right);
+        successor.left = node.left;
+        return RankedTreeMap.balance(successor);
+    }
+
+    private static <K, V> Node<K, V> deleteFirst(Node<K, V> node)
+    {
+        if (node.left == null)
+        {
+            return node.right;
+        }
+        node.left = RankedTreeMap.deleteFirst(node.left);
+        return RankedTreeMap.balance(node);
+    }
+
+    private static <K, V> Node<K, V> balance(Node<K, V> node)
+    {
+        RankedTreeMap.update(node);
+        int difference = RankedTreeMap.height(node.left) - RankedTreeMap.height(node.right);
+        if (difference > 1)
+        {
+            if (RankedTreeMap.height(node.left.left) < RankedTreeMap.height(node.left.right))
+            {
+                node.left = RankedTreeMap.rotateLeft(node.left);
+            }
+            return RankedTreeMap.rotateRight(node);
+        }
+        if (difference < -1)
+        {
+            if (RankedTreeMap.height(node.right.right) < RankedTreeMap.height(node.right.left))
+            {
+                node.right = RankedTreeMap.rotateRight(node.right);
+            }
+            return RankedTreeMap.rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static <K, V> Node<K, V> rotateLeft(Node<K, V> node)
+    {
+        Node<K, V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        RankedTreeMap.update(node);
+        RankedTreeMap.update(pivot);
+        return pivot;
+    }
+
+    private static <K, V> Node<K, V> rotateRight(Node<K, V> node)
+    {
+        Node<K, V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        RankedTreeMap.update(node);
+        RankedTreeMap.update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node<?, ?> node)
+    {
+        node.height = 1 + Math.max(RankedTreeMap.height(node.left), RankedTreeMap.height(node.right));
+        node.size = 1 + RankedTreeMap.size(node.left) + RankedTreeMap.size(node.right);
+        node.weight = node.count + RankedTreeMap.weight(node.left) + RankedTreeMap.weight(node.right);
+    }
+
+    private static int height(Node<?, ?> node)
+    {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node<?, ?> node)
+    {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int weight(Node<?, ?> node)
+    {
+        return node == null ? 0 : node.weight;
+    }
+
+    private static <K> K key(Node<K, ?> node)
+    {
+        if (node == null)
+        {
+            throw new NoSuchElementException();
+        }
+        return node.key;
+    }
+
+    private boolean inRange(Object key, Bounds<K> bounds)
+    {
+        return (!bounds.hasLow || this.compare(key, bounds.low) >= 0)
+                && (!bounds.hasHigh || this.compare(key, bounds.high) < 0);
+    }
+
+    private Bounds<K> narrow(Bounds<K> bounds, boolean hasLow, K low, boolean hasHigh, K high)
+    {
+        if (hasLow && hasHigh && this.compare(low, high) > 0)
+        {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        if (hasLow && !this.inRangeInclusive(low, bounds))
+        {
+            throw new IllegalArgumentException("fromKey out of range");
+        }
+        if (hasHigh && !this.inRangeInclusive(high, bounds))
+        {
+            throw new IllegalArgumentException("toKey out of range");
+        }
+        return new Bounds<>(
+                hasLow || bounds.hasLow,
+                hasLow ? low : bounds.low,
+                hasHigh || bounds.hasHigh,
+                hasHigh ? high : bounds.high);
+    }
+
+    private boolean inRangeInclusive(Object key, Bounds<K> bounds)
+    {
+        return (!bounds.hasLow || this.compare(key, bounds.low) >= 0)
+                && (!bounds.hasHigh || this.compare(key, bounds.high) <= 0);
+    }
+
+    private int size(Bounds<K> bounds)
+    {
+        int high = bounds.hasHigh ? this.rank(bounds.high) : this.size();
+        int low = bounds.hasLow ? this.rank(bounds.low) : 0;
+        return Math.max(0, high - low);
+    }
+
+    private Node<K, V> firstNode(Bounds<K> bounds)
+    {
+        Node<K, V> node;
+        if (bounds.hasLow)
+        {
+            node = this.ceilingNode(bounds.low);
+        }
+        else
+        {
+            node = this.root;
+            while (node != null && node.left != null)
+            {
+                node = node.left;
+            }
+        }
+        return node != null && (!bounds.hasHigh || this.compare(node.key, bounds.high) < 0) ? node : null;
+    }
+
+    private Node<K, V> lastNode(Bounds<K> bounds)
+    {
+        Node<K, V> node;
+        if (bounds.hasHigh)
+        {
+            node = this.lowerNode(bounds.high);
+        }
+        else
+        {
+            node = this.root;
+            while (node != null && node.right != null)
+            {
+                node = node.right;
+            }
+        }
+        return node != null && (!bounds.hasLow || this.compare(node.key, bounds.low) >= 0) ? node : null;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException
+    {
+        out.defaultWriteObject();
+        out.writeInt(this.size());
+        for (Iterator<Node<K, V>> iterator = new NodeIterator(Bounds.unbounded()); iterator.hasNext(); )
+        {
+            Node<K, V> node = iterator.next();
+            out.writeObject(node.key);
+            out.writeObject(node.value);
+            out.writeInt(node.count);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++)
+        {
+            this.insert((K) in.readObject(), (V) in.readObject(), in.readInt());
+        }
+    }
+
+    private static final class Node<K, V> implements Map.Entry<K, V>
+    {
+        private final K key;
+        private V value;
+        private int count;
+        private int weight;
+        private int size;
+        private int height;
+        private Node<K, V> left;
+        private Node<K, V> right;
+
+        private Node(K key, V value, int count)
+        {
+            this.key = key;
+            this.value = value;
+            this.count = count;
+            this.weight = count;
+            this.size = 1;
+            this.height = 1;
+        }
+
+        @Override
+        public K getKey()
+        {
+            return this.key;
+        }
+
+        @Override
+        public V getValue()
+        {
+            return this.value;
+        }
+
+        @Override
+        public V setValue(V value)
+        {
+            V oldValue = this.value;
+            this.value = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if (!(object instanceof Map.Entry))
+            {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) object;
+            return (this.key == null ? other.getKey() == null : this.key.equals(other.getKey()))
+                    && (this.value == null ? other.getValue() == null : this.value.equals(other.getValue()));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (this.key == null ? 0 : this.key.hashCode()) ^ (this.value == null ? 0 : this.value.hashCode());
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.key + "=" + this.value;
+        }
+    }
+
+    private static final class Bounds<K> implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+        private static final Bounds<?> UNBOUNDED = new Bounds<>(false, null, false, null);
+
+        private final boolean hasLow;
+        private final K low;
+        private final boolean hasHigh;
+        private final K high;
+
+        private Bounds(boolean hasLow, K low, boolean hasHigh, K high)
+        {
+            this.hasLow = hasLow;
+            this.low = low;
+            this.hasHigh = hasHigh;
+            this.high = high;
+        }
+
+        private static <K> Bounds<K> unbounded()
+        {
+            return (Bounds<K>) UNBOUNDED;
+        }
+    }
+
+    /**
+     * Walks the nodes within the bounds in order using an explicit stack.  After a removal the stack is rebuilt from the
+     * root by seeking the next key, because rebalancing may have moved the nodes still on the stack.
+     */
+    private final class NodeIterator implements Iterator<Node<K, V>>
+    {
+        private final Bounds<K> bounds;
+        private final ArrayDeque<Node<K, V>> stack = new ArrayDeque<>();
+        private Node<K, V> lastReturned;
+        private int expectedModCount = RankedTreeMap.this.modCount;
+
+        private NodeIterator(Bounds<K> bounds)
+        {
+            this.bounds = bounds;
+            if (bounds.hasLow)
+            {
+                this.seek(bounds.low);
+            }
+            else
+            {
+                this.pushLeft(RankedTreeMap.this.root);
+            }
+        }
+
+        private void seek(Object key)
+        {
+            this.stack.clear();
+            Node<K, V> node = RankedTreeMap.this.root;
+            while (node != null)
+            {
+                if (RankedTreeMap.this.compare(key, node.key) <= 0)
+                {
+                    this.stack.push(node);
+                    node = node.left;
+                }
+                else
+                {
+                    node = node.right;
+                }
+            }
+        }
+
+        private void pushLeft(Node<K, V> start)
+        {
+            for (Node<K, V> node = start; node != null; node = node.left)
+            {
+                this.stack.push(node);
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return !this.stack.isEmpty()
+                    && (!this.bounds.hasHigh || RankedTreeMap.this.compare(this.stack.peek().key, this.bounds.high) < 0);
+        }
+
+        @Override
+        public Node<K, V> next()
+        {
+            if (this.expectedModCount != RankedTreeMap.this.modCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException("next() called, but the iterator is exhausted");
+            }
+            Node<K, V> node = this.stack.pop();
+            this.pushLeft(node.right);
+            this.lastReturned = node;
+            return node;
+        }
+
+        @Override
+        public void remove()
+        {
+            if (this.lastReturned == null)
+            {
+                throw new IllegalStateException();
+            }
+            if (this.expectedModCount != RankedTreeMap.this.modCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+            Node<K, V> next = this.stack.peek();
+            RankedTreeMap.this.delete(this.lastReturned.key);
+            this.lastReturned = null;
+            this.expectedModCount = RankedTreeMap.this.modCount;
+            if (next != null)
+            {
+                this.seek(next.key);
+            }
+        }
+    }
+
+    private static final class SubMap<K, V>
+            extends AbstractMap<K, V>
+            implements SortedMap<K, V>, Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final RankedTreeMap<K, V> map;
+        private final Bounds<K> bounds;
+
+        private SubMap(RankedTreeMap<K, V> map, Bounds<K> bounds)
+        {
+            this.map = map;
+            this.bounds = bounds;
+        }
+
+        @Override
+        public Comparator<? super K> comparator()
+        {
+            return this.map.comparator;
+        }
+
+        @Override
+        public int size()
+        {
+            return this.map.size(this.bounds);
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return this.map.firstNode(this.bounds) == null;
+        }
+
+        @Override
+        public boolean containsKey(Object key)
+        {
+            return this.map.inRange(key, this.bounds) && this.map.containsKey(key);
+        }
+
+        @Override
+        public V get(Object key)
+        {
+            return this.map.inRange(key, this.bounds) ? this.map.get(key) : null;
+        }
+
+        @Override
+        public V put(K key, V value)
+        {
+            if (!this.map.inRange(key, this.bounds))
+            {
+                throw new IllegalArgumentException("key out of range");
+            }
+            return this.map.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key)
+        {
+            return this.map.inRange(key, this.bounds) ? this.map.remove(key) : null;
+        }
+
+        @Override
+        public K firstKey()
+        {
+            return RankedTreeMap.key(this.map.firstNode(this.bounds));
+        }
+
+        @Override
+        public K lastKey()
+        {
+            return RankedTreeMap.key(this.map.lastNode(this.bounds));
+        }
+
+        @Override
+        public SortedMap<K, V> headMap(K toKey)
+        {
+            return new SubMap<>(this.map, this.map.narrow(this.bounds, false, null, true, toKey));
+        }
+
+        @Override
+        public SortedMap<K, V> tailMap(K fromKey)
+        {
+            return new SubMap<>(this.map, this.map.narrow(this.bounds, true, fromKey, false, null));
+        }
+
+        @Override
+        public SortedMap<K, V> subMap(K fromKey, K toKey)
+        {
+            return new SubMap<>(this.map, this.map.narrow(this.bounds, true, fromKey, true, toKey));
+        }
+
+        @Override
+        public SortedSet<K> keySet()
+        {
+            return new KeySet<>(this.map, this.bounds);
+        }
+
+        @Override
+        public Collection<V> values()
+        {
+            return new Values<>(this.map, this.bounds);
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet()
+        {
+            return new EntrySet<>(this.map, this.bounds);
+        }
+    }
+
+    private static final class KeySet<K>
+            extends AbstractSet<K>
+            implements SortedSet<K>, Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final RankedTreeMap<K, ?> map;
+        private final Bounds<K> bounds;
+
+        private KeySet(RankedTreeMap<K, ?> map, Bounds<K> bounds)
+        {
+            this.map = map;
+            this.bounds = bounds;
+        }
+
+        @Override
+        public Comparator<? super K> comparator()
+        {
+            return this.map.comparator;
+        }
+
+        @Override
+        public int size()
+        {
+            return this.map.size(this.bounds);
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return this.map.firstNode(this.bounds) == null;
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return this.map.inRange(key, this.bounds) && this.map.containsKey(key);
+        }
+
+        @Override
+        public boolean remove(Object key)
+        {
+            if (this.contains(key))
+            {
+                this.map.delete(key);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Iterator<K> iterator()
+        {
+            Iterator<? extends Node<K, ?>> iterator = this.map.new NodeIterator(this.bounds);
+            return new Iterator<K>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public K next()
+                {
+                    return iterator.next().getKey();
+                }
+
+                @Override
+                public void remove()
+                {
+                    iterator.remove();
+                }
+            };
+        }
+
+        @Override
+        public K first()
+        {
+            return RankedTreeMap.key(this.map.firstNode(this.bounds));
+        }
+
+        @Override
+        public K last()
+        {
+            return RankedTreeMap.key(this.map.lastNode(this.bounds));
+        }
+
+        @Override
+        public SortedSet<K> headSet(K toElement)
+        {
+            return new KeySet<>(this.map, this.map.narrow(this.bounds, false, null, true, toElement));
+        }
+
+        @Override
+        public SortedSet<K> tailSet(K fromElement)
+        {
+            return new KeySet<>(this.map, this.map.narrow(this.bounds, true, fromElement, false, null));
+        }
+
+        @Override
+        public SortedSet<K> subSet(K fromElement, K toElement)
+        {
+            return new KeySet<>(this.map, this.map.narrow(this.bounds, true, fromElement, true, toElement));
+        }
+    }
+
+    private static final class Values<K, V>
+            extends AbstractCollection<V>
+            implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final RankedTreeMap<K, V> map;
+        private final Bounds<K> bounds;
+
+        private Values(RankedTreeMap<K, V> map, Bounds<K> bounds)
+        {
+            this.map = map;
+            this.bounds = bounds;
+        }
+
+        @Override
+        public int size()
+        {
+            return this.map.size(this.bounds);
+        }
+
+        @Override
+        public Iterator<V> iterator()
+        {
+            Iterator<Node<K, V>> iterator = this.map.new NodeIterator(this.bounds);
+            return new Iterator<V>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public V next()
+                {
+                    return iterator.next().value;
+                }
+
+                @Override
+                public void remove()
+                {
+                    iterator.remove();
+                }
+            };
+        }
+    }
+
+    private static final class EntrySet<K, V>
+            extends AbstractSet<Entry<K, V>>
+            implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final RankedTreeMap<K, V> map;
+        private final Bounds<K> bounds;
+
+        private EntrySet(RankedTreeMap<K, V> map, Bounds<K> bounds)
+        {
+            this.map = map;
+            this.bounds = bounds;
+        }
+
+        @Override
+        public int size()
+        {
+            return this.map.size(this.bounds);
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            if (!(object instanceof Map.Entry))
+            {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) object;
+            if (!this.map.inRange(entry.getKey(), this.bounds))
+            {
+                return false;
+            }
+            Node<K, V> node = this.map.getNode(entry.getKey());
+            return node != null && node.equals(entry);
+        }
+
+        @Override
+        public boolean remove(Object object)
+        {
+            if (this.contains(object))
+            {
+                this.map.delete(((Map.Entry<?, ?>) object).getKey());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            Iterator<Node<K, V>> iterator = this.map.new NodeIterator(this.bounds);
+            return new Iterator<Entry<K, V>>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next()
+                {
+                    return iterator.next();
+                }
+
+                @Override
+                public void remove()
+                {
+                    iterator.remove();
+                }
+            };
+        }
+    }
+}
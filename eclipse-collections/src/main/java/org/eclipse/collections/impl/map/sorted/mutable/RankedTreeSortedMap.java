@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.sorted.mutable;
+
+import java.util.Comparator;
+import java.util.Map;
+
+import org.eclipse.collections.api.tuple.Pair;
+
+/**
+ * A RankedTreeSortedMap is a MutableSortedMap backed by a {@link RankedTreeMap}.  In addition to the MutableSortedMap
+ * API it answers order-statistic queries over its keys in O(log n) time, and the size of its head, tail and sub map
+ * views is computed without iterating.
+ *
+ * @since 9.2
+ */
+public class RankedTreeSortedMap<K, V>
+        extends SortedMapAdapter<K, V>
+{
+    private static final long serialVersionUID = 1L;
+    private final RankedTreeMap<K, V> rankedTreeMap;
+
+    public RankedTreeSortedMap()
+    {
+        this(new RankedTreeMap<>());
+    }
+
+    public RankedTreeSortedMap(Comparator<? super K> comparator)
+    {
+        this(new RankedTreeMap<>(comparator));
+    }
+
+    public RankedTreeSortedMap(Map<? extends K, ? extends V> map)
+    {
+        this(new RankedTreeMap<>(map));
+    }
+
+    private RankedTreeSortedMap(RankedTreeMap<K, V> rankedTreeMap)
+    {
+        super(rankedTreeMap);
+        this.rankedTreeMap = rankedTreeMap;
+    }
+
+    public static <K, V> RankedTreeSortedMap<K, V> newMap()
+    {
+        return new RankedTreeSortedMap<>();
+    }
+
+    public static <K, V> RankedTreeSortedMap<K, V> newMap(Comparator<? super K> comparator)
+    {
+        return new RankedTreeSortedMap<>(comparator);
+    }
+
+    public static <K, V> RankedTreeSortedMap<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+        return new RankedTreeSortedMap<>(map);
+    }
+
+    public static <K, V> RankedTreeSortedMap<K, V> newMapWith(Pair<K, V>... pairs)
+    {
+        return new RankedTreeSortedMap<K, V>().with(pairs);
+    }
+
+    public static <K, V> RankedTreeSortedMap<K, V> newMapWith(Comparator<? super K> comparator, Pair<K, V>... pairs)
+    {
+        return new RankedTreeSortedMap<K, V>(comparator).with(pairs);
+    }
+
+    /**
+     * Returns the number of keys in this map which are strictly less than the specified key.
+     *
+     * @see RankedTreeMap#rank(Object)
+     */
+    public int rank(K key)
+    {
+        return this.rankedTreeMap.rank(key);
+    }
+
+    /**
+     * Returns the key at the specified position in the sort order of this map.
+     *
+     * @see RankedTreeMap#keyAt(int)
+     */
+    public K keyAt(int index)
+    {
+        return this.rankedTreeMap.keyAt(index);
+    }
+
+    /**
+     * Returns the number of keys which are greater than or equal to {@code fromKey} and strictly less than {@code toKey}.
+     *
+     * @see RankedTreeMap#countBetween(Object, Object)
+     */
+    public int countBetween(K fromKey, K toKey)
+    {
+        return this.rankedTreeMap.countBetween(fromKey, toKey);
+    }
+
+    @Override
+    public RankedTreeSortedMap<K, V> with(Pair<K, V>... pairs)
+    {
+        super.with(pairs);
+        return this;
+    }
+
+    @Override
+    public RankedTreeSortedMap<K, V> newEmpty()
+    {
+        return new RankedTreeSortedMap<>(this.comparator());
+    }
+
+    @Override
+    public RankedTreeSortedMap<K, V> clone()
+    {
+        return new RankedTreeSortedMap<>(new RankedTreeMap<>(this.rankedTreeMap));
+    }
+}
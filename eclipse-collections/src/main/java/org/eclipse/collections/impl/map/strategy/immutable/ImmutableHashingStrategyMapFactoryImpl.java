@@ -15,6 +15,7 @@ import java.util.Map;
 import org.eclipse.collections.api.block.HashingStrategy;
 import org.eclipse.collections.api.factory.map.strategy.ImmutableHashingStrategyMapFactory;
 import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.impl.map.immutable.ImmutablePerfectHashMap;
 import org.eclipse.collections.impl.map.strategy.mutable.UnifiedMapWithHashingStrategy;
 
 public enum ImmutableHashingStrategyMapFactoryImpl implements ImmutableHashingStrategyMapFactory
@@ -156,4 +157,10 @@ public enum ImmutableHashingStrategyMapFactoryImpl implements ImmutableHashingSt
 
         return new ImmutableUnifiedMapWithHashingStrategy<>(mapWithHashingStrategy);
     }
+
+    @Override
+    public <K, V> ImmutableMap<K, V> withAllPerfectHash(HashingStrategy<? super K> hashingStrategy, Map<? extends K, ? extends V> map)
+    {
+        return ImmutablePerfectHashMap.newMap(hashingStrategy, map);
+    }
 }
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.multimap;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.collections.api.block.function.primitive.IntFunction;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.collection.MutableCollection;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.utility.Iterate;
+
+/**
+ * A Multimap that supports concurrent reads and writes.  The values for each key are held in a collection which is safe
+ * to read while it is being written, so readers never lock.  Writes to one key are serialized on the monitor of that
+ * key's collection and take time independent of the number of values it already holds, and writes to different keys
+ * proceed in parallel.
+ * <p>
+ * A collection emptied by a write is unlinked from the map while its monitor is held, and a writer which finds that the
+ * collection it locked is no longer mapped retries with the current one, so no value is ever added to an unlinked
+ * collection.  Iteration over the multimap is weakly consistent in the same way as iteration over
+ * {@link ConcurrentHashMap}.
+ * <p>
+ * Writes are not lock-free.  Each write holds the monitor of its key's collection, so writers to the same key block
+ * one another, while readers and writers to other keys do not.  The monitor is what lets a write that empties a
+ * collection unlink it atomically; a lock-free write would instead have to copy and republish the whole collection,
+ * which makes every put to a key cost time proportional to the number of values it already holds.
+ *
+ * @since 9.2
+ */
+public abstract class AbstractConcurrentMultimap<K, V, C extends MutableCollection<V>> extends AbstractMutableMultimap<K, V, C>
+{
+    private final LongAdder concurrentTotalSize = new LongAdder();
+
+    protected AbstractConcurrentMultimap()
+    {
+    }
+
+    protected AbstractConcurrentMultimap(MutableMap<K, C> newMap)
+    {
+        super(newMap);
+    }
+
+    @Override
+    protected MutableMap<K, C> createMap()
+    {
+        return ConcurrentHashMap.newMap();
+    }
+
+    @Override
+    protected MutableMap<K, C> createMapWithKeyCount(int keyCount)
+    {
+        return ConcurrentHashMap.newMap(keyCount);
+    }
+
+    @Override
+    public int size()
+    {
+        return this.concurrentTotalSize.intValue();
+    }
+
+    @Override
+    protected void incrementTotalSize()
+    {
+        this.concurrentTotalSize.increment();
+    }
+
+    @Override
+    protected void decrementTotalSize()
+    {
+        this.concurrentTotalSize.decrement();
+    }
+
+    @Override
+    protected void addToTotalSize(int value)
+    {
+        this.concurrentTotalSize.add(value);
+    }
+
+    @Override
+    protected void subtractFromTotalSize(int value)
+    {
+        this.concurrentTotalSize.add(-value);
+    }
+
+    @Override
+    protected void clearTotalSize()
+    {
+        this.concurrentTotalSize.reset();
+    }
+
+    @Override
+    public boolean put(K key, V value)
+    {
+        return this.addToCollection(key, collection -> collection.add(value) ? 1 : 0) > 0;
+    }
+
+    @Override
+    public boolean putAll(K key, Iterable<? extends V> values)
+    {
+        if (Iterate.isEmpty(values))
+        {
+            return false;
+        }
+        return this.addToCollection(key, collection -> {
+            int oldSize = collection.size();
+            Iterate.addAllTo(values, collection);
+            return collection.size() - oldSize;
+        }) > 0;
+    }
+
+    /**
+     * Applies the addition to the collection for the key while holding its monitor, creating and publishing a new
+     * collection if the key is absent, and retrying if the collection is unlinked before the monitor is acquired.
+     *
+     * @return the number of values the addition added
+     */
+    protected int addToCollection(K key, IntFunction<? super C> addition)
+    {
+        while (true)
+        {
+            C current = this.map.get(key);
+            if (current == null)
+            {
+                C newValues = this.createCollection();
+                int added = addition.intValueOf(newValues);
+                if (added == 0)
+                {
+                    return 0;
+                }
+                if (this.map.putIfAbsent(key, newValues) == null)
+                {
+                    this.addToTotalSize(added);
+                    return added;
+                }
+            }
+            else
+            {
+                synchronized (current)
+                {
+                    if (this.map.get(key) == current)
+                    {
+                        int added = addition.intValueOf(current);
+                        this.addToTotalSize(added);
+                        return added;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Atomically associates the values with the key if the key is not already present, so that no other thread can
+     * observe the key with only some of the values.
+     *
+     * @return an unmodifiable view of the values associated with the key after the call, which are the existing values
+     * if the key was already present
+     */
+    public C getIfAbsentPutAll(K key, Iterable<? extends V> values)
+    {
+        C current = this.map.get(key);
+        if (current == null && Iterate.notEmpty(values))
+        {
+            C newValues = Iterate.addAllTo(values, this.createCollection());
+            current = this.map.putIfAbsent(key, newValues);
+            if (current == null)
+            {
+                this.addToTotalSize(newValues.size());
+                current = newValues;
+            }
+        }
+        return current == null ? (C) this.createCollection().asUnmodifiable() : (C) current.asUnmodifiable();
+    }
+
+    @Override
+    public boolean remove(Object key, Object value)
+    {
+        while (true)
+        {
+            C current = this.map.get(key);
+            if (current == null)
+            {
+                return false;
+            }
+            synchronized (current)
+            {
+                if (this.map.get(key) == current)
+                {
+                    if (!current.remove(value))
+                    {
+                        return false;
+                    }
+                    this.decrementTotalSize();
+                    if (current.isEmpty())
+                    {
+                        this.map.remove(key, current);
+                    }
+                    return true;
+                }
+            }
+        }
+    }
+
+    @Override
+    public C replaceValues(K key, Iterable<? extends V> values)
+    {
+        if (Iterate.isEmpty(values))
+        {
+            return this.removeAll(key);
+        }
+        C newValues = Iterate.addAllTo(values, this.createCollection());
+        while (true)
+        {
+            C current = this.map.get(key);
+            if (current == null)
+            {
+                if (this.map.putIfAbsent(key, newValues) == null)
+                {
+                    this.addToTotalSize(newValues.size());
+                    return (C) this.createCollection().asUnmodifiable();
+                }
+            }
+            else
+            {
+                synchronized (current)
+                {
+                    if (this.map.replace(key, current, newValues))
+                    {
+                        this.addToTotalSize(newValues.size() - current.size());
+                        return (C) current.asUnmodifiable();
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public C removeAll(Object key)
+    {
+        while (true)
+        {
+            C current = this.map.get(key);
+            if (current == null)
+            {
+                return (C) this.createCollection().asUnmodifiable();
+            }
+            synchronized (current)
+            {
+                if (this.map.remove(key, current))
+                {
+                    this.subtractFromTotalSize(current.size());
+                    return (C) current.asUnmodifiable();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clear()
+    {
+        // Clear each collection once it is unlinked, to make previously returned collections empty.
+        this.map.forEachKey(key -> {
+            C current = this.map.get(key);
+            if (current != null)
+            {
+                synchronized (current)
+                {
+                    if (this.map.remove(key, current))
+                    {
+                        this.subtractFromTotalSize(current.size());
+                        current.clear();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Iterates without blocking writers.  Each key is passed with an unmodifiable view of its values, which may or may
+     * not reflect writes made after iteration began.
+     */
+    @Override
+    public void forEachKeyMultiValues(Procedure2<? super K, ? super Iterable<V>> procedure)
+    {
+        this.map.forEachKeyValue((key, collection) -> procedure.value(key, collection.asUnmodifiable()));
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.multimap.list;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.eclipse.collections.api.block.HashingStrategy;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.predicate.Predicate2;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.ordered.OrderedIterable;
+import org.eclipse.collections.api.partition.list.PartitionMutableList;
+import org.eclipse.collections.impl.block.factory.Predicates2;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.list.mutable.AbstractListAdapter;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.list.mutable.SynchronizedMutableList;
+import org.eclipse.collections.impl.list.mutable.UnmodifiableMutableList;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.eclipse.collections.impl.utility.ListIterate;
+import org.eclipse.collections.impl.utility.internal.RandomAccessListIterate;
+
+/**
+ * The values collection of a {@link ConcurrentListMultimap}.  Readers use an immutable snapshot of the backing array
+ * and its size without locking.  Writers are serialized on this list's monitor.  An append writes the slot just past
+ * the published size and publishes a new snapshot, so it takes amortized constant time and never changes an element
+ * a reader can see.  A removal copies the array, as its cost is already proportional to the size.
+ * <p>
+ * The bulk removals and sorts likewise publish a filtered or sorted copy.  Positional mutations such as set and
+ * add(int, Object) are not supported; the multimap only exposes unmodifiable views.
+ */
+final class ConcurrentAppendList<T>
+        extends AbstractListAdapter<T>
+        implements RandomAccess
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final Object[] EMPTY_ARRAY = {};
+
+    private volatile Snapshot<T> snapshot = new Snapshot<>(EMPTY_ARRAY, 0);
+
+    @Override
+    protected List<T> getDelegate()
+    {
+        return this.snapshot;
+    }
+
+    @Override
+    public synchronized boolean add(T element)
+    {
+        Snapshot<T> current = this.snapshot;
+        Object[] items = this.ensureCapacity(current, current.size + 1);
+        items[current.size] = element;
+        this.snapshot = new Snapshot<>(items, current.size + 1);
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> collection)
+    {
+        return this.addAllIterable(collection);
+    }
+
+    @Override
+    public synchronized boolean addAllIterable(Iterable<? extends T> iterable)
+    {
+        Object[] newItems = Iterate.toArray(iterable);
+        if (newItems.length == 0)
+        {
+            return false;
+        }
+        Snapshot<T> current = this.snapshot;
+        Object[] items = this.ensureCapacity(current, current.size + newItems.length);
+        System.arraycopy(newItems, 0, items, current.size, newItems.length);
+        this.snapshot = new Snapshot<>(items, current.size + newItems.length);
+        return true;
+    }
+
+    private Object[] ensureCapacity(Snapshot<T> current, int minCapacity)
+    {
+        if (minCapacity <= current.items.length)
+        {
+            return current.items;
+        }
+        int newCapacity = Math.max(minCapacity, current.items.length + (current.items.length >> 1) + 1);
+        return Arrays.copyOf(current.items, newCapacity);
+    }
+
+    @Override
+    public synchronized boolean remove(Object element)
+    {
+        Snapshot<T> current = this.snapshot;
+        int index = current.indexOf(element);
+        if (index == -1)
+        {
+            return false;
+        }
+        Object[] items = new Object[current.size - 1];
+        System.arraycopy(current.items, 0, items, 0, index);
+        System.arraycopy(current.items, index + 1, items, index, current.size - index - 1);
+        this.snapshot = new Snapshot<>(items, items.length);
+        return true;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> predicate)
+    {
+        return this.removeIfWith((each, ignored) -> predicate.accept(each), null);
+    }
+
+    @Override
+    public synchronized <P> boolean removeIfWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        Snapshot<T> current = this.snapshot;
+        Object[] items = new Object[current.size];
+        int newSize = 0;
+        for (int i = 0; i < current.size; i++)
+        {
+            T item = (T) current.items[i];
+            if (!predicate.accept(item, parameter))
+            {
+                items[newSize++] = item;
+            }
+        }
+        if (newSize == current.size)
+        {
+            return false;
+        }
+        this.snapshot = new Snapshot<>(items, newSize);
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> collection)
+    {
+        return this.removeIfWith(Predicates2.in(), collection);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> collection)
+    {
+        return this.removeIfWith(Predicates2.notIn(), collection);
+    }
+
+    @Override
+    public synchronized void clear()
+    {
+        this.snapshot = new Snapshot<>(EMPTY_ARRAY, 0);
+    }
+
+    @Override
+    public ConcurrentAppendList<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    @Override
+    public ConcurrentAppendList<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    @Override
+    public ConcurrentAppendList<T> withAll(Iterable<? extends T> elements)
+    {
+        this.addAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public ConcurrentAppendList<T> withoutAll(Iterable<? extends T> elements)
+    {
+        this.removeAllIterable(elements);
+        return this;
+    }
+
+    /**
+     * Sorts a copy of the array and publishes it, so that readers of the previous snapshot never see it reordered.
+     */
+    @Override
+    public synchronized MutableList<T> sortThis(Comparator<? super T> comparator)
+    {
+        Snapshot<T> current = this.snapshot;
+        Object[] items = Arrays.copyOf(current.items, current.size);
+        Arrays.sort(items, (Comparator<Object>) comparator);
+        this.snapshot = new Snapshot<>(items, items.length);
+        return this;
+    }
+
+    @Override
+    public MutableList<T> sortThis()
+    {
+        return this.sortThis(null);
+    }
+
+    @Override
+    public MutableList<T> newEmpty()
+    {
+        return FastList.newList();
+    }
+
+    @Override
+    public MutableList<T> clone()
+    {
+        return FastList.newList(this.snapshot);
+    }
+
+    @Override
+    public ImmutableList<T> toImmutable()
+    {
+        return Lists.immutable.withAll(this.snapshot);
+    }
+
+    @Override
+    public MutableList<T> asUnmodifiable()
+    {
+        return UnmodifiableMutableList.of(this);
+    }
+
+    @Override
+    public MutableList<T> asSynchronized()
+    {
+        return SynchronizedMutableList.of(this);
+    }
+
+    @Override
+    public void reverseForEach(Procedure<? super T> procedure)
+    {
+        ListIterate.reverseForEach(this.snapshot, procedure);
+    }
+
+    @Override
+    public void reverseForEachWithIndex(ObjectIntProcedure<? super T> procedure)
+    {
+        ListIterate.reverseForEachWithIndex(this.snapshot, procedure);
+    }
+
+    @Override
+    public void forEachWithIndex(int fromIndex, int toIndex, ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        RandomAccessListIterate.forEachWithIndex(this.snapshot, fromIndex, toIndex, objectIntProcedure);
+    }
+
+    @Override
+    public void forEach(int fromIndex, int toIndex, Procedure<? super T> procedure)
+    {
+        RandomAccessListIterate.forEach(this.snapshot, fromIndex, toIndex, procedure);
+    }
+
+    @Override
+    public int detectIndex(Predicate<? super T> predicate)
+    {
+        return RandomAccessListIterate.detectIndex(this.snapshot, predicate);
+    }
+
+    @Override
+    public int detectLastIndex(Predicate<? super T> predicate)
+    {
+        return RandomAccessListIterate.detectLastIndex(this.snapshot, predicate);
+    }
+
+    @Override
+    public <S> boolean corresponds(OrderedIterable<S> other, Predicate2<? super T, ? super S> predicate)
+    {
+        return RandomAccessListIterate.corresponds(this.snapshot, other, predicate);
+    }
+
+    @Override
+    public <S> MutableList<S> selectInstancesOf(Class<S> clazz)
+    {
+        return RandomAccessListIterate.selectInstancesOf(this.snapshot, clazz);
+    }
+
+    @Override
+    public MutableList<T> distinct()
+    {
+        return RandomAccessListIterate.distinct(this.snapshot);
+    }
+
+    @Override
+    public MutableList<T> distinct(HashingStrategy<? super T> hashingStrategy)
+    {
+        return RandomAccessListIterate.distinct(this.snapshot, hashingStrategy);
+    }
+
+    @Override
+    public MutableList<T> take(int count)
+    {
+        return RandomAccessListIterate.take(this.snapshot, count);
+    }
+
+    @Override
+    public MutableList<T> takeWhile(Predicate<? super T> predicate)
+    {
+        return RandomAccessListIterate.takeWhile(this.snapshot, predicate);
+    }
+
+    @Override
+    public MutableList<T> drop(int count)
+    {
+        return RandomAccessListIterate.drop(this.snapshot, count);
+    }
+
+    @Override
+    public MutableList<T> dropWhile(Predicate<? super T> predicate)
+    {
+        return RandomAccessListIterate.dropWhile(this.snapshot, predicate);
+    }
+
+    @Override
+    public PartitionMutableList<T> partitionWhile(Predicate<? super T> predicate)
+    {
+        return RandomAccessListIterate.partitionWhile(this.snapshot, predicate);
+    }
+
+    /**
+     * The first {@code size} elements of {@code items}.  Once a snapshot is published those slots are never written
+     * again, as appends only write past the size and removals copy the array.
+     */
+    private static final class Snapshot<T> extends AbstractList<T> implements RandomAccess
+    {
+        private final Object[] items;
+        private final int size;
+
+        private Snapshot(Object[] items, int size)
+        {
+            this.items = items;
+            this.size = size;
+        }
+
+        @Override
+        public T get(int index)
+        {
+            if (index >= this.size)
+            {
+                throw new IndexOutOfBoundsException("Index: " + index + " Size: " + this.size);
+            }
+            return (T) this.items[index];
+        }
+
+        @Override
+        public int size()
+        {
+            return this.size;
+        }
+    }
+}
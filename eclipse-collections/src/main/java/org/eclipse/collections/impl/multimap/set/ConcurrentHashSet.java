@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.multimap.set;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Iterator;
+
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+
+/**
+ * The values collection of a {@link ConcurrentSetMultimap}.  The elements are the keys of a {@link ConcurrentHashMap},
+ * so reads never lock and iteration is weakly consistent.  A null element is stored as a sentinel key, in the same way
+ * as in {@link org.eclipse.collections.impl.bag.mutable.ConcurrentHashBag}.
+ */
+final class ConcurrentHashSet<T>
+        extends AbstractSet<T>
+        implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final Object NULL_KEY = new Object();
+
+    private transient ConcurrentHashMap<Object, Boolean> items = ConcurrentHashMap.newMap();
+
+    private static Object maskNull(Object item)
+    {
+        return item == null ? NULL_KEY : item;
+    }
+
+    private static <T> T unmaskNull(Object key)
+    {
+        return key == NULL_KEY ? null : (T) key;
+    }
+
+    @Override
+    public boolean add(T item)
+    {
+        return this.items.putIfAbsent(ConcurrentHashSet.maskNull(item), Boolean.TRUE) == null;
+    }
+
+    @Override
+    public boolean remove(Object item)
+    {
+        return this.items.remove(ConcurrentHashSet.maskNull(item)) != null;
+    }
+
+    @Override
+    public boolean contains(Object item)
+    {
+        return this.items.containsKey(ConcurrentHashSet.maskNull(item));
+    }
+
+    @Override
+    public int size()
+    {
+        return this.items.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.items.isEmpty();
+    }
+
+    @Override
+    public void clear()
+    {
+        this.items.clear();
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        Iterator<Object> iterator = this.items.keySet().iterator();
+        return new Iterator<T>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next()
+            {
+                return ConcurrentHashSet.unmaskNull(iterator.next());
+            }
+
+            @Override
+            public void remove()
+            {
+                iterator.remove();
+            }
+        };
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException
+    {
+        out.defaultWriteObject();
+        Object[] elements = this.toArray();
+        out.writeInt(elements.length);
+        for (Object element : elements)
+        {
+            out.writeObject(element);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        int size = in.readInt();
+        this.items = ConcurrentHashMap.newMap(size);
+        for (int i = 0; i < size; i++)
+        {
+            this.add((T) in.readObject());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.multimap.set;
+
+import java.io.Externalizable;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.Function2;
+import org.eclipse.collections.api.block.predicate.Predicate2;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.multimap.Multimap;
+import org.eclipse.collections.api.multimap.bag.MutableBagMultimap;
+import org.eclipse.collections.api.multimap.set.ImmutableSetMultimap;
+import org.eclipse.collections.api.multimap.set.MutableSetMultimap;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.multimap.AbstractConcurrentMultimap;
+import org.eclipse.collections.impl.multimap.bag.HashBagMultimap;
+import org.eclipse.collections.impl.set.mutable.SetAdapter;
+import org.eclipse.collections.impl.utility.ArrayIterate;
+import org.eclipse.collections.impl.utility.Iterate;
+
+/**
+ * A Multimap that supports concurrent puts and removes alongside non-blocking, weakly consistent reads.  The values for
+ * each key are held in a set backed by a {@link ConcurrentHashMap}, which supports null values.
+ *
+ * @see AbstractConcurrentMultimap
+ * @since 9.2
+ */
+public final class ConcurrentSetMultimap<K, V>
+        extends AbstractConcurrentMultimap<K, V, MutableSet<V>> implements MutableSetMultimap<K, V>, Externalizable
+{
+    private static final long serialVersionUID = 42L;
+
+    public ConcurrentSetMultimap()
+    {
+    }
+
+    public ConcurrentSetMultimap(int initialCapacity)
+    {
+        super(ConcurrentHashMap.newMap(initialCapacity));
+    }
+
+    public ConcurrentSetMultimap(Multimap<? extends K, ? extends V> multimap)
+    {
+        this.putAll(multimap);
+    }
+
+    public ConcurrentSetMultimap(Pair<K, V>... pairs)
+    {
+        this();
+        ArrayIterate.forEach(pairs, pair -> ConcurrentSetMultimap.this.put(pair.getOne(), pair.getTwo()));
+    }
+
+    public ConcurrentSetMultimap(Iterable<Pair<K, V>> inputIterable)
+    {
+        this();
+        Iterate.forEach(inputIterable, this::add);
+    }
+
+    public static <K, V> ConcurrentSetMultimap<K, V> newMultimap()
+    {
+        return new ConcurrentSetMultimap<>();
+    }
+
+    public static <K, V> ConcurrentSetMultimap<K, V> newMultimap(int initialCapacity)
+    {
+        return new ConcurrentSetMultimap<>(initialCapacity);
+    }
+
+    public static <K, V> ConcurrentSetMultimap<K, V> newMultimap(Multimap<? extends K, ? extends V> multimap)
+    {
+        return new ConcurrentSetMultimap<>(multimap);
+    }
+
+    public static <K, V> ConcurrentSetMultimap<K, V> newMultimap(Pair<K, V>... pairs)
+    {
+        return new ConcurrentSetMultimap<>(pairs);
+    }
+
+    public static <K, V> ConcurrentSetMultimap<K, V> newMultimap(Iterable<Pair<K, V>> inputIterable)
+    {
+        return new ConcurrentSetMultimap<>(inputIterable);
+    }
+
+    @Override
+    protected MutableSet<V> createCollection()
+    {
+        return SetAdapter.adapt(new ConcurrentHashSet<>());
+    }
+
+    @Override
+    public ConcurrentSetMultimap<K, V> newEmpty()
+    {
+        return new ConcurrentSetMultimap<>();
+    }
+
+    @Override
+    public MutableSetMultimap<K, V> toMutable()
+    {
+        return new ConcurrentSetMultimap<>(this);
+    }
+
+    @Override
+    public ImmutableSetMultimap<K, V> toImmutable()
+    {
+        MutableMap<K, ImmutableSet<V>> map = UnifiedMap.newMap();
+
+        this.map.forEachKeyValue((key, set) -> map.put(key, set.toImmutable()));
+
+        return new ImmutableSetMultimapImpl<>(map);
+    }
+
+    @Override
+    public UnifiedSetMultimap<K, V> selectKeysValues(Predicate2<? super K, ? super V> predicate)
+    {
+        return this.selectKeysValues(predicate, UnifiedSetMultimap.newMultimap());
+    }
+
+    @Override
+    public UnifiedSetMultimap<K, V> rejectKeysValues(Predicate2<? super K, ? super V> predicate)
+    {
+        return this.rejectKeysValues(predicate, UnifiedSetMultimap.newMultimap());
+    }
+
+    @Override
+    public UnifiedSetMultimap<K, V> selectKeysMultiValues(Predicate2<? super K, ? super Iterable<V>> predicate)
+    {
+        return this.selectKeysMultiValues(predicate, UnifiedSetMultimap.newMultimap());
+    }
+
+    @Override
+    public UnifiedSetMultimap<K, V> rejectKeysMultiValues(Predicate2<? super K, ? super Iterable<V>> predicate)
+    {
+        return this.rejectKeysMultiValues(predicate, UnifiedSetMultimap.newMultimap());
+    }
+
+    @Override
+    public <K2, V2> MutableBagMultimap<K2, V2> collectKeysValues(Function2<? super K, ? super V, Pair<K2, V2>> function)
+    {
+        return this.collectKeysValues(function, HashBagMultimap.newMultimap());
+    }
+
+    @Override
+    public <V2> MutableBagMultimap<K, V2> collectValues(Function<? super V, ? extends V2> function)
+    {
+        return this.collectValues(function, HashBagMultimap.newMultimap());
+    }
+
+    @Override
+    public MutableSetMultimap<V, K> flip()
+    {
+        return Iterate.flip(this);
+    }
+
+    @Override
+    public MutableSetMultimap<K, V> asSynchronized()
+    {
+        throw new UnsupportedOperationException("Cannot call asSynchronized() on " + this.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.immutable;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.map.immutable.ImmutableChampMap;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.eclipse.collections.impl.utility.LazyIterate;
+
+/**
+ * An ImmutableChampSet is a persistent hash set backed by the keys of an {@link ImmutableChampMap}.
+ * {@link #newWith(Object)} and {@link #newWithout(Object)} run in O(log32 n) time and share all untouched nodes with
+ * the original set.
+ *
+ * @since 9.2
+ */
+public final class ImmutableChampSet<T>
+        extends AbstractImmutableSet<T>
+        implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+    private static final ImmutableChampSet<?> EMPTY = new ImmutableChampSet<>(ImmutableChampMap.empty());
+
+    private final ImmutableChampMap<T, T> delegate;
+
+    private ImmutableChampSet(ImmutableChampMap<T, T> delegate)
+    {
+        this.delegate = delegate;
+    }
+
+    public static <T> ImmutableChampSet<T> empty()
+    {
+        return (ImmutableChampSet<T>) EMPTY;
+    }
+
+    public static <T> ImmutableChampSet<T> newSet(Iterable<? extends T> iterable)
+    {
+        if (iterable instanceof ImmutableChampSet<?>)
+        {
+            return (ImmutableChampSet<T>) iterable;
+        }
+        return ImmutableChampSet.<T>empty().newWithAll(iterable);
+    }
+
+    public static <T> ImmutableChampSet<T> newSetWith(T... elements)
+    {
+        return ImmutableChampSet.newSet(Arrays.asList(elements));
+    }
+
+    private ImmutableChampSet<T> wrap(ImmutableChampMap<T, T> newDelegate)
+    {
+        if (newDelegate == this.delegate)
+        {
+            return this;
+        }
+        return newDelegate.isEmpty() ? ImmutableChampSet.empty() : new ImmutableChampSet<>(newDelegate);
+    }
+
+    @Override
+    public int size()
+    {
+        return this.delegate.size();
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (other == this)
+        {
+            return true;
+        }
+        if (!(other instanceof Set))
+        {
+            return false;
+        }
+        Set<?> set = (Set<?>) other;
+        return set.size() == this.size() && this.containsAll(set);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int[] hashCode = new int[1];
+        this.delegate.forEachKey(each -> hashCode[0] += this.nullSafeHashCode(each));
+        return hashCode[0];
+    }
+
+    @Override
+    public boolean contains(Object object)
+    {
+        return this.delegate.containsKey(object);
+    }
+
+    @Override
+    public ImmutableChampSet<T> newWith(T element)
+    {
+        if (this.delegate.containsKey(element))
+        {
+            return this;
+        }
+        return this.wrap(this.delegate.newWithKeyValue(element, element));
+    }
+
+    @Override
+    public ImmutableChampSet<T> newWithout(T element)
+    {
+        return this.wrap(this.delegate.newWithoutKey(element));
+    }
+
+    @Override
+    public ImmutableChampSet<T> newWithAll(Iterable<? extends T> elements)
+    {
+        Iterable<Pair<T, T>> pairs = LazyIterate.reject(elements, this.delegate::containsKey)
+                .collect(each -> Tuples.<T, T>pair(each, each));
+        return this.wrap(this.delegate.newWithAllKeyValues(pairs));
+    }
+
+    @Override
+    public ImmutableChampSet<T> newWithoutAll(Iterable<? extends T> elements)
+    {
+        return this.wrap(this.delegate.newWithoutAllKeys(elements));
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return this.delegate.keySet().iterator();
+    }
+
+    @Override
+    public T getFirst()
+    {
+        return this.isEmpty() ? null : this.iterator().next();
+    }
+
+    @Override
+    public T getLast()
+    {
+        T[] last = (T[]) new Object[1];
+        this.delegate.forEachKey(each -> last[0] = each);
+        return last[0];
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        this.delegate.forEachKey(procedure);
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.immutable;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.collections.api.block.HashingStrategy;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.impl.factory.HashingStrategySets;
+import org.eclipse.collections.impl.factory.Sets;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.utility.internal.MinimalPerfectHash;
+
+/**
+ * An ImmutablePerfectHashSet is a read-only hash set for lookup tables which are built once and read many times.  It
+ * stores each element in the slot assigned by a {@link MinimalPerfectHash} of the hash codes of its elements, so the
+ * table has no empty slots and {@link #contains(Object)} makes a single comparison.  Elements whose hash codes are
+ * equal share one slot, which then holds a small array of them.
+ * <p>
+ * The set can be built with a {@link HashingStrategy}, in which case elements are hashed and compared through it.
+ *
+ * @see org.eclipse.collections.impl.map.immutable.ImmutablePerfectHashMap
+ * @since 9.2
+ */
+public final class ImmutablePerfectHashSet<T>
+        extends AbstractImmutableSet<T>
+        implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private final HashingStrategy<? super T> hashingStrategy;
+    private final MinimalPerfectHash index;
+    private final Object[] table;
+    private final int size;
+
+    private ImmutablePerfectHashSet(HashingStrategy<? super T> hashingStrategy, Object[] elements)
+    {
+        this.hashingStrategy = hashingStrategy;
+        int[] hashCodes = new int[elements.length];
+        for (int i = 0; i < elements.length; i++)
+        {
+            hashCodes[i] = this.hash(elements[i]);
+        }
+        this.index = MinimalPerfectHash.build(hashCodes);
+        this.table = new Object[this.index.size()];
+        boolean[] filled = new boolean[this.index.size()];
+        int count = 0;
+        for (int i = 0; i < elements.length; i++)
+        {
+            int slot = this.index.slotOf(hashCodes[i]);
+            if (!filled[slot])
+            {
+                filled[slot] = true;
+                this.table[slot] = elements[i];
+                count++;
+            }
+            else if (this.addToSlot(slot, elements[i]))
+            {
+                count++;
+            }
+        }
+        this.size = count;
+    }
+
+    public static <T> ImmutableSet<T> newSet(Iterable<? extends T> iterable)
+    {
+        Object[] elements = FastList.newList(iterable).toArray();
+        if (elements.length == 0)
+        {
+            return Sets.immutable.empty();
+        }
+        return new ImmutablePerfectHashSet<>(null, elements);
+    }
+
+    public static <T> ImmutableSet<T> newSet(HashingStrategy<? super T> hashingStrategy, Iterable<? extends T> iterable)
+    {
+        Object[] elements = FastList.newList(iterable).toArray();
+        if (elements.length == 0)
+        {
+            return HashingStrategySets.immutable.with(hashingStrategy);
+        }
+        return new ImmutablePerfectHashSet<>(hashingStrategy, elements);
+    }
+
+    public static <T> ImmutableSet<T> newSetWith(T... elements)
+    {
+        return ImmutablePerfectHashSet.newSet(FastList.newListWith(elements));
+    }
+
+    // Returns false if the slot already holds the element
+    private boolean addToSlot(int slot, Object element)
+    {
+        Object stored = this.table[slot];
+        if (stored instanceof CollidingElements)
+        {
+            CollidingElements colliding = (CollidingElements) stored;
+            for (Object each : colliding.elements)
+            {
+                if (this.elementEquals(each, element))
+                {
+                    return false;
+                }
+            }
+            colliding.add(element);
+            return true;
+        }
+        if (this.elementEquals(stored, element))
+        {
+            return false;
+        }
+        this.table[slot] = new CollidingElements(stored, element);
+        return true;
+    }
+
+    HashingStrategy<? super T> hashingStrategy()
+    {
+        return this.hashingStrategy;
+    }
+
+    private int hash(Object element)
+    {
+        if (element == null)
+        {
+            return 0;
+        }
+        return this.hashingStrategy == null ? element.hashCode() : this.hashingStrategy.computeHashCode((T) element);
+    }
+
+    private boolean elementEquals(Object stored, Object element)
+    {
+        if (stored == element)
+        {
+            return true;
+        }
+        if (stored == null || element == null)
+        {
+            return false;
+        }
+        return this.hashingStrategy == null ? stored.equals(element) : this.hashingStrategy.equals((T) stored, (T) element);
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public boolean contains(Object object)
+    {
+        Object stored = this.table[this.index.slotOf(this.hash(object))];
+        if (stored instanceof CollidingElements)
+        {
+            for (Object each : ((CollidingElements) stored).elements)
+            {
+                if (this.elementEquals(each, object))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return this.elementEquals(stored, object);
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (other == this)
+        {
+            return true;
+        }
+        if (!(other instanceof Set))
+        {
+            return false;
+        }
+        Set<?> set = (Set<?>) other;
+        return set.size() == this.size && this.containsAll(set);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int[] hashCode = new int[1];
+        this.each(each -> hashCode[0] += this.hash(each));
+        return hashCode[0];
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        for (Object stored : this.table)
+        {
+            if (stored instanceof CollidingElements)
+            {
+                for (Object each : ((CollidingElements) stored).elements)
+                {
+                    procedure.value((T) each);
+                }
+            }
+            else
+            {
+                procedure.value((T) stored);
+            }
+        }
+    }
+
+    @Override
+    public T getFirst()
+    {
+        Object stored = this.table[0];
+        return stored instanceof CollidingElements ? (T) ((CollidingElements) stored).elements[0] : (T) stored;
+    }
+
+    @Override
+    public T getLast()
+    {
+        Object stored = this.table[this.table.length - 1];
+        if (stored instanceof CollidingElements)
+        {
+            Object[] elements = ((CollidingElements) stored).elements;
+            return (T) elements[elements.length - 1];
+        }
+        return (T) stored;
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new SlotIterator();
+    }
+
+    private Object writeReplace()
+    {
+        return new ImmutablePerfectHashSetSerializationProxy<>(this);
+    }
+
+    /**
+     * Elements with equal hash codes, which the perfect hash cannot separate.
+     */
+    private static final class CollidingElements
+    {
+        private Object[] elements;
+
+        private CollidingElements(Object element1, Object element2)
+        {
+            this.elements = new Object[]{element1, element2};
+        }
+
+        private void add(Object element)
+        {
+            int length = this.elements.length;
+            Object[] newElements = new Object[length + 1];
+            System.arraycopy(this.elements, 0, newElements, 0, length);
+            newElements[length] = element;
+            this.elements = newElements;
+        }
+    }
+
+    private final class SlotIterator
+            implements Iterator<T>
+    {
+        private int slot;
+        private int offset;
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.slot < ImmutablePerfectHashSet.this.table.length;
+        }
+
+        @Override
+        public T next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            Object stored = ImmutablePerfectHashSet.this.table[this.slot];
+            if (stored instanceof CollidingElements)
+            {
+                Object[] elements = ((CollidingElements) stored).elements;
+                Object result = elements[this.offset++];
+                if (this.offset == elements.length)
+                {
+                    this.offset = 0;
+                    this.slot++;
+                }
+                return (T) result;
+            }
+            this.slot++;
+            return (T) stored;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from an ImmutableSet");
+        }
+    }
+}
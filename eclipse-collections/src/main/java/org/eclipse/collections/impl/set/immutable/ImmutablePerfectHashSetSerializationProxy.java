@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.immutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.eclipse.collections.api.block.HashingStrategy;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.impl.block.procedure.checked.CheckedProcedure;
+import org.eclipse.collections.impl.list.mutable.FastList;
+
+class ImmutablePerfectHashSetSerializationProxy<T> implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private ImmutableSet<T> set;
+    private HashingStrategy<? super T> hashingStrategy;
+
+    @SuppressWarnings("UnusedDeclaration")
+    public ImmutablePerfectHashSetSerializationProxy()
+    {
+        // Empty constructor for Externalizable class
+    }
+
+    ImmutablePerfectHashSetSerializationProxy(ImmutablePerfectHashSet<T> set)
+    {
+        this.set = set;
+        this.hashingStrategy = set.hashingStrategy();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeObject(this.hashingStrategy);
+        out.writeInt(this.set.size());
+        try
+        {
+            this.set.forEach(new CheckedProcedure<T>()
+            {
+                public void safeValue(T value) throws IOException
+                {
+                    out.writeObject(value);
+                }
+            });
+        }
+        catch (RuntimeException e)
+        {
+            if (e.getCause() instanceof IOException)
+            {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        HashingStrategy<? super T> strategy = (HashingStrategy<? super T>) in.readObject();
+        int size = in.readInt();
+        FastList<T> elements = FastList.newList(size);
+
+        for (int i = 0; i < size; i++)
+        {
+            elements.add((T) in.readObject());
+        }
+
+        this.set = strategy == null
+                ? ImmutablePerfectHashSet.newSet(elements)
+                : ImmutablePerfectHashSet.newSet(strategy, elements);
+    }
+
+    protected Object readResolve()
+    {
+        return this.set;
+    }
+}
@@ -174,4 +174,22 @@ public enum ImmutableSetFactoryImpl implements ImmutableSetFactory
         }
         return this.with((T[]) Iterate.toArray(items));
     }
+
+    @Override
+    public <T> ImmutableSet<T> emptyPersistent()
+    {
+        return ImmutableChampSet.empty();
+    }
+
+    @Override
+    public <T> ImmutableSet<T> withAllPersistent(Iterable<? extends T> items)
+    {
+        return ImmutableChampSet.newSet(items);
+    }
+
+    @Override
+    public <T> ImmutableSet<T> withAllPerfectHash(Iterable<? extends T> items)
+    {
+        return ImmutablePerfectHashSet.newSet(items);
+    }
 }
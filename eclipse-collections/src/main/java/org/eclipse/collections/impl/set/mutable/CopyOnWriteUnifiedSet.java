@@ -0,0 +1,570 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.Function2;
+import org.eclipse.collections.api.block.function.primitive.BooleanFunction;
+import org.eclipse.collections.api.block.function.primitive.ByteFunction;
+import org.eclipse.collections.api.block.function.primitive.CharFunction;
+import org.eclipse.collections.api.block.function.primitive.DoubleFunction;
+import org.eclipse.collections.api.block.function.primitive.FloatFunction;
+import org.eclipse.collections.api.block.function.primitive.IntFunction;
+import org.eclipse.collections.api.block.function.primitive.LongFunction;
+import org.eclipse.collections.api.block.function.primitive.ShortFunction;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.predicate.Predicate2;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.partition.set.PartitionMutableSet;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.set.ParallelUnsortedSetIterable;
+import org.eclipse.collections.api.set.SetIterable;
+import org.eclipse.collections.api.set.UnsortedSetIterable;
+import org.eclipse.collections.api.set.primitive.MutableBooleanSet;
+import org.eclipse.collections.api.set.primitive.MutableByteSet;
+import org.eclipse.collections.api.set.primitive.MutableCharSet;
+import org.eclipse.collections.api.set.primitive.MutableDoubleSet;
+import org.eclipse.collections.api.set.primitive.MutableFloatSet;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.api.set.primitive.MutableShortSet;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.block.procedure.PartitionPredicate2Procedure;
+import org.eclipse.collections.impl.block.procedure.PartitionProcedure;
+import org.eclipse.collections.impl.block.procedure.SelectInstancesOfProcedure;
+import org.eclipse.collections.impl.block.procedure.primitive.CollectBooleanProcedure;
+import org.eclipse.collections.impl.block.procedure.primitive.CollectByteProcedure;
+import org.eclipse.collections.impl.block.procedure.primitive.CollectCharProcedure;
+import org.eclipse.collections.impl.block.procedure.primitive.CollectDoubleProcedure;
+import org.eclipse.collections.impl.block.procedure.primitive.CollectFloatProcedure;
+import org.eclipse.collections.impl.block.procedure.primitive.CollectIntProcedure;
+import org.eclipse.collections.impl.block.procedure.primitive.CollectLongProcedure;
+import org.eclipse.collections.impl.block.procedure.primitive.CollectShortProcedure;
+import org.eclipse.collections.impl.collection.mutable.AbstractCollectionAdapter;
+import org.eclipse.collections.impl.factory.Sets;
+import org.eclipse.collections.impl.lazy.parallel.set.NonParallelUnsortedSetIterable;
+import org.eclipse.collections.impl.multimap.set.UnifiedSetMultimap;
+import org.eclipse.collections.impl.partition.set.PartitionUnifiedSet;
+import org.eclipse.collections.impl.set.mutable.primitive.BooleanHashSet;
+import org.eclipse.collections.impl.set.mutable.primitive.ByteHashSet;
+import org.eclipse.collections.impl.set.mutable.primitive.CharHashSet;
+import org.eclipse.collections.impl.set.mutable.primitive.DoubleHashSet;
+import org.eclipse.collections.impl.set.mutable.primitive.FloatHashSet;
+import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+import org.eclipse.collections.impl.set.mutable.primitive.ShortHashSet;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.eclipse.collections.impl.utility.internal.SetIterables;
+
+/**
+ * A thread-safe MutableSet for sets which are read far more often than they are written, such as registries of
+ * listeners.  The elements are held in an ImmutableSet snapshot referenced by a volatile field.  Readers use the
+ * current snapshot without any locking, so iteration never blocks and never throws
+ * {@link java.util.ConcurrentModificationException}.  Writers copy the snapshot into a UnifiedSet, apply their change
+ * to the copy and publish it as the new snapshot, so each write costs time proportional to the size of the set.
+ * <p>
+ * Each read operation sees a single snapshot.  Iterators are views of the snapshot taken when they were created, and
+ * do not support remove.  {@link #toImmutable()} returns the current snapshot without copying it.
+ *
+ * @since 9.2
+ */
+public final class CopyOnWriteUnifiedSet<T>
+        extends AbstractCollectionAdapter<T>
+        implements MutableSet<T>, Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private final Object lock = new Object();
+    private volatile ImmutableSet<T> snapshot;
+
+    public CopyOnWriteUnifiedSet()
+    {
+        this(Sets.immutable.empty());
+    }
+
+    private CopyOnWriteUnifiedSet(ImmutableSet<T> snapshot)
+    {
+        this.snapshot = snapshot;
+    }
+
+    public static <T> CopyOnWriteUnifiedSet<T> newSet()
+    {
+        return new CopyOnWriteUnifiedSet<>();
+    }
+
+    public static <T> CopyOnWriteUnifiedSet<T> newSet(Iterable<? extends T> iterable)
+    {
+        return new CopyOnWriteUnifiedSet<>(Sets.immutable.withAll(iterable));
+    }
+
+    public static <T> CopyOnWriteUnifiedSet<T> newSetWith(T... elements)
+    {
+        return new CopyOnWriteUnifiedSet<>(Sets.immutable.with(elements));
+    }
+
+    @Override
+    protected Set<T> getDelegate()
+    {
+        return this.snapshot.castToSet();
+    }
+
+    /**
+     * Applies the mutation to a copy of the current snapshot and publishes the copy.  Writers are serialized, so no
+     * write is lost, and the new snapshot is only published if the mutation changed the set.
+     */
+    private boolean write(Predicate<MutableSet<T>> mutation)
+    {
+        synchronized (this.lock)
+        {
+            MutableSet<T> copy = UnifiedSet.newSet(this.snapshot);
+            if (mutation.accept(copy))
+            {
+                this.snapshot = copy.toImmutable();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public ImmutableSet<T> toImmutable()
+    {
+        return this.snapshot;
+    }
+
+    @Override
+    public MutableSet<T> asUnmodifiable()
+    {
+        return UnmodifiableMutableSet.of(this);
+    }
+
+    @Override
+    public MutableSet<T> asSynchronized()
+    {
+        return SynchronizedMutableSet.of(this);
+    }
+
+    @Override
+    public CopyOnWriteUnifiedSet<T> clone()
+    {
+        return new CopyOnWriteUnifiedSet<>(this.snapshot);
+    }
+
+    @Override
+    public CopyOnWriteUnifiedSet<T> newEmpty()
+    {
+        return new CopyOnWriteUnifiedSet<>();
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        return this.getDelegate().equals(obj);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.getDelegate().hashCode();
+    }
+
+    // Writes
+
+    @Override
+    public boolean add(T element)
+    {
+        if (this.snapshot.contains(element))
+        {
+            return false;
+        }
+        return this.write(set -> set.add(element));
+    }
+
+    @Override
+    public boolean remove(Object element)
+    {
+        if (!this.snapshot.contains(element))
+        {
+            return false;
+        }
+        return this.write(set -> set.remove(element));
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> collection)
+    {
+        return this.write(set -> set.addAll(collection));
+    }
+
+    @Override
+    public boolean addAllIterable(Iterable<? extends T> iterable)
+    {
+        return this.write(set -> set.addAllIterable(iterable));
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> collection)
+    {
+        return this.write(set -> set.removeAll(collection));
+    }
+
+    @Override
+    public boolean removeAllIterable(Iterable<?> iterable)
+    {
+        return this.write(set -> set.removeAllIterable(iterable));
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> collection)
+    {
+        return this.write(set -> set.retainAll(collection));
+    }
+
+    @Override
+    public boolean retainAllIterable(Iterable<?> iterable)
+    {
+        return this.write(set -> set.retainAllIterable(iterable));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> predicate)
+    {
+        return this.write(set -> set.removeIf(predicate));
+    }
+
+    @Override
+    public boolean removeIf(java.util.function.Predicate<? super T> predicate)
+    {
+        return this.write(set -> set.removeIf(predicate));
+    }
+
+    @Override
+    public <P> boolean removeIfWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        return this.write(set -> set.removeIfWith(predicate, parameter));
+    }
+
+    @Override
+    public void clear()
+    {
+        synchronized (this.lock)
+        {
+            this.snapshot = Sets.immutable.empty();
+        }
+    }
+
+    @Override
+    public CopyOnWriteUnifiedSet<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    @Override
+    public CopyOnWriteUnifiedSet<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    @Override
+    public CopyOnWriteUnifiedSet<T> withAll(Iterable<? extends T> elements)
+    {
+        this.addAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public CopyOnWriteUnifiedSet<T> withoutAll(Iterable<? extends T> elements)
+    {
+        this.removeAllIterable(elements);
+        return this;
+    }
+
+    // Reads, each of which uses a single snapshot
+
+    @Override
+    public MutableSet<T> tap(Procedure<? super T> procedure)
+    {
+        this.snapshot.forEach(procedure);
+        return this;
+    }
+
+    @Override
+    public MutableSet<T> select(Predicate<? super T> predicate)
+    {
+        return Iterate.select(this.getDelegate(), predicate, UnifiedSet.newSet());
+    }
+
+    @Override
+    public MutableSet<T> reject(Predicate<? super T> predicate)
+    {
+        return Iterate.reject(this.getDelegate(), predicate, UnifiedSet.newSet());
+    }
+
+    @Override
+    public PartitionMutableSet<T> partition(Predicate<? super T> predicate)
+    {
+        PartitionMutableSet<T> partitionUnifiedSet = new PartitionUnifiedSet<>();
+        this.forEach(new PartitionProcedure<>(predicate, partitionUnifiedSet));
+        return partitionUnifiedSet;
+    }
+
+    @Override
+    public <P> PartitionMutableSet<T> partitionWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        PartitionMutableSet<T> partitionUnifiedSet = new PartitionUnifiedSet<>();
+        this.forEach(new PartitionPredicate2Procedure<>(predicate, parameter, partitionUnifiedSet));
+        return partitionUnifiedSet;
+    }
+
+    @Override
+    public <S> MutableSet<S> selectInstancesOf(Class<S> clazz)
+    {
+        MutableSet<S> result = UnifiedSet.newSet();
+        this.forEach(new SelectInstancesOfProcedure<>(clazz, result));
+        return result;
+    }
+
+    @Override
+    public <V> MutableSet<V> collect(Function<? super T, ? extends V> function)
+    {
+        return Iterate.collect(this.getDelegate(), function, UnifiedSet.newSet());
+    }
+
+    @Override
+    public MutableBooleanSet collectBoolean(BooleanFunction<? super T> booleanFunction)
+    {
+        BooleanHashSet result = new BooleanHashSet();
+        this.forEach(new CollectBooleanProcedure<>(booleanFunction, result));
+        return result;
+    }
+
+    @Override
+    public MutableByteSet collectByte(ByteFunction<? super T> byteFunction)
+    {
+        ByteHashSet result = new ByteHashSet();
+        this.forEach(new CollectByteProcedure<>(byteFunction, result));
+        return result;
+    }
+
+    @Override
+    public MutableCharSet collectChar(CharFunction<? super T> charFunction)
+    {
+        CharHashSet result = new CharHashSet();
+        this.forEach(new CollectCharProcedure<>(charFunction, result));
+        return result;
+    }
+
+    @Override
+    public MutableDoubleSet collectDouble(DoubleFunction<? super T> doubleFunction)
+    {
+        DoubleHashSet result = new DoubleHashSet();
+        this.forEach(new CollectDoubleProcedure<>(doubleFunction, result));
+        return result;
+    }
+
+    @Override
+    public MutableFloatSet collectFloat(FloatFunction<? super T> floatFunction)
+    {
+        FloatHashSet result = new FloatHashSet();
+        this.forEach(new CollectFloatProcedure<>(floatFunction, result));
+        return result;
+    }
+
+    @Override
+    public MutableIntSet collectInt(IntFunction<? super T> intFunction)
+    {
+        IntHashSet result = new IntHashSet();
+        this.forEach(new CollectIntProcedure<>(intFunction, result));
+        return result;
+    }
+
+    @Override
+    public MutableLongSet collectLong(LongFunction<? super T> longFunction)
+    {
+        LongHashSet result = new LongHashSet();
+        this.forEach(new CollectLongProcedure<>(longFunction, result));
+        return result;
+    }
+
+    @Override
+    public MutableShortSet collectShort(ShortFunction<? super T> shortFunction)
+    {
+        ShortHashSet result = new ShortHashSet();
+        this.forEach(new CollectShortProcedure<>(shortFunction, result));
+        return result;
+    }
+
+    @Override
+    public <V> MutableSet<V> flatCollect(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return Iterate.flatCollect(this.getDelegate(), function, UnifiedSet.newSet());
+    }
+
+    @Override
+    public <V> MutableSet<V> collectIf(
+            Predicate<? super T> predicate,
+            Function<? super T, ? extends V> function)
+    {
+        return Iterate.collectIf(this.getDelegate(), predicate, function, UnifiedSet.newSet());
+    }
+
+    @Override
+    public <V> UnifiedSetMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return Iterate.groupBy(this.getDelegate(), function, UnifiedSetMultimap.newMultimap());
+    }
+
+    @Override
+    public <V> UnifiedSetMultimap<V, T> groupByEach(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return Iterate.groupByEach(this.getDelegate(), function, UnifiedSetMultimap.newMultimap());
+    }
+
+    @Override
+    public <P> MutableSet<T> selectWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        return Iterate.selectWith(this.getDelegate(), predicate, parameter, UnifiedSet.newSet());
+    }
+
+    @Override
+    public <P> MutableSet<T> rejectWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        return Iterate.rejectWith(this.getDelegate(), predicate, parameter, UnifiedSet.newSet());
+    }
+
+    @Override
+    public <P, V> MutableSet<V> collectWith(Function2<? super T, ? super P, ? extends V> function, P parameter)
+    {
+        return Iterate.collectWith(this.getDelegate(), function, parameter, UnifiedSet.newSet());
+    }
+
+    /**
+     * @deprecated in 6.0. Use {@link org.eclipse.collections.api.ordered.OrderedIterable#zip(Iterable)} instead.
+     */
+    @Deprecated
+    @Override
+    public <S> MutableSet<Pair<T, S>> zip(Iterable<S> that)
+    {
+        return Iterate.zip(this.getDelegate(), that, UnifiedSet.newSet());
+    }
+
+    /**
+     * @deprecated in 6.0. Use {@link org.eclipse.collections.api.ordered.OrderedIterable#zipWithIndex()} instead.
+     */
+    @Deprecated
+    @Override
+    public MutableSet<Pair<T, Integer>> zipWithIndex()
+    {
+        return Iterate.zipWithIndex(this.getDelegate(), UnifiedSet.newSet());
+    }
+
+    @Override
+    public MutableSet<T> union(SetIterable<? extends T> set)
+    {
+        return SetIterables.union(this.snapshot, set);
+    }
+
+    @Override
+    public <R extends Set<T>> R unionInto(SetIterable<? extends T> set, R targetSet)
+    {
+        return SetIterables.unionInto(this.snapshot, set, targetSet);
+    }
+
+    @Override
+    public MutableSet<T> intersect(SetIterable<? extends T> set)
+    {
+        return SetIterables.intersect(this.snapshot, set);
+    }
+
+    @Override
+    public <R extends Set<T>> R intersectInto(SetIterable<? extends T> set, R targetSet)
+    {
+        return SetIterables.intersectInto(this.snapshot, set, targetSet);
+    }
+
+    @Override
+    public MutableSet<T> difference(SetIterable<? extends T> subtrahendSet)
+    {
+        return SetIterables.difference(this.snapshot, subtrahendSet);
+    }
+
+    @Override
+    public <R extends Set<T>> R differenceInto(SetIterable<? extends T> subtrahendSet, R targetSet)
+    {
+        return SetIterables.differenceInto(this.snapshot, subtrahendSet, targetSet);
+    }
+
+    @Override
+    public MutableSet<T> symmetricDifference(SetIterable<? extends T> setB)
+    {
+        return SetIterables.symmetricDifference(this.snapshot, setB);
+    }
+
+    @Override
+    public <R extends Set<T>> R symmetricDifferenceInto(SetIterable<? extends T> set, R targetSet)
+    {
+        return SetIterables.symmetricDifferenceInto(this.snapshot, set, targetSet);
+    }
+
+    @Override
+    public boolean isSubsetOf(SetIterable<? extends T> candidateSuperset)
+    {
+        return SetIterables.isSubsetOf(this.snapshot, candidateSuperset);
+    }
+
+    @Override
+    public boolean isProperSubsetOf(SetIterable<? extends T> candidateSuperset)
+    {
+        return SetIterables.isProperSubsetOf(this.snapshot, candidateSuperset);
+    }
+
+    @Override
+    public MutableSet<UnsortedSetIterable<T>> powerSet()
+    {
+        return (MutableSet<UnsortedSetIterable<T>>) (MutableSet<?>) SetIterables.powerSet(this.getDelegate());
+    }
+
+    @Override
+    public <B> LazyIterable<Pair<T, B>> cartesianProduct(SetIterable<B> set)
+    {
+        return SetIterables.cartesianProduct(this.snapshot, set);
+    }
+
+    @Override
+    public ParallelUnsortedSetIterable<T> asParallel(ExecutorService executorService, int batchSize)
+    {
+        return new NonParallelUnsortedSetIterable<>(this.clone());
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeObject(this.snapshot);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        this.snapshot = (ImmutableSet<T>) in.readObject();
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.set.ParallelUnsortedSetIterable;
+import org.eclipse.collections.impl.lazy.parallel.set.NonParallelUnsortedSetIterable;
+
+/**
+ * IncrementalUnifiedSet is a hash set which grows without stalling the thread that crosses its load threshold.  It
+ * keeps its elements in a {@link UnifiedSet}.  Instead of rehashing that table in a single call, it allocates a table
+ * twice as large and keeps the old one side by side with it.  Every subsequent {@link #add(Object)} and
+ * {@link #remove(Object)} then moves a fixed number of buckets from the old table to the new one.
+ * <p>
+ * Lookups check the new table first and the old table second, and never move elements themselves.
+ *
+ * @see org.eclipse.collections.impl.map.mutable.IncrementalUnifiedMap
+ * @since 9.2
+ */
+public class IncrementalUnifiedSet<T>
+        extends AbstractMutableSet<T>
+        implements Externalizable
+{
+    // Buckets of the old table moved by each write, see IncrementalUnifiedMap
+    private static final int BUCKETS_PER_WRITE = 8;
+
+    private static final long serialVersionUID = 1L;
+
+    private transient UnifiedSet<T> table;
+    // The table being drained into this.table, or null when no resize is in progress
+    private transient UnifiedSet<T> draining;
+    private transient int nextBucket;
+
+    public IncrementalUnifiedSet()
+    {
+        this.table = UnifiedSet.newSet();
+    }
+
+    public IncrementalUnifiedSet(int initialCapacity)
+    {
+        this.table = UnifiedSet.newSet(initialCapacity);
+    }
+
+    public static <T> IncrementalUnifiedSet<T> newSet()
+    {
+        return new IncrementalUnifiedSet<>();
+    }
+
+    public static <T> IncrementalUnifiedSet<T> newSet(int size)
+    {
+        return new IncrementalUnifiedSet<>(size);
+    }
+
+    public static <T> IncrementalUnifiedSet<T> newSet(Iterable<? extends T> source)
+    {
+        IncrementalUnifiedSet<T> result = new IncrementalUnifiedSet<>();
+        result.addAllIterable(source);
+        return result;
+    }
+
+    public static <T> IncrementalUnifiedSet<T> newSetWith(T... elements)
+    {
+        IncrementalUnifiedSet<T> result = new IncrementalUnifiedSet<>(elements.length);
+        for (T element : elements)
+        {
+            result.add(element);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true while elements are still being moved from the previous table to the current one.
+     */
+    public boolean isRehashing()
+    {
+        return this.draining != null;
+    }
+
+    /**
+     * Moves all the remaining elements of the previous table, if any, to the current one.
+     */
+    public void completeRehash()
+    {
+        if (this.draining != null)
+        {
+            this.migrate(this.draining.bucketCount());
+        }
+    }
+
+    private void migrate(int buckets)
+    {
+        int end = Math.min(this.nextBucket + buckets, this.draining.bucketCount());
+        this.draining.transferBuckets(this.nextBucket, end, this.table);
+        this.nextBucket = end;
+        if (end == this.draining.bucketCount())
+        {
+            this.draining = null;
+            this.nextBucket = 0;
+        }
+    }
+
+    private void migrateSome()
+    {
+        if (this.draining != null)
+        {
+            this.migrate(BUCKETS_PER_WRITE);
+        }
+    }
+
+    private void ensureCapacityFor(T element)
+    {
+        if (this.table.isFull() && !this.table.contains(element))
+        {
+            this.completeRehash();
+            this.draining = this.table;
+            this.table = UnifiedSet.newSet(this.draining.size() << 1);
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        return this.draining == null ? this.table.size() : this.table.size() + this.draining.size();
+    }
+
+    @Override
+    public boolean contains(Object object)
+    {
+        return this.table.contains(object) || this.draining != null && this.draining.contains(object);
+    }
+
+    @Override
+    public boolean add(T element)
+    {
+        this.migrateSome();
+        if (this.draining != null && this.draining.contains(element))
+        {
+            return false;
+        }
+        this.ensureCapacityFor(element);
+        return this.table.add(element);
+    }
+
+    @Override
+    public boolean remove(Object object)
+    {
+        this.migrateSome();
+        return this.table.remove(object) || this.draining != null && this.draining.remove(object);
+    }
+
+    @Override
+    public IncrementalUnifiedSet<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    @Override
+    public IncrementalUnifiedSet<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    @Override
+    public IncrementalUnifiedSet<T> withAll(Iterable<? extends T> elements)
+    {
+        this.addAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public IncrementalUnifiedSet<T> withoutAll(Iterable<? extends T> elements)
+    {
+        this.removeAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public void clear()
+    {
+        this.table.clear();
+        this.draining = null;
+        this.nextBucket = 0;
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        this.table.each(procedure);
+        if (this.draining != null)
+        {
+            this.draining.each(procedure);
+        }
+    }
+
+    @Override
+    public T getFirst()
+    {
+        if (this.table.notEmpty() || this.draining == null)
+        {
+            return this.table.getFirst();
+        }
+        return this.draining.getFirst();
+    }
+
+    @Override
+    public T getLast()
+    {
+        if (this.draining != null && this.draining.notEmpty())
+        {
+            return this.draining.getLast();
+        }
+        return this.table.getLast();
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new TwoTableIterator();
+    }
+
+    @Override
+    public IncrementalUnifiedSet<T> clone()
+    {
+        return IncrementalUnifiedSet.newSet(this);
+    }
+
+    @Override
+    public MutableSet<T> newEmpty()
+    {
+        return IncrementalUnifiedSet.newSet();
+    }
+
+    @Override
+    public ParallelUnsortedSetIterable<T> asParallel(ExecutorService executorService, int batchSize)
+    {
+        return new NonParallelUnsortedSetIterable<>(this);
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof Set))
+        {
+            return false;
+        }
+        Set<?> other = (Set<?>) object;
+        return this.size() == other.size() && this.containsAll(other);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int[] hashCode = new int[1];
+        this.each(each -> hashCode[0] += each == null ? 0 : each.hashCode());
+        return hashCode[0];
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeInt(this.size());
+        for (T each : this)
+        {
+            out.writeObject(each);
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int size = in.readInt();
+        this.table = UnifiedSet.newSet(size);
+        for (int i = 0; i < size; i++)
+        {
+            this.table.add((T) in.readObject());
+        }
+    }
+
+    /**
+     * Iterates over the current table and then over the table being drained, as they were when the iterator was
+     * created.
+     */
+    private final class TwoTableIterator
+            implements Iterator<T>
+    {
+        private final Iterator<T> second;
+        private Iterator<T> active;
+        private Iterator<T> lastReturnedFrom;
+
+        private TwoTableIterator()
+        {
+            this.active = IncrementalUnifiedSet.this.table.iterator();
+            UnifiedSet<T> draining = IncrementalUnifiedSet.this.draining;
+            this.second = draining == null ? null : draining.iterator();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if (!this.active.hasNext() && this.second != null && this.active != this.second)
+            {
+                this.active = this.second;
+            }
+            return this.active.hasNext();
+        }
+
+        @Override
+        public T next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            this.lastReturnedFrom = this.active;
+            return this.active.next();
+        }
+
+        @Override
+        public void remove()
+        {
+            if (this.lastReturnedFrom == null)
+            {
+                throw new IllegalStateException();
+            }
+            this.lastReturnedFrom.remove();
+            this.lastReturnedFrom = null;
+        }
+    }
+}
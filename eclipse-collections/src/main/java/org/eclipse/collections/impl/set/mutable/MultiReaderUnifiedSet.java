@@ -64,6 +64,7 @@ import org.eclipse.collections.api.set.primitive.MutableLongSet;
 import org.eclipse.collections.api.set.primitive.MutableShortSet;
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.collection.mutable.AbstractMultiReaderMutableCollection;
+import org.eclipse.collections.impl.collection.mutable.StampedReadWriteLock;
 import org.eclipse.collections.impl.factory.Sets;
 import org.eclipse.collections.impl.lazy.parallel.set.MultiReaderParallelUnsortedSetIterable;
 import org.eclipse.collections.impl.utility.LazyIterate;
@@ -130,6 +131,34 @@ public final class MultiReaderUnifiedSet<T>
         return new MultiReaderUnifiedSet<>(UnifiedSet.newSetWith(elements));
     }
 
+    /**
+     * Creates an empty MultiReaderUnifiedSet guarded by a {@link StampedReadWriteLock}, which serves short reads such as size and contains
+     * optimistically without acquiring the lock.  The lock is reentrant, and a deserialized copy is guarded by a
+     * StampedReadWriteLock as well.
+     *
+     * @since 9.2
+     */
+    public static <T> MultiReaderUnifiedSet<T> newStampedSet()
+    {
+        return new MultiReaderUnifiedSet<>(UnifiedSet.newSet(), new StampedReadWriteLock());
+    }
+
+    /**
+     * @since 9.2
+     */
+    public static <T> MultiReaderUnifiedSet<T> newStampedSet(Iterable<T> iterable)
+    {
+        return new MultiReaderUnifiedSet<>(UnifiedSet.newSet(iterable), new StampedReadWriteLock());
+    }
+
+    /**
+     * @since 9.2
+     */
+    public static <T> MultiReaderUnifiedSet<T> newStampedSetWith(T... elements)
+    {
+        return new MultiReaderUnifiedSet<>(UnifiedSet.newSetWith(elements), new StampedReadWriteLock());
+    }
+
     @Override
     protected MutableSet<T> getDelegate()
     {
@@ -234,7 +263,7 @@ public final class MultiReaderUnifiedSet<T>
         this.acquireReadLock();
         try
         {
-            return new MultiReaderUnifiedSet<>(this.delegate.clone());
+            return new MultiReaderUnifiedSet<>(this.delegate.clone(), this.newLock());
         }
         finally
         {
@@ -417,7 +446,7 @@ public final class MultiReaderUnifiedSet<T>
     @Override
     public MutableSet<T> newEmpty()
     {
-        return MultiReaderUnifiedSet.newSet();
+        return new MultiReaderUnifiedSet<>(UnifiedSet.newSet(), this.newLock());
     }
 
     @Override
@@ -596,14 +625,28 @@ public final class MultiReaderUnifiedSet<T>
     @Override
     public void writeExternal(ObjectOutput out) throws IOException
     {
+        if (this.lock instanceof StampedReadWriteLock)
+        {
+            // Marks the lock kind; the form written for a ReentrantReadWriteLock is unchanged
+            out.writeObject(StampedReadWriteLock.class);
+        }
         out.writeObject(this.delegate);
     }
 
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
     {
-        this.delegate = (MutableSet<T>) in.readObject();
-        this.lock = new ReentrantReadWriteLock();
+        Object object = in.readObject();
+        if (object == StampedReadWriteLock.class)
+        {
+            this.lock = new StampedReadWriteLock();
+            this.delegate = (MutableSet<T>) in.readObject();
+        }
+        else
+        {
+            this.lock = new ReentrantReadWriteLock();
+            this.delegate = (MutableSet<T>) object;
+        }
     }
 
     // Exposed for testing
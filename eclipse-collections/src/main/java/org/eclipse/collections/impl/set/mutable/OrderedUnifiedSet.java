@@ -0,0 +1,477 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.set.ParallelUnsortedSetIterable;
+import org.eclipse.collections.impl.lazy.parallel.set.NonParallelUnsortedSetIterable;
+
+/**
+ * OrderedUnifiedSet is a hash set which iterates in insertion order.  Elements are appended to one dense array, and a
+ * separate open-addressed table of ints maps each hash to the position of its element, so the set needs no entry
+ * objects or links and iterates by walking the dense array.
+ * <p>
+ * Removing an element leaves a hole in the dense array, which is skipped by iteration and reclaimed the next time the
+ * array fills up.  Adding an element which is already present keeps its original position.
+ *
+ * @see org.eclipse.collections.impl.map.ordered.mutable.OrderedUnifiedMap
+ * @since 9.2
+ */
+public class OrderedUnifiedSet<T>
+        extends AbstractMutableSet<T>
+        implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final Object NULL_KEY = new Object();
+    private static final Object REMOVED = new Object();
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+    // Elements in insertion order
+    private transient Object[] elements;
+    private transient int[] hashes;
+    // Position of an element plus one, or zero for an empty slot; at most half full
+    private transient int[] index;
+    // Number of positions taken, including removed ones
+    private transient int used;
+    private transient int size;
+
+    public OrderedUnifiedSet()
+    {
+        this.allocate(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public OrderedUnifiedSet(int initialCapacity)
+    {
+        if (initialCapacity < 0)
+        {
+            throw new IllegalArgumentException("initial capacity cannot be less than 0");
+        }
+        this.allocate(initialCapacity);
+    }
+
+    public static <T> OrderedUnifiedSet<T> newSet()
+    {
+        return new OrderedUnifiedSet<>();
+    }
+
+    public static <T> OrderedUnifiedSet<T> newSet(int size)
+    {
+        return new OrderedUnifiedSet<>(size);
+    }
+
+    public static <T> OrderedUnifiedSet<T> newSet(Iterable<? extends T> source)
+    {
+        OrderedUnifiedSet<T> result = new OrderedUnifiedSet<>();
+        result.addAllIterable(source);
+        return result;
+    }
+
+    public static <T> OrderedUnifiedSet<T> newSetWith(T... elements)
+    {
+        OrderedUnifiedSet<T> result = new OrderedUnifiedSet<>(elements.length);
+        for (T element : elements)
+        {
+            result.add(element);
+        }
+        return result;
+    }
+
+    private void allocate(int capacity)
+    {
+        int indexLength = 2;
+        while (indexLength >> 1 < capacity)
+        {
+            indexLength <<= 1;
+        }
+        this.elements = new Object[indexLength >> 1];
+        this.hashes = new int[indexLength >> 1];
+        this.index = new int[indexLength];
+    }
+
+    private static int hash(Object element)
+    {
+        int h = element == null ? 0 : element.hashCode();
+        h *= 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+
+    private static Object toSentinelIfNull(Object element)
+    {
+        return element == null ? NULL_KEY : element;
+    }
+
+    private static boolean nonNullTableObjectEquals(Object cur, Object element)
+    {
+        return cur == element || (cur == NULL_KEY ? element == null : cur.equals(element));
+    }
+
+    private T nonSentinel(Object element)
+    {
+        return element == NULL_KEY ? null : (T) element;
+    }
+
+    // Returns the slot of the index pointing at element, or the complement of the empty slot where it would go
+    private int slotOf(Object element, int hash)
+    {
+        int mask = this.index.length - 1;
+        int slot = hash & mask;
+        while (true)
+        {
+            int position = this.index[slot] - 1;
+            if (position < 0)
+            {
+                return ~slot;
+            }
+            if (this.hashes[position] == hash && OrderedUnifiedSet.nonNullTableObjectEquals(this.elements[position], element))
+            {
+                return slot;
+            }
+            slot = slot + 1 & mask;
+        }
+    }
+
+    // Called when the dense array is full: compacts it if at least half of it is removed elements, else doubles it
+    private void makeRoom()
+    {
+        int capacity = this.elements.length;
+        Object[] oldElements = this.elements;
+        int[] oldHashes = this.hashes;
+        int oldUsed = this.used;
+        if (this.size > capacity >> 1)
+        {
+            this.allocate(capacity << 1);
+        }
+        else
+        {
+            this.elements = new Object[capacity];
+            this.hashes = new int[capacity];
+            Arrays.fill(this.index, 0);
+        }
+        int mask = this.index.length - 1;
+        int position = 0;
+        for (int i = 0; i < oldUsed; i++)
+        {
+            Object element = oldElements[i];
+            if (element != REMOVED)
+            {
+                int hash = oldHashes[i];
+                this.elements[position] = element;
+                this.hashes[position] = hash;
+                int slot = hash & mask;
+                while (this.index[slot] != 0)
+                {
+                    slot = slot + 1 & mask;
+                }
+                this.index[slot] = ++position;
+            }
+        }
+        this.used = position;
+    }
+
+    private void removeSlot(int slot)
+    {
+        this.elements[this.index[slot] - 1] = REMOVED;
+        this.size--;
+        while (this.used > 0 && this.elements[this.used - 1] == REMOVED)
+        {
+            this.elements[--this.used] = null;
+        }
+
+        // Backward shift deletion keeps the probe sequences of linear probing intact without tombstones
+        int mask = this.index.length - 1;
+        int hole = slot;
+        int next = slot + 1 & mask;
+        while (this.index[next] != 0)
+        {
+            int home = this.hashes[this.index[next] - 1] & mask;
+            if ((next - home & mask) >= (next - hole & mask))
+            {
+                this.index[hole] = this.index[next];
+                hole = next;
+            }
+            next = next + 1 & mask;
+        }
+        this.index[hole] = 0;
+    }
+
+    private void removePosition(int position)
+    {
+        int mask = this.index.length - 1;
+        int slot = this.hashes[position] & mask;
+        while (this.index[slot] != position + 1)
+        {
+            slot = slot + 1 & mask;
+        }
+        this.removeSlot(slot);
+    }
+
+    private int nextPosition(int from)
+    {
+        for (int position = from; position < this.used; position++)
+        {
+            if (this.elements[position] != REMOVED)
+            {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public boolean contains(Object object)
+    {
+        return this.slotOf(object, OrderedUnifiedSet.hash(object)) >= 0;
+    }
+
+    @Override
+    public boolean add(T element)
+    {
+        int hash = OrderedUnifiedSet.hash(element);
+        int slot = this.slotOf(element, hash);
+        if (slot >= 0)
+        {
+            return false;
+        }
+        if (this.used == this.elements.length)
+        {
+            this.makeRoom();
+            slot = this.slotOf(element, hash);
+        }
+        int position = this.used++;
+        this.elements[position] = OrderedUnifiedSet.toSentinelIfNull(element);
+        this.hashes[position] = hash;
+        this.index[~slot] = position + 1;
+        this.size++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object object)
+    {
+        int slot = this.slotOf(object, OrderedUnifiedSet.hash(object));
+        if (slot < 0)
+        {
+            return false;
+        }
+        this.removeSlot(slot);
+        return true;
+    }
+
+    @Override
+    public OrderedUnifiedSet<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    @Override
+    public OrderedUnifiedSet<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    @Override
+    public OrderedUnifiedSet<T> withAll(Iterable<? extends T> elements)
+    {
+        this.addAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public OrderedUnifiedSet<T> withoutAll(Iterable<? extends T> elements)
+    {
+        this.removeAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public void clear()
+    {
+        if (this.used == 0)
+        {
+            return;
+        }
+        Arrays.fill(this.elements, 0, this.used, null);
+        Arrays.fill(this.index, 0);
+        this.used = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        for (int position = 0; position < this.used; position++)
+        {
+            Object element = this.elements[position];
+            if (element != REMOVED)
+            {
+                procedure.value(this.nonSentinel(element));
+            }
+        }
+    }
+
+    @Override
+    public void forEachWithIndex(ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        int index = 0;
+        for (int position = 0; position < this.used; position++)
+        {
+            Object element = this.elements[position];
+            if (element != REMOVED)
+            {
+                objectIntProcedure.value(this.nonSentinel(element), index++);
+            }
+        }
+    }
+
+    @Override
+    public T getFirst()
+    {
+        int position = this.nextPosition(0);
+        return position < 0 ? null : this.nonSentinel(this.elements[position]);
+    }
+
+    @Override
+    public T getLast()
+    {
+        // Trailing removed elements are trimmed eagerly, so the last position taken is live
+        return this.used == 0 ? null : this.nonSentinel(this.elements[this.used - 1]);
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new PositionIterator();
+    }
+
+    @Override
+    public OrderedUnifiedSet<T> clone()
+    {
+        return OrderedUnifiedSet.newSet(this);
+    }
+
+    @Override
+    public MutableSet<T> newEmpty()
+    {
+        return OrderedUnifiedSet.newSet();
+    }
+
+    @Override
+    public ParallelUnsortedSetIterable<T> asParallel(ExecutorService executorService, int batchSize)
+    {
+        return new NonParallelUnsortedSetIterable<>(this);
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof Set))
+        {
+            return false;
+        }
+        Set<?> other = (Set<?>) object;
+        return this.size == other.size() && this.containsAll(other);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (int position = this.nextPosition(0); position >= 0; position = this.nextPosition(position + 1))
+        {
+            Object element = this.nonSentinel(this.elements[position]);
+            hashCode += element == null ? 0 : element.hashCode();
+        }
+        return hashCode;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeInt(this.size);
+        for (int position = this.nextPosition(0); position >= 0; position = this.nextPosition(position + 1))
+        {
+            out.writeObject(this.nonSentinel(this.elements[position]));
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int size = in.readInt();
+        this.allocate(size);
+        for (int i = 0; i < size; i++)
+        {
+            this.add((T) in.readObject());
+        }
+    }
+
+    private final class PositionIterator
+            implements Iterator<T>
+    {
+        private int nextPosition = OrderedUnifiedSet.this.nextPosition(0);
+        private int lastPosition = -1;
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.nextPosition >= 0;
+        }
+
+        @Override
+        public T next()
+        {
+            if (this.nextPosition < 0)
+            {
+                throw new NoSuchElementException();
+            }
+            this.lastPosition = this.nextPosition;
+            this.nextPosition = OrderedUnifiedSet.this.nextPosition(this.nextPosition + 1);
+            return OrderedUnifiedSet.this.nonSentinel(OrderedUnifiedSet.this.elements[this.lastPosition]);
+        }
+
+        @Override
+        public void remove()
+        {
+            if (this.lastPosition < 0)
+            {
+                throw new IllegalStateException();
+            }
+            OrderedUnifiedSet.this.removePosition(this.lastPosition);
+            this.lastPosition = -1;
+        }
+    }
+}
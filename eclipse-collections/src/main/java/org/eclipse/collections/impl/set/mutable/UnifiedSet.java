@@ -23,7 +23,9 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.RandomAccess;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 import org.eclipse.collections.api.LazyIterable;
 import org.eclipse.collections.api.RichIterable;
@@ -383,6 +385,79 @@ public class UnifiedSet<T>
         }
     }
 
+    /**
+     * Moves the elements of the buckets from {@code fromBucket} (inclusive) to {@code toBucket} (exclusive) into
+     * {@code target}, leaving those buckets empty.  Used by {@link IncrementalUnifiedSet} to rehash a few buckets at a
+     * time.
+     *
+     * @return the number of elements moved
+     */
+    int transferBuckets(int fromBucket, int toBucket, UnifiedSet<T> target)
+    {
+        int moved = 0;
+        for (int i = fromBucket; i < toBucket; i++)
+        {
+            Object cur = this.table[i];
+            if (cur instanceof ChainedBucket)
+            {
+                ChainedBucket bucket = (ChainedBucket) cur;
+                do
+                {
+                    if (bucket.zero != null)
+                    {
+                        target.add(this.nonSentinel(bucket.zero));
+                        moved++;
+                    }
+                    if (bucket.one == null)
+                    {
+                        break;
+                    }
+                    target.add(this.nonSentinel(bucket.one));
+                    moved++;
+                    if (bucket.two == null)
+                    {
+                        break;
+                    }
+                    target.add(this.nonSentinel(bucket.two));
+                    moved++;
+                    if (bucket.three != null)
+                    {
+                        if (bucket.three instanceof ChainedBucket)
+                        {
+                            bucket = (ChainedBucket) bucket.three;
+                            continue;
+                        }
+                        target.add(this.nonSentinel(bucket.three));
+                        moved++;
+                    }
+                    break;
+                }
+                while (true);
+            }
+            else if (cur != null)
+            {
+                target.add(this.nonSentinel(cur));
+                moved++;
+            }
+            this.table[i] = null;
+        }
+        this.occupied -= moved;
+        return moved;
+    }
+
+    int bucketCount()
+    {
+        return this.table.length;
+    }
+
+    /**
+     * Returns true if adding one more distinct key would make this collection rehash.
+     */
+    boolean isFull()
+    {
+        return this.occupied >= this.maxSize;
+    }
+
     @Override
     public boolean contains(Object key)
     {
@@ -1703,6 +1778,17 @@ public class UnifiedSet<T>
         return new PositionalIterator();
     }
 
+    /**
+     * Returns a Spliterator which splits on ranges of the backing table, walking chained buckets within each range.
+     *
+     * @since 9.2
+     */
+    @Override
+    public Spliterator<T> spliterator()
+    {
+        return new PositionalSpliterator(this.table, 0, this.table.length, this.size(), true);
+    }
+
     protected class PositionalIterator implements Iterator<T>
     {
         protected int count;
@@ -1803,6 +1889,117 @@ public class UnifiedSet<T>
         }
     }
 
+    protected class PositionalSpliterator implements Spliterator<T>
+    {
+        protected final Object[] table;
+        protected int position;
+        protected int fence;
+        protected int chainPosition;
+        protected long estimatedSize;
+        protected boolean exactSize;
+
+        protected PositionalSpliterator(Object[] table, int position, int fence, long estimatedSize, boolean exactSize)
+        {
+            this.table = table;
+            this.position = position;
+            this.fence = fence;
+            this.estimatedSize = estimatedSize;
+            this.exactSize = exactSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action)
+        {
+            while (this.position < this.fence)
+            {
+                Object cur = this.table[this.position];
+                if (cur instanceof ChainedBucket)
+                {
+                    ChainedBucket bucket = (ChainedBucket) cur;
+                    Object key = bucket.get(this.chainPosition);
+                    this.chainPosition++;
+                    if (bucket.get(this.chainPosition) == null)
+                    {
+                        this.chainPosition = 0;
+                        this.position++;
+                    }
+                    this.consumed();
+                    action.accept(UnifiedSet.this.nonSentinel(key));
+                    return true;
+                }
+                this.position++;
+                if (cur != null)
+                {
+                    this.consumed();
+                    action.accept(UnifiedSet.this.nonSentinel(cur));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void consumed()
+        {
+            if (this.estimatedSize > 0L)
+            {
+                this.estimatedSize--;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action)
+        {
+            while (this.chainPosition != 0)
+            {
+                this.tryAdvance(action);
+            }
+            Object[] table = this.table;
+            int end = this.fence;
+            for (int i = this.position; i < end; i++)
+            {
+                Object cur = table[i];
+                if (cur instanceof ChainedBucket)
+                {
+                    UnifiedSet.this.chainedForEach((ChainedBucket) cur, action::accept);
+                }
+                else if (cur != null)
+                {
+                    action.accept(UnifiedSet.this.nonSentinel(cur));
+                }
+            }
+            this.position = end;
+            this.estimatedSize = 0L;
+        }
+
+        @Override
+        public Spliterator<T> trySplit()
+        {
+            int start = this.chainPosition == 0 ? this.position : this.position + 1;
+            int middle = (start + this.fence) >>> 1;
+            if (middle <= start)
+            {
+                return null;
+            }
+            this.estimatedSize >>>= 1;
+            this.exactSize = false;
+            PositionalSpliterator suffix = new PositionalSpliterator(this.table, middle, this.fence, this.estimatedSize, false);
+            this.fence = middle;
+            return suffix;
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            return this.estimatedSize;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return this.exactSize ? Spliterator.SIZED | Spliterator.DISTINCT : Spliterator.DISTINCT;
+        }
+    }
+
     private static final class ChainedBucket
     {
         private Object zero;
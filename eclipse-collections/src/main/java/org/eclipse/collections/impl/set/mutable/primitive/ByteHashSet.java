@@ -17,9 +17,12 @@ import java.io.ObjectOutput;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
 
 import org.eclipse.collections.api.ByteIterable;
 import org.eclipse.collections.api.LazyByteIterable;
+import org.eclipse.collections.api.ParallelByteIterable;
+import org.eclipse.collections.api.annotation.Beta;
 import org.eclipse.collections.api.bag.primitive.MutableByteBag;
 import org.eclipse.collections.api.block.function.primitive.ByteToObjectFunction;
 import org.eclipse.collections.api.block.function.primitive.ObjectByteToObjectFunction;
@@ -36,6 +39,7 @@ import org.eclipse.collections.api.set.primitive.MutableByteSet;
 import org.eclipse.collections.impl.bag.mutable.primitive.ByteHashBag;
 import org.eclipse.collections.impl.block.procedure.checked.primitive.CheckedByteProcedure;
 import org.eclipse.collections.impl.factory.primitive.ByteSets;
+import org.eclipse.collections.impl.lazy.parallel.primitive.ByteArrayParallelIterable;
 import org.eclipse.collections.impl.lazy.primitive.LazyByteIterableAdapter;
 import org.eclipse.collections.impl.list.mutable.primitive.ByteArrayList;
 import org.eclipse.collections.impl.set.immutable.primitive.ImmutableByteSetSerializationProxy;
@@ -546,6 +550,20 @@ public final class ByteHashSet implements MutableByteSet, Externalizable
         return array;
     }
 
+    /**
+     * Returns a parallel iterable of this set. A ByteHashSet holds at most 256 values, so they are copied into an array
+     * on the calling thread and later modifications of the set are not reflected in the parallel iterable.
+     *
+     * @since 9.2
+     */
+    @Beta
+    @Override
+    public ParallelByteIterable asParallel(ExecutorService executorService, int batchSize)
+    {
+        byte[] values = this.toArray();
+        return new ByteArrayParallelIterable(values, values.length, executorService, batchSize);
+    }
+
     @Override
     public boolean containsAll(byte... source)
     {
@@ -0,0 +1,1747 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable.primitive;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+
+import org.eclipse.collections.api.IntIterable;
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.ParallelIntIterable;
+import org.eclipse.collections.api.annotation.Beta;
+import org.eclipse.collections.api.block.function.primitive.IntToObjectFunction;
+import org.eclipse.collections.api.block.function.primitive.ObjectIntToObjectFunction;
+import org.eclipse.collections.api.block.predicate.primitive.IntPredicate;
+import org.eclipse.collections.api.block.procedure.primitive.IntProcedure;
+import org.eclipse.collections.api.collection.primitive.MutableIntCollection;
+import org.eclipse.collections.api.iterator.IntIterator;
+import org.eclipse.collections.api.iterator.MutableIntIterator;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.set.primitive.ImmutableIntSet;
+import org.eclipse.collections.api.set.primitive.IntSet;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.eclipse.collections.impl.iterator.UnmodifiableIntIterator;
+import org.eclipse.collections.impl.lazy.parallel.primitive.AbstractIntBatch;
+import org.eclipse.collections.impl.lazy.parallel.primitive.AbstractParallelIntIterable;
+import org.eclipse.collections.impl.lazy.parallel.primitive.IntBatch;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.set.immutable.primitive.AbstractImmutableIntSet;
+import org.eclipse.collections.impl.set.immutable.primitive.ImmutableIntSetSerializationProxy;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.set.primitive.AbstractIntSet;
+
+/**
+ * IntRoaringSet is a compressed bitmap implementation of MutableIntSet in the style of Roaring bitmaps.
+ * <p>
+ * Values are partitioned by their high 16 bits into chunks. Each chunk is stored in the most compact of three containers:
+ * a sorted array for sparse chunks (up to 4096 values), a 65536 bit bitmap for dense chunks, or a list of runs
+ * for chunks made of long consecutive ranges (see {@link #compact()}). Chunks are kept in signed order of their values,
+ * so iteration always returns the elements in ascending order.
+ * <p>
+ * {@link #union(IntRoaringSet)}, {@link #intersect(IntRoaringSet)} and {@link #difference(IntRoaringSet)}, as well as
+ * {@link #addAll(IntIterable)}, {@link #retainAll(IntIterable)} and {@link #removeAll(IntIterable)} when called with
+ * another IntRoaringSet, combine the two sets chunk by chunk using array merges and 64 bit word operations rather
+ * than visiting the elements one by one.
+ *
+ * @since 9.2
+ */
+public final class IntRoaringSet extends AbstractIntSet implements MutableIntSet, Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int ARRAY_MAX_SIZE = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    private static final int MAX_LOW = 0xFFFF;
+    private static final int DEFAULT_CONTAINER_CAPACITY = 4;
+
+    private char[] keys;
+    private Container[] containers;
+    private int containerCount;
+    private int size;
+
+    public IntRoaringSet()
+    {
+        this.keys = new char[DEFAULT_CONTAINER_CAPACITY];
+        this.containers = new Container[DEFAULT_CONTAINER_CAPACITY];
+    }
+
+    public IntRoaringSet(int... elements)
+    {
+        this();
+        this.addAll(elements);
+    }
+
+    public IntRoaringSet(IntRoaringSet set)
+    {
+        int capacity = Math.max(set.containerCount, DEFAULT_CONTAINER_CAPACITY);
+        this.keys = Arrays.copyOf(set.keys, capacity);
+        this.containers = new Container[capacity];
+        for (int i = 0; i < set.containerCount; i++)
+        {
+            this.containers[i] = set.containers[i].copy();
+        }
+        this.containerCount = set.containerCount;
+        this.size = set.size;
+    }
+
+    public static IntRoaringSet newSet(IntIterable source)
+    {
+        if (source instanceof IntRoaringSet)
+        {
+            return new IntRoaringSet((IntRoaringSet) source);
+        }
+
+        IntRoaringSet result = new IntRoaringSet();
+        result.addAll(source);
+        return result;
+    }
+
+    public static IntRoaringSet newSetWith(int... source)
+    {
+        return new IntRoaringSet(source);
+    }
+
+    private static char highBits(int value)
+    {
+        // Flipping the sign bit makes the unsigned order of the chunk keys match the signed order of the values
+        return (char) ((value >>> 16) ^ 0x8000);
+    }
+
+    private static char lowBits(int value)
+    {
+        return (char) value;
+    }
+
+    private static int base(char key)
+    {
+        return (key ^ 0x8000) << 16;
+    }
+
+    private int indexOfKey(char key)
+    {
+        return Arrays.binarySearch(this.keys, 0, this.containerCount, key);
+    }
+
+    private void insertContainer(int index, char key, Container container)
+    {
+        if (this.containerCount == this.keys.length)
+        {
+            int newCapacity = this.keys.length << 1;
+            this.keys = Arrays.copyOf(this.keys, newCapacity);
+            this.containers = Arrays.copyOf(this.containers, newCapacity);
+        }
+        System.arraycopy(this.keys, index, this.keys, index + 1, this.containerCount - index);
+        System.arraycopy(this.containers, index, this.containers, index + 1, this.containerCount - index);
+        this.keys[index] = key;
+        this.containers[index] = container;
+        this.containerCount++;
+    }
+
+    private void removeContainerAt(int index)
+    {
+        int numMoved = this.containerCount - index - 1;
+        System.arraycopy(this.keys, index + 1, this.keys, index, numMoved);
+        System.arraycopy(this.containers, index + 1, this.containers, index, numMoved);
+        this.containerCount--;
+        this.containers[this.containerCount] = null;
+    }
+
+    private void appendContainer(char key, Container container)
+    {
+        if (container.cardinality == 0)
+        {
+            return;
+        }
+        this.insertContainer(this.containerCount, key, container);
+        this.size += container.cardinality;
+    }
+
+    private void takeContainersFrom(IntRoaringSet set)
+    {
+        this.keys = set.keys;
+        this.containers = set.containers;
+        this.containerCount = set.containerCount;
+        this.size = set.size;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int result = 0;
+        IntIterator iterator = this.intIterator();
+        while (iterator.hasNext())
+        {
+            result += iterator.next();
+        }
+        return result;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public void appendString(Appendable appendable, String start, String separator, String end)
+    {
+        try
+        {
+            appendable.append(start);
+            IntIterator iterator = this.intIterator();
+            if (iterator.hasNext())
+            {
+                appendable.append(String.valueOf(iterator.next()));
+                while (iterator.hasNext())
+                {
+                    appendable.append(separator);
+                    appendable.append(String.valueOf(iterator.next()));
+                }
+            }
+            appendable.append(end);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public boolean add(int element)
+    {
+        char key = IntRoaringSet.highBits(element);
+        int index = this.indexOfKey(key);
+        if (index < 0)
+        {
+            this.insertContainer(-index - 1, key, new ArrayContainer(IntRoaringSet.lowBits(element)));
+            this.size++;
+            return true;
+        }
+        Container container = this.containers[index];
+        int oldCardinality = container.cardinality;
+        Container result = container.add(IntRoaringSet.lowBits(element));
+        this.containers[index] = result;
+        if (result.cardinality == oldCardinality)
+        {
+            return false;
+        }
+        this.size++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(int... source)
+    {
+        int oldSize = this.size();
+        for (int item : source)
+        {
+            this.add(item);
+        }
+        return this.size() != oldSize;
+    }
+
+    @Override
+    public boolean addAll(IntIterable source)
+    {
+        if (source instanceof IntRoaringSet)
+        {
+            int oldSize = this.size();
+            this.takeContainersFrom(this.union((IntRoaringSet) source));
+            return this.size() != oldSize;
+        }
+        int oldSize = this.size();
+        source.forEach(this::add);
+        return this.size() != oldSize;
+    }
+
+    @Override
+    public boolean remove(int value)
+    {
+        int index = this.indexOfKey(IntRoaringSet.highBits(value));
+        if (index < 0)
+        {
+            return false;
+        }
+        Container container = this.containers[index];
+        int oldCardinality = container.cardinality;
+        Container result = container.remove(IntRoaringSet.lowBits(value));
+        if (result.cardinality == oldCardinality)
+        {
+            return false;
+        }
+        this.size--;
+        if (result.cardinality == 0)
+        {
+            this.removeContainerAt(index);
+        }
+        else
+        {
+            this.containers[index] = result;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(IntIterable source)
+    {
+        if (source instanceof IntRoaringSet)
+        {
+            int oldSize = this.size();
+            this.takeContainersFrom(this.difference((IntRoaringSet) source));
+            return this.size() != oldSize;
+        }
+        int oldSize = this.size();
+        source.forEach(this::remove);
+        return this.size() != oldSize;
+    }
+
+    @Override
+    public boolean removeAll(int... source)
+    {
+        int oldSize = this.size();
+        for (int item : source)
+        {
+            this.remove(item);
+        }
+        return this.size() != oldSize;
+    }
+
+    @Override
+    public boolean retainAll(IntIterable source)
+    {
+        int oldSize = this.size();
+        IntRoaringSet other = source instanceof IntRoaringSet ? (IntRoaringSet) source : IntRoaringSet.newSet(source);
+        this.takeContainersFrom(this.intersect(other));
+        return this.size() != oldSize;
+    }
+
+    @Override
+    public boolean retainAll(int... source)
+    {
+        return this.retainAll(IntRoaringSet.newSetWith(source));
+    }
+
+    @Override
+    public void clear()
+    {
+        this.keys = new char[DEFAULT_CONTAINER_CAPACITY];
+        this.containers = new Container[DEFAULT_CONTAINER_CAPACITY];
+        this.containerCount = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Returns a new set containing the elements of this set and the elements of {@code other}.
+     * Neither set is modified.
+     *
+     * @since 9.2
+     */
+    public IntRoaringSet union(IntRoaringSet other)
+    {
+        IntRoaringSet result = new IntRoaringSet();
+        int i = 0;
+        int j = 0;
+        while (i < this.containerCount && j < other.containerCount)
+        {
+            char key = this.keys[i];
+            char otherKey = other.keys[j];
+            if (key < otherKey)
+            {
+                result.appendContainer(key, this.containers[i++].copy());
+            }
+            else if (key > otherKey)
+            {
+                result.appendContainer(otherKey, other.containers[j++].copy());
+            }
+            else
+            {
+                result.appendContainer(key, Container.or(this.containers[i++], other.containers[j++]));
+            }
+        }
+        for (; i < this.containerCount; i++)
+        {
+            result.appendContainer(this.keys[i], this.containers[i].copy());
+        }
+        for (; j < other.containerCount; j++)
+        {
+            result.appendContainer(other.keys[j], other.containers[j].copy());
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new set containing the elements that are in both this set and {@code other}.
+     * Neither set is modified.
+     *
+     * @since 9.2
+     */
+    public IntRoaringSet intersect(IntRoaringSet other)
+    {
+        IntRoaringSet result = new IntRoaringSet();
+        int i = 0;
+        int j = 0;
+        while (i < this.containerCount && j < other.containerCount)
+        {
+            char key = this.keys[i];
+            char otherKey = other.keys[j];
+            if (key < otherKey)
+            {
+                i++;
+            }
+            else if (key > otherKey)
+            {
+                j++;
+            }
+            else
+            {
+                result.appendContainer(key, Container.and(this.containers[i++], other.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new set containing the elements of this set that are not in {@code other}.
+     * Neither set is modified.
+     *
+     * @since 9.2
+     */
+    public IntRoaringSet difference(IntRoaringSet other)
+    {
+        IntRoaringSet result = new IntRoaringSet();
+        int i = 0;
+        int j = 0;
+        while (i < this.containerCount)
+        {
+            char key = this.keys[i];
+            while (j < other.containerCount && other.keys[j] < key)
+            {
+                j++;
+            }
+            if (j < other.containerCount && other.keys[j] == key)
+            {
+                result.appendContainer(key, Container.andNot(this.containers[i], other.containers[j]));
+            }
+            else
+            {
+                result.appendContainer(key, this.containers[i].copy());
+            }
+            i++;
+        }
+        return result;
+    }
+
+    @Override
+    public IntRoaringSet with(int element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    @Override
+    public IntRoaringSet without(int element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    @Override
+    public IntRoaringSet withAll(IntIterable elements)
+    {
+        this.addAll(elements);
+        return this;
+    }
+
+    @Override
+    public IntRoaringSet withoutAll(IntIterable elements)
+    {
+        this.removeAll(elements);
+        return this;
+    }
+
+    @Override
+    public MutableIntSet asUnmodifiable()
+    {
+        return new UnmodifiableIntSet(this);
+    }
+
+    @Override
+    public MutableIntSet asSynchronized()
+    {
+        return new SynchronizedIntSet(this);
+    }
+
+    /**
+     * Returns a parallel iterable of this set which splits it into batches of whole chunks holding at least
+     * {@code batchSize} elements each, so each batch reads its containers in place. The set must not be modified while
+     * the parallel iterable is being evaluated.
+     */
+    @Beta
+    @Override
+    public ParallelIntIterable asParallel(ExecutorService executorService, int batchSize)
+    {
+        return new IntRoaringSetParallelIterable(this.keys, this.containers, this.containerCount, executorService, batchSize);
+    }
+
+    @Override
+    public ImmutableIntSet toImmutable()
+    {
+        if (this.size() == 0)
+        {
+            return IntSets.immutable.with();
+        }
+        if (this.size() == 1)
+        {
+            return IntSets.immutable.with(this.intIterator().next());
+        }
+        return new ImmutableIntRoaringSet(new IntRoaringSet(this));
+    }
+
+    @Override
+    public IntSet freeze()
+    {
+        return this.toImmutable();
+    }
+
+    @Override
+    public MutableIntIterator intIterator()
+    {
+        return new InternalIntIterator();
+    }
+
+    @Override
+    public int[] toArray()
+    {
+        int[] result = new int[this.size()];
+        int index = 0;
+        IntIterator iterator = this.intIterator();
+        while (iterator.hasNext())
+        {
+            result[index++] = iterator.next();
+        }
+        return result;
+    }
+
+    @Override
+    public int[] toSortedArray()
+    {
+        return this.toArray();
+    }
+
+    @Override
+    public boolean contains(int value)
+    {
+        int index = this.indexOfKey(IntRoaringSet.highBits(value));
+        return index >= 0 && this.containers[index].contains(IntRoaringSet.lowBits(value));
+    }
+
+    @Override
+    public void forEach(IntProcedure procedure)
+    {
+        this.each(procedure);
+    }
+
+    @Override
+    public void each(IntProcedure procedure)
+    {
+        for (int i = 0; i < this.containerCount; i++)
+        {
+            this.containers[i].forEach(IntRoaringSet.base(this.keys[i]), procedure);
+        }
+    }
+
+    @Override
+    public IntRoaringSet select(IntPredicate predicate)
+    {
+        return this.select(predicate, new IntRoaringSet());
+    }
+
+    @Override
+    public <R extends MutableIntCollection> R select(IntPredicate predicate, R target)
+    {
+        this.each(value -> {
+            if (predicate.accept(value))
+            {
+                target.add(value);
+            }
+        });
+        return target;
+    }
+
+    @Override
+    public IntRoaringSet reject(IntPredicate predicate)
+    {
+        return this.reject(predicate, new IntRoaringSet());
+    }
+
+    @Override
+    public <R extends MutableIntCollection> R reject(IntPredicate predicate, R target)
+    {
+        this.each(value -> {
+            if (!predicate.accept(value))
+            {
+                target.add(value);
+            }
+        });
+        return target;
+    }
+
+    @Override
+    public <V> MutableSet<V> collect(IntToObjectFunction<? extends V> function)
+    {
+        return this.collect(function, UnifiedSet.newSet(this.size()));
+    }
+
+    @Override
+    public <V, R extends Collection<V>> R collect(IntToObjectFunction<? extends V> function, R target)
+    {
+        this.each(value -> target.add(function.valueOf(value)));
+        return target;
+    }
+
+    @Override
+    public int detectIfNone(IntPredicate predicate, int ifNone)
+    {
+        IntIterator iterator = this.intIterator();
+        while (iterator.hasNext())
+        {
+            int value = iterator.next();
+            if (predicate.accept(value))
+            {
+                return value;
+            }
+        }
+        return ifNone;
+    }
+
+    @Override
+    public int count(IntPredicate predicate)
+    {
+        int count = 0;
+        IntIterator iterator = this.intIterator();
+        while (iterator.hasNext())
+        {
+            if (predicate.accept(iterator.next()))
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public boolean anySatisfy(IntPredicate predicate)
+    {
+        IntIterator iterator = this.intIterator();
+        while (iterator.hasNext())
+        {
+            if (predicate.accept(iterator.next()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean allSatisfy(IntPredicate predicate)
+    {
+        IntIterator iterator = this.intIterator();
+        while (iterator.hasNext())
+        {
+            if (!predicate.accept(iterator.next()))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean noneSatisfy(IntPredicate predicate)
+    {
+        return !this.anySatisfy(predicate);
+    }
+
+    @Override
+    public long sum()
+    {
+        long result = 0L;
+        IntIterator iterator = this.intIterator();
+        while (iterator.hasNext())
+        {
+            result += iterator.next();
+        }
+        return result;
+    }
+
+    @Override
+    public int max()
+    {
+        if (this.isEmpty())
+        {
+            throw new NoSuchElementException();
+        }
+        int last = this.containerCount - 1;
+        return IntRoaringSet.base(this.keys[last]) | this.containers[last].last();
+    }
+
+    @Override
+    public int min()
+    {
+        if (this.isEmpty())
+        {
+            throw new NoSuchElementException();
+        }
+        return IntRoaringSet.base(this.keys[0]) | this.containers[0].nextValue(0);
+    }
+
+    @Override
+    public <T> T injectInto(T injectedValue, ObjectIntToObjectFunction<? super T, ? extends T> function)
+    {
+        T result = injectedValue;
+        IntIterator iterator = this.intIterator();
+        while (iterator.hasNext())
+        {
+            result = function.valueOf(result, iterator.next());
+        }
+        return result;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeInt(this.size());
+        IntIterator iterator = this.intIterator();
+        while (iterator.hasNext())
+        {
+            out.writeInt(iterator.next());
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException
+    {
+        int size = in.readInt();
+
+        for (int i = 0; i < size; i++)
+        {
+            this.add(in.readInt());
+        }
+    }
+
+    /**
+     * Converts every chunk to its smallest representation, run-length encoding chunks made of long consecutive ranges,
+     * and trims the backing arrays. Run-length encoded chunks are converted back to an array or a bitmap when modified.
+     */
+    public void compact()
+    {
+        for (int i = 0; i < this.containerCount; i++)
+        {
+            this.containers[i] = this.containers[i].compact();
+        }
+        int capacity = Math.max(this.containerCount, DEFAULT_CONTAINER_CAPACITY);
+        this.keys = Arrays.copyOf(this.keys, capacity);
+        this.containers = Arrays.copyOf(this.containers, capacity);
+    }
+
+    // exposed for testing
+    String containerType(int value)
+    {
+        int index = this.indexOfKey(IntRoaringSet.highBits(value));
+        return index < 0 ? null : this.containers[index].getClass().getSimpleName();
+    }
+
+    private abstract static class Container
+    {
+        protected int cardinality;
+
+        protected abstract boolean contains(char low);
+
+        protected abstract Container add(char low);
+
+        protected abstract Container remove(char low);
+
+        /**
+         * Returns the smallest value in this container which is greater than or equal to {@code fromLow}, or -1.
+         */
+        protected abstract int nextValue(int fromLow);
+
+        protected abstract int last();
+
+        protected abstract void forEach(int base, IntProcedure procedure);
+
+        protected abstract void orInto(long[] words);
+
+        protected abstract int numberOfRuns();
+
+        protected abstract int sizeInBytes();
+
+        protected abstract Container copy();
+
+        protected long[] toWords()
+        {
+            long[] words = new long[BITMAP_WORDS];
+            this.orInto(words);
+            return words;
+        }
+
+        protected Container compact()
+        {
+            int runs = this.numberOfRuns();
+            if (RunContainer.sizeInBytes(runs) < this.sizeInBytes())
+            {
+                return RunContainer.newRunContainer(this, runs);
+            }
+            return this;
+        }
+
+        private static Container fromWords(long[] words)
+        {
+            int cardinality = 0;
+            for (long word : words)
+            {
+                cardinality += Long.bitCount(word);
+            }
+            if (cardinality > ARRAY_MAX_SIZE)
+            {
+                return new BitmapContainer(words, cardinality);
+            }
+            char[] values = new char[cardinality];
+            int index = 0;
+            for (int i = 0; i < words.length; i++)
+            {
+                long word = words[i];
+                while (word != 0L)
+                {
+                    values[index++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1L;
+                }
+            }
+            return new ArrayContainer(values, cardinality);
+        }
+
+        private static Container or(Container left, Container right)
+        {
+            if (left instanceof ArrayContainer && right instanceof ArrayContainer
+                    && left.cardinality + right.cardinality <= ARRAY_MAX_SIZE)
+            {
+                return ((ArrayContainer) left).union((ArrayContainer) right);
+            }
+            long[] words = left.toWords();
+            right.orInto(words);
+            return Container.fromWords(words);
+        }
+
+        private static Container and(Container left, Container right)
+        {
+            if (left instanceof ArrayContainer)
+            {
+                return ((ArrayContainer) left).filter(right, true);
+            }
+            if (right instanceof ArrayContainer)
+            {
+                return ((ArrayContainer) right).filter(left, true);
+            }
+            long[] words = left.toWords();
+            long[] otherWords = right instanceof BitmapContainer ? ((BitmapContainer) right).words : right.toWords();
+            for (int i = 0; i < BITMAP_WORDS; i++)
+            {
+                words[i] &= otherWords[i];
+            }
+            return Container.fromWords(words);
+        }
+
+        private static Container andNot(Container left, Container right)
+        {
+            if (left instanceof ArrayContainer)
+            {
+                return ((ArrayContainer) left).filter(right, false);
+            }
+            long[] words = left.toWords();
+            long[] otherWords = right instanceof BitmapContainer ? ((BitmapContainer) right).words : right.toWords();
+            for (int i = 0; i < BITMAP_WORDS; i++)
+            {
+                words[i] &= ~otherWords[i];
+            }
+            return Container.fromWords(words);
+        }
+    }
+
+    private static final class ArrayContainer extends Container
+    {
+        private char[] values;
+
+        private ArrayContainer(char value)
+        {
+            this.values = new char[DEFAULT_CONTAINER_CAPACITY];
+            this.values[0] = value;
+            this.cardinality = 1;
+        }
+
+        private ArrayContainer(char[] values, int cardinality)
+        {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        private int indexOf(char low)
+        {
+            return Arrays.binarySearch(this.values, 0, this.cardinality, low);
+        }
+
+        @Override
+        protected boolean contains(char low)
+        {
+            return this.indexOf(low) >= 0;
+        }
+
+        @Override
+        protected Container add(char low)
+        {
+            int index = this.indexOf(low);
+            if (index >= 0)
+            {
+                return this;
+            }
+            if (this.cardinality == ARRAY_MAX_SIZE)
+            {
+                return new BitmapContainer(this.toWords(), this.cardinality).add(low);
+            }
+            int insertionPoint = -index - 1;
+            if (this.cardinality == this.values.length)
+            {
+                this.values = Arrays.copyOf(this.values, Math.min(Math.max(this.values.length << 1, DEFAULT_CONTAINER_CAPACITY), ARRAY_MAX_SIZE));
+            }
+            System.arraycopy(this.values, insertionPoint, this.values, insertionPoint + 1, this.cardinality - insertionPoint);
+            this.values[insertionPoint] = low;
+            this.cardinality++;
+            return this;
+        }
+
+        @Override
+        protected Container remove(char low)
+        {
+            int index = this.indexOf(low);
+            if (index >= 0)
+            {
+                System.arraycopy(this.values, index + 1, this.values, index, this.cardinality - index - 1);
+                this.cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        protected int nextValue(int fromLow)
+        {
+            if (fromLow > MAX_LOW)
+            {
+                return -1;
+            }
+            int index = this.indexOf((char) fromLow);
+            if (index < 0)
+            {
+                index = -index - 1;
+            }
+            return index < this.cardinality ? this.values[index] : -1;
+        }
+
+        @Override
+        protected int last()
+        {
+            return this.values[this.cardinality - 1];
+        }
+
+        @Override
+        protected void forEach(int base, IntProcedure procedure)
+        {
+            for (int i = 0; i < this.cardinality; i++)
+            {
+                procedure.value(base | this.values[i]);
+            }
+        }
+
+        @Override
+        protected void orInto(long[] words)
+        {
+            for (int i = 0; i < this.cardinality; i++)
+            {
+                char value = this.values[i];
+                words[value >>> 6] |= 1L << value;
+            }
+        }
+
+        @Override
+        protected int numberOfRuns()
+        {
+            int runs = this.cardinality == 0 ? 0 : 1;
+            for (int i = 1; i < this.cardinality; i++)
+            {
+                if (this.values[i] != this.values[i - 1] + 1)
+                {
+                    runs++;
+                }
+            }
+            return runs;
+        }
+
+        @Override
+        protected int sizeInBytes()
+        {
+            return this.cardinality << 1;
+        }
+
+        @Override
+        protected Container copy()
+        {
+            return new ArrayContainer(Arrays.copyOf(this.values, this.cardinality), this.cardinality);
+        }
+
+        private ArrayContainer union(ArrayContainer other)
+        {
+            char[] result = new char[this.cardinality + other.cardinality];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < this.cardinality && j < other.cardinality)
+            {
+                char value = this.values[i];
+                char otherValue = other.values[j];
+                if (value < otherValue)
+                {
+                    result[k++] = value;
+                    i++;
+                }
+                else if (value > otherValue)
+                {
+                    result[k++] = otherValue;
+                    j++;
+                }
+                else
+                {
+                    result[k++] = value;
+                    i++;
+                    j++;
+                }
+            }
+            while (i < this.cardinality)
+            {
+                result[k++] = this.values[i++];
+            }
+            while (j < other.cardinality)
+            {
+                result[k++] = other.values[j++];
+            }
+            return new ArrayContainer(result, k);
+        }
+
+        private ArrayContainer filter(Container other, boolean contained)
+        {
+            char[] result = new char[this.cardinality];
+            int k = 0;
+            for (int i = 0; i < this.cardinality; i++)
+            {
+                char value = this.values[i];
+                if (other.contains(value) == contained)
+                {
+                    result[k++] = value;
+                }
+            }
+            return new ArrayContainer(result, k);
+        }
+    }
+
+    private static final class BitmapContainer extends Container
+    {
+        private final long[] words;
+
+        private BitmapContainer(long[] words, int cardinality)
+        {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        protected boolean contains(char low)
+        {
+            return (this.words[low >>> 6] & (1L << low)) != 0L;
+        }
+
+        @Override
+        protected Container add(char low)
+        {
+            long word = this.words[low >>> 6];
+            long newWord = word | (1L << low);
+            if (word != newWord)
+            {
+                this.words[low >>> 6] = newWord;
+                this.cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        protected Container remove(char low)
+        {
+            long word = this.words[low >>> 6];
+            long newWord = word & ~(1L << low);
+            if (word == newWord)
+            {
+                return this;
+            }
+            this.words[low >>> 6] = newWord;
+            this.cardinality--;
+            if (this.cardinality <= ARRAY_MAX_SIZE)
+            {
+                return Container.fromWords(this.words);
+            }
+            return this;
+        }
+
+        @Override
+        protected int nextValue(int fromLow)
+        {
+            if (fromLow > MAX_LOW)
+            {
+                return -1;
+            }
+            int index = fromLow >>> 6;
+            long word = this.words[index] & (-1L << fromLow);
+            while (word == 0L)
+            {
+                if (++index == BITMAP_WORDS)
+                {
+                    return -1;
+                }
+                word = this.words[index];
+            }
+            return (index << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        protected int last()
+        {
+            for (int i = BITMAP_WORDS - 1; i >= 0; i--)
+            {
+                if (this.words[i] != 0L)
+                {
+                    return (i << 6) + 63 - Long.numberOfLeadingZeros(this.words[i]);
+                }
+            }
+            throw new NoSuchElementException();
+        }
+
+        @Override
+        protected void forEach(int base, IntProcedure procedure)
+        {
+            for (int i = 0; i < BITMAP_WORDS; i++)
+            {
+                long word = this.words[i];
+                while (word != 0L)
+                {
+                    procedure.value(base | ((i << 6) + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1L;
+                }
+            }
+        }
+
+        @Override
+        protected void orInto(long[] target)
+        {
+            for (int i = 0; i < BITMAP_WORDS; i++)
+            {
+                target[i] |= this.words[i];
+            }
+        }
+
+        @Override
+        protected long[] toWords()
+        {
+            return this.words.clone();
+        }
+
+        @Override
+        protected int numberOfRuns()
+        {
+            int runs = 0;
+            long previous = 0L;
+            for (long word : this.words)
+            {
+                // A run starts at every set bit whose predecessor is clear
+                runs += Long.bitCount(word & ~((word << 1) | (previous >>> 63)));
+                previous = word;
+            }
+            return runs;
+        }
+
+        @Override
+        protected int sizeInBytes()
+        {
+            return BITMAP_WORDS << 3;
+        }
+
+        @Override
+        protected Container copy()
+        {
+            return new BitmapContainer(this.words.clone(), this.cardinality);
+        }
+    }
+
+    private static final class RunContainer extends Container
+    {
+        private final char[] starts;
+        // Each length is stored as the number of values in the run minus one, so a run can span the whole chunk
+        private final char[] lengths;
+
+        private RunContainer(char[] starts, char[] lengths)
+        {
+            this.starts = starts;
+            this.lengths = lengths;
+            int cardinality = 0;
+            for (char length : lengths)
+            {
+                cardinality += length + 1;
+            }
+            this.cardinality = cardinality;
+        }
+
+        private static int sizeInBytes(int runs)
+        {
+            return 2 + (runs << 2);
+        }
+
+        private static RunContainer newRunContainer(Container source, int runs)
+        {
+            char[] starts = new char[runs];
+            char[] lengths = new char[runs];
+            int index = 0;
+            int value = source.nextValue(0);
+            while (value >= 0)
+            {
+                int end = value;
+                int next = source.nextValue(end + 1);
+                while (next == end + 1)
+                {
+                    end = next;
+                    next = source.nextValue(end + 1);
+                }
+                starts[index] = (char) value;
+                lengths[index] = (char) (end - value);
+                index++;
+                value = next;
+            }
+            return new RunContainer(starts, lengths);
+        }
+
+        /**
+         * Returns the index of the last run starting at or before {@code low}, or -1.
+         */
+        private int runIndex(int low)
+        {
+            int lowIndex = 0;
+            int highIndex = this.starts.length - 1;
+            while (lowIndex <= highIndex)
+            {
+                int middle = (lowIndex + highIndex) >>> 1;
+                if (this.starts[middle] <= low)
+                {
+                    lowIndex = middle + 1;
+                }
+                else
+                {
+                    highIndex = middle - 1;
+                }
+            }
+            return highIndex;
+        }
+
+        private Container toArrayOrBitmap()
+        {
+            if (this.cardinality > ARRAY_MAX_SIZE)
+            {
+                return new BitmapContainer(this.toWords(), this.cardinality);
+            }
+            char[] values = new char[this.cardinality];
+            int index = 0;
+            for (int i = 0; i < this.starts.length; i++)
+            {
+                int end = this.starts[i] + this.lengths[i];
+                for (int value = this.starts[i]; value <= end; value++)
+                {
+                    values[index++] = (char) value;
+                }
+            }
+            return new ArrayContainer(values, this.cardinality);
+        }
+
+        @Override
+        protected boolean contains(char low)
+        {
+            int index = this.runIndex(low);
+            return index >= 0 && low <= this.starts[index] + this.lengths[index];
+        }
+
+        @Override
+        protected Container add(char low)
+        {
+            if (this.contains(low))
+            {
+                return this;
+            }
+            return this.toArrayOrBitmap().add(low);
+        }
+
+        @Override
+        protected Container remove(char low)
+        {
+            if (!this.contains(low))
+            {
+                return this;
+            }
+            return this.toArrayOrBitmap().remove(low);
+        }
+
+        @Override
+        protected int nextValue(int fromLow)
+        {
+            if (fromLow > MAX_LOW)
+            {
+                return -1;
+            }
+            int index = this.runIndex(fromLow);
+            if (index >= 0 && fromLow <= this.starts[index] + this.lengths[index])
+            {
+                return fromLow;
+            }
+            index++;
+            return index < this.starts.length ? this.starts[index] : -1;
+        }
+
+        @Override
+        protected int last()
+        {
+            int index = this.starts.length - 1;
+            return this.starts[index] + this.lengths[index];
+        }
+
+        @Override
+        protected void forEach(int base, IntProcedure procedure)
+        {
+            for (int i = 0; i < this.starts.length; i++)
+            {
+                int end = this.starts[i] + this.lengths[i];
+                for (int value = this.starts[i]; value <= end; value++)
+                {
+                    procedure.value(base | value);
+                }
+            }
+        }
+
+        @Override
+        protected void orInto(long[] words)
+        {
+            for (int i = 0; i < this.starts.length; i++)
+            {
+                int start = this.starts[i];
+                int end = start + this.lengths[i];
+                int firstWord = start >>> 6;
+                int lastWord = end >>> 6;
+                long firstMask = -1L << start;
+                long lastMask = -1L >>> (63 - (end & 63));
+                if (firstWord == lastWord)
+                {
+                    words[firstWord] |= firstMask & lastMask;
+                }
+                else
+                {
+                    words[firstWord] |= firstMask;
+                    for (int word = firstWord + 1; word < lastWord; word++)
+                    {
+                        words[word] = -1L;
+                    }
+                    words[lastWord] |= lastMask;
+                }
+            }
+        }
+
+        @Override
+        protected int numberOfRuns()
+        {
+            return this.starts.length;
+        }
+
+        @Override
+        protected int sizeInBytes()
+        {
+            return RunContainer.sizeInBytes(this.starts.length);
+        }
+
+        @Override
+        protected Container copy()
+        {
+            return new RunContainer(this.starts.clone(), this.lengths.clone());
+        }
+
+        @Override
+        protected Container compact()
+        {
+            Container container = this.toArrayOrBitmap();
+            return container.sizeInBytes() < this.sizeInBytes() ? container : this;
+        }
+    }
+
+    private class InternalIntIterator implements MutableIntIterator
+    {
+        private int count;
+        private int containerIndex;
+        private int nextLow;
+        private int lastValue;
+        private boolean canRemove;
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.count < IntRoaringSet.this.size();
+        }
+
+        @Override
+        public int next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException("next() called, but the iterator is exhausted");
+            }
+            while (true)
+            {
+                int low = IntRoaringSet.this.containers[this.containerIndex].nextValue(this.nextLow);
+                if (low >= 0)
+                {
+                    this.nextLow = low + 1;
+                    this.count++;
+                    this.canRemove = true;
+                    this.lastValue = IntRoaringSet.base(IntRoaringSet.this.keys[this.containerIndex]) | low;
+                    return this.lastValue;
+                }
+                this.containerIndex++;
+                this.nextLow = 0;
+            }
+        }
+
+        @Override
+        public void remove()
+        {
+            if (!this.canRemove)
+            {
+                throw new IllegalStateException();
+            }
+            IntRoaringSet.this.remove(this.lastValue);
+            this.count--;
+            this.canRemove = false;
+            if (this.containerIndex >= IntRoaringSet.this.containerCount
+                    || IntRoaringSet.this.keys[this.containerIndex] != IntRoaringSet.highBits(this.lastValue))
+            {
+                // The emptied container was removed, so the current index now refers to the next one
+                this.nextLow = 0;
+            }
+        }
+    }
+
+    private static final class IntRoaringSetParallelIterable extends AbstractParallelIntIterable
+    {
+        private final char[] keys;
+        private final Container[] containers;
+        private final int containerCount;
+        private final ExecutorService executorService;
+        private final int batchSize;
+
+        private IntRoaringSetParallelIterable(char[] keys, Container[] containers, int containerCount, ExecutorService executorService, int batchSize)
+        {
+            if (executorService == null)
+            {
+                throw new NullPointerException();
+            }
+            if (batchSize < 1)
+            {
+                throw new IllegalArgumentException();
+            }
+            this.keys = keys;
+            this.containers = containers;
+            this.containerCount = containerCount;
+            this.executorService = executorService;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public ExecutorService getExecutorService()
+        {
+            return this.executorService;
+        }
+
+        @Override
+        public int getBatchSize()
+        {
+            return this.batchSize;
+        }
+
+        @Override
+        public LazyIterable<IntBatch> split()
+        {
+            MutableList<IntBatch> batches = FastList.newList();
+            int fromIndex = 0;
+            int batchElements = 0;
+            for (int i = 0; i < this.containerCount; i++)
+            {
+                batchElements += this.containers[i].cardinality;
+                if (batchElements >= this.batchSize)
+                {
+                    batches.add(new ContainersBatch(this.keys, this.containers, fromIndex, i + 1));
+                    fromIndex = i + 1;
+                    batchElements = 0;
+                }
+            }
+            if (fromIndex < this.containerCount)
+            {
+                batches.add(new ContainersBatch(this.keys, this.containers, fromIndex, this.containerCount));
+            }
+            return batches.asLazy();
+        }
+    }
+
+    /**
+     * A batch of the values in the containers [fromIndex, toIndex).
+     */
+    private static final class ContainersBatch extends AbstractIntBatch
+    {
+        private final char[] keys;
+        private final Container[] containers;
+        private final int fromIndex;
+        private final int toIndex;
+
+        private ContainersBatch(char[] keys, Container[] containers, int fromIndex, int toIndex)
+        {
+            this.keys = keys;
+            this.containers = containers;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        public void forEach(IntProcedure procedure)
+        {
+            for (int i = this.fromIndex; i < this.toIndex; i++)
+            {
+                this.containers[i].forEach(IntRoaringSet.base(this.keys[i]), procedure);
+            }
+        }
+
+        @Override
+        public int count(IntPredicate predicate)
+        {
+            int count = 0;
+            for (int i = this.fromIndex; i < this.toIndex; i++)
+            {
+                int base = IntRoaringSet.base(this.keys[i]);
+                Container container = this.containers[i];
+                for (int low = container.nextValue(0); low >= 0; low = container.nextValue(low + 1))
+                {
+                    if (predicate.accept(base | low))
+                    {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public boolean anySatisfy(IntPredicate predicate)
+        {
+            return this.detect(predicate) != null;
+        }
+
+        @Override
+        public boolean allSatisfy(IntPredicate predicate)
+        {
+            return this.detect(each -> !predicate.accept(each)) == null;
+        }
+
+        @Override
+        public Integer detect(IntPredicate predicate)
+        {
+            for (int i = this.fromIndex; i < this.toIndex; i++)
+            {
+                int base = IntRoaringSet.base(this.keys[i]);
+                Container container = this.containers[i];
+                for (int low = container.nextValue(0); low >= 0; low = container.nextValue(low + 1))
+                {
+                    if (predicate.accept(base | low))
+                    {
+                        return base | low;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class ImmutableIntRoaringSet extends AbstractImmutableIntSet implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final IntRoaringSet delegate;
+
+        private ImmutableIntRoaringSet(IntRoaringSet delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.delegate.hashCode();
+        }
+
+        @Override
+        public int size()
+        {
+            return this.delegate.size();
+        }
+
+        @Override
+        public void appendString(Appendable appendable, String start, String separator, String end)
+        {
+            this.delegate.appendString(appendable, start, separator, end);
+        }
+
+        @Override
+        public IntIterator intIterator()
+        {
+            return new UnmodifiableIntIterator(this.delegate.intIterator());
+        }
+
+        @Override
+        public int[] toArray()
+        {
+            return this.delegate.toArray();
+        }
+
+        @Override
+        public int[] toSortedArray()
+        {
+            return this.delegate.toSortedArray();
+        }
+
+        @Override
+        public boolean contains(int value)
+        {
+            return this.delegate.contains(value);
+        }
+
+        @Override
+        public void forEach(IntProcedure procedure)
+        {
+            this.each(procedure);
+        }
+
+        @Override
+        public void each(IntProcedure procedure)
+        {
+            this.delegate.each(procedure);
+        }
+
+        @Override
+        public ImmutableIntSet select(IntPredicate predicate)
+        {
+            return this.delegate.select(predicate).toImmutable();
+        }
+
+        @Override
+        public ImmutableIntSet reject(IntPredicate predicate)
+        {
+            return this.delegate.reject(predicate).toImmutable();
+        }
+
+        @Override
+        public <V> ImmutableSet<V> collect(IntToObjectFunction<? extends V> function)
+        {
+            return this.delegate.<V>collect(function).toImmutable();
+        }
+
+        @Override
+        public int detectIfNone(IntPredicate predicate, int ifNone)
+        {
+            return this.delegate.detectIfNone(predicate, ifNone);
+        }
+
+        @Override
+        public int count(IntPredicate predicate)
+        {
+            return this.delegate.count(predicate);
+        }
+
+        @Override
+        public boolean anySatisfy(IntPredicate predicate)
+        {
+            return this.delegate.anySatisfy(predicate);
+        }
+
+        @Override
+        public boolean allSatisfy(IntPredicate predicate)
+        {
+            return this.delegate.allSatisfy(predicate);
+        }
+
+        @Override
+        public boolean noneSatisfy(IntPredicate predicate)
+        {
+            return this.delegate.noneSatisfy(predicate);
+        }
+
+        @Override
+        public long sum()
+        {
+            return this.delegate.sum();
+        }
+
+        @Override
+        public int max()
+        {
+            return this.delegate.max();
+        }
+
+        @Override
+        public int min()
+        {
+            return this.delegate.min();
+        }
+
+        @Override
+        public <T> T injectInto(T injectedValue, ObjectIntToObjectFunction<? super T, ? extends T> function)
+        {
+            return this.delegate.injectInto(injectedValue, function);
+        }
+
+        private Object writeReplace()
+        {
+            return new ImmutableIntSetSerializationProxy(this);
+        }
+    }
+}
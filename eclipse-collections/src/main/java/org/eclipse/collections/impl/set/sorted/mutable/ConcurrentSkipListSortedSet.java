@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.sorted.mutable;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * A ConcurrentSkipListSortedSet is a MutableSortedSet backed by a {@link ConcurrentSkipListSet}, so that elements may
+ * be added, removed and looked up concurrently without locking.  Iteration, including forEach and the RichIterable
+ * methods, is weakly consistent: it never throws {@link java.util.ConcurrentModificationException} and reflects some,
+ * all or none of the writes made while it runs.
+ * <p>
+ * The sets returned by headSet, tailSet and subSet are live ConcurrentSkipListSortedSet views of the range.  Null
+ * elements are not supported.
+ *
+ * @since 9.2
+ */
+public class ConcurrentSkipListSortedSet<T>
+        extends SortedSetAdapter<T>
+{
+    private static final long serialVersionUID = 1L;
+    private final NavigableSet<T> skipListSet;
+
+    public ConcurrentSkipListSortedSet()
+    {
+        this(new ConcurrentSkipListSet<>());
+    }
+
+    public ConcurrentSkipListSortedSet(Comparator<? super T> comparator)
+    {
+        this(new ConcurrentSkipListSet<>(comparator));
+    }
+
+    public ConcurrentSkipListSortedSet(Collection<? extends T> collection)
+    {
+        this(new ConcurrentSkipListSet<>(collection));
+    }
+
+    private ConcurrentSkipListSortedSet(NavigableSet<T> skipListSet)
+    {
+        super(skipListSet);
+        this.skipListSet = skipListSet;
+    }
+
+    public static <T> ConcurrentSkipListSortedSet<T> newSet()
+    {
+        return new ConcurrentSkipListSortedSet<>();
+    }
+
+    public static <T> ConcurrentSkipListSortedSet<T> newSet(Comparator<? super T> comparator)
+    {
+        return new ConcurrentSkipListSortedSet<>(comparator);
+    }
+
+    public static <T> ConcurrentSkipListSortedSet<T> newSet(Iterable<? extends T> source)
+    {
+        return new ConcurrentSkipListSortedSet<T>().withAll(source);
+    }
+
+    public static <T> ConcurrentSkipListSortedSet<T> newSetWith(T... elements)
+    {
+        return new ConcurrentSkipListSortedSet<T>().with(elements);
+    }
+
+    public static <T> ConcurrentSkipListSortedSet<T> newSetWith(Comparator<? super T> comparator, T... elements)
+    {
+        return new ConcurrentSkipListSortedSet<T>(comparator).with(elements);
+    }
+
+    @Override
+    public ConcurrentSkipListSortedSet<T> with(T element)
+    {
+        super.with(element);
+        return this;
+    }
+
+    @Override
+    public ConcurrentSkipListSortedSet<T> with(T... elements)
+    {
+        super.with(elements);
+        return this;
+    }
+
+    @Override
+    public ConcurrentSkipListSortedSet<T> withAll(Iterable<? extends T> elements)
+    {
+        super.withAll(elements);
+        return this;
+    }
+
+    @Override
+    public ConcurrentSkipListSortedSet<T> newEmpty()
+    {
+        return new ConcurrentSkipListSortedSet<>(this.comparator());
+    }
+
+    @Override
+    public ConcurrentSkipListSortedSet<T> clone()
+    {
+        ConcurrentSkipListSet<T> copy = new ConcurrentSkipListSet<>(this.comparator());
+        copy.addAll(this.skipListSet);
+        return new ConcurrentSkipListSortedSet<>(copy);
+    }
+
+    @Override
+    public ConcurrentSkipListSortedSet<T> subSet(T fromElement, T toElement)
+    {
+        return new ConcurrentSkipListSortedSet<>(this.skipListSet.subSet(fromElement, true, toElement, false));
+    }
+
+    @Override
+    public ConcurrentSkipListSortedSet<T> headSet(T toElement)
+    {
+        return new ConcurrentSkipListSortedSet<>(this.skipListSet.headSet(toElement, false));
+    }
+
+    @Override
+    public ConcurrentSkipListSortedSet<T> tailSet(T fromElement)
+    {
+        return new ConcurrentSkipListSortedSet<>(this.skipListSet.tailSet(fromElement, true));
+    }
+
+    @Override
+    public T first()
+    {
+        // Checking isEmpty first, as SortedSetAdapter does, could race with a concurrent removal
+        return this.skipListSet.first();
+    }
+
+    @Override
+    public T last()
+    {
+        return this.skipListSet.last();
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.sorted.mutable;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+import org.eclipse.collections.impl.map.sorted.mutable.RankedTreeMap;
+import org.eclipse.collections.impl.utility.Iterate;
+
+/**
+ * A RankedTreeSortedSet is a MutableSortedSet backed by a {@link RankedTreeMap}.  In addition to the MutableSortedSet
+ * API it supports positional access with {@link #get(int)}, {@link #rank(Object)} and
+ * {@link #countBetween(Object, Object)} in O(log n) time.  {@link #indexOf(Object)} and the size of head, tail and
+ * sub set views are also computed without iterating.
+ *
+ * @since 9.2
+ */
+public class RankedTreeSortedSet<T>
+        extends SortedSetAdapter<T>
+{
+    private static final long serialVersionUID = 1L;
+    private final RankedTreeMap<T, Object> rankedTreeMap;
+
+    public RankedTreeSortedSet()
+    {
+        this(new RankedTreeMap<>());
+    }
+
+    public RankedTreeSortedSet(Comparator<? super T> comparator)
+    {
+        this(new RankedTreeMap<>(comparator));
+    }
+
+    public RankedTreeSortedSet(Comparator<? super T> comparator, Iterable<? extends T> iterable)
+    {
+        this(comparator);
+        this.addAllIterable(iterable);
+    }
+
+    private RankedTreeSortedSet(RankedTreeMap<T, Object> rankedTreeMap)
+    {
+        super(new RankedTreeSet<>(rankedTreeMap));
+        this.rankedTreeMap = rankedTreeMap;
+    }
+
+    public static <T> RankedTreeSortedSet<T> newSet()
+    {
+        return new RankedTreeSortedSet<>();
+    }
+
+    public static <T> RankedTreeSortedSet<T> newSet(Comparator<? super T> comparator)
+    {
+        return new RankedTreeSortedSet<>(comparator);
+    }
+
+    public static <T> RankedTreeSortedSet<T> newSet(Iterable<? extends T> source)
+    {
+        if (source instanceof SortedSet<?>)
+        {
+            return new RankedTreeSortedSet<>(((SortedSet<T>) source).comparator(), source);
+        }
+        return Iterate.addAllTo(source, RankedTreeSortedSet.newSet());
+    }
+
+    public static <T> RankedTreeSortedSet<T> newSet(Comparator<? super T> comparator, Iterable<? extends T> iterable)
+    {
+        return new RankedTreeSortedSet<>(comparator, iterable);
+    }
+
+    public static <T> RankedTreeSortedSet<T> newSetWith(T... elements)
+    {
+        return new RankedTreeSortedSet<T>().with(elements);
+    }
+
+    public static <T> RankedTreeSortedSet<T> newSetWith(Comparator<? super T> comparator, T... elements)
+    {
+        return new RankedTreeSortedSet<T>(comparator).with(elements);
+    }
+
+    /**
+     * Returns the element at the specified position in the sort order of this set.
+     *
+     * @throws IndexOutOfBoundsException if the index is negative or not less than {@code size()}
+     */
+    public T get(int index)
+    {
+        return this.rankedTreeMap.keyAt(index);
+    }
+
+    /**
+     * Returns the number of elements in this set which are strictly less than the specified element.  The element does
+     * not need to be present in the set.
+     */
+    public int rank(T element)
+    {
+        return this.rankedTreeMap.rank(element);
+    }
+
+    /**
+     * Returns the number of elements which are greater than or equal to {@code fromElement} and strictly less than
+     * {@code toElement}.
+     *
+     * @throws IllegalArgumentException if {@code fromElement} is greater than {@code toElement}
+     */
+    public int countBetween(T fromElement, T toElement)
+    {
+        return this.rankedTreeMap.countBetween(fromElement, toElement);
+    }
+
+    @Override
+    public int indexOf(Object object)
+    {
+        if (this.rankedTreeMap.containsKey(object))
+        {
+            return this.rankedTreeMap.rank(object);
+        }
+        return -1;
+    }
+
+    @Override
+    public RankedTreeSortedSet<T> with(T... elements)
+    {
+        super.with(elements);
+        return this;
+    }
+
+    @Override
+    public RankedTreeSortedSet<T> newEmpty()
+    {
+        return new RankedTreeSortedSet<>(this.comparator());
+    }
+
+    @Override
+    public RankedTreeSortedSet<T> clone()
+    {
+        return new RankedTreeSortedSet<>(new RankedTreeMap<>(this.rankedTreeMap));
+    }
+
+    /**
+     * A SortedSet over the keys of a RankedTreeMap or one of its sub maps.  Unlike the key set view of the map, it
+     * supports {@code add}, so head, tail and sub sets can be modified like those of a TreeSet.
+     */
+    private static final class RankedTreeSet<T>
+            extends AbstractSet<T>
+            implements SortedSet<T>, Serializable
+    {
+        private static final long serialVersionUID = 1L;
+        private final SortedMap<T, Object> map;
+
+        private RankedTreeSet(SortedMap<T, Object> map)
+        {
+            this.map = map;
+        }
+
+        @Override
+        public boolean add(T element)
+        {
+            if (this.map.containsKey(element))
+            {
+                return false;
+            }
+            this.map.put(element, null);
+            return true;
+        }
+
+        @Override
+        public boolean remove(Object element)
+        {
+            return this.map.keySet().remove(element);
+        }
+
+        @Override
+        public boolean contains(Object element)
+        {
+            return this.map.containsKey(element);
+        }
+
+        @Override
+        public int size()
+        {
+            return this.map.size();
+        }
+
+        @Override
+        public void clear()
+        {
+            this.map.clear();
+        }
+
+        @Override
+        public Iterator<T> iterator()
+        {
+            return this.map.keySet().iterator();
+        }
+
+        @Override
+        public Comparator<? super T> comparator()
+        {
+            return this.map.comparator();
+        }
+
+        @Override
+        public SortedSet<T> subSet(T fromElement, T toElement)
+        {
+            return new RankedTreeSet<>(this.map.subMap(fromElement, toElement));
+        }
+
+        @Override
+        public SortedSet<T> headSet(T toElement)
+        {
+            return new RankedTreeSet<>(this.map.headMap(toElement));
+        }
+
+        @Override
+        public SortedSet<T> tailSet(T fromElement)
+        {
+            return new RankedTreeSet<>(this.map.tailMap(fromElement));
+        }
+
+        @Override
+        public T first()
+        {
+            return this.map.firstKey();
+        }
+
+        @Override
+        public T last()
+        {
+            return this.map.lastKey();
+        }
+    }
+}
@@ -97,7 +97,7 @@ import org.eclipse.collections.impl.utility.internal.SortedSetIterables;
  * <p>
  * To create a new wrapper around an existing SortedSet instance, use the {@link #adapt(SortedSet)} factory method.
  */
-public final class SortedSetAdapter<T>
+public class SortedSetAdapter<T>
         extends AbstractCollectionAdapter<T>
         implements Serializable, MutableSortedSet<T>
 {
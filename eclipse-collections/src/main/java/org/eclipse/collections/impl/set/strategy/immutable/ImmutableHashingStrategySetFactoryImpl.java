@@ -13,6 +13,7 @@ package org.eclipse.collections.impl.set.strategy.immutable;
 import org.eclipse.collections.api.block.HashingStrategy;
 import org.eclipse.collections.api.factory.set.strategy.ImmutableHashingStrategySetFactory;
 import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.impl.set.immutable.ImmutablePerfectHashSet;
 import org.eclipse.collections.impl.utility.Iterate;
 
 public enum ImmutableHashingStrategySetFactoryImpl implements ImmutableHashingStrategySetFactory
@@ -59,4 +60,10 @@ public enum ImmutableHashingStrategySetFactoryImpl implements ImmutableHashingSt
     {
         return this.with(hashingStrategy, (T[]) Iterate.toArray(items));
     }
+
+    @Override
+    public <T> ImmutableSet<T> withAllPerfectHash(HashingStrategy<? super T> hashingStrategy, Iterable<? extends T> items)
+    {
+        return ImmutablePerfectHashSet.newSet(hashingStrategy, items);
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.utility.internal;
+
+/**
+ * A max-heap of a fixed capacity which retains the smallest of the ints offered to it.  After every value has been
+ * offered, {@link #max()} is the k-th smallest value, where k is the capacity, which lets callers select the k smallest
+ * of n values in O(n log k) time and O(k) space instead of sorting all of them.
+ *
+ * @since 9.2
+ */
+public final class BoundedIntHeap
+{
+    private final int[] heap;
+    private int size;
+
+    public BoundedIntHeap(int capacity)
+    {
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException("Capacity must be greater than zero, but was: " + capacity);
+        }
+        this.heap = new int[capacity];
+    }
+
+    public void offer(int value)
+    {
+        if (this.size < this.heap.length)
+        {
+            int index = this.size++;
+            while (index > 0)
+            {
+                int parent = (index - 1) >>> 1;
+                if (this.heap[parent] >= value)
+                {
+                    break;
+                }
+                this.heap[index] = this.heap[parent];
+                index = parent;
+            }
+            this.heap[index] = value;
+        }
+        else if (value < this.heap[0])
+        {
+            this.siftDown(value);
+        }
+    }
+
+    private void siftDown(int value)
+    {
+        int index = 0;
+        int half = this.size >>> 1;
+        while (index < half)
+        {
+            int child = 2 * index + 1;
+            if (child + 1 < this.size && this.heap[child + 1] > this.heap[child])
+            {
+                child++;
+            }
+            if (value >= this.heap[child])
+            {
+                break;
+            }
+            this.heap[index] = this.heap[child];
+            index = child;
+        }
+        this.heap[index] = value;
+    }
+
+    /**
+     * Returns the largest value retained.
+     *
+     * @throws IllegalStateException if no value has been offered
+     */
+    public int max()
+    {
+        if (this.size == 0)
+        {
+            throw new IllegalStateException("No value has been offered");
+        }
+        return this.heap[0];
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.utility.internal;
+
+import java.util.Arrays;
+
+/**
+ * A minimal perfect hash function over a fixed set of int hash codes, built with the hash-and-displace method of the
+ * CHD algorithm.  The distinct hash codes are split into buckets of about four, and each bucket is given the smallest
+ * seed under which all of its hash codes land on slots not yet taken.  A lookup reads the seed of its bucket and
+ * computes its slot from it, so it costs one hash, one read of the small seed array, and no probing.
+ * <p>
+ * Seeds are searched over a table about 3% larger than the number of hash codes, which keeps the search short for the
+ * last buckets.  The few hash codes which land beyond the end are moved to the free slots below it through a small
+ * remap array, so the resulting slots are exactly {@code 0} to {@link #size()} - 1.
+ * <p>
+ * Hash codes which are not part of the set map to an arbitrary slot, so callers must compare the key stored there.
+ *
+ * @since 9.2
+ */
+public final class MinimalPerfectHash
+{
+    private static final int AVERAGE_BUCKET_SIZE = 4;
+    private static final int MAX_SEED = 1 << 20;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private final int size;
+    private final int tableSize;
+    private final int[] seeds;
+    private final int[] remap;
+
+    private MinimalPerfectHash(int size, int tableSize, int[] seeds, int[] remap)
+    {
+        this.size = size;
+        this.tableSize = tableSize;
+        this.seeds = seeds;
+        this.remap = remap;
+    }
+
+    /**
+     * Builds a minimal perfect hash for the distinct values in {@code hashCodes}.  Equal hash codes share a slot.
+     */
+    public static MinimalPerfectHash build(int[] hashCodes)
+    {
+        int[] distinct = MinimalPerfectHash.distinct(hashCodes);
+        int size = distinct.length;
+        if (size == 0)
+        {
+            return new MinimalPerfectHash(0, 0, new int[1], new int[0]);
+        }
+        int tableSize = size + (size >>> 5) + 1;
+        int bucketCount = Math.max(1, size / AVERAGE_BUCKET_SIZE);
+        while (true)
+        {
+            MinimalPerfectHash result = MinimalPerfectHash.tryBuild(distinct, tableSize, bucketCount);
+            if (result != null)
+            {
+                return result;
+            }
+            if (bucketCount == size)
+            {
+                throw new IllegalStateException("Could not build a perfect hash for " + size + " hash codes");
+            }
+            // Smaller buckets are easier to place
+            bucketCount = Math.min(size, bucketCount << 1);
+        }
+    }
+
+    private static int[] distinct(int[] hashCodes)
+    {
+        int[] sorted = hashCodes.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++)
+        {
+            if (i == 0 || sorted[i] != sorted[i - 1])
+            {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+
+    private static MinimalPerfectHash tryBuild(int[] hashCodes, int tableSize, int bucketCount)
+    {
+        int size = hashCodes.length;
+
+        // Group hash codes by bucket, CSR style
+        int[] bucketStarts = new int[bucketCount + 1];
+        int[] bucketOf = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            bucketOf[i] = MinimalPerfectHash.bucket(hashCodes[i], bucketCount);
+            bucketStarts[bucketOf[i] + 1]++;
+        }
+        int maxBucketSize = 0;
+        for (int b = 0; b < bucketCount; b++)
+        {
+            maxBucketSize = Math.max(maxBucketSize, bucketStarts[b + 1]);
+            bucketStarts[b + 1] += bucketStarts[b];
+        }
+        int[] members = new int[size];
+        int[] fill = Arrays.copyOf(bucketStarts, bucketCount);
+        for (int i = 0; i < size; i++)
+        {
+            members[fill[bucketOf[i]]++] = hashCodes[i];
+        }
+
+        // Place the largest buckets first, while most slots are still free
+        int[] bySizeStarts = new int[maxBucketSize + 2];
+        for (int b = 0; b < bucketCount; b++)
+        {
+            bySizeStarts[maxBucketSize - (bucketStarts[b + 1] - bucketStarts[b]) + 1]++;
+        }
+        for (int s = 0; s <= maxBucketSize; s++)
+        {
+            bySizeStarts[s + 1] += bySizeStarts[s];
+        }
+        int[] order = new int[bucketCount];
+        for (int b = 0; b < bucketCount; b++)
+        {
+            order[bySizeStarts[maxBucketSize - (bucketStarts[b + 1] - bucketStarts[b])]++] = b;
+        }
+
+        boolean[] taken = new boolean[tableSize];
+        int[] seeds = new int[bucketCount];
+        int[] positions = new int[maxBucketSize];
+        for (int bucket : order)
+        {
+            int start = bucketStarts[bucket];
+            int length = bucketStarts[bucket + 1] - start;
+            if (length == 0)
+            {
+                break;
+            }
+            int seed = MinimalPerfectHash.findSeed(members, start, length, taken, positions, tableSize);
+            if (seed < 0)
+            {
+                return null;
+            }
+            seeds[bucket] = seed;
+            for (int j = 0; j < length; j++)
+            {
+                taken[positions[j]] = true;
+            }
+        }
+
+        int[] remap = new int[tableSize - size];
+        int free = 0;
+        for (int slot = size; slot < tableSize; slot++)
+        {
+            if (taken[slot])
+            {
+                while (taken[free])
+                {
+                    free++;
+                }
+                remap[slot - size] = free++;
+            }
+        }
+        return new MinimalPerfectHash(size, tableSize, seeds, remap);
+    }
+
+    private static int findSeed(int[] members, int start, int length, boolean[] taken, int[] positions, int tableSize)
+    {
+        for (int seed = 0; seed < MAX_SEED; seed++)
+        {
+            boolean placed = true;
+            for (int j = 0; j < length && placed; j++)
+            {
+                int position = MinimalPerfectHash.position(members[start + j], seed, tableSize);
+                if (taken[position])
+                {
+                    placed = false;
+                }
+                for (int k = 0; k < j && placed; k++)
+                {
+                    if (positions[k] == position)
+                    {
+                        placed = false;
+                    }
+                }
+                positions[j] = position;
+            }
+            if (placed)
+            {
+                return seed;
+            }
+        }
+        return -1;
+    }
+
+    private static int mix(int hash)
+    {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    // Maps a 32-bit value onto [0, range) without a division
+    private static int reduce(int value, int range)
+    {
+        return (int) ((value & 0xFFFFFFFFL) * range >>> 32);
+    }
+
+    private static int bucket(int hash, int bucketCount)
+    {
+        return MinimalPerfectHash.reduce(MinimalPerfectHash.mix(hash), bucketCount);
+    }
+
+    private static int position(int hash, int seed, int tableSize)
+    {
+        return MinimalPerfectHash.reduce(MinimalPerfectHash.mix(hash ^ (seed + 1) * GOLDEN_RATIO), tableSize);
+    }
+
+    /**
+     * Returns the number of slots, which is the number of distinct hash codes the function was built from.
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Returns the slot of {@code hash}, between 0 and {@link #size()} - 1.  The result is only meaningful when the
+     * function is not empty.
+     */
+    public int slotOf(int hash)
+    {
+        int seed = this.seeds[MinimalPerfectHash.bucket(hash, this.seeds.length)];
+        int position = MinimalPerfectHash.position(hash, seed, this.tableSize);
+        return position < this.size ? position : this.remap[position - this.size];
+    }
+}
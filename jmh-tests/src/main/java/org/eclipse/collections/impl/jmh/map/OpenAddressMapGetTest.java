@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh.map;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import gnu.trove.map.TMap;
+import gnu.trove.map.hash.THashMap;
+import net.openhft.koloboke.collect.map.ObjObjMap;
+import net.openhft.koloboke.collect.map.hash.HashObjObjMaps;
+import org.apache.commons.lang.RandomStringUtils;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.map.mutable.SwissTableMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares hits and misses of {@link SwissTableMap} against {@link UnifiedMap}, Koloboke and Trove.  Missing keys are
+ * generated with the same length and alphabet as the present ones, so they are rejected by hash comparison rather
+ * than by the length check in {@link String#equals(Object)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OpenAddressMapGetTest extends AbstractJMHTestRunner
+{
+    private static final int RANDOM_COUNT = 9;
+
+    @Param({"250000", "500000", "1000000", "2500000", "5000000", "10000000"})
+    public int size;
+    private String[] elements;
+    private String[] missing;
+    private MutableMap<String, String> swissTableMap;
+    private MutableMap<String, String> unifiedMap;
+    private ObjObjMap<String, String> kolobokeMap;
+    private TMap<String, String> troveMap;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(123456789012345L);
+
+        this.elements = new String[this.size];
+        this.missing = new String[this.size];
+        this.swissTableMap = SwissTableMap.newMap(this.size);
+        this.unifiedMap = UnifiedMap.newMap(this.size);
+        this.kolobokeMap = HashObjObjMaps.newMutableMap(this.size);
+        this.troveMap = new THashMap<>(this.size);
+
+        for (int i = 0; i < this.size; i++)
+        {
+            String element = RandomStringUtils.random(RANDOM_COUNT, 0, 0, false, true, null, random);
+            this.elements[i] = element;
+            this.swissTableMap.put(element, "dummy");
+            this.unifiedMap.put(element, "dummy");
+            this.kolobokeMap.put(element, "dummy");
+            this.troveMap.put(element, "dummy");
+        }
+        for (int i = 0; i < this.size; i++)
+        {
+            String element = RandomStringUtils.random(RANDOM_COUNT, 0, 0, false, true, null, random);
+            while (this.unifiedMap.containsKey(element))
+            {
+                element = RandomStringUtils.random(RANDOM_COUNT, 0, 0, false, true, null, random);
+            }
+            this.missing[i] = element;
+        }
+    }
+
+    @Benchmark
+    public void swissTableHit()
+    {
+        int localSize = this.size;
+        String[] localElements = this.elements;
+        MutableMap<String, String> localMap = this.swissTableMap;
+
+        for (int i = 0; i < localSize; i++)
+        {
+            if (localMap.get(localElements[i]) == null)
+            {
+                throw new AssertionError(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void unifiedMapHit()
+    {
+        int localSize = this.size;
+        String[] localElements = this.elements;
+        MutableMap<String, String> localMap = this.unifiedMap;
+
+        for (int i = 0; i < localSize; i++)
+        {
+            if (localMap.get(localElements[i]) == null)
+            {
+                throw new AssertionError(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void kolobokeHit()
+    {
+        int localSize = this.size;
+        String[] localElements = this.elements;
+        ObjObjMap<String, String> localMap = this.kolobokeMap;
+
+        for (int i = 0; i < localSize; i++)
+        {
+            if (localMap.get(localElements[i]) == null)
+            {
+                throw new AssertionError(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void troveHit()
+    {
+        int localSize = this.size;
+        String[] localElements = this.elements;
+        TMap<String, String> localMap = this.troveMap;
+
+        for (int i = 0; i < localSize; i++)
+        {
+            if (localMap.get(localElements[i]) == null)
+            {
+                throw new AssertionError(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void swissTableMiss()
+    {
+        int localSize = this.size;
+        String[] localMissing = this.missing;
+        MutableMap<String, String> localMap = this.swissTableMap;
+
+        for (int i = 0; i < localSize; i++)
+        {
+            if (localMap.get(localMissing[i]) != null)
+            {
+                throw new AssertionError(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void unifiedMapMiss()
+    {
+        int localSize = this.size;
+        String[] localMissing = this.missing;
+        MutableMap<String, String> localMap = this.unifiedMap;
+
+        for (int i = 0; i < localSize; i++)
+        {
+            if (localMap.get(localMissing[i]) != null)
+            {
+                throw new AssertionError(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void kolobokeMiss()
+    {
+        int localSize = this.size;
+        String[] localMissing = this.missing;
+        ObjObjMap<String, String> localMap = this.kolobokeMap;
+
+        for (int i = 0; i < localSize; i++)
+        {
+            if (localMap.get(localMissing[i]) != null)
+            {
+                throw new AssertionError(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void troveMiss()
+    {
+        int localSize = this.size;
+        String[] localMissing = this.missing;
+        TMap<String, String> localMap = this.troveMap;
+
+        for (int i = 0; i < localSize; i++)
+        {
+            if (localMap.get(localMissing[i]) != null)
+            {
+                throw new AssertionError(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh.map;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import gnu.trove.map.TMap;
+import gnu.trove.map.hash.THashMap;
+import net.openhft.koloboke.collect.map.ObjObjMap;
+import net.openhft.koloboke.collect.map.hash.HashObjObjMaps;
+import org.apache.commons.lang.RandomStringUtils;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.map.mutable.SwissTableMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OpenAddressMapPutTest extends AbstractJMHTestRunner
+{
+    private static final int RANDOM_COUNT = 9;
+
+    @Param({"250000", "500000", "1000000", "2500000", "5000000", "10000000"})
+    public int size;
+    @Param({"true", "false"})
+    public boolean isPresized;
+    private String[] elements;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(123456789012345L);
+
+        this.elements = new String[this.size];
+
+        for (int i = 0; i < this.size; i++)
+        {
+            this.elements[i] = RandomStringUtils.random(RANDOM_COUNT, 0, 0, false, true, null, random);
+        }
+    }
+
+    @Benchmark
+    public MutableMap<String, String> swissTable()
+    {
+        int localSize = this.size;
+        String[] localElements = this.elements;
+
+        MutableMap<String, String> map = this.isPresized ? SwissTableMap.newMap(localSize) : SwissTableMap.newMap();
+
+        for (int i = 0; i < localSize; i++)
+        {
+            map.put(localElements[i], "dummy");
+        }
+        return map;
+    }
+
+    @Benchmark
+    public MutableMap<String, String> unifiedMap()
+    {
+        int localSize = this.size;
+        String[] localElements = this.elements;
+
+        MutableMap<String, String> map = this.isPresized ? UnifiedMap.newMap(localSize) : UnifiedMap.newMap();
+
+        for (int i = 0; i < localSize; i++)
+        {
+            map.put(localElements[i], "dummy");
+        }
+        return map;
+    }
+
+    @Benchmark
+    public ObjObjMap<String, String> koloboke()
+    {
+        int localSize = this.size;
+        String[] localElements = this.elements;
+
+        ObjObjMap<String, String> map = this.isPresized ? HashObjObjMaps.newMutableMap(localSize) : HashObjObjMaps.newMutableMap();
+
+        for (int i = 0; i < localSize; i++)
+        {
+            map.put(localElements[i], "dummy");
+        }
+        return map;
+    }
+
+    @Benchmark
+    public TMap<String, String> trove()
+    {
+        int localSize = this.size;
+        String[] localElements = this.elements;
+
+        TMap<String, String> map = this.isPresized ? new THashMap<>(localSize) : new THashMap<>();
+
+        for (int i = 0; i < localSize; i++)
+        {
+            map.put(localElements[i], "dummy");
+        }
+        return map;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh.map;
+
+import java.util.LinkedHashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.RandomStringUtils;
+import org.eclipse.collections.api.map.MutableOrderedMap;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.map.ordered.mutable.OrderedMapAdapter;
+import org.eclipse.collections.impl.map.ordered.mutable.OrderedUnifiedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OrderedMapIterationTest extends AbstractJMHTestRunner
+{
+    private static final int RANDOM_COUNT = 9;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+    private MutableOrderedMap<String, Integer> orderedUnifiedMap;
+    private MutableOrderedMap<String, Integer> linkedHashMapAdapter;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(123456789012345L);
+
+        this.orderedUnifiedMap = OrderedUnifiedMap.newMap(this.size);
+        this.linkedHashMapAdapter = OrderedMapAdapter.adapt(new LinkedHashMap<>(this.size));
+
+        for (int i = 0; i < this.size; i++)
+        {
+            String key = RandomStringUtils.random(RANDOM_COUNT, 0, 0, false, true, null, random);
+            this.orderedUnifiedMap.put(key, i);
+            this.linkedHashMapAdapter.put(key, i);
+        }
+    }
+
+    @Benchmark
+    public long orderedUnifiedMap_forEachKeyValue()
+    {
+        long[] sum = new long[1];
+        this.orderedUnifiedMap.forEachKeyValue((key, value) -> sum[0] += key.length() + value);
+        return sum[0];
+    }
+
+    @Benchmark
+    public long linkedHashMapAdapter_forEachKeyValue()
+    {
+        long[] sum = new long[1];
+        this.linkedHashMapAdapter.forEachKeyValue((key, value) -> sum[0] += key.length() + value);
+        return sum[0];
+    }
+
+    @Benchmark
+    public long orderedUnifiedMap_sumOfInt()
+    {
+        return this.orderedUnifiedMap.sumOfInt(Integer::intValue);
+    }
+
+    @Benchmark
+    public long linkedHashMapAdapter_sumOfInt()
+    {
+        return this.linkedHashMapAdapter.sumOfInt(Integer::intValue);
+    }
+}
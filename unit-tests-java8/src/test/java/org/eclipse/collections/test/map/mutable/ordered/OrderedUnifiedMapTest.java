@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.test.map.mutable.ordered;
+
+import org.eclipse.collections.api.map.MutableOrderedMap;
+import org.eclipse.collections.impl.map.ordered.mutable.OrderedUnifiedMap;
+import org.eclipse.collections.impl.test.junit.Java8Runner;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+@RunWith(Java8Runner.class)
+public class OrderedUnifiedMapTest implements MutableOrderedMapTestCase
+{
+    @Override
+    public <T> MutableOrderedMap<Object, T> newWith(T... elements)
+    {
+        int i = elements.length;
+        MutableOrderedMap<Object, T> result = OrderedUnifiedMap.newMap();
+        for (T each : elements)
+        {
+            assertNull(result.put(i, each));
+            i--;
+        }
+        return result;
+    }
+
+    @Override
+    public <K, V> MutableOrderedMap<K, V> newWithKeysValues(Object... elements)
+    {
+        if (elements.length % 2 != 0)
+        {
+            fail(String.valueOf(elements.length));
+        }
+
+        MutableOrderedMap<K, V> result = OrderedUnifiedMap.newMap();
+        for (int i = 0; i < elements.length; i += 2)
+        {
+            assertNull(result.put((K) elements[i], (V) elements[i + 1]));
+        }
+        return result;
+    }
+}
@@ -606,6 +606,27 @@ public abstract class AbstractRichIterableTestCase
         Assert.assertEquals(Integer.valueOf(3), this.newWith(1, 3, 2).max(Integer::compareTo));
     }
 
+    @Test
+    public void topN()
+    {
+        RichIterable<Integer> integers = this.newWith(4, 1, 5, 3, 2);
+        Assert.assertEquals(Lists.mutable.with(5, 4), integers.topN(2, Integer::compareTo));
+        Assert.assertEquals(Lists.mutable.with(1, 2, 3), integers.topN(3, Comparators.reverseNaturalOrder()));
+        Assert.assertEquals(Lists.mutable.with(5, 4, 3, 2, 1), integers.topN(10, Integer::compareTo));
+        Assert.assertEquals(Lists.mutable.with(5, 4, 3, 2, 1), integers.topN(Integer.MAX_VALUE, Integer::compareTo));
+        Assert.assertEquals(Interval.fromTo(100, 51), Interval.oneTo(100).topN(50, Integer::compareTo));
+        Verify.assertEmpty(integers.topN(0, Integer::compareTo));
+        Verify.assertThrows(IllegalArgumentException.class, () -> integers.topN(-1, Integer::compareTo));
+    }
+
+    @Test
+    public void topNBy()
+    {
+        RichIterable<Integer> integers = this.newWith(4, 1, 5, 3, 2);
+        Assert.assertEquals(Lists.mutable.with(1, 2), integers.topNBy(2, each -> -each));
+        Assert.assertEquals(Lists.mutable.with(5), integers.topNBy(1, String::valueOf));
+    }
+
     @Test(expected = NullPointerException.class)
     public void min_null_throws_without_comparator()
     {
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bag.immutable;
+
+import org.eclipse.collections.api.bag.ImmutableBag;
+import org.eclipse.collections.impl.bag.mutable.HashBag;
+import org.eclipse.collections.impl.factory.Bags;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ImmutableChampBag}.
+ */
+public class ImmutableChampBagTest extends ImmutableBagTestCase
+{
+    @Override
+    protected ImmutableBag<String> newBag()
+    {
+        return ImmutableChampBag.newBagWith("1", "2", "2", "3", "3", "3", "4", "4", "4", "4");
+    }
+
+    @Override
+    protected <T> ImmutableBag<T> newWith(T... littleElements)
+    {
+        return ImmutableChampBag.newBagWith(littleElements);
+    }
+
+    @Override
+    protected int numKeys()
+    {
+        return 4;
+    }
+
+    @Override
+    @Test
+    public void testSize()
+    {
+        Verify.assertIterableSize(10, this.newBag());
+    }
+
+    @Override
+    public void toStringOfItemToCount()
+    {
+        Assert.assertEquals("{}", ImmutableChampBag.empty().toStringOfItemToCount());
+        Assert.assertEquals("{1=3}", ImmutableChampBag.newBagWith("1", "1", "1").toStringOfItemToCount());
+        String actual = ImmutableChampBag.newBagWith("1", "2", "2").toStringOfItemToCount();
+        Assert.assertTrue("{1=1, 2=2}".equals(actual) || "{2=2, 1=1}".equals(actual));
+    }
+
+    @Override
+    @Test
+    public void groupByUniqueKey()
+    {
+        ImmutableBag<Integer> immutableBag = ImmutableChampBag.newBagWith(1, 2, 3);
+        Assert.assertEquals(Maps.immutable.of(1, 1, 2, 2, 3, 3), immutableBag.groupByUniqueKey(id -> id));
+    }
+
+    @Override
+    @Test
+    public void groupByUniqueKey_target()
+    {
+        ImmutableBag<Integer> immutableBag = ImmutableChampBag.newBagWith(1, 2, 3);
+        Assert.assertEquals(Maps.immutable.of(0, 0, 1, 1, 2, 2, 3, 3), immutableBag.groupByUniqueKey(id -> id, UnifiedMap.newWithKeysValues(0, 0)));
+    }
+
+    @Test
+    public void persistentUpdates()
+    {
+        ImmutableBag<String> bag = Bags.immutable.withAllPersistent(this.newBag());
+        Verify.assertInstanceOf(ImmutableChampBag.class, bag);
+        ImmutableBag<String> updated = bag.newWith("4").newWith("5").newWithout("1").newWithout("2");
+        Verify.assertInstanceOf(ImmutableChampBag.class, updated);
+        Assert.assertEquals(HashBag.newBagWith("2", "3", "3", "3", "4", "4", "4", "4", "4", "5"), updated);
+        Assert.assertEquals(HashBag.newBagWith("1", "2", "2", "3", "3", "3", "4", "4", "4", "4"), bag);
+        Assert.assertSame(updated, updated.newWithout("1"));
+        Assert.assertEquals(HashBag.newBagWith("2", "5"), updated.newWithoutAll(HashBag.newBagWith("3", "4")));
+        Assert.assertSame(Bags.immutable.emptyPersistent(), updated.newWithoutAll(updated));
+        Verify.assertPostSerializedEqualsAndHashCode(updated);
+    }
+}
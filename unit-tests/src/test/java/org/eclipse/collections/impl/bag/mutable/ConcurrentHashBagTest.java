@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bag.mutable;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.tuple.primitive.ObjectIntPair;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ConcurrentHashBag}.
+ */
+public class ConcurrentHashBagTest extends MutableBagTestCase
+{
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        this.executor = Executors.newFixedThreadPool(20);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Override
+    protected <T> MutableBag<T> newWith(T... littleElements)
+    {
+        return ConcurrentHashBag.newBagWith(littleElements);
+    }
+
+    @Override
+    protected <T> MutableBag<T> newWithOccurrences(ObjectIntPair<T>... elementsWithOccurrences)
+    {
+        MutableBag<T> bag = this.newWith();
+        for (ObjectIntPair<T> itemToAdd : elementsWithOccurrences)
+        {
+            bag.addOccurrences(itemToAdd.getOne(), itemToAdd.getTwo());
+        }
+        return bag;
+    }
+
+    @Test
+    public void newBagFromBag()
+    {
+        Verify.assertBagsEqual(
+                HashBag.newBagWith(1, 2, 2, 3, 3, 3),
+                ConcurrentHashBag.newBag(HashBag.newBagWith(1, 2, 2, 3, 3, 3)));
+        Verify.assertBagsEqual(
+                HashBag.newBagWith(1, 2, 2, null),
+                ConcurrentHashBag.newBag(FastList.newListWith(1, 2, 2, null)));
+    }
+
+    @Test
+    public void concurrentAddOccurrences()
+    {
+        ConcurrentHashBag<Integer> bag = ConcurrentHashBag.newBag();
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> bag.addOccurrences(each % 10, 2), 1, this.executor);
+        Verify.assertSize(20000, bag);
+        Assert.assertEquals(10, bag.sizeDistinct());
+        Interval.zeroTo(9).each(each -> Assert.assertEquals(2000, bag.occurrencesOf(each)));
+    }
+
+    @Test
+    public void concurrentAddAndRemoveOccurrences()
+    {
+        ConcurrentHashBag<Integer> bag = ConcurrentHashBag.newBag();
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> {
+            bag.add(each % 5);
+            bag.addOccurrences(each % 5, 3);
+            Assert.assertTrue(bag.removeOccurrences(each % 5, 2));
+            Assert.assertTrue(bag.remove(each % 5));
+        }, 1, this.executor);
+        Verify.assertSize(10000, bag);
+        Interval.zeroTo(4).each(each -> Assert.assertEquals(2000, bag.occurrencesOf(each)));
+
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> bag.remove(each % 5), 1, this.executor);
+        Verify.assertEmpty(bag);
+        Assert.assertEquals(0, bag.sizeDistinct());
+    }
+
+    @Test
+    public void concurrentTopOccurrences()
+    {
+        ConcurrentHashBag<Integer> bag = ConcurrentHashBag.newBag();
+        ParallelIterate.forEach(Interval.oneTo(100), each -> bag.addOccurrences(each, each), 1, this.executor);
+        MutableList<ObjectIntPair<Integer>> top = bag.topOccurrences(3);
+        Assert.assertEquals(Interval.fromTo(100, 98), top.collect(ObjectIntPair::getOne));
+    }
+
+    @Test
+    public void setOccurrencesToZeroUnlinksItem()
+    {
+        ConcurrentHashBag<String> bag = ConcurrentHashBag.newBagWith("a", "a", "b");
+        Assert.assertTrue(bag.setOccurrences("a", 0));
+        Assert.assertFalse(bag.contains("a"));
+        Assert.assertEquals(1, bag.sizeDistinct());
+        Assert.assertEquals(3, bag.addOccurrences("a", 3));
+        Verify.assertSize(4, bag);
+    }
+
+    @Test
+    public void iteratorSkipsItemsRemovedDuringIteration()
+    {
+        ConcurrentHashBag<Integer> bag = ConcurrentHashBag.newBag();
+        Interval.oneTo(100).each(each -> bag.addOccurrences(each, 2));
+        MutableList<Integer> seen = FastList.newList();
+        Iterator<Integer> iterator = bag.iterator();
+        while (iterator.hasNext())
+        {
+            Integer next = iterator.next();
+            seen.add(next);
+            bag.removeOccurrences(next % 100 + 1, 2);
+        }
+        Verify.assertNotEmpty(seen);
+        Assert.assertTrue(seen.allSatisfy(each -> seen.count(each::equals) == 2));
+        Assert.assertFalse(iterator.hasNext());
+        Verify.assertThrows(NoSuchElementException.class, (Runnable) iterator::next);
+    }
+
+    @Test
+    public void iteratorRemovesLastReturnedItem()
+    {
+        ConcurrentHashBag<String> bag = ConcurrentHashBag.newBagWith("a", "b");
+        Iterator<String> iterator = bag.iterator();
+        String first = iterator.next();
+        Assert.assertTrue(iterator.hasNext());
+        iterator.remove();
+        Assert.assertFalse(bag.contains(first));
+        Verify.assertThrows(IllegalStateException.class, iterator::remove);
+        Assert.assertNotEquals(first, iterator.next());
+        Assert.assertFalse(iterator.hasNext());
+    }
+}
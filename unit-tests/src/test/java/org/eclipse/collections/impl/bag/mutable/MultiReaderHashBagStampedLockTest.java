@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bag.mutable;
+
+import org.eclipse.collections.impl.collection.mutable.StampedReadWriteLock;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link MultiReaderHashBag} guarded by a {@link StampedReadWriteLock}.
+ */
+public class MultiReaderHashBagStampedLockTest extends MultiReaderHashBagTest
+{
+    @Override
+    protected <T> MultiReaderHashBag<T> newWith(T... littleElements)
+    {
+        return MultiReaderHashBag.newStampedBagWith(littleElements);
+    }
+
+    @Test
+    public void optimisticOccurrences()
+    {
+        MultiReaderHashBag<String> bag = MultiReaderHashBag.newStampedBagWith("a", "a", "b");
+        Verify.assertInstanceOf(StampedReadWriteLock.class, bag.getLock());
+        Verify.assertInstanceOf(StampedReadWriteLock.class, ((MultiReaderHashBag<String>) bag.newEmpty()).getLock());
+        Assert.assertEquals(2, bag.occurrencesOf("a"));
+        Assert.assertEquals(2, bag.sizeDistinct());
+        bag.withWriteLockAndDelegate(delegate -> delegate.addOccurrences("c", 3));
+        Assert.assertEquals(3, bag.occurrencesOf("c"));
+        Verify.assertSize(6, bag);
+    }
+
+    @Test
+    public void serializationKeepsStampedLock()
+    {
+        MultiReaderHashBag<String> collection = MultiReaderHashBag.newStampedBagWith("a", "b");
+        MultiReaderHashBag<String> deserialized = SerializeTestHelper.serializeDeserialize(collection);
+        Verify.assertInstanceOf(StampedReadWriteLock.class, deserialized.getLock());
+        Assert.assertEquals(collection, deserialized);
+    }
+}
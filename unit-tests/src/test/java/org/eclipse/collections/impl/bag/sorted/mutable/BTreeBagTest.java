@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bag.sorted.mutable;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+
+import org.eclipse.collections.api.bag.sorted.MutableSortedBag;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link BTreeBag}.
+ */
+public class BTreeBagTest extends AbstractMutableSortedBagTestCase
+{
+    @Override
+    protected <T> MutableSortedBag<T> newWith(T... littleElements)
+    {
+        return BTreeBag.newBagWith(littleElements);
+    }
+
+    @Override
+    protected <T> MutableSortedBag<T> newWith(Comparator<? super T> comparator, T... elements)
+    {
+        return BTreeBag.newBagWith(comparator, elements);
+    }
+
+    @Override
+    @Test
+    public void asSynchronized()
+    {
+        Verify.assertInstanceOf(SynchronizedSortedBag.class, this.newWith().asSynchronized());
+    }
+
+    @Test
+    public void sortedBagIterableConstructor()
+    {
+        BTreeBag<Integer> sortedBagA = BTreeBag.newBag(Collections.reverseOrder());
+        BTreeBag<Integer> sortedBagB = BTreeBag.newBag(sortedBagA.with(1).with(2, 3).with(4, 5, 6).with(1, 1, 1, 1));
+        Verify.assertSortedBagsEqual(sortedBagA, sortedBagB);
+        Assert.assertTrue(sortedBagA.getFirst().equals(sortedBagB.getFirst()) && sortedBagB.getFirst() == 6);
+        Verify.assertSortedBagsEqual(TreeBag.newBag(sortedBagB), BTreeBag.newBag(sortedBagB));
+    }
+
+    @Test
+    public void manyDistinctItems()
+    {
+        BTreeBag<Integer> bag = BTreeBag.newBag();
+        TreeBag<Integer> expected = TreeBag.newBag();
+        Interval.fromToBy(9999, 0, -7).each(each -> {
+            bag.addOccurrences(each, each % 5 + 1);
+            expected.addOccurrences(each, each % 5 + 1);
+        });
+        Interval.zeroTo(10000).each(each -> {
+            bag.add(each);
+            expected.add(each);
+        });
+        Verify.assertSortedBagsEqual(expected, bag);
+        Assert.assertEquals(expected.sizeDistinct(), bag.sizeDistinct());
+        Assert.assertEquals(Integer.valueOf(0), bag.getFirst());
+        Assert.assertEquals(Integer.valueOf(10000), bag.getLast());
+
+        Interval.fromToBy(0, 10000, 3).each(each -> {
+            bag.removeOccurrences(each, 2);
+            expected.removeOccurrences(each, 2);
+        });
+        Interval.fromToBy(1, 10000, 3).each(each -> {
+            bag.setOccurrences(each, 0);
+            expected.setOccurrences(each, 0);
+        });
+        Verify.assertSortedBagsEqual(expected, bag);
+        Assert.assertEquals(expected.sizeDistinct(), bag.sizeDistinct());
+        Assert.assertEquals(expected.size(), bag.size());
+        Assert.assertEquals(expected.hashCode(), bag.hashCode());
+
+        bag.removeIf(each -> each % 2 == 0);
+        expected.removeIf(each -> each % 2 == 0);
+        Verify.assertSortedBagsEqual(expected, bag);
+
+        bag.removeAllIterable(expected.toList());
+        Verify.assertEmpty(bag);
+        Assert.assertNull(bag.getFirst());
+        Assert.assertEquals(0, bag.sizeDistinct());
+    }
+
+    @Test
+    public void forEachWithIndexRange()
+    {
+        BTreeBag<String> bag = BTreeBag.newBagWith("a", "a", "b", "b", "b", "c", "d", "d");
+        MutableList<String> result = FastList.newList();
+        MutableList<Integer> indices = FastList.newList();
+        bag.forEachWithIndex(3, 6, (each, index) -> {
+            result.add(each);
+            indices.add(index);
+        });
+        Assert.assertEquals(FastList.newListWith("b", "b", "c", "d"), result);
+        Assert.assertEquals(FastList.newListWith(3, 4, 5, 6), indices);
+    }
+
+    @Test
+    public void iteratorRemove()
+    {
+        BTreeBag<Integer> bag = BTreeBag.newBag();
+        Interval.oneTo(500).each(each -> bag.addOccurrences(each, 2));
+        for (Iterator<Integer> iterator = bag.iterator(); iterator.hasNext(); )
+        {
+            Integer next = iterator.next();
+            if (next % 3 != 0)
+            {
+                iterator.remove();
+            }
+        }
+        BTreeBag<Integer> expected = BTreeBag.newBag();
+        Interval.oneTo(500).select(each -> each % 3 == 0).each(each -> expected.addOccurrences(each, 2));
+        Verify.assertSortedBagsEqual(expected, bag);
+
+        BTreeBag<Integer> partial = BTreeBag.newBagWith(1, 2, 2, 2, 3);
+        Iterator<Integer> iterator = partial.iterator();
+        iterator.next();
+        iterator.next();
+        iterator.next();
+        iterator.next();
+        iterator.remove();
+        Verify.assertSortedBagsEqual(TreeBag.newBagWith(1, 2, 2, 3), partial);
+        Verify.assertThrows(IllegalStateException.class, iterator::remove);
+    }
+
+    @Override
+    @Test
+    public void serialization()
+    {
+        MutableSortedBag<Integer> bag = this.newWith(1, 2, 2, 3, 4, 5);
+        Verify.assertPostSerializedEqualsAndHashCode(bag);
+        Verify.assertPostSerializedEqualsAndHashCode(BTreeBag.newBag(Interval.oneTo(1000)));
+    }
+
+    @Override
+    @Test(expected = NullPointerException.class)
+    public void min_null_safe()
+    {
+        super.min_null_safe();
+    }
+
+    @Override
+    @Test(expected = NullPointerException.class)
+    public void max_null_safe()
+    {
+        super.max_null_safe();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bag.sorted.mutable;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+
+import org.eclipse.collections.api.bag.sorted.MutableSortedBag;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link RankedTreeBag}.
+ */
+public class RankedTreeBagTest extends AbstractMutableSortedBagTestCase
+{
+    @Override
+    protected <T> MutableSortedBag<T> newWith(T... littleElements)
+    {
+        return RankedTreeBag.newBagWith(littleElements);
+    }
+
+    @Override
+    protected <T> MutableSortedBag<T> newWith(Comparator<? super T> comparator, T... elements)
+    {
+        return RankedTreeBag.newBagWith(comparator, elements);
+    }
+
+    @Override
+    @Test
+    public void asSynchronized()
+    {
+        Verify.assertInstanceOf(SynchronizedSortedBag.class, this.newWith().asSynchronized());
+    }
+
+    @Test
+    public void sortedBagIterableConstructor()
+    {
+        RankedTreeBag<Integer> sortedBagA = RankedTreeBag.newBag(Collections.reverseOrder());
+        RankedTreeBag<Integer> sortedBagB = RankedTreeBag.newBag(sortedBagA.with(1).with(2, 3).with(4, 5, 6).with(1, 1, 1, 1));
+        Verify.assertSortedBagsEqual(sortedBagA, sortedBagB);
+        Assert.assertTrue(sortedBagA.getFirst().equals(sortedBagB.getFirst()) && sortedBagB.getFirst() == 6);
+        Verify.assertSortedBagsEqual(TreeBag.newBag(sortedBagB), RankedTreeBag.newBag(sortedBagB));
+    }
+
+    @Test
+    public void percentiles()
+    {
+        RankedTreeBag<Integer> latencies = RankedTreeBag.newBag();
+        Interval.oneTo(100).each(each -> latencies.addOccurrences(each, each));
+        Verify.assertSize(5050, latencies);
+        Assert.assertEquals(Integer.valueOf(1), latencies.get(0));
+        Assert.assertEquals(Integer.valueOf(100), latencies.get(5049));
+        Assert.assertEquals(Integer.valueOf(100), latencies.get(4950));
+        Assert.assertEquals(Integer.valueOf(99), latencies.get(4949));
+        Assert.assertEquals(4950, latencies.rank(100));
+        Assert.assertEquals(4950, latencies.indexOf(100));
+        Assert.assertEquals(-1, latencies.indexOf(101));
+        Assert.assertEquals(1 + 2 + 3, latencies.countBetween(1, 4));
+
+        latencies.removeOccurrences(2, 1);
+        latencies.setOccurrences(3, 0);
+        Assert.assertEquals(1 + 1, latencies.countBetween(1, 4));
+        Assert.assertEquals(Integer.valueOf(4), latencies.get(2));
+        Verify.assertThrows(IndexOutOfBoundsException.class, () -> latencies.get(latencies.size()));
+        Verify.assertThrows(IllegalArgumentException.class, () -> latencies.countBetween(4, 1));
+    }
+
+    @Test
+    public void forEachWithIndexRangeSeeksToStart()
+    {
+        RankedTreeBag<String> bag = RankedTreeBag.newBagWith("a", "a", "b", "b", "b", "c", "d", "d");
+        MutableList<String> result = FastList.newList();
+        MutableList<Integer> indices = FastList.newList();
+        bag.forEachWithIndex(3, 6, (each, index) -> {
+            result.add(each);
+            indices.add(index);
+        });
+        Assert.assertEquals(FastList.newListWith("b", "b", "c", "d"), result);
+        Assert.assertEquals(FastList.newListWith(3, 4, 5, 6), indices);
+
+        RankedTreeBag<Integer> reversed = RankedTreeBag.newBagWith(Comparators.reverseNaturalOrder(), 1, 1, 2, 3);
+        Assert.assertEquals(Integer.valueOf(3), reversed.get(0));
+        Assert.assertEquals(2, reversed.indexOf(1));
+    }
+
+    @Test
+    public void iteratorRemove()
+    {
+        RankedTreeBag<Integer> bag = RankedTreeBag.newBagWith(1, 2, 2, 2, 3);
+        for (Iterator<Integer> iterator = bag.iterator(); iterator.hasNext(); )
+        {
+            if (iterator.next() == 2)
+            {
+                iterator.remove();
+            }
+        }
+        Verify.assertSortedBagsEqual(TreeBag.newBagWith(1, 3), bag);
+
+        RankedTreeBag<Integer> partial = RankedTreeBag.newBagWith(1, 2, 2, 2, 3);
+        Iterator<Integer> iterator = partial.iterator();
+        iterator.next();
+        iterator.next();
+        iterator.next();
+        iterator.next();
+        iterator.remove();
+        Verify.assertSortedBagsEqual(TreeBag.newBagWith(1, 2, 2, 3), partial);
+    }
+
+    @Override
+    @Test
+    public void serialization()
+    {
+        MutableSortedBag<Integer> bag = this.newWith(1, 2, 2, 3, 4, 5);
+        Verify.assertPostSerializedEqualsAndHashCode(bag);
+    }
+
+    @Override
+    @Test(expected = NullPointerException.class)
+    public void min_null_safe()
+    {
+        super.min_null_safe();
+    }
+
+    @Override
+    @Test(expected = NullPointerException.class)
+    public void max_null_safe()
+    {
+        super.max_null_safe();
+    }
+}
@@ -14,9 +14,12 @@ import java.io.IOException;
 import java.util.Map;
 
 import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.Function2;
 import org.eclipse.collections.api.block.function.primitive.DoubleFunction;
 import org.eclipse.collections.api.block.function.primitive.IntFunction;
+import org.eclipse.collections.api.block.function.primitive.IntToObjectFunction;
 import org.eclipse.collections.api.block.function.primitive.LongFunction;
+import org.eclipse.collections.api.block.function.primitive.LongToObjectFunction;
 import org.eclipse.collections.api.block.function.primitive.ShortFunction;
 import org.eclipse.collections.api.collection.MutableCollection;
 import org.eclipse.collections.api.list.ImmutableList;
@@ -24,14 +27,17 @@ import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.api.set.MutableSet;
 import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.bag.mutable.HashBag;
 import org.eclipse.collections.impl.block.function.primitive.IntegerFunctionImpl;
 import org.eclipse.collections.impl.block.function.primitive.LongFunctionImpl;
 import org.eclipse.collections.impl.factory.Lists;
 import org.eclipse.collections.impl.list.Interval;
 import org.eclipse.collections.impl.list.mutable.FastList;
 import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
 import org.eclipse.collections.impl.set.mutable.SetAdapter;
 import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
 import org.eclipse.collections.impl.test.Verify;
 import org.eclipse.collections.impl.test.domain.Person;
 import org.eclipse.collections.impl.tuple.Tuples;
@@ -243,6 +249,134 @@ public class FunctionsTest
                 UnifiedSet.newSetWith(1, 2, 3).collect(function));
     }
 
+    @Test
+    public void memoize()
+    {
+        MutableList<Integer> calls = Lists.mutable.empty();
+        Function<Integer, String> function = Functions.memoize(each -> {
+            calls.add(each);
+            return String.valueOf(each);
+        }, 3);
+        Assert.assertEquals(
+                iList("1", "2", "1", "2", "3", "1"),
+                iList(1, 2, 1, 2, 3, 1).collect(function));
+        Assert.assertEquals(iList(1, 2, 3), calls);
+        Assert.assertEquals("4", function.valueOf(4));
+        Assert.assertEquals("1", function.valueOf(1));
+        Assert.assertEquals("3", function.valueOf(3));
+        Assert.assertEquals("2", function.valueOf(2));
+        Assert.assertEquals(iList(1, 2, 3, 4, 2), calls);
+        Verify.assertThrows(IllegalArgumentException.class, () -> Functions.memoize(Object::toString, 0));
+    }
+
+    @Test
+    public void memoizeSerialization()
+    {
+        Function<Object, String> function = SerializeTestHelper.serializeDeserialize(Functions.memoize(Functions.getToString(), 10));
+        Assert.assertEquals("1", function.valueOf(1));
+        IntToObjectFunction<String> intFunction = SerializeTestHelper.serializeDeserialize(Functions.memoizeInt(String::valueOf, 10));
+        Assert.assertEquals("1", intFunction.valueOf(1));
+        LongToObjectFunction<String> longFunction = SerializeTestHelper.serializeDeserialize(Functions.memoizeLong(String::valueOf, 10));
+        Assert.assertEquals("1", longFunction.valueOf(1L));
+    }
+
+    @Test
+    public void concurrentMemoize()
+    {
+        MutableList<Integer> calls = Lists.mutable.<Integer>empty().asSynchronized();
+        Function<Integer, String> function = Functions.concurrentMemoize(each -> {
+            calls.add(each);
+            return String.valueOf(each);
+        }, 100);
+        Assert.assertEquals(
+                Interval.oneTo(1000).collect(each -> String.valueOf(each % 10)).toBag(),
+                HashBag.newBag(ParallelIterate.collect(Interval.oneTo(1000), each -> function.valueOf(each % 10))));
+        Verify.assertSize(10, calls);
+    }
+
+    @Test
+    public void concurrentMemoizeSerialization()
+    {
+        Function<Object, String> function = Functions.concurrentMemoize(Functions.getToString(), 10);
+        Assert.assertEquals("1", function.valueOf(1));
+        Function<Object, String> deserialized = SerializeTestHelper.serializeDeserialize(function);
+        Assert.assertEquals("1", deserialized.valueOf(1));
+        Assert.assertEquals("2", deserialized.valueOf(2));
+        Function2<Integer, Integer, Integer> function2 = SerializeTestHelper.serializeDeserialize(Functions2.concurrentMemoize(Integer::sum, 10));
+        Assert.assertEquals(Integer.valueOf(3), function2.value(1, 2));
+    }
+
+    @Test
+    public void memoizeInt()
+    {
+        MutableList<Integer> calls = Lists.mutable.empty();
+        IntToObjectFunction<String> function = Functions.memoizeInt(each -> {
+            calls.add(each);
+            return String.valueOf(each);
+        }, 10);
+        Assert.assertEquals("1", function.valueOf(1));
+        Assert.assertEquals("1", function.valueOf(1));
+        Assert.assertEquals("2", function.valueOf(2));
+        Assert.assertEquals(iList(1, 2), calls);
+
+        calls.clear();
+        IntToObjectFunction<String> bounded = Functions.memoizeInt(each -> {
+            calls.add(each);
+            return String.valueOf(each);
+        }, 3);
+        Interval.oneTo(3).each(each -> bounded.valueOf(each));
+        Assert.assertEquals("1", bounded.valueOf(1));
+        Assert.assertEquals("4", bounded.valueOf(4));
+        Assert.assertEquals("1", bounded.valueOf(1));
+        Assert.assertEquals("2", bounded.valueOf(2));
+        Assert.assertEquals(iList(1, 2, 3, 4, 2), calls);
+    }
+
+    @Test
+    public void memoizeLong()
+    {
+        MutableList<Long> calls = Lists.mutable.empty();
+        LongToObjectFunction<String> function = Functions.memoizeLong(each -> {
+            calls.add(each);
+            return each == 0L ? null : String.valueOf(each);
+        }, 10);
+        Assert.assertNull(function.valueOf(0L));
+        Assert.assertNull(function.valueOf(0L));
+        Assert.assertEquals("1", function.valueOf(1L));
+        Assert.assertEquals("1", function.valueOf(1L));
+        Assert.assertEquals(iList(0L, 1L), calls);
+
+        calls.clear();
+        LongToObjectFunction<String> bounded = Functions.memoizeLong(each -> {
+            calls.add(each);
+            return String.valueOf(each);
+        }, 2);
+        Assert.assertEquals("1", bounded.valueOf(1L));
+        Assert.assertEquals("2", bounded.valueOf(2L));
+        Assert.assertEquals("2", bounded.valueOf(2L));
+        Assert.assertEquals("3", bounded.valueOf(3L));
+        Assert.assertEquals("2", bounded.valueOf(2L));
+        Assert.assertEquals(iList(1L, 2L, 3L), calls);
+    }
+
+    @Test
+    public void memoizeFunction2()
+    {
+        MutableList<Pair<Integer, Integer>> calls = Lists.mutable.empty();
+        Function2<Integer, Integer, Integer> function = Functions2.memoize((one, two) -> {
+            calls.add(Tuples.pair(one, two));
+            return one + two;
+        }, 10);
+        Assert.assertEquals(Integer.valueOf(3), function.value(1, 2));
+        Assert.assertEquals(Integer.valueOf(3), function.value(1, 2));
+        Assert.assertEquals(Integer.valueOf(3), function.value(2, 1));
+        Verify.assertSize(2, calls);
+
+        Function2<Integer, Integer, Integer> concurrent = Functions2.concurrentMemoize(Integer::sum, 10);
+        Assert.assertEquals(Integer.valueOf(3), concurrent.value(1, 2));
+        Assert.assertEquals(Integer.valueOf(3), concurrent.value(1, 2));
+    }
+
     @Test
     public void chains()
     {
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.collection.mutable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link StampedReadWriteLock}.
+ */
+public class StampedReadWriteLockTest
+{
+    @Test(timeout = 10000)
+    public void writerReentersWriteAndReadLocks()
+    {
+        StampedReadWriteLock lock = new StampedReadWriteLock();
+        lock.writeLock().lock();
+        lock.writeLock().lock();
+        lock.readLock().lock();
+        Assert.assertEquals(0L, lock.tryOptimisticRead());
+        lock.readLock().unlock();
+        lock.writeLock().unlock();
+        Assert.assertEquals(0L, lock.tryOptimisticRead());
+        lock.writeLock().unlock();
+        Assert.assertNotEquals(0L, lock.tryOptimisticRead());
+    }
+
+    @Test(timeout = 10000)
+    public void writeLockDowngradesToReadLock() throws InterruptedException
+    {
+        StampedReadWriteLock lock = new StampedReadWriteLock();
+        lock.writeLock().lock();
+        lock.readLock().lock();
+        lock.writeLock().unlock();
+        Assert.assertNotEquals(0L, lock.tryOptimisticRead());
+        Assert.assertFalse(this.tryWriteLockOnOtherThread(lock));
+        lock.readLock().unlock();
+        Assert.assertTrue(this.tryWriteLockOnOtherThread(lock));
+    }
+
+    @Test(timeout = 10000)
+    public void readerReentersWhileWriterWaits() throws InterruptedException
+    {
+        StampedReadWriteLock lock = new StampedReadWriteLock();
+        lock.readLock().lock();
+        CountDownLatch writerStarted = new CountDownLatch(1);
+        Thread writer = new Thread(() ->
+        {
+            writerStarted.countDown();
+            lock.writeLock().lock();
+            lock.writeLock().unlock();
+        });
+        writer.start();
+        writerStarted.await();
+        while (writer.getState() != Thread.State.WAITING)
+        {
+            Thread.yield();
+        }
+        lock.readLock().lock();
+        lock.readLock().unlock();
+        lock.readLock().unlock();
+        writer.join();
+    }
+
+    @Test
+    public void unlockWithoutHolding()
+    {
+        StampedReadWriteLock lock = new StampedReadWriteLock();
+        Verify.assertThrows(IllegalMonitorStateException.class, () -> lock.readLock().unlock());
+        Verify.assertThrows(IllegalMonitorStateException.class, () -> lock.writeLock().unlock());
+        Verify.assertThrows(UnsupportedOperationException.class, () -> lock.writeLock().newCondition());
+    }
+
+    private boolean tryWriteLockOnOtherThread(StampedReadWriteLock lock) throws InterruptedException
+    {
+        boolean[] result = new boolean[1];
+        Thread thread = new Thread(() ->
+        {
+            try
+            {
+                result[0] = lock.writeLock().tryLock(10L, TimeUnit.MILLISECONDS);
+                if (result[0])
+                {
+                    lock.writeLock().unlock();
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        thread.join();
+        return result[0];
+    }
+}
@@ -496,6 +496,15 @@ public abstract class AbstractLazyIterableTestCase
         Assert.assertEquals(Integer.valueOf(3), this.newWith(1, 3, 2).maxBy(String::valueOf));
     }
 
+    @Test
+    public void topNBy()
+    {
+        LazyIterable<Integer> integers = this.newWith(4, 1, 5, 3, 2);
+        Assert.assertEquals(FastList.newListWith(5, 4), integers.topNBy(2, String::valueOf));
+        Assert.assertEquals(FastList.newListWith(1, 2, 3), integers.topN(3, Comparators.reverseNaturalOrder()));
+        Assert.assertEquals(FastList.newListWith(5, 4, 3, 2, 1), integers.topNBy(10, String::valueOf));
+    }
+
     @Test(expected = NoSuchElementException.class)
     public void min_empty_throws_without_comparator()
     {
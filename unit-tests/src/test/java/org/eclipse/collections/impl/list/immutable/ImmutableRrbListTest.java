@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.list.immutable;
+
+import java.util.Random;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ImmutableRrbList}.
+ */
+public class ImmutableRrbListTest extends AbstractImmutableListTestCase
+{
+    @Override
+    protected ImmutableList<Integer> classUnderTest()
+    {
+        return ImmutableRrbList.newListWith(1, 2, 3);
+    }
+
+    @Test
+    public void newWithGrowsAcrossLevels()
+    {
+        ImmutableRrbList<Integer> list = ImmutableRrbList.empty();
+        for (int i = 0; i < 40_000; i++)
+        {
+            ImmutableRrbList<Integer> next = list.newWith(i);
+            Assert.assertEquals(i, list.size());
+            Assert.assertEquals(Integer.valueOf(i), next.getLast());
+            list = next;
+        }
+        Assert.assertEquals(Interval.zeroTo(39_999), list);
+        Assert.assertEquals(FastList.newList(Interval.zeroTo(39_999)), FastList.newList(list));
+    }
+
+    @Test
+    public void newWithFirst()
+    {
+        ImmutableRrbList<Integer> list = ImmutableRrbList.empty();
+        for (int i = 39_999; i >= 0; i--)
+        {
+            list = list.newWithFirst(i);
+        }
+        Assert.assertEquals(Interval.zeroTo(39_999), list);
+        Assert.assertEquals(Integer.valueOf(12_345), list.get(12_345));
+        Assert.assertEquals(Interval.zeroTo(40_000), list.newWith(40_000));
+    }
+
+    @Test
+    public void newWithAllConcatenates()
+    {
+        ImmutableRrbList<Integer> left = ImmutableRrbList.newList(Interval.zeroTo(999));
+        ImmutableRrbList<Integer> right = ImmutableRrbList.newList(Interval.fromTo(1_000, 50_999));
+        Assert.assertEquals(Interval.zeroTo(50_999), left.newWithAll(right));
+        Assert.assertEquals(Interval.fromTo(1_000, 50_999).toList().withAll(Interval.zeroTo(999)), right.newWithAll(left));
+        Assert.assertSame(left, left.newWithAll(ImmutableRrbList.empty()));
+        Assert.assertSame(right, ImmutableRrbList.<Integer>empty().newWithAll(right));
+        Assert.assertEquals(Interval.zeroTo(1_002), left.newWithAll(FastList.newListWith(1_000, 1_001, 1_002)));
+    }
+
+    @Test
+    public void repeatedConcatenationOfSmallLists()
+    {
+        ImmutableRrbList<Integer> list = ImmutableRrbList.empty();
+        MutableList<Integer> expected = FastList.newList();
+        for (int i = 0; i < 2_000; i++)
+        {
+            Interval chunk = Interval.fromTo(i * 17, i * 17 + i % 40);
+            list = list.newWithAll(ImmutableRrbList.newList(chunk));
+            expected.addAllIterable(chunk);
+        }
+        Assert.assertEquals(expected, list);
+        for (int i = 0; i < expected.size(); i += 97)
+        {
+            Assert.assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    @Test
+    public void randomOperations()
+    {
+        Random random = new Random(42L);
+        ImmutableRrbList<Integer> list = ImmutableRrbList.empty();
+        MutableList<Integer> expected = FastList.newList();
+        for (int i = 0; i < 3_000; i++)
+        {
+            int operation = random.nextInt(5);
+            if (operation == 0)
+            {
+                list = list.newWith(i);
+                expected.add(i);
+            }
+            else if (operation == 1)
+            {
+                list = list.newWithFirst(i);
+                expected.add(0, i);
+            }
+            else if (operation == 2)
+            {
+                Interval chunk = Interval.fromTo(i, i + random.nextInt(300));
+                ImmutableRrbList<Integer> other = ImmutableRrbList.newList(chunk);
+                if (random.nextBoolean())
+                {
+                    list = list.newWithAll(other);
+                    expected.addAllIterable(chunk);
+                }
+                else
+                {
+                    list = other.newWithAll(list);
+                    expected.addAll(0, chunk);
+                }
+            }
+            else if (operation == 3 && expected.size() > 2_000)
+            {
+                int from = random.nextInt(expected.size() / 2);
+                int to = from + random.nextInt(expected.size() - from);
+                list = list.subList(from, to);
+                expected = FastList.newList(expected.subList(from, to));
+            }
+            else if (!expected.isEmpty())
+            {
+                int index = random.nextInt(expected.size());
+                Integer removed = expected.get(index);
+                list = list.newWithout(removed);
+                expected.remove(removed);
+            }
+            Assert.assertEquals(expected.size(), list.size());
+        }
+        Assert.assertEquals(expected, list);
+        Assert.assertEquals(expected, FastList.newList(list));
+        for (int i = 0; i < expected.size(); i++)
+        {
+            Assert.assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    @Test
+    public void slicing()
+    {
+        ImmutableRrbList<Integer> list = ImmutableRrbList.newList(Interval.zeroTo(99_999));
+        Verify.assertInstanceOf(ImmutableRrbList.class, list.subList(10, 20));
+        Assert.assertEquals(Interval.fromTo(31, 32), list.subList(31, 33));
+        Assert.assertEquals(Interval.fromTo(1_000, 98_999), list.subList(1_000, 99_000));
+        Assert.assertEquals(Interval.fromTo(1_100, 1_199), list.subList(1_000, 99_000).subList(100, 200));
+        Verify.assertEmpty(list.subList(500, 500));
+        Assert.assertSame(list, list.subList(0, 100_000));
+        Assert.assertEquals(Interval.zeroTo(9), list.take(10));
+        Assert.assertEquals(Interval.fromTo(99_990, 99_999), list.drop(99_990));
+        Assert.assertSame(list, list.take(200_000));
+        Verify.assertEmpty(list.drop(200_000));
+        Verify.assertThrows(IndexOutOfBoundsException.class, () -> list.subList(-1, 10));
+        Verify.assertThrows(IndexOutOfBoundsException.class, () -> list.subList(0, 100_001));
+        Verify.assertThrows(IllegalArgumentException.class, () -> list.subList(10, 9));
+        Verify.assertThrows(IllegalArgumentException.class, () -> list.take(-1));
+        Verify.assertThrows(IllegalArgumentException.class, () -> list.drop(-1));
+    }
+
+    @Test
+    public void newWithoutLargeList()
+    {
+        ImmutableRrbList<Integer> list = ImmutableRrbList.newList(Interval.zeroTo(9_999));
+        MutableList<Integer> expected = Interval.zeroTo(9_999).toList();
+        expected.remove(Integer.valueOf(5_000));
+        Assert.assertEquals(expected, list.newWithout(5_000));
+        Assert.assertSame(list, list.newWithout(10_000));
+        Assert.assertEquals(Interval.fromTo(100, 9_999), list.newWithoutAll(Interval.zeroTo(99)));
+    }
+
+    @Test
+    public void sharesStructure()
+    {
+        ImmutableRrbList<Integer> list = ImmutableRrbList.newList(Interval.zeroTo(999));
+        ImmutableRrbList<Integer> appended = list.newWith(1_000);
+        Assert.assertEquals(Interval.zeroTo(999), list);
+        Assert.assertEquals(Interval.zeroTo(1_000), appended);
+    }
+
+    @Test
+    public void persistentFactory()
+    {
+        Verify.assertInstanceOf(ImmutableRrbList.class, Lists.immutable.emptyPersistent());
+        Verify.assertEmpty(Lists.immutable.emptyPersistent());
+        ImmutableList<Integer> list = Lists.immutable.withAllPersistent(Interval.oneTo(100));
+        Verify.assertInstanceOf(ImmutableRrbList.class, list);
+        Verify.assertInstanceOf(ImmutableRrbList.class, list.newWith(101));
+        Assert.assertEquals(Interval.oneTo(101), list.newWith(101));
+        Assert.assertSame(list, Lists.immutable.withAllPersistent(list));
+    }
+
+    @Test
+    public void serializationOfLargeList()
+    {
+        ImmutableRrbList<Integer> list = ImmutableRrbList.newList(Interval.zeroTo(4_999)).newWithFirst(-1);
+        ImmutableList<Integer> deserialized = SerializeTestHelper.serializeDeserialize(list);
+        Verify.assertInstanceOf(ImmutableRrbList.class, deserialized);
+        Assert.assertEquals(list, deserialized);
+    }
+}
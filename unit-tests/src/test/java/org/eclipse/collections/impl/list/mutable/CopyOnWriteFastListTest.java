@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.list.mutable;
+
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link CopyOnWriteFastList}.
+ */
+public class CopyOnWriteFastListTest extends AbstractListTestCase
+{
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        this.executor = Executors.newFixedThreadPool(20);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Override
+    protected <T> CopyOnWriteFastList<T> newWith(T... littleElements)
+    {
+        return CopyOnWriteFastList.newListWith(littleElements);
+    }
+
+    @Override
+    @Test
+    public void subList()
+    {
+        MutableList<String> list = this.newWith("A", "B", "C", "D");
+        MutableList<String> sublist = list.subList(1, 3);
+        Verify.assertListsEqual(FastList.newListWith("B", "C"), sublist);
+        Verify.assertThrows(UnsupportedOperationException.class, () -> sublist.add("X"));
+        list.add("E");
+        Verify.assertListsEqual(FastList.newListWith("B", "C"), sublist);
+    }
+
+    @Test
+    public void iteratorIsSnapshot()
+    {
+        CopyOnWriteFastList<Integer> list = CopyOnWriteFastList.newListWith(1, 2, 3);
+        Iterator<Integer> iterator = list.iterator();
+        list.add(4);
+        list.remove(Integer.valueOf(1));
+        Assert.assertEquals(Integer.valueOf(1), iterator.next());
+        Verify.assertThrows(UnsupportedOperationException.class, iterator::remove);
+        Verify.assertListsEqual(FastList.newListWith(2, 3, 4), list);
+    }
+
+    @Test
+    public void toImmutableIsZeroCopy()
+    {
+        CopyOnWriteFastList<Integer> list = CopyOnWriteFastList.newListWith(1, 2, 3);
+        ImmutableList<Integer> snapshot = list.toImmutable();
+        Assert.assertSame(snapshot, list.toImmutable());
+        list.add(4);
+        Assert.assertNotSame(snapshot, list.toImmutable());
+        Assert.assertEquals(FastList.newListWith(1, 2, 3), snapshot);
+    }
+
+    @Test
+    public void failedWriteLeavesListUnchanged()
+    {
+        CopyOnWriteFastList<Integer> list = CopyOnWriteFastList.newListWith(1, 2, 3);
+        Verify.assertThrows(IndexOutOfBoundsException.class, () -> list.add(5, 4));
+        Verify.assertListsEqual(FastList.newListWith(1, 2, 3), list);
+    }
+
+    @Test
+    public void concurrentAddsWhileIterating()
+    {
+        CopyOnWriteFastList<Integer> list = CopyOnWriteFastList.newList();
+        ParallelIterate.forEach(Interval.oneTo(1000), each -> {
+            list.add(each);
+            list.forEach(Assert::assertNotNull);
+        }, 1, this.executor);
+        Verify.assertSize(1000, list);
+        Assert.assertEquals(Interval.oneTo(1000).toSet(), list.toSet());
+    }
+
+    @Test
+    public void noOpWritesKeepSnapshot()
+    {
+        CopyOnWriteFastList<Integer> list = CopyOnWriteFastList.newList(Interval.oneTo(20));
+        ImmutableList<Integer> snapshot = list.toImmutable();
+        Assert.assertFalse(list.remove(Integer.valueOf(21)));
+        Assert.assertFalse(list.removeIf(each -> each > 20));
+        Assert.assertFalse(list.removeAll(FastList.newListWith(0, 21)));
+        Assert.assertFalse(list.retainAll(Interval.oneTo(20)));
+        Assert.assertFalse(list.addAll(FastList.newList()));
+        Assert.assertSame(snapshot, list.toImmutable());
+    }
+
+    @Test
+    public void writesAcrossSizes()
+    {
+        CopyOnWriteFastList<Integer> list = CopyOnWriteFastList.newList();
+        MutableList<Integer> expected = FastList.newList();
+        for (int i = 0; i < 30; i++)
+        {
+            list.add(i);
+            expected.add(i);
+            Verify.assertListsEqual(expected, list);
+        }
+        Assert.assertEquals(Integer.valueOf(5), list.set(5, 50));
+        Assert.assertEquals(Integer.valueOf(0), list.remove(0));
+        Assert.assertEquals(Integer.valueOf(29), list.remove(28));
+        Assert.assertTrue(list.remove(Integer.valueOf(50)));
+        list.add(3, 100);
+        Assert.assertTrue(list.addAllIterable(Interval.fromTo(30, 31)));
+        Assert.assertTrue(list.removeIf(each -> each % 2 == 1));
+        expected.set(5, 50);
+        expected.remove(0);
+        expected.remove(28);
+        expected.remove(Integer.valueOf(50));
+        expected.add(3, 100);
+        expected.addAllIterable(Interval.fromTo(30, 31));
+        expected.removeIf(each -> each % 2 == 1);
+        Verify.assertListsEqual(expected, list);
+        Assert.assertEquals(expected, list.toImmutable());
+        Verify.assertThrows(IndexOutOfBoundsException.class, () -> list.remove(list.size()));
+        Verify.assertThrows(IndexOutOfBoundsException.class, () -> list.set(-1, 1));
+        Verify.assertListsEqual(expected, list);
+    }
+
+    @Test
+    public void asParallel()
+    {
+        CopyOnWriteFastList<Integer> list = CopyOnWriteFastList.newList(Interval.oneTo(100));
+        Assert.assertEquals(Interval.oneTo(100).toBag(), list.asParallel(this.executor, 7).toBag());
+        Assert.assertEquals(50, list.asParallel(this.executor, 7).count(each -> each % 2 == 0));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.list.mutable;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.collections.impl.collection.mutable.StampedReadWriteLock;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link MultiReaderFastList} guarded by a {@link StampedReadWriteLock}.
+ */
+public class MultiReaderFastListStampedLockTest extends MultiReaderFastListTest
+{
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        this.executor = Executors.newFixedThreadPool(20);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Override
+    protected <T> MultiReaderFastList<T> newWith(T... littleElements)
+    {
+        return MultiReaderFastList.newStampedListWith(littleElements);
+    }
+
+    @Test
+    public void copiesKeepStampedLock()
+    {
+        MultiReaderFastList<Integer> list = MultiReaderFastList.newStampedList(Interval.oneTo(3));
+        Verify.assertInstanceOf(StampedReadWriteLock.class, list.getLock());
+        Verify.assertInstanceOf(StampedReadWriteLock.class, ((MultiReaderFastList<Integer>) list.newEmpty()).getLock());
+        Verify.assertInstanceOf(StampedReadWriteLock.class, ((MultiReaderFastList<Integer>) list.clone()).getLock());
+    }
+
+    @Test(timeout = 10000)
+    public void selfReferencingCallsDoNotDeadlock()
+    {
+        MultiReaderFastList<Integer> list = MultiReaderFastList.newStampedListWith(1, 2);
+        list.addAll(list);
+        Assert.assertEquals(FastList.newListWith(1, 2, 1, 2), list);
+        list.withWriteLockAndDelegate(delegate -> delegate.add(list.size()));
+        Assert.assertEquals(FastList.newListWith(1, 2, 1, 2, 4), list);
+        list.withReadLockAndDelegate(delegate -> Assert.assertTrue(list.containsAll(delegate)));
+        Assert.assertTrue(list.containsAll(list));
+        Assert.assertEquals(list, list);
+    }
+
+    @Test
+    public void serializationKeepsStampedLock()
+    {
+        MultiReaderFastList<Integer> list = MultiReaderFastList.newStampedListWith(1, 2, 3);
+        MultiReaderFastList<Integer> deserialized = SerializeTestHelper.serializeDeserialize(list);
+        Verify.assertInstanceOf(StampedReadWriteLock.class, deserialized.getLock());
+        Assert.assertEquals(list, deserialized);
+    }
+
+    @Test
+    public void optimisticReadPropagatesEqualsExceptionOnce()
+    {
+        AtomicInteger calls = new AtomicInteger();
+        MultiReaderFastList<Object> list = MultiReaderFastList.newStampedListWith(new ThrowingEquals(calls));
+        Verify.assertThrows(IllegalStateException.class, () -> list.contains(new ThrowingEquals(calls)));
+        Assert.assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void optimisticReadsDuringWrites()
+    {
+        MultiReaderFastList<Integer> list = MultiReaderFastList.newStampedList();
+        ParallelIterate.forEach(Interval.oneTo(20000), each -> {
+            if (each % 2 == 0)
+            {
+                list.add(each);
+            }
+            else
+            {
+                int size = list.size();
+                Assert.assertTrue(size >= 0 && size <= 10000);
+                if (size > 0)
+                {
+                    Assert.assertEquals(0, list.get(0) % 2);
+                }
+                Assert.assertFalse(list.contains(each));
+                Assert.assertEquals(-1, list.indexOf(each));
+            }
+        }, 1, this.executor);
+        Verify.assertSize(10000, list);
+        Assert.assertTrue(list.contains(20000));
+    }
+
+    private static final class ThrowingEquals
+    {
+        private final AtomicInteger calls;
+
+        private ThrowingEquals(AtomicInteger calls)
+        {
+            this.calls = calls;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            this.calls.incrementAndGet();
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 0;
+        }
+    }
+}
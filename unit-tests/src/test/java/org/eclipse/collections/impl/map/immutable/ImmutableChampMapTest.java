@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.immutable;
+
+import java.util.Random;
+
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ImmutableChampMap}.
+ */
+public class ImmutableChampMapTest extends ImmutableMapTestCase
+{
+    @Override
+    protected ImmutableMap<Integer, String> classUnderTest()
+    {
+        return ImmutableChampMap.newMapWith(Tuples.pair(1, "1"), Tuples.pair(2, "2"), Tuples.pair(3, "3"), Tuples.pair(4, "4"));
+    }
+
+    @Override
+    protected int size()
+    {
+        return 4;
+    }
+
+    @Test
+    @Override
+    public void testToString()
+    {
+        Assert.assertEquals("{1=1, 2=2, 3=3, 4=4}", this.classUnderTest().toString());
+    }
+
+    @Test
+    public void persistentUpdatesMatchUnifiedMap()
+    {
+        Random random = new Random(3L);
+        ImmutableMap<CollidingKey, Integer> map = Maps.immutable.emptyPersistent();
+        UnifiedMap<CollidingKey, Integer> expected = UnifiedMap.newMap();
+        for (int i = 0; i < 20000; i++)
+        {
+            CollidingKey key = new CollidingKey(random.nextInt(3000));
+            ImmutableMap<CollidingKey, Integer> previous = map;
+            int previousSize = previous.size();
+            if (random.nextInt(3) > 0)
+            {
+                expected.put(key, i);
+                map = map.newWithKeyValue(key, i);
+            }
+            else
+            {
+                expected.remove(key);
+                map = map.newWithoutKey(key);
+            }
+            Assert.assertEquals(expected.size(), map.size());
+            Assert.assertEquals(previousSize, previous.size());
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        Verify.assertSize(expected.size(), map.keysView().toList());
+        Verify.assertSize(expected.size(), map.valuesView().toList());
+
+        UnifiedMap<CollidingKey, Integer> halved = UnifiedMap.newMap(expected);
+        halved.keySet().removeIf(each -> each.value % 2 == 0);
+        Assert.assertEquals(halved, map.newWithoutAllKeys(Interval.zeroTo(3000).collect(CollidingKey::new).select(each -> each.value % 2 == 0)));
+
+        ImmutableMap<CollidingKey, Integer> emptied = map.newWithoutAllKeys(expected.keySet());
+        Verify.assertEmpty(emptied);
+        Assert.assertSame(ImmutableChampMap.empty(), emptied);
+        Assert.assertEquals(expected, map);
+    }
+
+    @Test
+    public void structuralSharing()
+    {
+        ImmutableMap<Integer, String> map = Maps.immutable.withAllPersistent(
+                Interval.oneTo(1000).toMap(each -> each, String::valueOf));
+        Verify.assertInstanceOf(ImmutableChampMap.class, map);
+        ImmutableMap<Integer, String> updated = map.newWithKeyValue(500, "five hundred").newWithoutKey(1);
+        Verify.assertInstanceOf(ImmutableChampMap.class, updated);
+        Assert.assertEquals("500", map.get(500));
+        Assert.assertEquals("five hundred", updated.get(500));
+        Assert.assertTrue(map.containsKey(1));
+        Assert.assertFalse(updated.containsKey(1));
+        Verify.assertSize(999, updated);
+        Assert.assertSame(map, map.newWithKeyValue(7, map.get(7)));
+        Assert.assertSame(map, map.newWithoutKey(1001));
+
+        ImmutableMap<Integer, String> withNull = updated.newWithKeyValue(null, null);
+        Assert.assertTrue(withNull.containsKey(null));
+        Assert.assertNull(withNull.get(null));
+        Assert.assertEquals(updated, withNull.newWithoutKey(null));
+        Verify.assertPostSerializedEqualsAndHashCode(withNull);
+    }
+
+    private static final class CollidingKey
+    {
+        private final int value;
+
+        private CollidingKey(int value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof CollidingKey && ((CollidingKey) other).value == this.value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.value / 4;
+        }
+    }
+}
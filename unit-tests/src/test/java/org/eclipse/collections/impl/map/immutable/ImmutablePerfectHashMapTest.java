@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.immutable;
+
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.impl.block.factory.HashingStrategies;
+import org.eclipse.collections.impl.factory.HashingStrategyMaps;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ImmutablePerfectHashMap}.
+ */
+public class ImmutablePerfectHashMapTest extends ImmutableMapTestCase
+{
+    @Override
+    protected ImmutableMap<Integer, String> classUnderTest()
+    {
+        return ImmutablePerfectHashMap.newMap(UnifiedMap.newWithKeysValues(1, "1", 2, "2", 3, "3", 4, "4"));
+    }
+
+    @Override
+    protected int size()
+    {
+        return 4;
+    }
+
+    @Test
+    @Override
+    public void testToString()
+    {
+        String string = this.classUnderTest().toString();
+        Assert.assertTrue(string.startsWith("{"));
+        Assert.assertTrue(string.endsWith("}"));
+        Assert.assertEquals("{1=1, 2=2, 3=3, 4=4}".length(), string.length());
+        for (int i = 1; i <= 4; i++)
+        {
+            Assert.assertTrue(string.contains(i + "=" + i));
+        }
+    }
+
+    @Test
+    public void largeMap()
+    {
+        UnifiedMap<String, Integer> expected = UnifiedMap.newMap();
+        Interval.oneTo(200_000).each(each -> expected.put("key" + each, each));
+        ImmutableMap<String, Integer> map = Maps.immutable.withAllPerfectHash(expected);
+        Verify.assertInstanceOf(ImmutablePerfectHashMap.class, map);
+        Verify.assertSize(200_000, map);
+        expected.forEachKeyValue((key, value) -> Assert.assertEquals(value, map.get(key)));
+        Assert.assertNull(map.get("key0"));
+        Assert.assertFalse(map.containsKey("key200001"));
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+    }
+
+    @Test
+    public void collidingHashCodesAndNulls()
+    {
+        UnifiedMap<String, Integer> expected = UnifiedMap.newWithKeysValues("Aa", 1, "BB", 2, "AaAa", 3, "BBBB", 4);
+        expected.put("AaBB", 5);
+        expected.put(null, 6);
+        expected.put("x", null);
+        ImmutableMap<String, Integer> map = ImmutablePerfectHashMap.newMap(expected);
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(Integer.valueOf(2), map.get("BB"));
+        Assert.assertEquals(Integer.valueOf(5), map.get("AaBB"));
+        Assert.assertEquals(Integer.valueOf(6), map.get(null));
+        Assert.assertTrue(map.containsKey("x"));
+        Assert.assertNull(map.get("BBAa"));
+        Assert.assertTrue(map.containsValue(3));
+        Assert.assertTrue(map.containsValue(null));
+        Verify.assertSize(7, map.keysView().toList());
+        Verify.assertSize(7, map.castToMap().entrySet());
+        Assert.assertEquals(expected, SerializeTestHelper.serializeDeserialize(map));
+    }
+
+    @Test
+    public void hashingStrategy()
+    {
+        UnifiedMap<String, Integer> source = UnifiedMap.newWithKeysValues("Alpha", 1, "beta", 2, "ALPHA", 3);
+        ImmutableMap<String, Integer> map = HashingStrategyMaps.immutable.withAllPerfectHash(HashingStrategies.fromFunction(String::toLowerCase), source);
+        Verify.assertInstanceOf(ImmutablePerfectHashMap.class, map);
+        Verify.assertSize(2, map);
+        Assert.assertEquals(Integer.valueOf(2), map.get("BETA"));
+        Assert.assertTrue(map.containsKey("alpha"));
+        ImmutableMap<String, Integer> deserialized = SerializeTestHelper.serializeDeserialize(map);
+        Verify.assertInstanceOf(ImmutablePerfectHashMap.class, deserialized);
+        Assert.assertEquals(Integer.valueOf(2), deserialized.get("Beta"));
+    }
+
+    @Test
+    public void empty()
+    {
+        Assert.assertSame(Maps.immutable.empty(), Maps.immutable.withAllPerfectHash(UnifiedMap.newMap()));
+    }
+}
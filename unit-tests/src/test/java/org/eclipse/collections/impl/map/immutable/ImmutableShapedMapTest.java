@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.immutable;
+
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.map.MapShape;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ImmutableShapedMap}.
+ */
+public class ImmutableShapedMapTest extends ImmutableMapTestCase
+{
+    private static final MapShape<Integer> SHAPE = MapShape.of(1, 2, 3, 4);
+
+    @Override
+    protected ImmutableMap<Integer, String> classUnderTest()
+    {
+        return SHAPE.newImmutableMapWith("1", "2", "3", "4");
+    }
+
+    @Override
+    protected int size()
+    {
+        return 4;
+    }
+
+    @Test
+    @Override
+    public void testToString()
+    {
+        Assert.assertEquals("{1=1, 2=2, 3=3, 4=4}", this.classUnderTest().toString());
+    }
+
+    @Test
+    public void newWithKeyValueKeepsShape()
+    {
+        ImmutableShapedMap<Integer, String> map = SHAPE.newImmutableMapWith("1", "2", "3", "4");
+        ImmutableMap<Integer, String> updated = map.newWithKeyValue(2, "two");
+        Verify.assertInstanceOf(ImmutableShapedMap.class, updated);
+        Assert.assertSame(SHAPE, ((ImmutableShapedMap<Integer, String>) updated).getShape());
+        Assert.assertEquals(UnifiedMap.newWithKeysValues(1, "1", 2, "two", 3, "3", 4, "4"), updated);
+        Assert.assertEquals("2", map.get(2));
+
+        ImmutableMap<Integer, String> extended = map.newWithKeyValue(5, "5");
+        Assert.assertFalse(extended instanceof ImmutableShapedMap);
+        Verify.assertSize(5, extended);
+        Assert.assertSame(map, map.newWithoutKey(5));
+        Assert.assertEquals(UnifiedMap.newWithKeysValues(1, "1", 3, "3", 4, "4"), map.newWithoutKey(2));
+    }
+
+    @Test
+    public void largeShapeUsesIndex()
+    {
+        MapShape<Integer> shape = MapShape.of(Interval.oneTo(50));
+        ImmutableShapedMap<Integer, String> map = shape.newImmutableMapWith(Interval.oneTo(50).collect(String::valueOf).toArray(new String[50]));
+        for (int i = 1; i <= 50; i++)
+        {
+            Assert.assertEquals(String.valueOf(i), map.get(i));
+        }
+        Assert.assertNull(map.get(51));
+        Assert.assertFalse(map.containsKey(0));
+    }
+
+    @Test
+    public void wrongNumberOfValues()
+    {
+        Verify.assertThrows(IllegalArgumentException.class, () -> SHAPE.newImmutableMapWith("1", "2"));
+    }
+
+    @Test
+    public void serializationKeepsShape()
+    {
+        ImmutableMap<Integer, String> map = this.classUnderTest();
+        ImmutableMap<Integer, String> deserialized = SerializeTestHelper.serializeDeserialize(map);
+        Verify.assertInstanceOf(ImmutableShapedMap.class, deserialized);
+        Assert.assertSame(SHAPE, ((ImmutableShapedMap<Integer, String>) deserialized).getShape());
+        Assert.assertEquals(map, deserialized);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.mutable;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.map.mutable.ConcurrentCacheMap.EvictionPolicy;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ConcurrentCacheMap}.
+ */
+public class ConcurrentCacheMapTest
+{
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        this.executor = Executors.newFixedThreadPool(20);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Test
+    public void putAndGet()
+    {
+        ConcurrentCacheMap<Integer, String> cache = ConcurrentCacheMap.newCache(10);
+        Assert.assertNull(cache.put(1, "1"));
+        Assert.assertEquals("1", cache.put(1, "one"));
+        Assert.assertEquals("one", cache.get(1));
+        Assert.assertNull(cache.get(2));
+        Assert.assertEquals("one", cache.putIfAbsent(1, "uno"));
+        Assert.assertTrue(cache.replace(1, "one", "uno"));
+        Assert.assertEquals("uno", cache.remove(1));
+        Verify.assertEmpty(cache);
+        Assert.assertEquals(0L, cache.getWeightedSize());
+    }
+
+    @Test
+    public void equalsAndHashCode()
+    {
+        ConcurrentCacheMap<Integer, String> cache = ConcurrentCacheMap.newCache(10);
+        cache.put(1, "1");
+        cache.put(2, "2");
+        Verify.assertEqualsAndHashCode(UnifiedMap.newWithKeysValues(1, "1", 2, "2"), cache);
+        Verify.assertContainsAllKeyValues(cache, 1, "1", 2, "2");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void putNullValue()
+    {
+        ConcurrentCacheMap.newCache(10).put(1, null);
+    }
+
+    @Test
+    public void lruEvictsLeastRecentlyUsed()
+    {
+        ConcurrentCacheMap<Integer, String> cache = ConcurrentCacheMap.newCache(3, EvictionPolicy.LRU);
+        cache.put(1, "1");
+        cache.put(2, "2");
+        cache.put(3, "3");
+        cache.get(1);
+        cache.put(4, "4");
+        Verify.assertSize(3, cache);
+        Assert.assertFalse(cache.containsKey(2));
+        Verify.assertContainsAllKeyValues(cache, 1, "1", 3, "3", 4, "4");
+        Assert.assertEquals(1L, cache.getEvictionCount());
+    }
+
+    @Test
+    public void tinyLfuKeepsFrequentlyUsed()
+    {
+        ConcurrentCacheMap<Integer, Integer> cache = ConcurrentCacheMap.newCache(100);
+        Interval.oneTo(100).each(each -> cache.put(each, each));
+        for (int i = 0; i < 10; i++)
+        {
+            Interval.oneTo(50).each(cache::get);
+        }
+        Interval.fromTo(1000, 2000).each(each -> cache.put(each, each));
+        Verify.assertSize(100, cache);
+        Interval.oneTo(50).each(each -> Assert.assertEquals(each, cache.get(each)));
+    }
+
+    @Test
+    public void weightedEviction()
+    {
+        ConcurrentCacheMap<Integer, String> cache =
+                ConcurrentCacheMap.newWeightedCache(10L, String::length, EvictionPolicy.LRU);
+        cache.put(1, "aaaa");
+        cache.put(2, "bbbb");
+        Assert.assertEquals(8L, cache.getWeightedSize());
+        cache.put(3, "cccc");
+        Assert.assertEquals(8L, cache.getWeightedSize());
+        Assert.assertFalse(cache.containsKey(1));
+        cache.put(2, "b");
+        Assert.assertEquals(5L, cache.getWeightedSize());
+        cache.put(4, "dddddddddddd");
+        Assert.assertFalse(cache.containsKey(4));
+        Assert.assertTrue(cache.getWeightedSize() <= 10L);
+    }
+
+    @Test
+    public void expireAfterWrite() throws InterruptedException
+    {
+        ConcurrentCacheMap<Integer, String> expiring =
+                ConcurrentCacheMap.newCache(10, EvictionPolicy.LRU, 1L, TimeUnit.MILLISECONDS);
+        expiring.put(1, "1");
+        Thread.sleep(10L);
+        Assert.assertNull(expiring.get(1));
+        Assert.assertFalse(expiring.containsKey(1));
+        Verify.assertEmpty(expiring);
+        Assert.assertEquals("2", expiring.getIfAbsentPut(1, () -> "2"));
+
+        ConcurrentCacheMap<Integer, String> cache =
+                ConcurrentCacheMap.newCache(10, EvictionPolicy.TINY_LFU, 1L, TimeUnit.HOURS);
+        cache.put(1, "1");
+        Assert.assertEquals("1", cache.get(1));
+    }
+
+    @Test
+    public void getIfAbsentPutWithKeyLoadsOnce()
+    {
+        ConcurrentCacheMap<Integer, String> cache = ConcurrentCacheMap.newCache(100);
+        AtomicInteger loads = new AtomicInteger();
+        ParallelIterate.forEach(Interval.oneTo(1000), each -> {
+            String value = cache.getIfAbsentPutWithKey(each % 10, key -> {
+                loads.incrementAndGet();
+                try
+                {
+                    Thread.sleep(5L);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                return String.valueOf(key);
+            });
+            Assert.assertEquals(String.valueOf(each % 10), value);
+        }, 1, this.executor);
+        Assert.assertEquals(10, loads.get());
+        Assert.assertEquals(10L, cache.getLoadCount());
+        Assert.assertEquals(10L, cache.getMissCount());
+        Assert.assertEquals(990L, cache.getHitCount());
+    }
+
+    @Test
+    public void getIfAbsentPutFailure()
+    {
+        ConcurrentCacheMap<Integer, String> cache = ConcurrentCacheMap.newCache(10);
+        Verify.assertThrows(IllegalStateException.class, () -> cache.getIfAbsentPut(1, () -> {
+            throw new IllegalStateException();
+        }));
+        Assert.assertFalse(cache.containsKey(1));
+        Assert.assertEquals("1", cache.getIfAbsentPutWith(1, String::valueOf, 1));
+        Assert.assertNull(cache.getIfAbsentPut(2, () -> null));
+        Assert.assertFalse(cache.containsKey(2));
+    }
+
+    @Test
+    public void getIfAbsentPutRecursiveLoad()
+    {
+        ConcurrentCacheMap<Integer, String> cache = ConcurrentCacheMap.newCache(10);
+        Verify.assertThrows(IllegalStateException.class, () -> cache.getIfAbsentPut(1, () -> cache.getIfAbsentPut(1, () -> "1")));
+        Verify.assertThrows(IllegalStateException.class, () -> cache.getIfAbsentPutWithKey(2, key -> cache.putIfAbsent(key, "2")));
+        Assert.assertFalse(cache.containsKey(1));
+        Assert.assertFalse(cache.containsKey(2));
+        Assert.assertEquals("1", cache.getIfAbsentPut(1, () -> "1"));
+        Assert.assertEquals("13", cache.getIfAbsentPutWithKey(3, key -> cache.getIfAbsentPut(1, () -> "x") + key));
+    }
+
+    @Test
+    public void statistics()
+    {
+        ConcurrentCacheMap<Integer, String> cache = ConcurrentCacheMap.newCache(1, EvictionPolicy.LRU);
+        cache.put(1, "1");
+        cache.get(1);
+        cache.get(2);
+        cache.put(2, "2");
+        Assert.assertEquals(1L, cache.getHitCount());
+        Assert.assertEquals(1L, cache.getMissCount());
+        Assert.assertEquals(1L, cache.getEvictionCount());
+        Assert.assertEquals(0L, cache.getLoadCount());
+    }
+
+    @Test
+    public void concurrentPutsStayBounded()
+    {
+        ConcurrentCacheMap<Integer, Integer> cache = ConcurrentCacheMap.newCache(100);
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> {
+            cache.put(each, each);
+            cache.get(each / 2);
+        }, 1, this.executor);
+        Verify.assertSize(100, cache);
+        Assert.assertEquals(100L, cache.getWeightedSize());
+        Assert.assertEquals(9900L, cache.getEvictionCount());
+    }
+}
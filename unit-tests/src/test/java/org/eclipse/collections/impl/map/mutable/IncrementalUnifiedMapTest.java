@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.mutable;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.tuple.ImmutableEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link IncrementalUnifiedMap}.
+ */
+public class IncrementalUnifiedMapTest extends MutableMapTestCase
+{
+    @Override
+    public <K, V> MutableMap<K, V> newMap()
+    {
+        return IncrementalUnifiedMap.newMap();
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return IncrementalUnifiedMap.<K, V>newMap().withKeyValue(key, value);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return IncrementalUnifiedMap.<K, V>newMap().withKeyValue(key1, value1).withKeyValue(key2, value2);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return IncrementalUnifiedMap.<K, V>newMap()
+                .withKeyValue(key1, value1)
+                .withKeyValue(key2, value2)
+                .withKeyValue(key3, value3);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return IncrementalUnifiedMap.<K, V>newMap()
+                .withKeyValue(key1, value1)
+                .withKeyValue(key2, value2)
+                .withKeyValue(key3, value3)
+                .withKeyValue(key4, value4);
+    }
+
+    private static IncrementalUnifiedMap<Integer, String> newRehashingMap()
+    {
+        IncrementalUnifiedMap<Integer, String> map = IncrementalUnifiedMap.newMap();
+        int i = 0;
+        while (!map.isRehashing())
+        {
+            map.put(i, String.valueOf(i));
+            i++;
+        }
+        return map;
+    }
+
+    @Test
+    public void growsIncrementally()
+    {
+        IncrementalUnifiedMap<Integer, Integer> map = IncrementalUnifiedMap.newMap();
+        MutableMap<Integer, Integer> expected = UnifiedMap.newMap();
+        boolean sawRehashing = false;
+        for (int i = 0; i < 100_000; i++)
+        {
+            Assert.assertNull(map.put(i, i));
+            Assert.assertEquals(Integer.valueOf(i), map.put(i, -i));
+            expected.put(i, -i);
+            if (map.isRehashing())
+            {
+                sawRehashing = true;
+                Assert.assertEquals(Integer.valueOf(-(i / 2)), map.get(i / 2));
+            }
+            if (i % 3 == 0)
+            {
+                Assert.assertEquals(Integer.valueOf(-(i / 3)), map.remove(i / 3));
+                expected.remove(i / 3);
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+        Assert.assertTrue(sawRehashing);
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        map.completeRehash();
+        Assert.assertFalse(map.isRehashing());
+        Assert.assertEquals(expected, map);
+    }
+
+    @Test
+    public void viewsWhileRehashing()
+    {
+        IncrementalUnifiedMap<Integer, String> map = IncrementalUnifiedMapTest.newRehashingMap();
+        int size = map.size();
+        Verify.assertSize(size, map.keySet());
+        Verify.assertSize(size, map.values());
+        Verify.assertSize(size, map.entrySet());
+        Assert.assertEquals(map.keySet(), UnifiedSet.newSet(map.keySet()));
+        Assert.assertTrue(map.entrySet().contains(ImmutableEntry.of(0, "0")));
+        Assert.assertFalse(map.entrySet().contains(ImmutableEntry.of(0, "1")));
+
+        Iterator<Map.Entry<Integer, String>> iterator = map.entrySet().iterator();
+        int iterated = 0;
+        while (iterator.hasNext())
+        {
+            Map.Entry<Integer, String> entry = iterator.next();
+            iterated++;
+            if (entry.getKey() % 2 == 0)
+            {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(size, iterated);
+        Assert.assertEquals(size / 2, map.size());
+        map.forEachKey(key -> Assert.assertEquals(1, key % 2));
+        Assert.assertTrue(map.keySet().remove(1));
+        Assert.assertFalse(map.containsKey(1));
+    }
+
+    @Test
+    public void nullKeyAndValueWhileRehashing()
+    {
+        IncrementalUnifiedMap<Integer, String> map = IncrementalUnifiedMap.newMap();
+        map.put(null, null);
+        int i = 0;
+        while (!map.isRehashing())
+        {
+            map.put(i, String.valueOf(i));
+            i++;
+        }
+        Assert.assertTrue(map.containsKey(null));
+        Assert.assertTrue(map.containsValue(null));
+        Assert.assertNull(map.put(null, "null"));
+        Assert.assertEquals("null", map.get(null));
+        map.completeRehash();
+        Assert.assertEquals("null", map.remove(null));
+        Assert.assertFalse(map.containsKey(null));
+    }
+
+    @Test
+    public void serializationWhileRehashing()
+    {
+        IncrementalUnifiedMap<Integer, String> map = IncrementalUnifiedMapTest.newRehashingMap();
+        MutableMap<Integer, String> deserialized = SerializeTestHelper.serializeDeserialize(map);
+        Verify.assertInstanceOf(IncrementalUnifiedMap.class, deserialized);
+        Assert.assertEquals(map, deserialized);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.mutable;
+
+import java.util.Iterator;
+
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.map.MapShape;
+import org.eclipse.collections.impl.map.immutable.ImmutableShapedMap;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ShapedMutableMap}.
+ */
+public class ShapedMutableMapTest extends MutableMapTestCase
+{
+    private static final MapShape<Object> SHAPE = MapShape.of(1, 2, 3, 4);
+
+    private static <K, V> ShapedMutableMap<K, V> newShapedMap(Object... keysAndValues)
+    {
+        Object[] keys = new Object[keysAndValues.length / 2];
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = keysAndValues[i * 2];
+        }
+        ShapedMutableMap<K, V> map = new ShapedMutableMap<>((MapShape<K>) MapShape.of(Lists.mutable.with(keys).distinct()));
+        for (int i = 0; i < keysAndValues.length; i += 2)
+        {
+            map.put((K) keysAndValues[i], (V) keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMap()
+    {
+        return new ShapedMutableMap<>((MapShape<K>) SHAPE);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return ShapedMutableMapTest.newShapedMap(key, value);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return ShapedMutableMapTest.newShapedMap(key1, value1, key2, value2);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return ShapedMutableMapTest.newShapedMap(key1, value1, key2, value2, key3, value3);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return ShapedMutableMapTest.newShapedMap(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    @Test
+    public void shapesAreInterned()
+    {
+        Assert.assertSame(MapShape.of("id", "name", "price"), MapShape.of(Lists.immutable.with("id", "name", "price")));
+        Assert.assertNotSame(MapShape.of("id", "name", "price"), MapShape.of("name", "id", "price"));
+        Verify.assertThrows(IllegalArgumentException.class, () -> MapShape.of("id", "id"));
+    }
+
+    @Test
+    public void staysShapedForShapeKeys()
+    {
+        MapShape<String> shape = MapShape.of("id", "name", "price");
+        ShapedMutableMap<String, Object> map = shape.newMutableMap();
+        Verify.assertEmpty(map);
+        map.put("name", "widget");
+        map.put("id", 7);
+        Assert.assertTrue(map.isShaped());
+        Assert.assertSame(shape, map.getShape());
+        Assert.assertEquals(UnifiedMap.newWithKeysValues("id", 7, "name", "widget"), map);
+        Assert.assertEquals("widget", map.remove("name"));
+        Assert.assertNull(map.remove("name"));
+        Assert.assertTrue(map.isShaped());
+        Verify.assertSize(1, map);
+        Assert.assertFalse(map.containsKey("price"));
+        Assert.assertTrue(map.newEmpty() instanceof ShapedMutableMap);
+    }
+
+    @Test
+    public void switchesToUnifiedMapForNewKey()
+    {
+        ShapedMutableMap<String, Object> map = MapShape.of("id", "name").newMutableMapWith(7, "widget");
+        Assert.assertNull(map.put("price", 9.5));
+        Assert.assertFalse(map.isShaped());
+        Assert.assertNull(map.getShape());
+        Assert.assertEquals(UnifiedMap.newWithKeysValues("id", 7, "name", "widget", "price", 9.5), map);
+        Assert.assertEquals(map, map.clone());
+        Assert.assertEquals(map, SerializeTestHelper.serializeDeserialize(map));
+    }
+
+    @Test
+    public void iteratorRemove()
+    {
+        ShapedMutableMap<Integer, String> map = ((MapShape<Integer>) (MapShape<?>) SHAPE).newMutableMapWith("1", "2", "3", "4");
+        for (Iterator<Integer> iterator = map.keySet().iterator(); iterator.hasNext(); )
+        {
+            if (iterator.next() % 2 == 0)
+            {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(UnifiedMap.newWithKeysValues(1, "1", 3, "3"), map);
+        Assert.assertTrue(map.isShaped());
+    }
+
+    @Test
+    public void toImmutableSharesShape()
+    {
+        ShapedMutableMap<String, Object> map = MapShape.of("id", "name").newMutableMapWith(7, "widget");
+        ImmutableMap<String, Object> immutable = map.toImmutable();
+        Verify.assertInstanceOf(ImmutableShapedMap.class, immutable);
+        Assert.assertEquals(map, immutable);
+        map.remove("id");
+        Assert.assertFalse(map.toImmutable() instanceof ImmutableShapedMap);
+        Assert.assertEquals(map, map.toImmutable());
+    }
+
+    @Test
+    public void serializationKeepsShape()
+    {
+        MapShape<String> shape = MapShape.of("id", "name", "price");
+        ShapedMutableMap<String, Object> map = shape.<Object>newMutableMap().withKeyValue("id", 7).withKeyValue("price", null);
+        ShapedMutableMap<String, Object> deserialized = SerializeTestHelper.serializeDeserialize(map);
+        Assert.assertTrue(deserialized.isShaped());
+        Assert.assertSame(shape, deserialized.getShape());
+        Assert.assertEquals(map, deserialized);
+        Assert.assertTrue(deserialized.containsKey("price"));
+        Assert.assertFalse(deserialized.containsKey("name"));
+    }
+}
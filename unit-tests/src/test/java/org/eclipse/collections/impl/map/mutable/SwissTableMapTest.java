@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.mutable;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link SwissTableMap}.
+ */
+public class SwissTableMapTest extends MutableMapTestCase
+{
+    @Override
+    public <K, V> MutableMap<K, V> newMap()
+    {
+        return SwissTableMap.newMap();
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return SwissTableMap.newWithKeysValues(key, value);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return SwissTableMap.newWithKeysValues(key1, value1, key2, value2);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return SwissTableMap.<K, V>newMap()
+                .withKeyValue(key1, value1)
+                .withKeyValue(key2, value2)
+                .withKeyValue(key3, value3);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return SwissTableMap.<K, V>newMap()
+                .withKeyValue(key1, value1)
+                .withKeyValue(key2, value2)
+                .withKeyValue(key3, value3)
+                .withKeyValue(key4, value4);
+    }
+
+    @Test
+    public void growth()
+    {
+        SwissTableMap<Integer, String> map = SwissTableMap.newMap();
+        for (int i = 0; i < 100_000; i++)
+        {
+            Assert.assertNull(map.put(i, String.valueOf(i)));
+        }
+        Verify.assertSize(100_000, map);
+        for (int i = 0; i < 100_000; i++)
+        {
+            Assert.assertEquals(String.valueOf(i), map.get(i));
+        }
+        Assert.assertNull(map.get(100_000));
+        Assert.assertEquals(UnifiedMap.newMap(map), map);
+    }
+
+    @Test
+    public void churnReusesDeletedSlots()
+    {
+        SwissTableMap<Integer, Integer> map = SwissTableMap.newMap(64);
+        Map<Integer, Integer> expected = UnifiedMap.newMap();
+        Random random = new Random(42L);
+        for (int i = 0; i < 200_000; i++)
+        {
+            Integer key = random.nextInt(200);
+            if (random.nextBoolean())
+            {
+                Assert.assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            else
+            {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+    }
+
+    @Test
+    public void collidingKeys()
+    {
+        SwissTableMap<CollidingKey, Integer> map = SwissTableMap.newMap();
+        for (int i = 0; i < 100; i++)
+        {
+            map.put(new CollidingKey(i), i);
+        }
+        Verify.assertSize(100, map);
+        for (int i = 0; i < 100; i += 2)
+        {
+            Assert.assertEquals(Integer.valueOf(i), map.remove(new CollidingKey(i)));
+        }
+        Verify.assertSize(50, map);
+        for (int i = 0; i < 100; i++)
+        {
+            Assert.assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), map.get(new CollidingKey(i)));
+        }
+    }
+
+    @Test
+    public void hashCodeIsComputedOncePerKey()
+    {
+        SwissTableMap<CountingKey, Integer> map = SwissTableMap.newMap();
+        CountingKey[] keys = new CountingKey[10_000];
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = new CountingKey(i);
+            map.put(keys[i], i);
+        }
+        for (CountingKey key : keys)
+        {
+            Assert.assertEquals(1, key.hashCodeCalls);
+        }
+    }
+
+    @Test
+    public void nullKeyAcrossGrowth()
+    {
+        SwissTableMap<Integer, String> map = SwissTableMap.newWithKeysValues(null, "null");
+        for (int i = 1; i < 1_000; i++)
+        {
+            map.put(i, String.valueOf(i));
+        }
+        Assert.assertEquals("null", map.get(null));
+        Assert.assertTrue(map.keySet().contains(null));
+        Assert.assertEquals("null", map.remove(null));
+        Assert.assertFalse(map.containsKey(null));
+        Verify.assertSize(999, map);
+    }
+
+    @Test
+    public void iteratorRemoveDuringChurn()
+    {
+        SwissTableMap<Integer, Integer> map = SwissTableMap.newMap();
+        for (int i = 0; i < 1_000; i++)
+        {
+            map.put(i, i);
+        }
+        for (Iterator<Integer> iterator = map.keySet().iterator(); iterator.hasNext(); )
+        {
+            if (iterator.next() % 3 != 0)
+            {
+                iterator.remove();
+            }
+        }
+        Verify.assertSize(334, map);
+        map.forEachKeyValue((key, value) -> Assert.assertEquals(0, key % 3));
+        for (int i = 1_000; i < 2_000; i++)
+        {
+            map.put(i, i);
+        }
+        Verify.assertSize(1_334, map);
+    }
+
+    @Test
+    public void serializationOfLargeMap()
+    {
+        SwissTableMap<Integer, String> map = SwissTableMap.newMap();
+        for (int i = 0; i < 5_000; i++)
+        {
+            map.put(i, String.valueOf(i));
+        }
+        map.put(null, "null");
+        MutableMap<Integer, String> deserialized = SerializeTestHelper.serializeDeserialize(map);
+        Verify.assertInstanceOf(SwissTableMap.class, deserialized);
+        Assert.assertEquals(map, deserialized);
+    }
+
+    private static final class CollidingKey
+    {
+        private final int value;
+
+        private CollidingKey(int value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            return object instanceof CollidingKey && ((CollidingKey) object).value == this.value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 42;
+        }
+    }
+
+    private static final class CountingKey
+    {
+        private final int value;
+        private int hashCodeCalls;
+
+        private CountingKey(int value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            return object instanceof CountingKey && ((CountingKey) object).value == this.value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            this.hashCodeCalls++;
+            return this.value;
+        }
+    }
+}
@@ -12,13 +12,19 @@ package org.eclipse.collections.impl.map.mutable;
 
 import java.lang.reflect.Field;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.eclipse.collections.api.block.procedure.Procedure;
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.bag.mutable.HashBag;
 import org.eclipse.collections.impl.block.factory.Predicates2;
 import org.eclipse.collections.impl.block.factory.Procedures;
 import org.eclipse.collections.impl.block.function.PassThruFunction0;
@@ -816,6 +822,63 @@ public class UnifiedMapTest extends UnifiedMapTestCase
         Assert.assertEquals(5, map.size());
     }
 
+    @Test
+    public void spliterator()
+    {
+        UnifiedMap<Integer, Integer> map = UnifiedMap.newMap();
+        Interval.oneTo(10000).each(each -> map.put(each, each));
+        MORE_COLLISIONS.each(each -> map.put(each, each));
+        map.put(null, null);
+
+        Spliterator<Integer> keys = map.keySet().spliterator();
+        Assert.assertEquals(map.size(), keys.getExactSizeIfKnown());
+        Assert.assertTrue(keys.hasCharacteristics(Spliterator.DISTINCT));
+        Spliterator<Integer> prefix = keys.trySplit();
+        Assert.assertNotNull(prefix);
+        Assert.assertFalse(keys.hasCharacteristics(Spliterator.SIZED));
+
+        Set<Integer> expectedKeys = new HashSet<>(map.keySet());
+        Assert.assertEquals(expectedKeys, map.keySet().parallelStream().collect(Collectors.toSet()));
+        Assert.assertEquals(map.size(), map.keySet().parallelStream().count());
+        Assert.assertEquals(
+                HashBag.newBag(map.values()),
+                map.values().parallelStream().collect(Collectors.toCollection(HashBag::new)));
+        Assert.assertEquals(map.size(), StreamSupport.stream(map.spliterator(), true).count());
+
+        Map<Integer, Integer> expectedEntries = new HashMap<>(map);
+        Map<Integer, Integer> actualEntries = new HashMap<>();
+        map.entrySet().parallelStream().collect(Collectors.toList()).forEach(each -> actualEntries.put(each.getKey(), each.getValue()));
+        Assert.assertEquals(expectedEntries, actualEntries);
+    }
+
+    @Test
+    public void spliteratorTryAdvance()
+    {
+        UnifiedMap<Integer, Integer> map = this.mapWithCollisionsOfSize(9);
+        MutableList<Integer> keys = Lists.mutable.empty();
+        Spliterator<Integer> spliterator = map.keySet().spliterator();
+        Assert.assertTrue(spliterator.tryAdvance(keys::add));
+        Assert.assertEquals(map.size() - 1, spliterator.estimateSize());
+        spliterator.forEachRemaining(keys::add);
+        Assert.assertFalse(spliterator.tryAdvance(keys::add));
+        Assert.assertEquals(map.keySet(), keys.toSet());
+        Verify.assertSize(map.size(), keys);
+
+        MutableList<Integer> splitKeys = Lists.mutable.empty();
+        Spliterator<Integer> right = map.keySet().spliterator();
+        right.tryAdvance(splitKeys::add);
+        Spliterator<Integer> left = right.trySplit();
+        while (right.tryAdvance(splitKeys::add))
+        {
+        }
+        if (left != null)
+        {
+            left.forEachRemaining(splitKeys::add);
+        }
+        Assert.assertEquals(map.keySet(), splitKeys.toSet());
+        Verify.assertSize(map.size(), splitKeys);
+    }
+
     @Override
     protected UnifiedMap<Integer, Integer> mapWithCollisionsOfSize(int size)
     {
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.ordered.mutable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.ImmutableOrderedMap;
+import org.eclipse.collections.api.map.MutableOrderedMap;
+import org.eclipse.collections.api.multimap.list.MutableListMultimap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.map.mutable.MutableMapIterableTestCase;
+import org.eclipse.collections.impl.multimap.list.FastListMultimap;
+import org.eclipse.collections.impl.stack.mutable.ArrayStack;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link OrderedUnifiedMap}.
+ */
+public class OrderedUnifiedMapTest extends MutableMapIterableTestCase
+{
+    @Override
+    protected <K, V> OrderedUnifiedMap<K, V> newMap()
+    {
+        return OrderedUnifiedMap.newMap();
+    }
+
+    @Override
+    protected <K, V> OrderedUnifiedMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return OrderedUnifiedMap.newWithKeysValues(key, value);
+    }
+
+    @Override
+    protected <K, V> OrderedUnifiedMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return OrderedUnifiedMap.newWithKeysValues(key1, value1, key2, value2);
+    }
+
+    @Override
+    protected <K, V> OrderedUnifiedMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return OrderedUnifiedMap.newWithKeysValues(key1, value1, key2, value2, key3, value3);
+    }
+
+    @Override
+    protected <K, V> OrderedUnifiedMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return OrderedUnifiedMap.<K, V>newWithKeysValues(key1, value1, key2, value2, key3, value3).withKeyValue(key4, value4);
+    }
+
+    @Override
+    @Test
+    public void flip()
+    {
+        Verify.assertEmpty(this.newMap().flip());
+
+        MutableListMultimap<String, String> expected = FastListMultimap.newMultimap();
+        expected.put("odd", "One");
+        expected.put("even", "Two");
+        expected.put("odd", "Three");
+        expected.put("even", "Four");
+
+        Assert.assertEquals(
+                expected,
+                this.newMapWithKeysValues("One", "odd", "Two", "even", "Three", "odd", "Four", "even").flip());
+    }
+
+    @Test
+    public void insertionOrder()
+    {
+        OrderedUnifiedMap<String, Integer> map = this.newMapWithKeysValues("c", 3, "a", 1, "d", 4, "b", 2);
+        Assert.assertEquals(FastList.newListWith(3, 1, 4, 2), FastList.newList(map));
+        Assert.assertEquals(FastList.newListWith("c", "a", "d", "b"), FastList.newList(map.keySet()));
+        Assert.assertEquals(Integer.valueOf(4), map.put("d", 40));
+        Assert.assertEquals(Integer.valueOf(1), map.remove("a"));
+        map.put("a", 10);
+        Assert.assertEquals(FastList.newListWith(3, 40, 2, 10), map.valuesView().toList());
+        Assert.assertEquals("{c=3, d=40, b=2, a=10}", map.toString());
+
+        MutableList<Integer> reversed = Lists.mutable.empty();
+        map.reverseForEach(reversed::add);
+        Assert.assertEquals(FastList.newListWith(10, 2, 40, 3), reversed);
+        Assert.assertEquals(FastList.newListWith(10, 2, 40, 3), FastList.newList(map.toReversed()));
+        Assert.assertEquals(FastList.newListWith(3, 40), FastList.newList(map.take(2)));
+        Assert.assertEquals(FastList.newListWith(2, 10), FastList.newList(map.drop(2)));
+    }
+
+    @Test
+    public void orderedIterable()
+    {
+        OrderedUnifiedMap<String, Integer> map = this.newMapWithKeysValues("x", 0, "a", 1, "b", 2, "c", 3);
+        map.put("d", 2);
+        map.put("e", 5);
+        map.remove("x");
+        Assert.assertEquals("{a=1, b=2}", map.takeWhile(each -> each < 3).toString());
+        Assert.assertEquals("{c=3, d=2, e=5}", map.dropWhile(each -> each < 3).toString());
+        Assert.assertEquals(FastList.newListWith(1, 2), map.partitionWhile(each -> each < 3).getSelected());
+        Assert.assertEquals(FastList.newListWith(3, 2, 5), map.partitionWhile(each -> each < 3).getRejected());
+        Assert.assertEquals(FastList.newListWith(1, 2, 3, 5), map.distinct());
+        Assert.assertEquals(1, map.indexOf(2));
+        Assert.assertEquals(-1, map.indexOf(4));
+        Assert.assertEquals(1, map.detectIndex(each -> each == 2));
+        Assert.assertEquals(3, map.detectLastIndex(each -> each == 2));
+        Assert.assertEquals(-1, map.detectLastIndex(each -> each == 4));
+        Assert.assertTrue(map.corresponds(FastList.newListWith(1, 2, 3, 2, 5), Object::equals));
+        Assert.assertEquals(FastList.newListWith(5, 2, 3, 2, 1), map.asReversed().toList());
+        Assert.assertEquals(ArrayStack.newStackFromTopToBottom(5, 2, 3, 2, 1), map.toStack());
+        Verify.assertThrows(IllegalStateException.class, map::flipUniqueValues);
+
+        MutableList<String> forward = Lists.mutable.empty();
+        map.forEachWithIndex(1, 3, (each, index) -> forward.add(index + ":" + each));
+        Assert.assertEquals(FastList.newListWith("1:2", "2:3", "3:2"), forward);
+        MutableList<Integer> backward = Lists.mutable.empty();
+        map.forEach(4, 2, backward::add);
+        Assert.assertEquals(FastList.newListWith(5, 2, 3), backward);
+        Verify.assertThrows(IndexOutOfBoundsException.class, () -> map.forEach(0, 5, backward::add));
+    }
+
+    @Test
+    public void orderedViews()
+    {
+        OrderedUnifiedMap<String, Integer> map = this.newMapWithKeysValues("c", 3, "a", 1, "b", 2);
+        ImmutableOrderedMap<String, Integer> immutable = map.toImmutable();
+        map.put("d", 4);
+        Assert.assertEquals("{c=3, a=1, b=2}", immutable.toString());
+        Assert.assertEquals("{a=1, b=2, c=3}", immutable.newWithoutKey("c").newWithKeyValue("c", 3).toString());
+        Assert.assertEquals(FastList.newListWith(3, 1), immutable.takeWhile(each -> each != 2).valuesView().toList());
+        Verify.assertThrows(UnsupportedOperationException.class, () -> immutable.castToMap().put("e", 5));
+
+        MutableOrderedMap<String, Integer> unmodifiable = map.asUnmodifiable();
+        Assert.assertEquals("{c=3, a=1, b=2, d=4}", unmodifiable.toString());
+        Assert.assertEquals(3, unmodifiable.detectIndex(each -> each == 4));
+        Verify.assertThrows(UnsupportedOperationException.class, () -> unmodifiable.remove("c"));
+        Verify.assertThrows(UnsupportedOperationException.class, () -> unmodifiable.keySet().remove("c"));
+
+        MutableOrderedMap<String, Integer> synchronizedMap = map.asSynchronized();
+        synchronizedMap.put("e", 5);
+        Assert.assertEquals(FastList.newListWith(5, 4, 2, 1, 3), synchronizedMap.asReversed().toList());
+        Assert.assertEquals("{c=3, a=1, b=2, d=4, e=5}", SerializeTestHelper.serializeDeserialize(synchronizedMap).toString());
+        Verify.assertInstanceOf(SynchronizedMutableOrderedMap.class, SerializeTestHelper.serializeDeserialize(synchronizedMap));
+    }
+
+    @Test
+    public void matchesLinkedHashMap()
+    {
+        OrderedUnifiedMap<Integer, Integer> map = this.newMap();
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 100_000; i++)
+        {
+            Assert.assertEquals(expected.put(i, i), map.put(i, i));
+            if (i % 3 == 0)
+            {
+                Assert.assertEquals(expected.remove(i / 3), map.remove(i / 3));
+            }
+            if (i % 7 == 0)
+            {
+                Assert.assertEquals(expected.put(i / 7, -i), map.put(i / 7, -i));
+            }
+        }
+        Assert.assertEquals(FastList.newList(expected.keySet()), FastList.newList(map.keySet()));
+        Assert.assertEquals(FastList.newList(expected.values()), FastList.newList(map.values()));
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        Assert.assertNull(map.get(-1));
+    }
+
+    @Test
+    public void removeWhileIterating()
+    {
+        OrderedUnifiedMap<Integer, String> map = this.newMap();
+        Interval.oneTo(100).each(each -> map.put(each, String.valueOf(each)));
+        Iterator<Map.Entry<Integer, String>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            if (iterator.next().getKey() % 2 == 0)
+            {
+                iterator.remove();
+            }
+        }
+        Verify.assertSize(50, map);
+        Assert.assertEquals(Interval.oneTo(100).select(each -> each % 2 != 0).toList(), FastList.newList(map.keySet()));
+    }
+
+    @Test
+    public void nullKey()
+    {
+        OrderedUnifiedMap<String, Integer> map = this.newMapWithKeysValues("a", 1, null, 2, "b", 3);
+        Assert.assertEquals(Integer.valueOf(2), map.get(null));
+        Assert.assertTrue(map.containsKey(null));
+        Assert.assertEquals(FastList.newListWith("a", null, "b"), FastList.newList(map.keySet()));
+        Assert.assertEquals(Integer.valueOf(2), map.remove(null));
+        Assert.assertFalse(map.containsKey(null));
+    }
+
+    @Test
+    public void serializationKeepsOrder()
+    {
+        OrderedUnifiedMap<String, Integer> map = this.newMapWithKeysValues("c", 3, "a", 1, "b", 2);
+        MutableOrderedMap<String, Integer> deserialized = SerializeTestHelper.serializeDeserialize(map);
+        Verify.assertInstanceOf(OrderedUnifiedMap.class, deserialized);
+        Assert.assertEquals("{c=3, a=1, b=2}", deserialized.toString());
+    }
+}
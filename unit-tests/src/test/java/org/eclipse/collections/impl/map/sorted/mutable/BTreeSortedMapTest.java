@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.sorted.mutable;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.eclipse.collections.api.map.sorted.MutableSortedMap;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link BTreeSortedMap}.
+ */
+public class BTreeSortedMapTest extends MutableSortedMapTestCase
+{
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMap(Comparator<? super K> comparator)
+    {
+        return BTreeSortedMap.newMap(comparator);
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeyValue(Comparator<? super K> comparator, K key, V value)
+    {
+        return BTreeSortedMap.newMapWith(comparator, Tuples.pair(key, value));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(Comparator<? super K> comparator, K key1, V value1, K key2, V value2)
+    {
+        return BTreeSortedMap.newMapWith(comparator, Tuples.pair(key1, value1), Tuples.pair(key2, value2));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(Comparator<? super K> comparator, K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return BTreeSortedMap.newMapWith(comparator, Tuples.pair(key1, value1), Tuples.pair(key2, value2), Tuples.pair(key3, value3));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(Comparator<? super K> comparator, K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return BTreeSortedMap.newMapWith(comparator, Tuples.pair(key1, value1), Tuples.pair(key2, value2), Tuples.pair(key3, value3), Tuples.pair(key4, value4));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMap()
+    {
+        return BTreeSortedMap.newMap();
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return BTreeSortedMap.newMapWith(Tuples.pair(key, value));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return BTreeSortedMap.newMapWith(Tuples.pair(key1, value1), Tuples.pair(key2, value2));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return BTreeSortedMap.newMapWith(Tuples.pair(key1, value1), Tuples.pair(key2, value2), Tuples.pair(key3, value3));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return BTreeSortedMap.newMapWith(Tuples.pair(key1, value1), Tuples.pair(key2, value2), Tuples.pair(key3, value3), Tuples.pair(key4, value4));
+    }
+
+    @Test
+    public void randomPutRemoveMatchesTreeMap()
+    {
+        Random random = new Random(11L);
+        BTreeMap<Integer, Integer> map = new BTreeMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 40000; i++)
+        {
+            Integer key = random.nextInt(5000);
+            if (random.nextInt(5) < (i < 20000 ? 3 : 1))
+            {
+                Assert.assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            else
+            {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        Assert.assertEquals(expected.firstKey(), map.firstKey());
+        Assert.assertEquals(expected.lastKey(), map.lastKey());
+        Assert.assertEquals(FastList.newList(expected.keySet()), FastList.newList(map.keySet()));
+
+        SortedMap<Integer, Integer> subMap = map.subMap(1000, 4000);
+        Assert.assertEquals(expected.subMap(1000, 4000), subMap);
+        Assert.assertEquals(expected.subMap(1000, 4000).size(), subMap.size());
+        Assert.assertEquals(expected.subMap(1000, 4000).lastKey(), subMap.lastKey());
+        Assert.assertEquals(expected.headMap(2500).lastKey(), map.headMap(2500).lastKey());
+        for (Iterator<Map.Entry<Integer, Integer>> iterator = subMap.entrySet().iterator(); iterator.hasNext(); )
+        {
+            if (iterator.next().getKey() % 3 != 0)
+            {
+                iterator.remove();
+            }
+        }
+        expected.subMap(1000, 4000).entrySet().removeIf(each -> each.getKey() % 3 != 0);
+        Assert.assertEquals(expected, map);
+        Verify.assertThrows(IllegalArgumentException.class, () -> subMap.put(5000, 0));
+
+        for (Iterator<Integer> iterator = map.keySet().iterator(); iterator.hasNext(); )
+        {
+            iterator.next();
+            iterator.remove();
+        }
+        Verify.assertEmpty(map);
+    }
+
+    @Test
+    public void bulkLoad()
+    {
+        TreeMap<Integer, String> source = new TreeMap<>(Comparators.reverseNaturalOrder());
+        for (int i = 0; i < 10000; i++)
+        {
+            source.put(i, String.valueOf(i));
+        }
+        BTreeSortedMap<Integer, String> map = BTreeSortedMap.newMap(source);
+        Assert.assertEquals(source, map);
+        Assert.assertSame(source.comparator(), map.comparator());
+        Assert.assertEquals(Integer.valueOf(9999), map.firstKey());
+
+        FastList<Integer> keys = FastList.newList();
+        map.forEachKeyValue((key, value) -> {
+            Assert.assertEquals(String.valueOf(key), value);
+            keys.add(key);
+        });
+        Assert.assertEquals(FastList.newList(source.keySet()), keys);
+
+        for (int i = 0; i < 10000; i += 2)
+        {
+            Assert.assertEquals(String.valueOf(i), map.remove(i));
+        }
+        map.put(-1, "-1");
+        source.headMap(-1).entrySet().removeIf(each -> each.getKey() % 2 == 0);
+        source.put(-1, "-1");
+        Assert.assertEquals(source, map);
+        Assert.assertEquals(source, map.clone());
+        Assert.assertEquals(source, SerializeTestHelper.serializeDeserialize(map));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullKeyWithoutComparator()
+    {
+        new BTreeMap<String, String>().put(null, "null");
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.sorted.mutable;
+
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.map.sorted.MutableSortedMap;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ConcurrentSkipListSortedMap}.
+ */
+public class ConcurrentSkipListSortedMapTest extends MutableSortedMapTestCase
+{
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        this.executor = Executors.newFixedThreadPool(20);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMap(Comparator<? super K> comparator)
+    {
+        return ConcurrentSkipListSortedMap.newMap(comparator);
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeyValue(Comparator<? super K> comparator, K key, V value)
+    {
+        return ConcurrentSkipListSortedMap.newMapWith(comparator, Tuples.pair(key, value));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(Comparator<? super K> comparator, K key1, V value1, K key2, V value2)
+    {
+        return ConcurrentSkipListSortedMap.newMapWith(comparator, Tuples.pair(key1, value1), Tuples.pair(key2, value2));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(Comparator<? super K> comparator, K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return ConcurrentSkipListSortedMap.newMapWith(comparator, Tuples.pair(key1, value1), Tuples.pair(key2, value2), Tuples.pair(key3, value3));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(Comparator<? super K> comparator, K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return ConcurrentSkipListSortedMap.newMapWith(comparator, Tuples.pair(key1, value1), Tuples.pair(key2, value2), Tuples.pair(key3, value3), Tuples.pair(key4, value4));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMap()
+    {
+        return ConcurrentSkipListSortedMap.newMap();
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return ConcurrentSkipListSortedMap.newMapWith(Tuples.pair(key, value));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return ConcurrentSkipListSortedMap.newMapWith(Tuples.pair(key1, value1), Tuples.pair(key2, value2));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return ConcurrentSkipListSortedMap.newMapWith(Tuples.pair(key1, value1), Tuples.pair(key2, value2), Tuples.pair(key3, value3));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return ConcurrentSkipListSortedMap.newMapWith(Tuples.pair(key1, value1), Tuples.pair(key2, value2), Tuples.pair(key3, value3), Tuples.pair(key4, value4));
+    }
+
+    @Override
+    @Test
+    public void equalsAndHashCode()
+    {
+        // ConcurrentSkipListMap does not support null values, so the null value case of the super test is omitted
+        for (MutableSortedMap<Integer, String> map : FastList.newListWith(
+                this.newMapWithKeysValues(1, "1", 2, "2", 3, "3"),
+                this.newMapWithKeysValues(Comparators.reverseNaturalOrder(), 1, "1", 2, "2", 3, "3")))
+        {
+            Verify.assertPostSerializedEqualsAndHashCode(map);
+            Verify.assertEqualsAndHashCode(Maps.mutable.of(1, "1", 2, "2", 3, "3"), map);
+            Verify.assertEqualsAndHashCode(Maps.immutable.of(1, "1", 2, "2", 3, "3"), map);
+            Assert.assertNotEquals(map, this.newMapWithKeysValues(1, "1", 2, "2"));
+            Assert.assertNotEquals(map, this.newMapWithKeysValues(1, "1", 2, "2", 3, "3", 4, "4"));
+            Assert.assertNotEquals(map, this.newMapWithKeysValues(1, "1", 2, "2", 4, "4"));
+        }
+    }
+
+    @Test
+    public void concurrentMapOperations()
+    {
+        ConcurrentSkipListSortedMap<Integer, String> map = ConcurrentSkipListSortedMap.newMap();
+        Assert.assertNull(map.putIfAbsent(1, "1"));
+        Assert.assertEquals("1", map.putIfAbsent(1, "one"));
+        Assert.assertFalse(map.replace(1, "one", "uno"));
+        Assert.assertTrue(map.replace(1, "1", "one"));
+        Assert.assertEquals("one", map.replace(1, "1"));
+        Assert.assertFalse(map.remove(1, "one"));
+        Assert.assertTrue(map.remove(1, "1"));
+        Verify.assertEmpty(map);
+    }
+
+    @Test
+    public void concurrentPutAndUpdateValue()
+    {
+        ConcurrentSkipListSortedMap<Integer, Integer> map = ConcurrentSkipListSortedMap.newMap(Comparators.reverseNaturalOrder());
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> {
+            map.put(each, each);
+            map.updateValue(-(each % 10), () -> 0, value -> value + 1);
+            map.getIfAbsentPutWithKey(-100 - each % 10, key -> key);
+        }, 1, this.executor);
+        Verify.assertSize(10020, map);
+        Assert.assertEquals(Integer.valueOf(10000), map.firstKey());
+        Interval.zeroTo(9).each(each -> Assert.assertEquals(Integer.valueOf(1000), map.get(-each)));
+        Interval.zeroTo(9).each(each -> Assert.assertEquals(Integer.valueOf(-100 - each), map.get(-100 - each)));
+    }
+
+    @Test
+    public void rangeViewsAreLive()
+    {
+        ConcurrentSkipListSortedMap<Integer, String> map = ConcurrentSkipListSortedMap.newMap();
+        Interval.oneTo(10).each(each -> map.put(each, String.valueOf(each)));
+        ConcurrentSkipListSortedMap<Integer, String> head = map.headMap(5);
+        ConcurrentSkipListSortedMap<Integer, String> tail = map.tailMap(5);
+        Assert.assertEquals(FastList.newListWith(1, 2, 3, 4), FastList.newList(head.keySet()));
+        map.put(0, "0");
+        map.remove(7);
+        Assert.assertEquals(FastList.newListWith(0, 1, 2, 3, 4), FastList.newList(head.keySet()));
+        Assert.assertEquals(FastList.newListWith("5", "6", "8", "9", "10"), tail.toList());
+        Assert.assertEquals(FastList.newListWith(6, 8), FastList.newList(tail.subMap(6, 9).keySet()));
+        tail.put(11, "11");
+        Assert.assertEquals("11", map.get(11));
+    }
+
+    @Test
+    public void serialization()
+    {
+        ConcurrentSkipListSortedMap<Integer, String> map = ConcurrentSkipListSortedMap.newMapWith(
+                Comparators.reverseNaturalOrder(),
+                Tuples.pair(1, "1"),
+                Tuples.pair(2, "2"));
+        ConcurrentSkipListSortedMap<Integer, String> deserialized = SerializeTestHelper.serializeDeserialize(map);
+        Verify.assertSortedMapsEqual(map, deserialized);
+        Assert.assertEquals(Integer.valueOf(2), deserialized.firstKey());
+    }
+}
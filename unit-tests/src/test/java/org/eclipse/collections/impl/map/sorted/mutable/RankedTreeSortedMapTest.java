@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.sorted.mutable;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.eclipse.collections.api.map.sorted.MutableSortedMap;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link RankedTreeSortedMap}.
+ */
+public class RankedTreeSortedMapTest extends MutableSortedMapTestCase
+{
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMap(Comparator<? super K> comparator)
+    {
+        return RankedTreeSortedMap.newMap(comparator);
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeyValue(Comparator<? super K> comparator, K key, V value)
+    {
+        return RankedTreeSortedMap.newMapWith(comparator, Tuples.pair(key, value));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(Comparator<? super K> comparator, K key1, V value1, K key2, V value2)
+    {
+        return RankedTreeSortedMap.newMapWith(comparator, Tuples.pair(key1, value1), Tuples.pair(key2, value2));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(Comparator<? super K> comparator, K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return RankedTreeSortedMap.newMapWith(comparator, Tuples.pair(key1, value1), Tuples.pair(key2, value2), Tuples.pair(key3, value3));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(Comparator<? super K> comparator, K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return RankedTreeSortedMap.newMapWith(comparator, Tuples.pair(key1, value1), Tuples.pair(key2, value2), Tuples.pair(key3, value3), Tuples.pair(key4, value4));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMap()
+    {
+        return RankedTreeSortedMap.newMap();
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return RankedTreeSortedMap.newMapWith(Tuples.pair(key, value));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return RankedTreeSortedMap.newMapWith(Tuples.pair(key1, value1), Tuples.pair(key2, value2));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return RankedTreeSortedMap.newMapWith(Tuples.pair(key1, value1), Tuples.pair(key2, value2), Tuples.pair(key3, value3));
+    }
+
+    @Override
+    public <K, V> MutableSortedMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return RankedTreeSortedMap.newMapWith(Tuples.pair(key1, value1), Tuples.pair(key2, value2), Tuples.pair(key3, value3), Tuples.pair(key4, value4));
+    }
+
+    @Test
+    public void rankKeyAtAndCountBetween()
+    {
+        RankedTreeSortedMap<Integer, String> map = RankedTreeSortedMap.newMap();
+        for (int i = 0; i < 100; i++)
+        {
+            map.put(i * 10, String.valueOf(i));
+        }
+        Assert.assertEquals(Integer.valueOf(0), map.keyAt(0));
+        Assert.assertEquals(Integer.valueOf(990), map.keyAt(99));
+        Assert.assertEquals(Integer.valueOf(500), map.keyAt(50));
+        Assert.assertEquals(50, map.rank(500));
+        Assert.assertEquals(51, map.rank(505));
+        Assert.assertEquals(0, map.rank(-5));
+        Assert.assertEquals(10, map.countBetween(100, 200));
+        Assert.assertEquals(10, map.subMap(100, 200).size());
+        Assert.assertEquals(90, map.tailMap(100).size());
+        Assert.assertEquals(Integer.valueOf(190), map.subMap(100, 200).lastKey());
+        Verify.assertThrows(IndexOutOfBoundsException.class, () -> map.keyAt(100));
+        Verify.assertThrows(IllegalArgumentException.class, () -> map.countBetween(200, 100));
+
+        RankedTreeSortedMap<Integer, String> reversed = RankedTreeSortedMap.newMapWith(
+                Comparators.reverseNaturalOrder(), Tuples.pair(1, "1"), Tuples.pair(2, "2"), Tuples.pair(3, "3"));
+        Assert.assertEquals(Integer.valueOf(3), reversed.keyAt(0));
+        Assert.assertEquals(2, reversed.rank(1));
+    }
+
+    @Test
+    public void randomPutRemoveMatchesTreeMap()
+    {
+        Random random = new Random(7L);
+        RankedTreeMap<Integer, Integer> map = new RankedTreeMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 5000; i++)
+        {
+            Integer key = random.nextInt(500);
+            if (random.nextInt(3) > 0)
+            {
+                Assert.assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            else
+            {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        int index = 0;
+        for (Integer key : expected.keySet())
+        {
+            Assert.assertEquals(key, map.keyAt(index));
+            Assert.assertEquals(index, map.rank(key));
+            index++;
+        }
+
+        SortedMap<Integer, Integer> subMap = map.subMap(100, 400);
+        Assert.assertEquals(expected.subMap(100, 400), subMap);
+        Assert.assertEquals(expected.subMap(100, 400).size(), subMap.size());
+        for (Iterator<Map.Entry<Integer, Integer>> iterator = subMap.entrySet().iterator(); iterator.hasNext(); )
+        {
+            if (iterator.next().getKey() % 2 == 0)
+            {
+                iterator.remove();
+            }
+        }
+        expected.subMap(100, 400).entrySet().removeIf(each -> each.getKey() % 2 == 0);
+        Assert.assertEquals(expected, map);
+        Verify.assertThrows(IllegalArgumentException.class, () -> subMap.put(500, 0));
+    }
+
+    @Test
+    public void weights()
+    {
+        RankedTreeMap<String, Object> map = new RankedTreeMap<>();
+        Assert.assertEquals(3, map.addWeight("b", 3));
+        Assert.assertEquals(2, map.addWeight("a", 2));
+        Assert.assertEquals(1, map.addWeight("c", 1));
+        Assert.assertEquals(6, map.totalWeight());
+        Assert.assertEquals(2, map.weightedRank("b"));
+        Assert.assertEquals(5, map.weightedRank("c"));
+        Assert.assertEquals("a", map.keyAtWeightedIndex(1));
+        Assert.assertEquals("b", map.keyAtWeightedIndex(2));
+        Assert.assertEquals("b", map.keyAtWeightedIndex(4));
+        Assert.assertEquals("c", map.keyAtWeightedIndex(5));
+        Assert.assertEquals(3, map.weightBetween("b", "c"));
+        Assert.assertEquals(1, map.addWeight("b", -2));
+        Assert.assertEquals(0, map.addWeight("a", -5));
+        Assert.assertFalse(map.containsKey("a"));
+        Assert.assertEquals(2, map.totalWeight());
+        Assert.assertEquals(0, map.addWeight("z", -1));
+        Verify.assertSize(2, map);
+    }
+}
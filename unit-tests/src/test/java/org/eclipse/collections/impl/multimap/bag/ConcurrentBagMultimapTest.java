@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.multimap.bag;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.multimap.MutableMultimap;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.bag.mutable.HashBag;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test of {@link ConcurrentBagMultimap}.
+ */
+public class ConcurrentBagMultimapTest extends AbstractMutableBagMultimapTestCase
+{
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        this.executor = Executors.newFixedThreadPool(20);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Override
+    public <K, V> ConcurrentBagMultimap<K, V> newMultimap()
+    {
+        return ConcurrentBagMultimap.newMultimap();
+    }
+
+    @Override
+    public <K, V> ConcurrentBagMultimap<K, V> newMultimapWithKeyValue(K key, V value)
+    {
+        ConcurrentBagMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key, value);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentBagMultimap<K, V> newMultimapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        ConcurrentBagMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentBagMultimap<K, V> newMultimapWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3)
+    {
+        ConcurrentBagMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        mutableMultimap.put(key3, value3);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentBagMultimap<K, V> newMultimapWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3,
+            K key4, V value4)
+    {
+        ConcurrentBagMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        mutableMultimap.put(key3, value3);
+        mutableMultimap.put(key4, value4);
+        return mutableMultimap;
+    }
+
+    @SafeVarargs
+    @Override
+    public final <K, V> ConcurrentBagMultimap<K, V> newMultimap(Pair<K, V>... pairs)
+    {
+        return ConcurrentBagMultimap.newMultimap(pairs);
+    }
+
+    @Override
+    protected <K, V> ConcurrentBagMultimap<K, V> newMultimapFromPairs(Iterable<Pair<K, V>> inputIterable)
+    {
+        return ConcurrentBagMultimap.newMultimap(inputIterable);
+    }
+
+    @SafeVarargs
+    @Override
+    protected final <V> HashBag<V> createCollection(V... args)
+    {
+        return HashBag.newBagWith(args);
+    }
+
+    @Test
+    @Override
+    public void testToString()
+    {
+        super.testToString();
+
+        MutableMultimap<String, Integer> multimap =
+                this.newMultimapWithKeysValues("One", 1, "One", 2);
+        String toString = multimap.toString();
+        Assert.assertTrue("{One=[1, 2]}".equals(toString) || "{One=[2, 1]}".equals(toString));
+    }
+
+    @Test
+    public void concurrentPutOccurrences()
+    {
+        ConcurrentBagMultimap<Integer, Integer> multimap = ConcurrentBagMultimap.newMultimap();
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> {
+            multimap.putOccurrences(each % 10, each % 3, 2);
+            Assert.assertTrue(multimap.remove(each % 10, each % 3));
+        }, 1, this.executor);
+        Verify.assertSize(10000, multimap);
+        Assert.assertEquals(10, multimap.sizeDistinct());
+        Assert.assertEquals(334, multimap.get(0).occurrencesOf(1));
+        Assert.assertEquals(1000, multimap.get(0).size());
+    }
+}
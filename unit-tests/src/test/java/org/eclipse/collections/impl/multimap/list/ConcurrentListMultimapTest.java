@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.multimap.list;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test of {@link ConcurrentListMultimap}.
+ */
+public class ConcurrentListMultimapTest extends AbstractMutableListMultimapTestCase
+{
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        this.executor = Executors.newFixedThreadPool(20);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Override
+    public <K, V> ConcurrentListMultimap<K, V> newMultimap()
+    {
+        return ConcurrentListMultimap.newMultimap();
+    }
+
+    @Override
+    public <K, V> ConcurrentListMultimap<K, V> newMultimapWithKeyValue(K key, V value)
+    {
+        ConcurrentListMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key, value);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentListMultimap<K, V> newMultimapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        ConcurrentListMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentListMultimap<K, V> newMultimapWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3)
+    {
+        ConcurrentListMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        mutableMultimap.put(key3, value3);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentListMultimap<K, V> newMultimapWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3,
+            K key4, V value4)
+    {
+        ConcurrentListMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        mutableMultimap.put(key3, value3);
+        mutableMultimap.put(key4, value4);
+        return mutableMultimap;
+    }
+
+    @SafeVarargs
+    @Override
+    public final <K, V> ConcurrentListMultimap<K, V> newMultimap(Pair<K, V>... pairs)
+    {
+        return ConcurrentListMultimap.newMultimap(pairs);
+    }
+
+    @Override
+    public <K, V> ConcurrentListMultimap<K, V> newMultimapFromPairs(Iterable<Pair<K, V>> inputIterable)
+    {
+        return ConcurrentListMultimap.newMultimap(inputIterable);
+    }
+
+    @SafeVarargs
+    @Override
+    protected final <V> FastList<V> createCollection(V... args)
+    {
+        return FastList.newListWith(args);
+    }
+
+    @Test
+    public void concurrentPutAndRemove()
+    {
+        ConcurrentListMultimap<Integer, Integer> multimap = ConcurrentListMultimap.newMultimap();
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> {
+            multimap.put(each % 10, each);
+            multimap.put(each % 10, -each);
+            Assert.assertTrue(multimap.remove(each % 10, -each));
+        }, 1, this.executor);
+        Verify.assertSize(10000, multimap);
+        Assert.assertEquals(10, multimap.sizeDistinct());
+        Interval.zeroTo(9).each(key -> Assert.assertEquals(
+                Interval.oneTo(10000).select(each -> each % 10 == key).toBag(),
+                multimap.get(key).toBag()));
+
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> multimap.remove(each % 10, each), 1, this.executor);
+        Verify.assertEmpty(multimap);
+        Assert.assertEquals(0, multimap.sizeDistinct());
+    }
+
+    @Test
+    public void concurrentPutsToOneKey()
+    {
+        ConcurrentListMultimap<Integer, Integer> multimap = ConcurrentListMultimap.newMultimap();
+        ParallelIterate.forEach(Interval.oneTo(100000), each -> multimap.put(1, each), 1, this.executor);
+        Verify.assertSize(100000, multimap);
+        Assert.assertEquals(Interval.oneTo(100000).toBag(), multimap.get(1).toBag());
+    }
+
+    @Test
+    public void concurrentPutAndRemoveEmptyingKey()
+    {
+        ConcurrentListMultimap<Integer, Integer> multimap = ConcurrentListMultimap.newMultimap();
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> {
+            Assert.assertTrue(multimap.put(1, each));
+            Assert.assertTrue(multimap.remove(1, each));
+        }, 1, this.executor);
+        Verify.assertEmpty(multimap);
+        Assert.assertFalse(multimap.containsKey(1));
+    }
+
+    @Test
+    public void getIfAbsentPutAll()
+    {
+        ConcurrentListMultimap<Integer, Integer> multimap = ConcurrentListMultimap.newMultimap();
+        ParallelIterate.forEach(Interval.oneTo(1000), each -> {
+            MutableList<Integer> values = multimap.getIfAbsentPutAll(each % 10, Interval.oneTo(5).collect(value -> each));
+            Verify.assertSize(5, values);
+            Assert.assertEquals(1, values.toSet().size());
+        }, 1, this.executor);
+        Verify.assertSize(50, multimap);
+        Assert.assertEquals(10, multimap.sizeDistinct());
+
+        Verify.assertEmpty(multimap.getIfAbsentPutAll(10, FastList.newList()));
+        Assert.assertFalse(multimap.containsKey(10));
+        Verify.assertThrows(UnsupportedOperationException.class, () -> multimap.getIfAbsentPutAll(1, FastList.newList()).add(1));
+    }
+
+    @Test
+    public void forEachKeyMultiValuesDuringPuts()
+    {
+        ConcurrentListMultimap<Integer, Integer> multimap = ConcurrentListMultimap.newMultimap();
+        Interval.oneTo(100).each(each -> multimap.put(each % 10, each));
+        ParallelIterate.forEach(Interval.oneTo(1000), each -> {
+            if (each % 2 == 0)
+            {
+                multimap.put(each % 10, each);
+            }
+            else
+            {
+                multimap.forEachKeyMultiValues((key, values) -> Assert.assertTrue(Iterate.allSatisfy(values, value -> value % 10 == key)));
+            }
+        }, 1, this.executor);
+        Verify.assertSize(600, multimap);
+    }
+
+    @Test
+    public void appendListBulkRemovalAndSort()
+    {
+        ConcurrentAppendList<Integer> list = new ConcurrentAppendList<>();
+        list.addAllIterable(FastList.newListWith(3, 1, 4, 1, 5, 9, 2, 6));
+        Iterable<Integer> before = list.toImmutable();
+
+        Assert.assertSame(list, list.withoutAll(FastList.newListWith(1, 9)));
+        Assert.assertEquals(FastList.newListWith(3, 4, 5, 2, 6), list);
+        Assert.assertFalse(list.removeAll(FastList.newListWith(7)));
+        Assert.assertTrue(list.removeIf(each -> each > 5));
+        Assert.assertEquals(FastList.newListWith(3, 4, 5, 2), list);
+        Assert.assertTrue(list.retainAll(FastList.newListWith(2, 3, 4)));
+
+        MutableList<Integer> snapshot = list.asUnmodifiable().select(each -> true);
+        Assert.assertEquals(FastList.newListWith(2, 3, 4), list.sortThis());
+        Assert.assertEquals(FastList.newListWith(4, 3, 2), list.sortThis(Comparators.reverseNaturalOrder()));
+        Assert.assertEquals(FastList.newListWith(3, 4, 2), snapshot);
+        Assert.assertEquals(FastList.newListWith(3, 1, 4, 1, 5, 9, 2, 6), before);
+        Assert.assertTrue(list.add(7));
+        Assert.assertEquals(FastList.newListWith(4, 3, 2, 7), list);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.multimap.set;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.multimap.MutableMultimap;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test of {@link ConcurrentSetMultimap}.
+ */
+public class ConcurrentSetMultimapTest extends AbstractMutableSetMultimapTestCase
+{
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        this.executor = Executors.newFixedThreadPool(20);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Override
+    protected <K, V> ConcurrentSetMultimap<K, V> newMultimap()
+    {
+        return ConcurrentSetMultimap.newMultimap();
+    }
+
+    @Override
+    protected <K, V> ConcurrentSetMultimap<K, V> newMultimapWithKeyValue(K key, V value)
+    {
+        ConcurrentSetMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key, value);
+        return mutableMultimap;
+    }
+
+    @Override
+    protected <K, V> ConcurrentSetMultimap<K, V> newMultimapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        ConcurrentSetMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        return mutableMultimap;
+    }
+
+    @Override
+    protected <K, V> ConcurrentSetMultimap<K, V> newMultimapWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3)
+    {
+        ConcurrentSetMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        mutableMultimap.put(key3, value3);
+        return mutableMultimap;
+    }
+
+    @Override
+    protected <K, V> ConcurrentSetMultimap<K, V> newMultimapWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3,
+            K key4, V value4)
+    {
+        ConcurrentSetMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        mutableMultimap.put(key3, value3);
+        mutableMultimap.put(key4, value4);
+        return mutableMultimap;
+    }
+
+    @SafeVarargs
+    @Override
+    protected final <K, V> ConcurrentSetMultimap<K, V> newMultimap(Pair<K, V>... pairs)
+    {
+        return ConcurrentSetMultimap.newMultimap(pairs);
+    }
+
+    @Override
+    protected <K, V> ConcurrentSetMultimap<K, V> newMultimapFromPairs(Iterable<Pair<K, V>> inputIterable)
+    {
+        return ConcurrentSetMultimap.newMultimap(inputIterable);
+    }
+
+    @SafeVarargs
+    @Override
+    protected final <V> UnifiedSet<V> createCollection(V... args)
+    {
+        return UnifiedSet.newSetWith(args);
+    }
+
+    @Test
+    @Override
+    public void testToString()
+    {
+        super.testToString();
+
+        MutableMultimap<String, Integer> multimap =
+                this.newMultimapWithKeysValues("One", 1, "One", 2);
+        String toString = multimap.toString();
+        Assert.assertTrue("{One=[1, 2]}".equals(toString) || "{One=[2, 1]}".equals(toString));
+    }
+
+    @Test
+    public void concurrentPut()
+    {
+        ConcurrentSetMultimap<Integer, Integer> multimap = ConcurrentSetMultimap.newMultimap();
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> multimap.put(each % 10, each % 100), 1, this.executor);
+        Verify.assertSize(100, multimap);
+        Interval.zeroTo(9).each(key -> Assert.assertEquals(
+                Interval.zeroTo(99).select(each -> each % 10 == key).toSet(),
+                multimap.get(key)));
+    }
+
+    @Test
+    public void nullValues()
+    {
+        ConcurrentSetMultimap<String, Integer> multimap = ConcurrentSetMultimap.newMultimap();
+        Assert.assertTrue(multimap.put("A", null));
+        Assert.assertFalse(multimap.put("A", null));
+        Assert.assertTrue(multimap.put("A", 1));
+        Assert.assertEquals(UnifiedSet.newSetWith(null, 1), multimap.get("A"));
+        Verify.assertSize(2, multimap);
+        Assert.assertEquals(multimap, SerializeTestHelper.serializeDeserialize(multimap));
+        Assert.assertEquals(multimap.get("A"), SerializeTestHelper.serializeDeserialize(multimap.get("A")));
+        Assert.assertTrue(multimap.remove("A", null));
+        Assert.assertEquals(UnifiedSet.newSetWith(1), multimap.get("A"));
+    }
+}
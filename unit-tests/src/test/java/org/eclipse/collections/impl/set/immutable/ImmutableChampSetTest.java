@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.immutable;
+
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.impl.factory.Sets;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ImmutableChampSet}.
+ */
+public class ImmutableChampSetTest extends AbstractImmutableUnifiedSetTestCase
+{
+    @Override
+    public ImmutableSet<Integer> newSet(Integer... elements)
+    {
+        return ImmutableChampSet.newSetWith(elements);
+    }
+
+    @Override
+    public ImmutableSet<Integer> newSetWith(int one, int two)
+    {
+        return ImmutableChampSet.newSetWith(one, two);
+    }
+
+    @Override
+    public ImmutableSet<Integer> newSetWith(int one, int two, int three)
+    {
+        return ImmutableChampSet.newSetWith(one, two, three);
+    }
+
+    @Override
+    public ImmutableSet<Integer> newSetWith(int... littleElements)
+    {
+        Integer[] bigElements = new Integer[littleElements.length];
+        for (int i = 0; i < littleElements.length; i++)
+        {
+            bigElements[i] = littleElements[i];
+        }
+        return ImmutableChampSet.newSetWith(bigElements);
+    }
+
+    @Test
+    public void persistentUpdates()
+    {
+        ImmutableSet<Integer> set = Sets.immutable.withAllPersistent(Interval.oneTo(2000));
+        Verify.assertInstanceOf(ImmutableChampSet.class, set);
+        ImmutableSet<Integer> evens = set.newWithoutAll(Interval.oddsFromTo(1, 2000));
+        Verify.assertInstanceOf(ImmutableChampSet.class, evens);
+        Verify.assertSize(2000, set);
+        Verify.assertSize(1000, evens);
+        Assert.assertEquals(UnifiedSet.newSet(Interval.evensFromTo(2, 2000)), evens);
+        Assert.assertSame(evens, evens.newWith(2));
+        Assert.assertTrue(evens.newWith(1).contains(1));
+        Assert.assertFalse(evens.contains(1));
+        Assert.assertSame(Sets.immutable.emptyPersistent(), evens.newWithoutAll(evens));
+        Verify.assertPostSerializedEqualsAndHashCode(evens);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.immutable;
+
+import java.util.Iterator;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.impl.block.factory.HashingStrategies;
+import org.eclipse.collections.impl.factory.HashingStrategySets;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Sets;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ImmutablePerfectHashSet}.
+ */
+public class ImmutablePerfectHashSetTest extends AbstractImmutableUnifiedSetTestCase
+{
+    @Override
+    public ImmutableSet<Integer> newSet(Integer... elements)
+    {
+        return ImmutablePerfectHashSet.newSetWith(elements);
+    }
+
+    @Override
+    public ImmutableSet<Integer> newSetWith(int one, int two)
+    {
+        return ImmutablePerfectHashSet.newSetWith(one, two);
+    }
+
+    @Override
+    public ImmutableSet<Integer> newSetWith(int one, int two, int three)
+    {
+        return ImmutablePerfectHashSet.newSetWith(one, two, three);
+    }
+
+    @Override
+    public ImmutableSet<Integer> newSetWith(int... littleElements)
+    {
+        Integer[] bigElements = new Integer[littleElements.length];
+        for (int i = 0; i < littleElements.length; i++)
+        {
+            bigElements[i] = littleElements[i];
+        }
+        return ImmutablePerfectHashSet.newSetWith(bigElements);
+    }
+
+    @Override
+    @Test
+    public void forEachWithIndex()
+    {
+        MutableList<Integer> result = Lists.mutable.of();
+        ImmutableSet<Integer> set = this.newSetWith(1, 2, 3, 4);
+        set.forEachWithIndex((object, index) -> result.add(index));
+        Assert.assertEquals(Lists.mutable.with(0, 1, 2, 3), result);
+    }
+
+    @Override
+    @Test
+    public void iterator()
+    {
+        // Slots follow the perfect hash rather than the natural order of the hash codes
+        ImmutableSet<Integer> objects = this.newSetWith(1, 2, 3);
+        MutableList<Integer> result = Lists.mutable.of();
+        Iterator<Integer> iterator = objects.iterator();
+        while (iterator.hasNext())
+        {
+            result.add(iterator.next());
+        }
+        Assert.assertEquals(Lists.mutable.with(1, 2, 3), result.sortThis());
+        Assert.assertEquals(objects.getFirst(), objects.iterator().next());
+    }
+
+    @Test
+    public void largeSet()
+    {
+        ImmutableSet<Integer> set = Sets.immutable.withAllPerfectHash(Interval.oneTo(100_000));
+        Verify.assertInstanceOf(ImmutablePerfectHashSet.class, set);
+        Verify.assertSize(100_000, set);
+        for (int i = 1; i <= 100_000; i++)
+        {
+            Assert.assertTrue(set.contains(i));
+        }
+        Assert.assertFalse(set.contains(0));
+        Assert.assertFalse(set.contains(100_001));
+        Assert.assertEquals(UnifiedSet.newSet(Interval.oneTo(100_000)), set);
+        Assert.assertEquals(set, UnifiedSet.newSet(Interval.oneTo(100_000)));
+    }
+
+    @Test
+    public void duplicatesAndCollidingHashCodes()
+    {
+        ImmutableSet<String> set = ImmutablePerfectHashSet.newSetWith("Aa", "BB", "AaAa", "BBBB", "AaBB", "Aa", null, "x");
+        Verify.assertSize(7, set);
+        Assert.assertEquals(UnifiedSet.newSetWith("Aa", "BB", "AaAa", "BBBB", "AaBB", null, "x"), set);
+        Assert.assertTrue(set.contains("BB"));
+        Assert.assertTrue(set.contains(null));
+        Assert.assertFalse(set.contains("BBAa"));
+        Verify.assertSize(7, FastList.newList(set));
+    }
+
+    @Test
+    public void hashingStrategy()
+    {
+        ImmutableSet<String> set = HashingStrategySets.immutable.withAllPerfectHash(
+                HashingStrategies.fromFunction(String::toLowerCase),
+                FastList.newListWith("Alpha", "beta", "ALPHA", "Gamma"));
+        Verify.assertInstanceOf(ImmutablePerfectHashSet.class, set);
+        Verify.assertSize(3, set);
+        Assert.assertTrue(set.contains("alpha"));
+        Assert.assertTrue(set.contains("GAMMA"));
+        Assert.assertFalse(set.contains("delta"));
+        ImmutableSet<String> deserialized = SerializeTestHelper.serializeDeserialize(set);
+        Assert.assertTrue(deserialized.contains("BETA"));
+        Verify.assertSize(3, deserialized);
+    }
+
+    @Test
+    public void empty()
+    {
+        Assert.assertSame(Sets.immutable.empty(), Sets.immutable.withAllPerfectHash(FastList.newList()));
+    }
+}
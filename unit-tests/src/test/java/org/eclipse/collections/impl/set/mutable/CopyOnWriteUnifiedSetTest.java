@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable;
+
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link CopyOnWriteUnifiedSet}.
+ */
+public class CopyOnWriteUnifiedSetTest extends AbstractMutableSetTestCase
+{
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        this.executor = Executors.newFixedThreadPool(20);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Override
+    protected <T> CopyOnWriteUnifiedSet<T> newWith(T... littleElements)
+    {
+        return CopyOnWriteUnifiedSet.newSetWith(littleElements);
+    }
+
+    @Override
+    @Test(expected = UnsupportedOperationException.class)
+    public void iterator_remove_without_next()
+    {
+        Iterator<Integer> iterator = this.<Integer>newWith().iterator();
+        iterator.remove();
+    }
+
+    @Test
+    public void iteratorIsSnapshot()
+    {
+        CopyOnWriteUnifiedSet<Integer> set = CopyOnWriteUnifiedSet.newSetWith(1);
+        Iterator<Integer> iterator = set.iterator();
+        set.add(2);
+        set.remove(1);
+        Assert.assertEquals(Integer.valueOf(1), iterator.next());
+        Assert.assertFalse(iterator.hasNext());
+        Verify.assertSetsEqual(UnifiedSet.newSetWith(2), set);
+    }
+
+    @Test
+    public void toImmutableIsZeroCopy()
+    {
+        CopyOnWriteUnifiedSet<Integer> set = CopyOnWriteUnifiedSet.newSetWith(1, 2, 3);
+        ImmutableSet<Integer> snapshot = set.toImmutable();
+        Assert.assertSame(snapshot, set.toImmutable());
+        Assert.assertFalse(set.add(1));
+        Assert.assertSame(snapshot, set.toImmutable());
+        Assert.assertTrue(set.add(4));
+        Assert.assertNotSame(snapshot, set.toImmutable());
+        Assert.assertEquals(UnifiedSet.newSetWith(1, 2, 3), snapshot);
+    }
+
+    @Test
+    public void concurrentAddsAndRemovesWhileIterating()
+    {
+        CopyOnWriteUnifiedSet<Integer> set = CopyOnWriteUnifiedSet.newSet();
+        ParallelIterate.forEach(Interval.oneTo(1000), each -> {
+            set.add(each);
+            set.forEach(Assert::assertNotNull);
+        }, 1, this.executor);
+        ParallelIterate.forEach(Interval.oneTo(1000), each -> {
+            if (each % 2 == 1)
+            {
+                Assert.assertTrue(set.remove(each));
+            }
+        }, 1, this.executor);
+        Verify.assertSize(500, set);
+        Assert.assertTrue(set.allSatisfy(each -> each % 2 == 0));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.fixed.ArrayAdapter;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link IncrementalUnifiedSet}.
+ */
+public class IncrementalUnifiedSetTest extends AbstractMutableSetTestCase
+{
+    @Override
+    protected <T> IncrementalUnifiedSet<T> newWith(T... littleElements)
+    {
+        return IncrementalUnifiedSet.newSetWith(littleElements);
+    }
+
+    @Override
+    @Test
+    public void asSynchronized()
+    {
+        Verify.assertInstanceOf(SynchronizedMutableSet.class, this.newWith().asSynchronized());
+    }
+
+    @Override
+    @Test
+    public void asUnmodifiable()
+    {
+        Verify.assertInstanceOf(UnmodifiableMutableSet.class, this.newWith().asUnmodifiable());
+    }
+
+    @Override
+    @Test
+    public void frequentCollisions()
+    {
+        // Elements added after a resize starts live in the new table and are iterated before the ones not yet moved,
+        // so only the contents, not the iteration order, match UnifiedSet's
+        MutableSet<String> expected = ArrayAdapter.adapt(FREQUENT_COLLISIONS)
+                .subList(0, FREQUENT_COLLISIONS.length - 2)
+                .toSet();
+        MutableSet<String> set1 = this.newWith();
+        MutableSet<String> set2 = this.newWith();
+
+        Collections.addAll(set1, FREQUENT_COLLISIONS);
+        set2.addAll(expected);
+
+        set1.retainAll(set2);
+
+        Assert.assertEquals(expected, set1);
+    }
+
+    @Test
+    public void growsIncrementally()
+    {
+        IncrementalUnifiedSet<Integer> set = IncrementalUnifiedSet.newSet();
+        MutableSet<Integer> expected = UnifiedSet.newSet();
+        boolean sawRehashing = false;
+        for (int i = 0; i < 100_000; i++)
+        {
+            Assert.assertTrue(set.add(i));
+            Assert.assertFalse(set.add(i));
+            expected.add(i);
+            if (set.isRehashing())
+            {
+                sawRehashing = true;
+                Assert.assertTrue(set.contains(i / 2));
+            }
+            if (i % 3 == 0)
+            {
+                Assert.assertTrue(set.remove(i / 3));
+                expected.remove(i / 3);
+            }
+            Assert.assertEquals(expected.size(), set.size());
+        }
+        Assert.assertTrue(sawRehashing);
+        Assert.assertEquals(expected, set);
+        Assert.assertEquals(set, expected);
+        Assert.assertEquals(expected.hashCode(), set.hashCode());
+        set.completeRehash();
+        Assert.assertFalse(set.isRehashing());
+        Assert.assertEquals(expected, set);
+    }
+
+    @Test
+    public void iteratorWhileRehashing()
+    {
+        IncrementalUnifiedSet<Integer> set = IncrementalUnifiedSet.newSet();
+        int i = 0;
+        while (!set.isRehashing())
+        {
+            set.add(i++);
+        }
+        Assert.assertEquals(Interval.zeroTo(i - 1).toSet(), set);
+        MutableSet<Integer> iterated = UnifiedSet.newSet();
+        Iterator<Integer> iterator = set.iterator();
+        while (iterator.hasNext())
+        {
+            Integer each = iterator.next();
+            iterated.add(each);
+            if (each % 2 == 0)
+            {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(Interval.zeroTo(i - 1).toSet(), iterated);
+        Assert.assertEquals(Interval.zeroTo(i - 1).select(each -> each % 2 != 0).toSet(), set);
+    }
+
+    @Test
+    public void nullElementWhileRehashing()
+    {
+        IncrementalUnifiedSet<Integer> set = IncrementalUnifiedSet.newSetWith((Integer) null);
+        int i = 0;
+        while (!set.isRehashing())
+        {
+            set.add(i++);
+        }
+        Assert.assertTrue(set.contains(null));
+        Assert.assertFalse(set.add(null));
+        set.completeRehash();
+        Assert.assertTrue(set.contains(null));
+        Assert.assertTrue(set.remove(null));
+        Assert.assertEquals(Interval.zeroTo(i - 1).toSet(), set);
+    }
+
+    @Test
+    public void serializationWhileRehashing()
+    {
+        IncrementalUnifiedSet<Integer> set = IncrementalUnifiedSet.newSet();
+        int i = 0;
+        while (!set.isRehashing())
+        {
+            set.add(i++);
+        }
+        MutableSet<Integer> deserialized = SerializeTestHelper.serializeDeserialize(set);
+        Verify.assertInstanceOf(IncrementalUnifiedSet.class, deserialized);
+        Assert.assertEquals(set, deserialized);
+    }
+}
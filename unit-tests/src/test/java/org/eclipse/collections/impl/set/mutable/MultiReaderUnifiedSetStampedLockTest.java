@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable;
+
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.collection.mutable.StampedReadWriteLock;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link MultiReaderUnifiedSet} guarded by a {@link StampedReadWriteLock}.
+ */
+public class MultiReaderUnifiedSetStampedLockTest extends MultiReaderUnifiedSetTest
+{
+    @Override
+    protected <T> MutableSet<T> newWith(T... littleElements)
+    {
+        return MultiReaderUnifiedSet.newStampedSetWith(littleElements);
+    }
+
+    @Test
+    public void copiesKeepStampedLock()
+    {
+        MultiReaderUnifiedSet<Integer> set = MultiReaderUnifiedSet.newStampedSet(Interval.oneTo(3));
+        Verify.assertInstanceOf(StampedReadWriteLock.class, set.getLock());
+        Verify.assertInstanceOf(StampedReadWriteLock.class, ((MultiReaderUnifiedSet<Integer>) set.newEmpty()).getLock());
+        Verify.assertInstanceOf(StampedReadWriteLock.class, ((MultiReaderUnifiedSet<Integer>) set.clone()).getLock());
+    }
+
+    @Test
+    public void serializationKeepsStampedLock()
+    {
+        MultiReaderUnifiedSet<String> collection = MultiReaderUnifiedSet.newStampedSetWith("a", "b");
+        MultiReaderUnifiedSet<String> deserialized = SerializeTestHelper.serializeDeserialize(collection);
+        Verify.assertInstanceOf(StampedReadWriteLock.class, deserialized.getLock());
+        Assert.assertEquals(collection, deserialized);
+    }
+}
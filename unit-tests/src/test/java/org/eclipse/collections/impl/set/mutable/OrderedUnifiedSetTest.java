@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable;
+
+import java.util.Iterator;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link OrderedUnifiedSet}.
+ */
+public class OrderedUnifiedSetTest extends AbstractMutableSetTestCase
+{
+    @Override
+    protected <T> OrderedUnifiedSet<T> newWith(T... littleElements)
+    {
+        return OrderedUnifiedSet.newSetWith(littleElements);
+    }
+
+    @Override
+    @Test
+    public void asSynchronized()
+    {
+        Verify.assertInstanceOf(SynchronizedMutableSet.class, this.newWith().asSynchronized());
+    }
+
+    @Override
+    @Test
+    public void asUnmodifiable()
+    {
+        Verify.assertInstanceOf(UnmodifiableMutableSet.class, this.newWith().asUnmodifiable());
+    }
+
+    @Test
+    public void insertionOrder()
+    {
+        OrderedUnifiedSet<Integer> set = OrderedUnifiedSet.newSetWith(5, 3, 9, 1, 7);
+        Assert.assertEquals(FastList.newListWith(5, 3, 9, 1, 7), FastList.newList(set));
+        Assert.assertFalse(set.add(9));
+        Assert.assertTrue(set.remove(3));
+        Assert.assertTrue(set.add(3));
+        Assert.assertEquals(FastList.newListWith(5, 9, 1, 7, 3), FastList.newList(set));
+        Assert.assertEquals(Integer.valueOf(5), set.getFirst());
+        Assert.assertEquals(Integer.valueOf(3), set.getLast());
+        Assert.assertTrue(set.remove(3));
+        Assert.assertEquals(Integer.valueOf(7), set.getLast());
+        MutableList<Integer> withIndex = Lists.mutable.empty();
+        set.forEachWithIndex((each, index) -> withIndex.add(each * 10 + index));
+        Assert.assertEquals(FastList.newListWith(50, 91, 12, 73), withIndex);
+    }
+
+    @Test
+    public void growAndCompact()
+    {
+        OrderedUnifiedSet<Integer> set = OrderedUnifiedSet.newSet();
+        MutableList<Integer> expected = Lists.mutable.empty();
+        for (int i = 0; i < 100_000; i++)
+        {
+            Assert.assertTrue(set.add(i));
+            expected.add(i);
+            if (i % 3 == 0)
+            {
+                Assert.assertTrue(set.remove(i / 3));
+                expected.remove(Integer.valueOf(i / 3));
+            }
+        }
+        Assert.assertEquals(expected, FastList.newList(set));
+        Assert.assertEquals(UnifiedSet.newSet(expected), set);
+        Assert.assertEquals(UnifiedSet.newSet(expected).hashCode(), set.hashCode());
+        expected.each(each -> Assert.assertTrue(set.contains(each)));
+        Assert.assertFalse(set.contains(0));
+    }
+
+    @Test
+    public void removeWhileIterating()
+    {
+        OrderedUnifiedSet<Integer> set = OrderedUnifiedSet.newSet(Interval.oneTo(100));
+        Iterator<Integer> iterator = set.iterator();
+        while (iterator.hasNext())
+        {
+            if (iterator.next() % 2 == 0)
+            {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(Interval.oneTo(100).select(each -> each % 2 != 0).toList(), FastList.newList(set));
+        Verify.assertSize(50, set);
+    }
+
+    @Test
+    public void nullElement()
+    {
+        OrderedUnifiedSet<Integer> set = OrderedUnifiedSet.newSetWith(1, null, 2);
+        Assert.assertTrue(set.contains(null));
+        Assert.assertFalse(set.add(null));
+        Assert.assertEquals(FastList.newListWith(1, null, 2), FastList.newList(set));
+        Assert.assertTrue(set.remove(null));
+        Assert.assertFalse(set.contains(null));
+    }
+
+    @Test
+    public void serializationKeepsOrder()
+    {
+        OrderedUnifiedSet<Integer> set = OrderedUnifiedSet.newSetWith(4, 1, 3, 2);
+        set.remove(1);
+        MutableSet<Integer> deserialized = SerializeTestHelper.serializeDeserialize(set);
+        Verify.assertInstanceOf(OrderedUnifiedSet.class, deserialized);
+        Assert.assertEquals(FastList.newListWith(4, 3, 2), FastList.newList(deserialized));
+    }
+}
@@ -13,7 +13,9 @@ package org.eclipse.collections.impl.set.mutable;
 import java.lang.reflect.Field;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Spliterator;
 import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.set.MutableSet;
@@ -683,4 +685,41 @@ public class UnifiedSetTest extends AbstractMutableSetTestCase
         Assert.assertTrue(set.trimToSize());
         Assert.assertEquals(2, set.size());
     }
+
+    @Test
+    public void spliterator()
+    {
+        UnifiedSet<Integer> set = UnifiedSet.newSet(Interval.oneTo(10000));
+        set.addAll(COLLISIONS);
+        set.add(null);
+
+        Spliterator<Integer> spliterator = set.spliterator();
+        Assert.assertEquals(set.size(), spliterator.getExactSizeIfKnown());
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.DISTINCT));
+        Assert.assertNotNull(spliterator.trySplit());
+        Assert.assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+
+        Assert.assertEquals(new HashSet<>(set), set.parallelStream().collect(Collectors.toSet()));
+        Assert.assertEquals(set.size(), set.parallelStream().count());
+    }
+
+    @Test
+    public void spliteratorWithChains()
+    {
+        UnifiedSet<Integer> set = UnifiedSet.<Integer>newSet(2).withAll(COLLISIONS);
+        MutableList<Integer> elements = Lists.mutable.empty();
+        Spliterator<Integer> right = set.spliterator();
+        Assert.assertTrue(right.tryAdvance(elements::add));
+        Assert.assertTrue(right.tryAdvance(elements::add));
+        Spliterator<Integer> left = right.trySplit();
+        while (right.tryAdvance(elements::add))
+        {
+        }
+        if (left != null)
+        {
+            left.forEachRemaining(elements::add);
+        }
+        Verify.assertSize(set.size(), elements);
+        Assert.assertEquals(set, elements.toSet());
+    }
 }
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable.primitive;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.ParallelIntIterable;
+import org.eclipse.collections.api.iterator.MutableIntIterator;
+import org.eclipse.collections.api.set.primitive.ImmutableIntSet;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link IntRoaringSet}.
+ */
+public class IntRoaringSetTest extends AbstractIntSetTestCase
+{
+    @Override
+    protected final IntRoaringSet classUnderTest()
+    {
+        return IntRoaringSet.newSetWith(1, 2, 3);
+    }
+
+    @Override
+    protected IntRoaringSet newWith(int... elements)
+    {
+        return IntRoaringSet.newSetWith(elements);
+    }
+
+    @Override
+    @Test
+    public void newCollection()
+    {
+        super.newCollection();
+        IntRoaringSet set = IntRoaringSet.newSetWith(0, 1, 31, -1, 65536, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        IntRoaringSet setFromList = IntRoaringSet.newSet(IntArrayList.newListWith(0, 0, 1, 31, -1, 65536, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        IntRoaringSet setFromSet = IntRoaringSet.newSet(set);
+        Assert.assertEquals(set, setFromList);
+        Assert.assertEquals(set, setFromSet);
+        Assert.assertEquals(IntHashSet.newSet(set), set);
+    }
+
+    @Test
+    public void iterationOrderIsSorted()
+    {
+        IntRoaringSet set = IntRoaringSet.newSetWith(65536, -1, 0, Integer.MAX_VALUE, Integer.MIN_VALUE, -65537, 3);
+        Assert.assertArrayEquals(new int[]{Integer.MIN_VALUE, -65537, -1, 0, 3, 65536, Integer.MAX_VALUE}, set.toArray());
+        Assert.assertEquals(Integer.MIN_VALUE, set.min());
+        Assert.assertEquals(Integer.MAX_VALUE, set.max());
+        Assert.assertEquals("[-2147483648, -65537, -1, 0, 3, 65536, 2147483647]", set.toString());
+    }
+
+    @Test
+    public void containerTransitions()
+    {
+        IntRoaringSet set = new IntRoaringSet();
+        for (int i = 0; i < 4096; i++)
+        {
+            set.add(i * 2);
+        }
+        Assert.assertEquals("ArrayContainer", set.containerType(0));
+        set.add(1);
+        Assert.assertEquals("BitmapContainer", set.containerType(0));
+        Verify.assertSize(4097, set);
+        set.remove(1);
+        Assert.assertEquals("ArrayContainer", set.containerType(0));
+        Verify.assertSize(4096, set);
+
+        IntRoaringSet range = new IntRoaringSet();
+        for (int i = 100_000; i <= 200_000; i++)
+        {
+            range.add(i);
+        }
+        Assert.assertEquals("BitmapContainer", range.containerType(150_000));
+        range.compact();
+        Assert.assertEquals("RunContainer", range.containerType(150_000));
+        Verify.assertSize(100_001, range);
+        Assert.assertTrue(range.contains(131_072));
+        Assert.assertFalse(range.contains(99_999));
+        Assert.assertEquals(100_000, range.min());
+        Assert.assertEquals(200_000, range.max());
+        Assert.assertTrue(range.remove(150_000));
+        Assert.assertEquals("BitmapContainer", range.containerType(150_000));
+        Assert.assertFalse(range.contains(150_000));
+        Verify.assertSize(100_000, range);
+    }
+
+    @Test
+    public void unionIntersectDifference()
+    {
+        IntRoaringSet evens = new IntRoaringSet();
+        IntRoaringSet range = new IntRoaringSet();
+        IntHashSet expectedEvens = new IntHashSet();
+        IntHashSet expectedRange = new IntHashSet();
+        for (int i = -100_000; i < 100_000; i += 2)
+        {
+            evens.add(i);
+            expectedEvens.add(i);
+        }
+        for (int i = 0; i < 150_000; i++)
+        {
+            range.add(i);
+            expectedRange.add(i);
+        }
+        range.add(1_000_000);
+        expectedRange.add(1_000_000);
+        range.compact();
+
+        Assert.assertEquals(IntHashSet.newSet(expectedEvens).withAll(expectedRange), evens.union(range));
+        Assert.assertEquals(expectedEvens.select(expectedRange::contains), evens.intersect(range));
+        Assert.assertEquals(expectedEvens.reject(expectedRange::contains), evens.difference(range));
+        Assert.assertEquals(expectedRange.reject(expectedEvens::contains), range.difference(evens));
+        Assert.assertEquals(expectedEvens, evens);
+        Assert.assertEquals(expectedRange, range);
+
+        IntRoaringSet set = IntRoaringSet.newSet(evens);
+        Assert.assertTrue(set.retainAll(range));
+        Assert.assertEquals(evens.intersect(range), set);
+        Assert.assertTrue(set.addAll(range));
+        Assert.assertEquals(range, set);
+        Assert.assertTrue(set.removeAll(evens));
+        Assert.assertEquals(range.difference(evens), set);
+        Assert.assertFalse(set.removeAll(evens));
+    }
+
+    @Test
+    public void iteratorRemoveAcrossContainers()
+    {
+        IntRoaringSet set = IntRoaringSet.newSetWith(1, 65536, 65537, 131072);
+        MutableIntIterator iterator = set.intIterator();
+        while (iterator.hasNext())
+        {
+            int value = iterator.next();
+            if (value != 65537)
+            {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(IntRoaringSet.newSetWith(65537), set);
+    }
+
+    @Test
+    public void toImmutableAndSerialization()
+    {
+        IntRoaringSet set = IntRoaringSet.newSetWith(-5, 0, 5, 70_000);
+        ImmutableIntSet immutable = set.toImmutable();
+        set.add(6);
+        Assert.assertEquals(IntHashSet.newSetWith(-5, 0, 5, 70_000), immutable);
+        Verify.assertPostSerializedEqualsAndHashCode(immutable);
+        Verify.assertPostSerializedEqualsAndHashCode(set);
+    }
+
+    @Test
+    public void asParallel()
+    {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try
+        {
+            IntRoaringSet set = new IntRoaringSet();
+            Interval.fromTo(-70_000, 70_000).each(each -> set.add(each * 3));
+            set.add(Integer.MAX_VALUE);
+            ParallelIntIterable parallel = set.asParallel(executorService, 10_000);
+            Assert.assertEquals(set, parallel.toSet());
+            Assert.assertEquals(set.sum(), parallel.sum());
+            Assert.assertEquals(Integer.MAX_VALUE, parallel.max());
+            Assert.assertEquals(-210_000, parallel.min());
+            Assert.assertEquals(set.count(each -> each % 2 == 0), parallel.count(each -> each % 2 == 0));
+            Assert.assertTrue(parallel.allSatisfy(each -> each % 3 == 0 || each == Integer.MAX_VALUE));
+            Assert.assertFalse(parallel.anySatisfy(each -> each == 1));
+            Assert.assertEquals(210_000, parallel.detectIfNone(each -> each >= 210_000 && each < Integer.MAX_VALUE, 0));
+            Assert.assertEquals(0, new IntRoaringSet().asParallel(executorService, 1).count(each -> true));
+            Verify.assertThrows(IllegalArgumentException.class, () -> set.asParallel(executorService, 0));
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+}
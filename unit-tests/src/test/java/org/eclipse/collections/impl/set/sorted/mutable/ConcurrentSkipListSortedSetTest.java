@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.sorted.mutable;
+
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ConcurrentSkipListSortedSet}.
+ */
+public class ConcurrentSkipListSortedSetTest extends AbstractSortedSetTestCase
+{
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        this.executor = Executors.newFixedThreadPool(20);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Override
+    protected <T> ConcurrentSkipListSortedSet<T> newWith(T... elements)
+    {
+        return ConcurrentSkipListSortedSet.newSetWith(elements);
+    }
+
+    @Override
+    protected <T> ConcurrentSkipListSortedSet<T> newWith(Comparator<? super T> comparator, T... elements)
+    {
+        return ConcurrentSkipListSortedSet.newSetWith(comparator, elements);
+    }
+
+    @Override
+    @Test
+    public void asSynchronized()
+    {
+        Verify.assertInstanceOf(SynchronizedSortedSet.class, this.newWith().asSynchronized());
+    }
+
+    @Override
+    @Test
+    public void asUnmodifiable()
+    {
+        Verify.assertInstanceOf(UnmodifiableSortedSet.class, this.newWith().asUnmodifiable());
+    }
+
+    @Override
+    @Test(expected = UnsupportedOperationException.class)
+    public void detectLastIndex()
+    {
+        this.newWith(1, 2, 3).detectLastIndex(each -> each % 2 == 0);
+    }
+
+    @Override
+    @Test(expected = UnsupportedOperationException.class)
+    public void reverseForEach()
+    {
+        this.newWith(1, 2, 3).reverseForEach(each -> Assert.fail("Should not be evaluated"));
+    }
+
+    @Override
+    @Test(expected = UnsupportedOperationException.class)
+    public void reverseForEachWithIndex()
+    {
+        this.newWith(1, 2, 3).reverseForEachWithIndex((each, index) -> Assert.fail("Should not be evaluated"));
+    }
+
+    @Override
+    @Test(expected = UnsupportedOperationException.class)
+    public void toReversed()
+    {
+        this.newWith(1, 2, 3).toReversed();
+    }
+
+    @Test
+    public void serialization()
+    {
+        ConcurrentSkipListSortedSet<Integer> set = this.newWith(Comparators.reverseNaturalOrder(), 1, 2, 3);
+        ConcurrentSkipListSortedSet<Integer> deserialized = SerializeTestHelper.serializeDeserialize(set);
+        Verify.assertSortedSetsEqual(set, deserialized);
+        deserialized.add(4);
+        Verify.assertSortedSetsEqual(TreeSortedSet.newSetWith(Comparators.reverseNaturalOrder(), 1, 2, 3, 4), deserialized);
+    }
+
+    @Test
+    public void rangeViewsAreLive()
+    {
+        ConcurrentSkipListSortedSet<Integer> set = ConcurrentSkipListSortedSet.newSet(Interval.oneTo(10));
+        ConcurrentSkipListSortedSet<Integer> head = set.headSet(5);
+        ConcurrentSkipListSortedSet<Integer> tail = set.tailSet(5);
+        Verify.assertSortedSetsEqual(TreeSortedSet.newSetWith(1, 2, 3, 4), head);
+        set.add(0);
+        set.remove(7);
+        Verify.assertSortedSetsEqual(TreeSortedSet.newSetWith(0, 1, 2, 3, 4), head);
+        Verify.assertSortedSetsEqual(TreeSortedSet.newSetWith(5, 6, 8, 9, 10), tail);
+        Verify.assertSortedSetsEqual(TreeSortedSet.newSetWith(6, 8), tail.subSet(6, 9));
+    }
+
+    @Test
+    public void concurrentAddAndRemove()
+    {
+        ConcurrentSkipListSortedSet<Integer> set = ConcurrentSkipListSortedSet.newSet();
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> Assert.assertTrue(set.add(each)), 1, this.executor);
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> {
+            if (each % 2 != 0)
+            {
+                Assert.assertTrue(set.remove(each));
+            }
+            Assert.assertFalse(set.add(each + each % 2));
+        }, 1, this.executor);
+        Verify.assertSortedSetsEqual(TreeSortedSet.newSet(Interval.evensFromTo(2, 10000)), set);
+        Assert.assertEquals(Integer.valueOf(2), set.first());
+        Assert.assertEquals(Integer.valueOf(10000), set.last());
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2017 Goldman Sachs.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.sorted.mutable;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.eclipse.collections.api.set.sorted.MutableSortedSet;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link RankedTreeSortedSet}.
+ */
+public class RankedTreeSortedSetTest extends AbstractSortedSetTestCase
+{
+    @Override
+    protected <T> RankedTreeSortedSet<T> newWith(T... elements)
+    {
+        return RankedTreeSortedSet.newSetWith(elements);
+    }
+
+    @Override
+    protected <T> RankedTreeSortedSet<T> newWith(Comparator<? super T> comparator, T... elements)
+    {
+        return RankedTreeSortedSet.newSetWith(comparator, elements);
+    }
+
+    @Override
+    @Test
+    public void asSynchronized()
+    {
+        Verify.assertInstanceOf(SynchronizedSortedSet.class, this.newWith().asSynchronized());
+    }
+
+    @Override
+    @Test
+    public void asUnmodifiable()
+    {
+        Verify.assertInstanceOf(UnmodifiableSortedSet.class, this.newWith().asUnmodifiable());
+    }
+
+    @Override
+    @Test(expected = UnsupportedOperationException.class)
+    public void detectLastIndex()
+    {
+        this.newWith(1, 2, 3).detectLastIndex(each -> each % 2 == 0);
+    }
+
+    @Override
+    @Test(expected = UnsupportedOperationException.class)
+    public void reverseForEach()
+    {
+        this.newWith(1, 2, 3).reverseForEach(each -> Assert.fail("Should not be evaluated"));
+    }
+
+    @Override
+    @Test(expected = UnsupportedOperationException.class)
+    public void reverseForEachWithIndex()
+    {
+        this.newWith(1, 2, 3).reverseForEachWithIndex((each, index) -> Assert.fail("Should not be evaluated"));
+    }
+
+    @Override
+    @Test(expected = UnsupportedOperationException.class)
+    public void toReversed()
+    {
+        this.newWith(1, 2, 3).toReversed();
+    }
+
+    @Test
+    public void rankAndGet()
+    {
+        RankedTreeSortedSet<Integer> set = RankedTreeSortedSet.newSet(Interval.evensFromTo(0, 198));
+        Verify.assertSize(100, set);
+        Assert.assertEquals(Integer.valueOf(0), set.get(0));
+        Assert.assertEquals(Integer.valueOf(100), set.get(50));
+        Assert.assertEquals(Integer.valueOf(198), set.get(99));
+        Assert.assertEquals(0, set.rank(-1));
+        Assert.assertEquals(50, set.rank(100));
+        Assert.assertEquals(51, set.rank(101));
+        Assert.assertEquals(100, set.rank(1000));
+        Assert.assertEquals(50, set.indexOf(100));
+        Assert.assertEquals(-1, set.indexOf(101));
+        Assert.assertEquals(5, set.countBetween(10, 20));
+        Assert.assertEquals(0, set.countBetween(11, 12));
+        Assert.assertEquals(25, set.headSet(50).size());
+        Assert.assertEquals(10, set.subSet(20, 40).size());
+        Assert.assertEquals(Integer.valueOf(32), set.subSet(20, 40).headSet(34).last());
+        Verify.assertThrows(IndexOutOfBoundsException.class, () -> set.get(100));
+        Verify.assertThrows(IndexOutOfBoundsException.class, () -> set.get(-1));
+        Verify.assertThrows(IllegalArgumentException.class, () -> set.countBetween(20, 10));
+        Verify.assertThrows(IllegalArgumentException.class, () -> set.subSet(20, 40).headSet(50));
+
+        RankedTreeSortedSet<Integer> reversed = RankedTreeSortedSet.newSetWith(Comparators.reverseNaturalOrder(), 1, 2, 3, 4);
+        Assert.assertEquals(Integer.valueOf(4), reversed.get(0));
+        Assert.assertEquals(3, reversed.rank(1));
+    }
+
+    @Test
+    public void randomInsertRemoveMatchesTreeSet()
+    {
+        Random random = new Random(42L);
+        RankedTreeSortedSet<Integer> set = RankedTreeSortedSet.newSet();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 5000; i++)
+        {
+            Integer value = random.nextInt(1000);
+            if (random.nextBoolean())
+            {
+                Assert.assertEquals(expected.add(value), set.add(value));
+            }
+            else
+            {
+                Assert.assertEquals(expected.remove(value), set.remove(value));
+            }
+        }
+        Verify.assertSortedSetsEqual(TreeSortedSet.newSet(expected), set);
+        int index = 0;
+        for (Integer each : expected)
+        {
+            Assert.assertEquals(each, set.get(index));
+            Assert.assertEquals(index, set.rank(each));
+            index++;
+        }
+        Assert.assertEquals(expected.subSet(250, 750).size(), set.countBetween(250, 750));
+
+        for (Iterator<Integer> iterator = set.iterator(); iterator.hasNext(); )
+        {
+            if (iterator.next() % 3 == 0)
+            {
+                iterator.remove();
+            }
+        }
+        expected.removeIf(each -> each % 3 == 0);
+        Verify.assertSortedSetsEqual(TreeSortedSet.newSet(expected), set);
+    }
+
+    @Test
+    public void cloneAndSerialization()
+    {
+        RankedTreeSortedSet<Integer> set = RankedTreeSortedSet.newSetWith(Comparators.reverseNaturalOrder(), 1, 2, 3);
+        RankedTreeSortedSet<Integer> clone = set.clone();
+        clone.add(4);
+        Verify.assertSortedSetsEqual(TreeSortedSet.newSetWith(Comparators.reverseNaturalOrder(), 1, 2, 3), set);
+        Assert.assertEquals(Integer.valueOf(4), clone.get(0));
+        Verify.assertPostSerializedEqualsAndHashCode(set);
+        MutableSortedSet<Integer> deserialized = SerializeTestHelper.serializeDeserialize(set);
+        Verify.assertSortedSetsEqual(set, deserialized);
+    }
+}